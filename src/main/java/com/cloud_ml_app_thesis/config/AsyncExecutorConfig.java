@@ -0,0 +1,134 @@
+package com.cloud_ml_app_thesis.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Named executor pools for the @Async methods in AsyncManager, plus the pool that runs
+ * cross-validation folds (ModelEvaluationService).
+ *
+ * Each pool is sized independently (see {@link AsyncExecutorProperties}) so that a burst of
+ * uploads cannot start an unbounded number of CPU-heavy Weka builds next to cheap I/O work.
+ * Queue depth, active threads and pool size are exported per pool through the actuator
+ * as async.executor.* gauges tagged with the pool name.
+ *
+ * A pool configured with {@code mode: VIRTUAL} is backed by {@link VirtualThreadTaskExecutor}
+ * instead; its "queue" is the number of tasks waiting for a concurrency permit.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(AsyncExecutorProperties.class)
+public class AsyncExecutorConfig {
+
+    public static final String WEKA_EXECUTOR = "wekaExecutor";
+    public static final String STORAGE_EXECUTOR = "storageExecutor";
+    public static final String CONTAINER_EXECUTOR = "containerExecutor";
+    public static final String EVALUATION_EXECUTOR = "evaluationExecutor";
+
+    @Bean(name = WEKA_EXECUTOR)
+    public AsyncTaskExecutor wekaExecutor(AsyncExecutorProperties properties) {
+        return buildExecutor("weka-", properties.getWeka());
+    }
+
+    @Bean(name = STORAGE_EXECUTOR)
+    public AsyncTaskExecutor storageExecutor(AsyncExecutorProperties properties) {
+        return buildExecutor("storage-", properties.getStorage());
+    }
+
+    @Bean(name = CONTAINER_EXECUTOR)
+    public AsyncTaskExecutor containerExecutor(AsyncExecutorProperties properties) {
+        return buildExecutor("container-", properties.getContainer());
+    }
+
+    @Bean(name = EVALUATION_EXECUTOR)
+    public AsyncTaskExecutor evaluationExecutor(AsyncExecutorProperties properties) {
+        return buildExecutor("evaluation-", properties.getEvaluation());
+    }
+
+    @Bean
+    public MeterBinder asyncExecutorMetrics(
+            @Qualifier(WEKA_EXECUTOR) AsyncTaskExecutor wekaExecutor,
+            @Qualifier(STORAGE_EXECUTOR) AsyncTaskExecutor storageExecutor,
+            @Qualifier(CONTAINER_EXECUTOR) AsyncTaskExecutor containerExecutor,
+            @Qualifier(EVALUATION_EXECUTOR) AsyncTaskExecutor evaluationExecutor) {
+        Map<String, AsyncTaskExecutor> pools = Map.of(
+                "weka", wekaExecutor,
+                "storage", storageExecutor,
+                "container", containerExecutor,
+                "evaluation", evaluationExecutor
+        );
+
+        return registry -> pools.forEach((name, executor) -> {
+            Gauge.builder("async.executor.queue.depth", executor, queueDepth())
+                    .tag("pool", name)
+                    .description("Tasks waiting in the executor queue")
+                    .register(registry);
+            Gauge.builder("async.executor.active", executor, activeCount())
+                    .tag("pool", name)
+                    .description("Threads currently running a task")
+                    .register(registry);
+            Gauge.builder("async.executor.pool.size", executor, poolSize())
+                    .tag("pool", name)
+                    .description("Threads currently in the pool")
+                    .register(registry);
+        });
+    }
+
+    private static ToDoubleFunction<AsyncTaskExecutor> queueDepth() {
+        return e -> switch (e) {
+            case ThreadPoolTaskExecutor pool -> pool.getThreadPoolExecutor().getQueue().size();
+            case VirtualThreadTaskExecutor virtual -> virtual.getQueueSize();
+            default -> 0;
+        };
+    }
+
+    private static ToDoubleFunction<AsyncTaskExecutor> activeCount() {
+        return e -> switch (e) {
+            case ThreadPoolTaskExecutor pool -> pool.getActiveCount();
+            case VirtualThreadTaskExecutor virtual -> virtual.getActiveCount();
+            default -> 0;
+        };
+    }
+
+    private static ToDoubleFunction<AsyncTaskExecutor> poolSize() {
+        // Virtual threads are not pooled, so the live thread count equals the running tasks
+        return e -> switch (e) {
+            case ThreadPoolTaskExecutor pool -> pool.getPoolSize();
+            case VirtualThreadTaskExecutor virtual -> virtual.getActiveCount() + virtual.getQueueSize();
+            default -> 0;
+        };
+    }
+
+    private AsyncTaskExecutor buildExecutor(String threadNamePrefix, AsyncExecutorProperties.Pool pool) {
+        if (pool.getMode() == AsyncExecutorProperties.ExecutionMode.VIRTUAL) {
+            log.info("🧵 Executor [{}] virtual threads, max-concurrent={}, queue={}, rejection={}", threadNamePrefix,
+                    pool.getMaxSize(), pool.getQueueCapacity(), pool.getRejectionPolicy());
+            return new VirtualThreadTaskExecutor(threadNamePrefix + "vt-", pool.getMaxSize(),
+                    pool.getQueueCapacity(), pool.getRejectionPolicy());
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds(pool.getKeepAliveSeconds());
+        executor.setRejectedExecutionHandler(pool.getRejectionPolicy().toHandler());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("🧵 Executor [{}] core={}, max={}, queue={}, rejection={}", threadNamePrefix,
+                pool.getCoreSize(), pool.getMaxSize(), pool.getQueueCapacity(), pool.getRejectionPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,76 @@
+package com.cloud_ml_app_thesis.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Sizing of the executor pools used by {@link com.cloud_ml_app_thesis.util.AsyncManager}.
+ *
+ * Bound from the {@code async.executors} section of application.yaml:
+ * - weka: CPU-bound in-process Weka training/prediction
+ * - storage: I/O-bound MinIO staging (uploads, entity creation)
+ * - container: Docker/Kubernetes job orchestration (mostly blocked waiting); a good fit for mode VIRTUAL
+ * - evaluation: cross-validation folds of a weka training; CALLER_RUNS so a saturated pool runs the fold on the
+ *   training thread instead of failing it
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "async.executors")
+public class AsyncExecutorProperties {
+
+    private Pool weka = new Pool(2, 4, 20, RejectionPolicy.ABORT);
+    private Pool storage = new Pool(4, 16, 200, RejectionPolicy.CALLER_RUNS);
+    private Pool container = new Pool(8, 32, 100, RejectionPolicy.ABORT);
+    private Pool evaluation = new Pool(4, 4, 200, RejectionPolicy.CALLER_RUNS);
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int coreSize;
+        private int maxSize;
+        private int queueCapacity;
+        private int keepAliveSeconds = 60;
+        private RejectionPolicy rejectionPolicy;
+        /**
+         * PLATFORM: bounded ThreadPoolTaskExecutor.
+         * VIRTUAL: one virtual thread per task, at most maxSize running and queueCapacity waiting
+         * (coreSize/keepAliveSeconds are ignored; DISCARD policies behave like ABORT).
+         */
+        private ExecutionMode mode = ExecutionMode.PLATFORM;
+
+        public Pool() {
+        }
+
+        public Pool(int coreSize, int maxSize, int queueCapacity, RejectionPolicy rejectionPolicy) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+            this.rejectionPolicy = rejectionPolicy;
+        }
+    }
+
+    public enum ExecutionMode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    public enum RejectionPolicy {
+        ABORT,
+        CALLER_RUNS,
+        DISCARD,
+        DISCARD_OLDEST;
+
+        public RejectedExecutionHandler toHandler() {
+            return switch (this) {
+                case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+                case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+                case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            };
+        }
+    }
+}
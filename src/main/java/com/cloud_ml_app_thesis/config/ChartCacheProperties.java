@@ -0,0 +1,26 @@
+package com.cloud_ml_app_thesis.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Limits of the rendered chart cache (see {@link com.cloud_ml_app_thesis.service.ChartCacheService}).
+ *
+ * Bound from the {@code chart-cache} section of application.yaml. The memory tier is bounded by entry count and
+ * PNG bytes; the disk tier keeps every rendered chart until its model is updated or deleted.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chart-cache")
+public class ChartCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 256;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    private boolean diskEnabled = true;
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "chart-cache");
+}
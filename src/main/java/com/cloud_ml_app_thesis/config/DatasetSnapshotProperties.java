@@ -0,0 +1,25 @@
+package com.cloud_ml_app_thesis.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Limits of the shared training dataset snapshots (see {@link com.cloud_ml_app_thesis.service.DatasetSnapshotRegistry}).
+ *
+ * Bound from the {@code dataset-snapshots} section of application.yaml. The budget covers every snapshot in use,
+ * measured by the file size while loading and an estimate of the parsed instance values after; a load that does
+ * not fit waits for snapshots to be released, up to {@code max-wait}, and is then loaded unshared.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "dataset-snapshots")
+public class DatasetSnapshotProperties {
+
+    private boolean enabled = true;
+    private DataSize maxSize = DataSize.ofMegabytes(1024);
+    private Duration maxWait = Duration.ofSeconds(30);
+}
@@ -0,0 +1,23 @@
+package com.cloud_ml_app_thesis.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits of the in-memory cache of validated JWTs (see {@link com.cloud_ml_app_thesis.service.security.JwtValidationService}).
+ *
+ * Bound from the {@code jwt-cache} section of application.yaml. The TTL bounds how long a change made outside
+ * the explicit invalidations (e.g. a role change) can take to reach an already validated token.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jwt-cache")
+public class JwtCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    private Duration ttl = Duration.ofSeconds(60);
+}
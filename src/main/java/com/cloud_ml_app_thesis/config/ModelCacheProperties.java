@@ -0,0 +1,22 @@
+package com.cloud_ml_app_thesis.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Limits of the in-memory cache of deserialized models (see {@link com.cloud_ml_app_thesis.service.ModelCacheService}).
+ *
+ * Bound from the {@code model-cache} section of application.yaml. The memory budget is measured
+ * with the serialized size of each model, which is a close proxy for its heap footprint.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "model-cache")
+public class ModelCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 32;
+    private DataSize maxSize = DataSize.ofMegabytes(512);
+}
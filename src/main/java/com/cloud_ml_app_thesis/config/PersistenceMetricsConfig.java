@@ -0,0 +1,65 @@
+package com.cloud_ml_app_thesis.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Database metrics exposed through the actuator.
+ *
+ * Per repository method timings come from Spring Data's spring.data.repository.invocations timer (tagged with
+ * repository, method and state, see management.metrics.data.repository in application.yaml). This adds the
+ * Hibernate statistics as hibernate.* meters (enabled with spring.jpa.properties.hibernate.generate_statistics)
+ * and the /actuator/slowqueries endpoint listing the queries slower than hibernate.log_slow_query.
+ */
+@Configuration
+public class PersistenceMetricsConfig {
+
+    @Bean
+    public MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = statistics(entityManagerFactory);
+
+        Map<String, ToDoubleFunction<Statistics>> counters = Map.of(
+                "hibernate.sessions.open", Statistics::getSessionOpenCount,
+                "hibernate.transactions", Statistics::getTransactionCount,
+                "hibernate.statements.prepared", Statistics::getPrepareStatementCount,
+                "hibernate.query.executions", Statistics::getQueryExecutionCount,
+                "hibernate.entities.loaded", Statistics::getEntityLoadCount,
+                "hibernate.entities.fetched", Statistics::getEntityFetchCount,
+                "hibernate.collections.loaded", Statistics::getCollectionLoadCount,
+                "hibernate.collections.fetched", Statistics::getCollectionFetchCount,
+                "hibernate.flushes", Statistics::getFlushCount,
+                "hibernate.optimistic.failures", Statistics::getOptimisticFailureCount
+        );
+
+        return registry -> {
+            counters.forEach((name, value) -> FunctionCounter.builder(name, statistics, value)
+                    .description("Hibernate statistics counter " + name)
+                    .register(registry));
+            Gauge.builder("hibernate.query.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+                    .description("Slowest query execution since startup")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("hibernate.query.slow", statistics, s -> s.getSlowQueries().size())
+                    .description("Distinct queries slower than hibernate.log_slow_query")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(EntityManagerFactory entityManagerFactory) {
+        return new SlowQueryEndpoint(statistics(entityManagerFactory));
+    }
+
+    private static Statistics statistics(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
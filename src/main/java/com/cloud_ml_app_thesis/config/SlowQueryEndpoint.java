@@ -0,0 +1,54 @@
+package com.cloud_ml_app_thesis.config;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * /actuator/slowqueries: the queries that took the most database time since startup and the ones that exceeded
+ * hibernate.log_slow_query, read from the Hibernate statistics (empty while statistics are disabled).
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    static final int LIMIT = 20;
+
+    public record QueryTiming(String query, long executions, long averageMillis, long maxMillis, long totalMillis) {
+    }
+
+    public record SlowQuery(String query, long millis) {
+    }
+
+    public record Report(boolean statisticsEnabled, List<QueryTiming> topQueries, List<SlowQuery> slowQueries) {
+    }
+
+    private final Statistics statistics;
+
+    @ReadOperation
+    public Report report() {
+        List<QueryTiming> topQueries = Arrays.stream(statistics.getQueries())
+                .map(this::timing)
+                .sorted(Comparator.comparingLong(QueryTiming::totalMillis).reversed())
+                .limit(LIMIT)
+                .toList();
+        List<SlowQuery> slowQueries = statistics.getSlowQueries().entrySet().stream()
+                .map(entry -> new SlowQuery(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(SlowQuery::millis).reversed())
+                .limit(LIMIT)
+                .toList();
+        return new Report(statistics.isStatisticsEnabled(), topQueries, slowQueries);
+    }
+
+    private QueryTiming timing(String query) {
+        QueryStatistics stats = statistics.getQueryStatistics(query);
+        return new QueryTiming(query, stats.getExecutionCount(), stats.getExecutionAvgTime(),
+                stats.getExecutionMaxTime(), stats.getExecutionTotalTime());
+    }
+}
@@ -0,0 +1,101 @@
+package com.cloud_ml_app_thesis.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor that starts one virtual thread per task.
+ *
+ * Used for orchestration work that spends almost all its time blocked (waiting on a Docker container,
+ * a Kubernetes Job or a MinIO download). A blocked virtual thread does not hold a platform thread,
+ * so one node can supervise hundreds of jobs. Concurrency is still capped by {@code maxConcurrent}
+ * permits; tasks beyond the cap wait (cheaply, on their own virtual thread) and are rejected once
+ * more than {@code queueCapacity} are waiting.
+ */
+@Slf4j
+public class VirtualThreadTaskExecutor implements AsyncTaskExecutor, DisposableBean {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int capacity;
+    private final boolean callerRunsOnReject;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int maxConcurrent, int queueCapacity,
+                                     AsyncExecutorProperties.RejectionPolicy rejectionPolicy) {
+        this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.permits = new Semaphore(maxConcurrent);
+        this.capacity = maxConcurrent + queueCapacity;
+        this.callerRunsOnReject = rejectionPolicy == AsyncExecutorProperties.RejectionPolicy.CALLER_RUNS;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (inFlight.incrementAndGet() > capacity) {
+            inFlight.decrementAndGet();
+            if (callerRunsOnReject) {
+                task.run();
+                return;
+            }
+            throw new TaskRejectedException("Virtual thread executor saturated: " + active.get()
+                    + " running, " + waiting.get() + " waiting");
+        }
+
+        waiting.incrementAndGet();
+        try {
+            delegate.execute(() -> runWithPermit(task));
+        } catch (RejectedExecutionException e) {
+            waiting.decrementAndGet();
+            inFlight.decrementAndGet();
+            throw new TaskRejectedException("Virtual thread executor is shut down", e);
+        }
+    }
+
+    private void runWithPermit(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            waiting.decrementAndGet();
+            inFlight.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        waiting.decrementAndGet();
+        active.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getQueueSize() {
+        return waiting.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        delegate.shutdown();
+        if (!delegate.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("⚠️ Virtual thread executor did not terminate in time ({} still running)", active.get());
+            delegate.shutdownNow();
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.cloud_ml_app_thesis.config.security;
 
 
-import com.cloud_ml_app_thesis.service.security.AccountDetailsService;
+import com.cloud_ml_app_thesis.service.security.JwtValidationService;
 import com.google.common.net.HttpHeaders;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -11,20 +11,19 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 
-    private final AccountDetailsService userDetailsService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtValidationService jwtValidationService;
 
 
     @Override
@@ -37,17 +36,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
             if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
-                String username = jwtTokenProvider.extractUsername(token);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    if (jwtTokenProvider.validateToken(token)) {
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities()
-                        );
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    // Signature, stored token state and user are cached per token by JwtValidationService;
+                    // a token missing from the database is still accepted on its signature
+                    Optional<AccountDetails> userDetails = jwtValidationService.authenticate(token);
+                    if (userDetails.isEmpty()) {
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        response.getWriter().write("Token is invalid or revoked.");
+                        return;
                     }
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails.get(), null, userDetails.get().getAuthorities()
+                    );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
         } catch (JwtException e) {
@@ -1,9 +1,7 @@
 package com.cloud_ml_app_thesis.config.security;
 
 
-import com.cloud_ml_app_thesis.repository.JwtTokenRepository;
-import com.cloud_ml_app_thesis.repository.UserRepository;
-import com.cloud_ml_app_thesis.service.security.AccountDetailsService;
+import com.cloud_ml_app_thesis.service.security.JwtValidationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,22 +11,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
-    private final JwtTokenRepository tokenRepository;
-    private final UserRepository userRepository;
-    private final AccountDetailsService accountDetailsService;
+    private final JwtValidationService jwtValidationService;
 
 
     @Override
@@ -55,29 +50,25 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        username = jwtTokenProvider.extractUsername(jwt);
 
         log.debug("📌 Extracted JWT: {}", jwt);
-        log.debug("👤 Extracted username: {}", username);
-
-        // ⛔ Reject revoked/expired tokens before checking auth context
-        var storedToken = tokenRepository.findByToken(jwt);
-        boolean isTokenValid = storedToken.isPresent()
-                && !storedToken.get().isExpired()
-                && !storedToken.get().isRevoked();
 
-        log.debug("🧾 Token in DB present: {}, valid: {}", storedToken.isPresent(), isTokenValid);
+        // ⛔ Reject revoked/expired tokens before checking auth context (cached per token, no DB hit on a repeat)
+        Optional<AccountDetails> account = jwtValidationService.validate(jwt);
 
-        if (!isTokenValid || !jwtTokenProvider.validateToken(jwt)) {
-            log.warn("❌ Token is invalid or revoked for user: {}", username);
+        if (account.isEmpty()) {
+            log.warn("❌ Token is invalid or revoked");
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Token is invalid or revoked.");
             return;
         }
 
+        username = account.get().getUsername();
+        log.debug("👤 Extracted username: {}", username);
+
         // ✅ If no auth yet, authenticate
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = accountDetailsService.loadUserByUsername(username);
+            var userDetails = account.get();
 
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(
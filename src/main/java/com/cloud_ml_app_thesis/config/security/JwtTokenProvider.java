@@ -2,6 +2,8 @@ package com.cloud_ml_app_thesis.config.security;
 
 
 import com.cloud_ml_app_thesis.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 
 import jakarta.annotation.PostConstruct;
@@ -38,10 +40,14 @@ public class JwtTokenProvider {
     // This key will hold the RSA private key for signing tokens.
     private Key key;
 
+    // Thread-safe, built once instead of per call
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         // Use the RSA private key from your configuration for signing.
         key = rsaKeyProperties.getPrivateKey();
+        parser = Jwts.parser().verifyWith(rsaKeyProperties.getPublicKey()).build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -61,7 +67,8 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser().verifyWith(rsaKeyProperties.getPublicKey()).build().parseSignedClaims(token);            return true;
+            parser.parseSignedClaims(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             throw new RuntimeException("Expired or invalid JWT token");
         }
@@ -76,12 +83,14 @@ public class JwtTokenProvider {
         return null;
     }
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .verifyWith(rsaKeyProperties.getPublicKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return parseClaims(token).getSubject();
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns the claims; throws io.jsonwebtoken.JwtException otherwise.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
     public Authentication getAuthentication(String token) {
         String username = extractUsername(token);
@@ -1,6 +1,7 @@
 package com.cloud_ml_app_thesis.config.security;
 
 import com.cloud_ml_app_thesis.service.security.AccountDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,6 +45,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .cors(cors->{})
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (SSE task events) belong to a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/algorithms/get-algorithms",
                                 "/api/algorithms/weka/*/options",
@@ -3,6 +3,7 @@ package com.cloud_ml_app_thesis.controller;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -160,18 +161,22 @@ public class AlgorithmController {
         return ResponseEntity.ok(algorithm);
     }
 
-    @Operation(summary = "Search custom algorithms", description = "Search custom algorithms with various criteria")
+    @Operation(summary = "Search custom algorithms", description = "Search custom algorithms with various criteria; sortBy=relevance (default) ranks exact, prefix and similar names first")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully"),
             @ApiResponse(responseCode = "401", description = "User not authenticated")
     })
     @PostMapping("/search-custom-algorithms")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<com.cloud_ml_app_thesis.dto.custom_algorithm.CustomAlgorithmDTO>> searchCustomAlgorithms(
+    public ResponseEntity<Page<com.cloud_ml_app_thesis.dto.custom_algorithm.CustomAlgorithmDTO>> searchCustomAlgorithms(
             @Valid @RequestBody CustomAlgorithmSearchRequest request,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "relevance") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
             @AuthenticationPrincipal AccountDetails accountDetails) {
-        List<com.cloud_ml_app_thesis.dto.custom_algorithm.CustomAlgorithmDTO> algorithms =
-            customAlgorithmService.searchCustomAlgorithms(request, accountDetails.getUser());
+        Page<com.cloud_ml_app_thesis.dto.custom_algorithm.CustomAlgorithmDTO> algorithms =
+            customAlgorithmService.searchCustomAlgorithms(request, accountDetails.getUser(), page, size, sortBy, sortDirection);
         return ResponseEntity.ok(algorithms);
     }
 
@@ -2,6 +2,7 @@ package com.cloud_ml_app_thesis.controller;
 
 import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,11 +10,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.cloud_ml_app_thesis.config.security.AccountDetails;
 import com.cloud_ml_app_thesis.dto.response.GenericResponse;
 import com.cloud_ml_app_thesis.dto.task.AsyncTaskStatusDTO;
 import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
+import com.cloud_ml_app_thesis.service.TaskEventHub;
 import com.cloud_ml_app_thesis.service.TaskStatusService;
 import com.cloud_ml_app_thesis.service.TrainService;
 
@@ -32,6 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 public class AsyncTaskStatusController {
 
     private final TaskStatusService taskStatusService;
+    private final TaskEventHub taskEventHub;
     private final TaskStatusRepository taskStatusRepository;
     private final TrainService trainService;
 
@@ -44,8 +48,25 @@ public class AsyncTaskStatusController {
     @GetMapping("/{trackingId}")
     public ResponseEntity<AsyncTaskStatusDTO> getStatus(@PathVariable String trackingId, @AuthenticationPrincipal AccountDetails accountDetails) {
         AsyncTaskStatusDTO response = taskStatusService.getTaskStatus(trackingId, accountDetails.getUser());
-        log.info(response.toString());
-        return ResponseEntity.ok(response);
+        log.debug(response.toString());
+        // The version is the ETag: a poll with If-None-Match gets 304 until the task changes
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(response.getVersion()))
+                .body(response);
+    }
+
+    @Operation(summary = "Stream task status",
+            description = "Server-sent events: a 'status' event with the task on subscribe and on every change, "
+                    + "a 'stop-requested' event when a stop is requested; the stream ends with the final status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "403", description = "Task belongs to another user")
+    })
+    @GetMapping(path = "/{taskId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@PathVariable String taskId, @AuthenticationPrincipal AccountDetails accountDetails) {
+        // Authorizes the caller and fails fast for unknown tasks
+        taskStatusService.getTaskStatus(taskId, accountDetails.getUser());
+        return taskEventHub.subscribe(taskId);
     }
 
     @Operation(summary = "Return modelId produced by completed training task")
@@ -12,6 +12,7 @@ import com.cloud_ml_app_thesis.enumeration.UserRoleEnum;
 import com.cloud_ml_app_thesis.repository.UserRepository;
 import com.cloud_ml_app_thesis.service.DatasetService;
 import com.cloud_ml_app_thesis.service.DatasetShareService;
+import com.cloud_ml_app_thesis.util.MinioObjectResource;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -84,7 +85,12 @@ public class DatasetController {
     }
 
     @GetMapping
-    public ResponseEntity<GenericResponse<?>> getDatasets(@AuthenticationPrincipal AccountDetails userDetails) {
+    public ResponseEntity<GenericResponse<?>> getDatasets(
+            @AuthenticationPrincipal AccountDetails userDetails,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "uploadDate") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection) {
         String username = null;
         if(userDetails != null){
             username = userDetails.getUsername();
@@ -97,7 +103,7 @@ public class DatasetController {
                 username = null; // null = return all datasets for admins
             }
         }
-        GenericResponse<?> response = datasetService.getDatasets(username);
+        GenericResponse<?> response = datasetService.getDatasets(username, page, size, sortBy, sortDirection);
         if (response.getErrorCode() != null && !response.getErrorCode().isBlank()) {
             return ResponseEntity.internalServerError().body(response);
         }
@@ -105,7 +111,13 @@ public class DatasetController {
     }
 
     @GetMapping("/infos/{id}")
-    public ResponseEntity<GenericResponse<?>> getDatasetsInfo(@AuthenticationPrincipal UserDetails userDetails, @PathVariable String id ) {
+    public ResponseEntity<GenericResponse<?>> getDatasetsInfo(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "uploadDate") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection) {
         String username = null;
         if(userDetails != null){
             List<String> roles = userDetails.getAuthorities().stream()
@@ -116,7 +128,7 @@ public class DatasetController {
 
             }
         }
-        GenericResponse<?> response = datasetService.getDatasets(username);
+        GenericResponse<?> response = datasetService.getDatasets(username, page, size, sortBy, sortDirection);
         if (response.getErrorCode() != null && !response.getErrorCode().isBlank()) {
             return ResponseEntity.internalServerError().body(response);
         }
@@ -144,21 +156,22 @@ public class DatasetController {
 
     @GetMapping("/download/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<org.springframework.core.io.ByteArrayResource> downloadDataset(
+    public ResponseEntity<org.springframework.core.io.Resource> downloadDataset(
             @PathVariable Integer id,
             @AuthenticationPrincipal AccountDetails userDetails) {
 
         User user = userRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        org.springframework.core.io.ByteArrayResource resource = datasetService.downloadDataset(id, user);
+        MinioObjectResource resource = datasetService.downloadDataset(id, user);
 
         // Get dataset to get original filename
         //TODO: Improve this by returning filename from the service
         return ResponseEntity.ok()
                 .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=dataset_" + id + ".csv")
                 .contentType(org.springframework.http.MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(resource.contentLength())
+                .eTag(resource.getETag())
+                .lastModified(resource.getLastModified())
                 .body(resource);
     }
 
@@ -8,8 +8,10 @@ import com.cloud_ml_app_thesis.dto.request.model.UpdateModelContentRequest;
 import com.cloud_ml_app_thesis.dto.request.model.ModelSearchRequest;
 import com.cloud_ml_app_thesis.dto.response.GenericResponse;
 import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.service.ChartCacheService.RenderedChart;
 import com.cloud_ml_app_thesis.service.ModelService;
 import com.cloud_ml_app_thesis.service.VisualizationService;
+import com.cloud_ml_app_thesis.util.MinioObjectResource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,13 +23,18 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -42,6 +49,8 @@ public class ModelController {
     private final ModelService modelService;
     private final VisualizationService visualizationService;
 
+    private static final CacheControl CHART_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     @Operation(summary = "Get all accessible models", description = "Returns all models owned by the user or publicly accessible")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Models retrieved successfully"),
@@ -82,8 +91,9 @@ public class ModelController {
     @Operation(summary = "Model Evaluation Chart", description = "Returns PNG bar chart with accuracy, precision, recall, F1 from metrics.json")
     @GetMapping(value = "/metrics-bar/model/{modelId}", produces = MediaType.IMAGE_PNG_VALUE)
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ByteArrayResource> getMetricsBarChart(@PathVariable Integer modelId, @AuthenticationPrincipal AccountDetails accountDetails) {
-        return ResponseEntity.ok(visualizationService.generateBarChartFromMetricsJson(modelId, accountDetails.getUser()));
+    public ResponseEntity<ByteArrayResource> getMetricsBarChart(@PathVariable Integer modelId, @AuthenticationPrincipal AccountDetails accountDetails,
+                                                                WebRequest request) {
+        return chartResponse(visualizationService.generateBarChartFromMetricsJson(modelId, accountDetails.getUser()), request);
     }
 
     //Classification
@@ -91,31 +101,29 @@ public class ModelController {
     @GetMapping(value = "/metrics-confusion/model/{id}", produces = MediaType.IMAGE_PNG_VALUE)
     public ResponseEntity<ByteArrayResource> getConfusionMatrixChart(
             @PathVariable("id") Integer id,
-            @AuthenticationPrincipal AccountDetails user) {
+            @AuthenticationPrincipal AccountDetails user,
+            WebRequest request) {
 
         //We have to check if model has been produced by Classification and no Regression
-        ByteArrayResource image = visualizationService.generateConfusionMatrixChart(id, user.getUser());
-        return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_PNG)
-                .body(image);
+        return chartResponse(visualizationService.generateConfusionMatrixChart(id, user.getUser()), request);
     }
     //Regression
     @GetMapping(value = "/metrics-scatter/model/{id}", produces = MediaType.IMAGE_PNG_VALUE)
     @Operation(summary = "Regression Scatter Plot", description = "Returns PNG of actual vs predicted plot for regression model")
     public ResponseEntity<ByteArrayResource> getRegressionScatterPlot(
             @PathVariable("id") Integer id,
-            @AuthenticationPrincipal AccountDetails user) {
-        ByteArrayResource image = visualizationService.generateRegressionScatterPlot(id, user.getUser());
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_PNG).body(image);
+            @AuthenticationPrincipal AccountDetails user,
+            WebRequest request) {
+        return chartResponse(visualizationService.generateRegressionScatterPlot(id, user.getUser()), request);
     }
 
     @GetMapping(value = "/metrics-residual/model/{id}", produces = MediaType.IMAGE_PNG_VALUE)
     @Operation(summary = "Regression Scatter Plot", description = "Returns PNG of residuals vs predicted plot for regression model")
     public ResponseEntity<ByteArrayResource> getResidualPlot(
             @PathVariable("id") Integer id,
-            @AuthenticationPrincipal AccountDetails user) {
-        ByteArrayResource image = visualizationService.generateResidualPlot(id, user.getUser());
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_PNG).body(image);
+            @AuthenticationPrincipal AccountDetails user,
+            WebRequest request) {
+        return chartResponse(visualizationService.generateResidualPlot(id, user.getUser()), request);
     }
 
     //Clusterer
@@ -123,9 +131,9 @@ public class ModelController {
     @GetMapping(value = "/metrics-cluster-sizes/model/{modelId}", produces = MediaType.IMAGE_PNG_VALUE)
     public ResponseEntity<ByteArrayResource> getClusterSizesChart(
             @PathVariable("modelId") Integer modelId,
-            @AuthenticationPrincipal AccountDetails accountDetails) {
-        ByteArrayResource image = visualizationService.generateClusterSizeChart(modelId, accountDetails.getUser());
-        return ResponseEntity.ok().contentType(MediaType.IMAGE_PNG).body(image);
+            @AuthenticationPrincipal AccountDetails accountDetails,
+            WebRequest request) {
+        return chartResponse(visualizationService.generateClusterSizeChart(modelId, accountDetails.getUser()), request);
     }
 
     @GetMapping("/metrics-scatter-cluster/model/{modelId}")
@@ -133,14 +141,35 @@ public class ModelController {
             description = "Returns a scatter plot showing instances grouped by their assigned cluster based on the training dataset and metrics.json")
     public ResponseEntity<ByteArrayResource> getClusterScatterPlot(
             @PathVariable("modelId") Integer modelId,
-            @AuthenticationPrincipal AccountDetails accountDetails) {
+            @AuthenticationPrincipal AccountDetails accountDetails,
+            WebRequest request) {
 
-        ByteArrayResource resource = visualizationService.generateClusterScatterPlot(modelId, accountDetails.getUser());
+        RenderedChart chart = visualizationService.generateClusterScatterPlot(modelId, accountDetails.getUser());
+        if (request.checkNotModified(chart.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(chart.etag()).build();
+        }
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=cluster_scatter_plot.png")
+                .eTag(chart.etag())
+                .cacheControl(CHART_CACHE_CONTROL)
+                .contentType(MediaType.IMAGE_PNG)
+                .body(chart.toResource());
+    }
+
+    /**
+     * PNG response with the chart's ETag; a matching If-None-Match gets 304 without a body. Charts are private and
+     * revalidated on every use since access to the model can change.
+     */
+    private static ResponseEntity<ByteArrayResource> chartResponse(RenderedChart chart, WebRequest request) {
+        if (request.checkNotModified(chart.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(chart.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(chart.etag())
+                .cacheControl(CHART_CACHE_CONTROL)
                 .contentType(MediaType.IMAGE_PNG)
-                .body(resource);
+                .body(chart.toResource());
     }
 
 
@@ -193,16 +222,18 @@ public class ModelController {
             @ApiResponse(responseCode = "409", description = "Training not completed")
     })
     @GetMapping("/training/{trainingId}/download-model")
-    public ResponseEntity<ByteArrayResource> downloadModel(
+    public ResponseEntity<Resource> downloadModel(
             @PathVariable Integer trainingId,
             @AuthenticationPrincipal AccountDetails accountDetails) {
 
-        ByteArrayResource model = modelService.downloadModel(trainingId, accountDetails.getUser());
+        MinioObjectResource model = modelService.downloadModel(trainingId, accountDetails.getUser());
 
+        // Streamed from MinIO; Spring answers Range (206) and If-None-Match / If-Modified-Since (304) from these headers
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + accountDetails.getUser().getUsername() + "_" + "model" + trainingId + ".pkl")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(model.contentLength())
+                .eTag(model.getETag())
+                .lastModified(model.getLastModified())
                 .body(model);
     }
 
@@ -277,17 +308,21 @@ public class ModelController {
         return ResponseEntity.ok(new GenericResponse<>(null, null, "Model deleted successfully", null));
     }
 
-    @Operation(summary = "Search models", description = "Search models with various criteria")
+    @Operation(summary = "Search models", description = "Search models with various criteria; sortBy=relevance (default) ranks exact, prefix and similar names first")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully")
     })
     @PostMapping("/search")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ModelDTO>> searchModels(
+    public ResponseEntity<Page<ModelDTO>> searchModels(
             @Valid @RequestBody ModelSearchRequest request,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "relevance") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
             @AuthenticationPrincipal AccountDetails accountDetails) {
         log.info("Searching models for user={}", accountDetails.getUsername());
-        List<ModelDTO> models = modelService.searchModels(request, accountDetails.getUser());
+        Page<ModelDTO> models = modelService.searchModels(request, accountDetails.getUser(), page, size, sortBy, sortDirection);
         return ResponseEntity.ok(models);
     }
 }
@@ -1,8 +1,8 @@
 package com.cloud_ml_app_thesis.controller;
 
 import com.cloud_ml_app_thesis.dto.request.execution.ModelExecutionSearchRequest;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +17,7 @@ import com.cloud_ml_app_thesis.dto.request.execution.ExecuteRequest;
 import com.cloud_ml_app_thesis.dto.response.GenericResponse;
 import com.cloud_ml_app_thesis.dto.request.execution.ModelExecutionDTO;
 import com.cloud_ml_app_thesis.service.ModelExecutionService;
+import com.cloud_ml_app_thesis.util.MinioObjectResource;
 import com.cloud_ml_app_thesis.util.orchestrator.PredictionOrchestrator;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -90,7 +91,7 @@ public class ModelExecutionController {
         log.info("📥 Download request for model execution result [executionId={}, user={}]",
                 executionId, accountDetails.getUsername());
 
-        ByteArrayResource resource = modelExecutionService.getExecutionResultsFile(
+        MinioObjectResource resource = modelExecutionService.getExecutionResultsFile(
                 executionId, accountDetails.getUser());
 
         log.info("✅ Prediction result retrieved successfully [executionId={}]", executionId);
@@ -98,7 +99,8 @@ public class ModelExecutionController {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"prediction-result.csv\"")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(resource.contentLength())
+                .eTag(resource.getETag())
+                .lastModified(resource.getLastModified())
                 .body(resource);
     }
 
@@ -135,11 +137,16 @@ public class ModelExecutionController {
     })
     @PostMapping("/search")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ModelExecutionDTO>> searchExecutions(
+    public ResponseEntity<Page<ModelExecutionDTO>> searchExecutions(
             @Valid @RequestBody ModelExecutionSearchRequest request,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "executedAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
             @AuthenticationPrincipal AccountDetails accountDetails) {
         log.info("Searching model executions for user={}", accountDetails.getUsername());
-        List<ModelExecutionDTO> executions = modelExecutionService.searchExecutions(request, accountDetails.getUser());
+        Page<ModelExecutionDTO> executions = modelExecutionService.searchExecutions(request, accountDetails.getUser(),
+                page, size, sortBy, sortDirection);
         return ResponseEntity.ok(executions);
     }
 
@@ -24,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.cloud_ml_app_thesis.config.security.AccountDetails;
 import com.cloud_ml_app_thesis.dto.request.train.CustomTrainRequest;
+import com.cloud_ml_app_thesis.dto.request.train.HyperparameterSearchRequest;
 import com.cloud_ml_app_thesis.dto.request.train.TrainingStartRequest;
 import com.cloud_ml_app_thesis.dto.response.GenericResponse;
 import com.cloud_ml_app_thesis.dto.train.RetrainOptionsDTO;
@@ -114,6 +115,41 @@ public class TrainingController {
             ));
     }
 
+    @Operation(summary = "Hyperparameter search over a predefined algorithm",
+            description = """
+                    Dataset and algorithm fields as in /train-model; 'options' is the base every combination starts from.
+                    'searchSpace' : JSON object of option flag to candidate values, e.g. {"C": ["0.1", "0.25"], "M": ["2", "5"]}
+                    'strategy' : GRID (every combination) or RANDOM ('maxTrials' combinations drawn at random)
+                    'patience' : stop after this many trials without a better score (0 = run every trial)
+
+                    Progress (best trials so far) is published on the task status and its event stream;
+                    only the best model is saved.
+                    """,
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.MULTIPART_FORM_DATA_VALUE,
+                            schema = @Schema(implementation = HyperparameterSearchRequest.class)
+                    )
+            )
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Search task started successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data or search space")
+    })
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping(value = "/search", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<GenericResponse<String>> searchHyperparameters(
+            @Valid @ModelAttribute HyperparameterSearchRequest request,
+            @AuthenticationPrincipal AccountDetails accountDetails) {
+
+        String taskId = orchestrator.handleSearchRequest(request, accountDetails.getUser());
+        return ResponseEntity.accepted().body(GenericResponse.success(
+                "Hyperparameter search started asynchronously. Use taskId to track progress.",
+                taskId
+        ));
+    }
+
     @PostMapping(value = "/custom", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("isAuthenticated")
     @Operation(
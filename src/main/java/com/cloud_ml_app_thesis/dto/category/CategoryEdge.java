@@ -0,0 +1,7 @@
+package com.cloud_ml_app_thesis.dto.category;
+
+/**
+ * One row of category_hierarchy: a child category and one of its parents.
+ */
+public record CategoryEdge(Integer childId, Integer parentId) {
+}
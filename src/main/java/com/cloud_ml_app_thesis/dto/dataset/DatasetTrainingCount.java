@@ -0,0 +1,9 @@
+package com.cloud_ml_app_thesis.dto.dataset;
+
+import com.cloud_ml_app_thesis.enumeration.status.TrainingStatusEnum;
+
+/**
+ * One row of the grouped training count query: trainings of a dataset (over all its configurations) per status.
+ */
+public record DatasetTrainingCount(Integer datasetId, TrainingStatusEnum status, long count) {
+}
@@ -0,0 +1,38 @@
+package com.cloud_ml_app_thesis.dto.request.train;
+
+import com.cloud_ml_app_thesis.enumeration.SearchStrategyEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A predefined training request plus the options to search; dataset and algorithm fields work as in
+ * TrainingStartRequest, and {@code options} is the base every combination starts from.
+ */
+@Getter
+@Setter
+public class HyperparameterSearchRequest extends TrainingStartRequest {
+
+    @NotBlank(message = "searchSpace is required")
+    @Schema(description = "JSON object of Weka option flag to candidate values, e.g. {\"C\": [\"0.1\", \"0.25\"], \"M\": [\"2\", \"5\"]}; "
+            + "\"\" sets a switch, null leaves it out")
+    private String searchSpace;
+
+    @Schema(description = "GRID (every combination) or RANDOM (maxTrials combinations drawn at random)", defaultValue = "GRID")
+    private SearchStrategyEnum strategy = SearchStrategyEnum.GRID;
+
+    @Min(value = 1, message = "maxTrials must be at least 1")
+    @Schema(description = "Upper bound on trained combinations; defaults to training.search.max-trials")
+    private Integer maxTrials;
+
+    @Min(value = 0, message = "patience must not be negative")
+    @Max(value = 1000, message = "patience must be at most 1000")
+    @Schema(description = "Stop after this many finished trials without a better score; 0 disables early stopping")
+    private Integer patience;
+
+    @Schema(description = "Seed of the train/test split and of RANDOM sampling", defaultValue = "1")
+    private Long seed;
+}
@@ -1,6 +1,7 @@
 package com.cloud_ml_app_thesis.dto.request.train;
 
 
+import com.cloud_ml_app_thesis.enumeration.EvaluationStrategyEnum;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
@@ -49,4 +50,8 @@ public class TrainingStartRequest {
 
     private String modelId;
 
+    @Schema(description = "HOLDOUT, K_FOLD, STRATIFIED_K_FOLD or REPEATED_HOLDOUT; defaults to training.evaluation.strategy. "
+            + "Hyperparameter searches ignore it")
+    private EvaluationStrategyEnum evaluationStrategy;
+
 }
\ No newline at end of file
@@ -25,4 +25,7 @@ public class AsyncTaskStatusDTO {
     private String username;
     private Integer modelId;
     private Integer trainingId;
+    // JSON, see HyperparameterSearchService.Progress
+    private String progress;
+    private Integer version;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.cloud_ml_app_thesis.dto.task;
+
+/**
+ * Published whenever an AsyncTaskStatus row is saved; TaskEventHub pushes the new state to subscribers after commit.
+ */
+public record TaskStatusChangedEvent(String taskId) {
+}
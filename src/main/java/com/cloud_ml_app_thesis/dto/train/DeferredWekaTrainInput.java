@@ -1,5 +1,7 @@
 package com.cloud_ml_app_thesis.dto.train;
 
+import com.cloud_ml_app_thesis.enumeration.EvaluationStrategyEnum;
+
 import java.nio.file.Path;
 
 /**
@@ -19,5 +21,6 @@ public record DeferredWekaTrainInput(
     String targetClassColumn,
     String options,
     String trainingId,                 // retrain
-    String modelId                     // retrain
+    String modelId,                    // retrain
+    EvaluationStrategyEnum evaluationStrategy  // null uses training.evaluation.strategy
 ) {}
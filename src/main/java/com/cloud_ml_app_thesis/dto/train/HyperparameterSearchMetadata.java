@@ -0,0 +1,11 @@
+package com.cloud_ml_app_thesis.dto.train;
+
+/**
+ * Input of an in-process hyperparameter search; the search acquires the dataset once and shares it with every trial.
+ */
+public record HyperparameterSearchMetadata(
+        Integer trainingId,
+        Integer datasetConfigurationId,
+        Integer algorithmConfigurationId,
+        HyperparameterSearchSettings settings
+) {}
@@ -0,0 +1,17 @@
+package com.cloud_ml_app_thesis.dto.train;
+
+import com.cloud_ml_app_thesis.enumeration.SearchStrategyEnum;
+import com.cloud_ml_app_thesis.util.HyperparameterSearchSpace;
+
+/**
+ * Validated search parameters of a hyperparameter search task.
+ *
+ * @param patience finished trials without improvement before the search stops; 0 never stops early
+ */
+public record HyperparameterSearchSettings(
+        HyperparameterSearchSpace space,
+        SearchStrategyEnum strategy,
+        int maxTrials,
+        int patience,
+        long seed
+) {}
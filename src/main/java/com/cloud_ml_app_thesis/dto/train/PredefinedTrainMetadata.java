@@ -1,11 +1,14 @@
 package com.cloud_ml_app_thesis.dto.train;
 
 import com.cloud_ml_app_thesis.entity.Training;
-import weka.core.Instances;
+import com.cloud_ml_app_thesis.enumeration.EvaluationStrategyEnum;
 
+/**
+ * @param evaluationStrategy null uses training.evaluation.strategy
+ */
 public record PredefinedTrainMetadata(
         Integer trainingId,
-        Instances dataset,
         Integer datasetConfigurationId,
-        Integer algorithmConfigurationId
-) {}
\ No newline at end of file
+        Integer algorithmConfigurationId,
+        EvaluationStrategyEnum evaluationStrategy
+) {}
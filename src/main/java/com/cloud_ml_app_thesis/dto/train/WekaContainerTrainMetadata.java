@@ -1,11 +1,15 @@
 package com.cloud_ml_app_thesis.dto.train;
 
+import com.cloud_ml_app_thesis.enumeration.EvaluationStrategyEnum;
+
 /**
  * Metadata for containerized Weka training.
  * Similar to CustomTrainMetadata but for predefined Weka algorithms.
  *
  * Unlike PredefinedTrainMetadata which carries loaded Instances in memory,
  * this DTO carries file references so the container can download and load the data.
+ *
+ * @param evaluationStrategy null uses training.evaluation.strategy
  */
 public record WekaContainerTrainMetadata(
         Integer trainingId,
@@ -14,5 +18,6 @@ public record WekaContainerTrainMetadata(
         String datasetBucket,
         String datasetKey,
         String targetColumn,
-        String basicAttributesColumns
+        String basicAttributesColumns,
+        EvaluationStrategyEnum evaluationStrategy
 ) {}
@@ -1,5 +1,6 @@
 package com.cloud_ml_app_thesis.entity;
 
+import com.cloud_ml_app_thesis.dto.task.TaskStatusChangedEvent;
 import com.cloud_ml_app_thesis.enumeration.status.TaskStatusEnum;
 import com.cloud_ml_app_thesis.enumeration.status.TaskTypeEnum;
 import jakarta.persistence.*;
@@ -7,8 +8,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.DomainEvents;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
 @Entity
 @Data
@@ -45,4 +48,13 @@ public class AsyncTaskStatus {
     // Kubernetes job name for cancellation
     private String jobName;
 
+    // JSON progress of long-running tasks (hyperparameter search leaderboard), null otherwise
+    @Column(columnDefinition = "TEXT")
+    private String progress;
+
+    // Published by the repository on every save(), see TaskEventHub
+    @DomainEvents
+    List<TaskStatusChangedEvent> statusChanged() {
+        return List.of(new TaskStatusChangedEvent(taskId));
+    }
 }
\ No newline at end of file
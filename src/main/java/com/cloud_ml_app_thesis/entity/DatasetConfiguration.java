@@ -4,6 +4,7 @@ import com.cloud_ml_app_thesis.entity.dataset.Dataset;
 import com.cloud_ml_app_thesis.enumeration.status.DatasetConfigurationStatusEnum;
 import com.cloud_ml_app_thesis.util.ValidationUtil;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 import lombok.AllArgsConstructor;
@@ -45,6 +46,11 @@ public class DatasetConfiguration {
     @JoinColumn(name = "dataset_id")
     private Dataset dataset;
 
+    // Class attribute schema of the training data (JSON), see ClassSchemaService
+    @JsonIgnore
+    @Column(name = "class_schema", columnDefinition = "TEXT")
+    private String classSchema;
+
     public DatasetConfiguration(Dataset dataset) {
         this.dataset = dataset;
     }
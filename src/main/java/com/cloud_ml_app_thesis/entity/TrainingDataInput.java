@@ -1,7 +1,6 @@
 package com.cloud_ml_app_thesis.entity;
 import com.cloud_ml_app_thesis.dto.response.GenericResponse;
 import lombok.*;
-import weka.core.Instances;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -10,7 +9,6 @@ import weka.core.Instances;
 @Builder
 public class TrainingDataInput {
     private Training training;
-    private Instances dataset;
     private DatasetConfiguration datasetConfiguration;
     private AlgorithmConfiguration algorithmConfiguration;
     private GenericResponse errorResponse = null;
@@ -0,0 +1,15 @@
+package com.cloud_ml_app_thesis.enumeration;
+
+/**
+ * How a predefined training measures its model (see ModelEvaluationService).
+ */
+public enum EvaluationStrategyEnum {
+    /** One 70/30 split; the model is trained on the 70%. */
+    HOLDOUT,
+    /** k folds; the model is trained on the whole dataset. */
+    K_FOLD,
+    /** k folds with the class distribution preserved in each fold (nominal class only). */
+    STRATIFIED_K_FOLD,
+    /** Several 70/30 splits with different seeds; the model is trained on the whole dataset. */
+    REPEATED_HOLDOUT
+}
@@ -0,0 +1,11 @@
+package com.cloud_ml_app_thesis.enumeration;
+
+/**
+ * How a hyperparameter search picks the option combinations it trains (see HyperparameterSearchSpace).
+ */
+public enum SearchStrategyEnum {
+    /** Every combination of the candidate values. */
+    GRID,
+    /** maxTrials distinct combinations drawn at random. */
+    RANDOM
+}
@@ -2,5 +2,6 @@ package com.cloud_ml_app_thesis.enumeration.status;
 
 public enum TaskTypeEnum {
     TRAINING,
-    PREDICTION
+    PREDICTION,
+    HYPERPARAMETER_SEARCH
 }
@@ -9,6 +9,7 @@ import org.hibernate.StaleStateException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.*;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
@@ -141,6 +142,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new GenericResponse<>(null, "MISSING_REQUEST_HEADER_ERROR", ex.getMessage(), new Metadata()));
     }
 
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<GenericResponse<?>> handleTaskRejected(TaskRejectedException ex) {
+        logger.warn("Task rejected by executor: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new GenericResponse<>(null, "SERVER_BUSY", "Too many jobs in progress, please retry later", new Metadata()));
+    }
+
     // ✅ 6. Generic fallback
     @ExceptionHandler(Exception.class)
     public ResponseEntity<GenericResponse<?>> handleGenericException(Exception ex) {
@@ -1,5 +1,6 @@
 package com.cloud_ml_app_thesis.repository;
 
+import com.cloud_ml_app_thesis.dto.category.CategoryEdge;
 import com.cloud_ml_app_thesis.entity.Category;
 import com.cloud_ml_app_thesis.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,4 +20,10 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
     boolean existsByName(String name);
 
     List<Category> findByCreatedBy(User user);
+
+    @Query("SELECT c.id FROM Category c")
+    List<Integer> findAllIds();
+
+    @Query("SELECT new com.cloud_ml_app_thesis.dto.category.CategoryEdge(c.id, p.id) FROM Category c JOIN c.parentCategories p")
+    List<CategoryEdge> findAllEdges();
 }
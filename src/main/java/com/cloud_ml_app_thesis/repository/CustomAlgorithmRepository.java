@@ -3,8 +3,12 @@ package com.cloud_ml_app_thesis.repository;
 import com.cloud_ml_app_thesis.entity.CustomAlgorithm;
 import com.cloud_ml_app_thesis.entity.User;
 import com.cloud_ml_app_thesis.entity.accessibility.CustomAlgorithmAccessibility;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +17,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomAlgorithmRepository extends JpaRepository<CustomAlgorithm, Integer> {
+public interface CustomAlgorithmRepository extends JpaRepository<CustomAlgorithm, Integer>, JpaSpecificationExecutor<CustomAlgorithm> {
 
     List<CustomAlgorithm> findByOwner(User owner);
 
@@ -24,4 +28,8 @@ public interface CustomAlgorithmRepository extends JpaRepository<CustomAlgorithm
 
     @EntityGraph(attributePaths = {"owner", "accessibility"})
     Optional<CustomAlgorithm> findWithOwnerById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = {"owner", "accessibility"})
+    Page<CustomAlgorithm> findAll(Specification<CustomAlgorithm> spec, Pageable pageable);
 }
@@ -4,6 +4,10 @@ import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
 import com.cloud_ml_app_thesis.enumeration.status.DatasetConfigurationStatusEnum;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +16,9 @@ import java.util.Optional;
 public interface DatasetConfigurationRepository extends JpaRepository<DatasetConfiguration, Integer> {
     Optional<List<DatasetConfiguration>> findAllByDatasetUserUsername(String username);
     Optional<List<DatasetConfiguration>> findAllByDatasetUserUsernameAndStatus(String username, DatasetConfigurationStatusEnum status);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("UPDATE DatasetConfiguration c SET c.classSchema = :classSchema WHERE c.id = :id")
+    int updateClassSchema(@Param("id") Integer id, @Param("classSchema") String classSchema);
 }
@@ -32,7 +32,8 @@ public interface TaskStatusRepository extends JpaRepository<AsyncTaskStatus, Str
         t.trainingId = :trainingId,
         t.modelId = :modelId,
         t.errorMessage = 'Task stopped by user',
-        t.finishedAt = CURRENT_TIMESTAMP
+        t.finishedAt = CURRENT_TIMESTAMP,
+        t.version = COALESCE(t.version, 0) + 1
     WHERE t.taskId = :taskId
 """)
     void markTaskStopped(
@@ -1,5 +1,6 @@
 package com.cloud_ml_app_thesis.repository;
 
+import com.cloud_ml_app_thesis.dto.dataset.DatasetTrainingCount;
 import com.cloud_ml_app_thesis.entity.User;
 import com.cloud_ml_app_thesis.entity.model.Model;
 import com.cloud_ml_app_thesis.entity.Training;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,8 +22,17 @@ import java.util.UUID;
 public interface TrainingRepository extends JpaRepository<Training, Integer> {
     Optional<Training> findByModel(Model model);
 
-    @Query("SELECT COUNT(t) FROM Training t WHERE t.datasetConfiguration.dataset.id = :datasetId AND t.status.name = :status")
-    long countByDatasetConfigurationDatasetIdAndStatus(@Param("datasetId") Integer datasetId, @Param("status") TrainingStatusEnum status);
+    // Counts for a whole page of datasets in one round trip; datasets without trainings have no rows
+    @Query("""
+            SELECT new com.cloud_ml_app_thesis.dto.dataset.DatasetTrainingCount(dc.dataset.id, s.name, COUNT(t))
+            FROM Training t
+            JOIN t.datasetConfiguration dc
+            JOIN t.status s
+            WHERE dc.dataset.id IN :datasetIds AND s.name IN :statuses
+            GROUP BY dc.dataset.id, s.name
+            """)
+    List<DatasetTrainingCount> countByDatasetIdsAndStatuses(@Param("datasetIds") Collection<Integer> datasetIds,
+                                                            @Param("statuses") Collection<TrainingStatusEnum> statuses);
 
     @Query("SELECT COUNT(t) FROM Training t WHERE t.datasetConfiguration.id = :datasetConfigurationId AND t.status.name = :status")
     long countByDatasetConfigurationIdAndStatus(@Param("datasetConfigurationId") Integer datasetConfigurationId, @Param("status") TrainingStatusEnum status);
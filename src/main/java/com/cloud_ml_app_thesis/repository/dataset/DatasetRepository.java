@@ -4,6 +4,9 @@ import com.cloud_ml_app_thesis.entity.Category;
 import com.cloud_ml_app_thesis.entity.User;
 import com.cloud_ml_app_thesis.entity.dataset.Dataset;
 import com.cloud_ml_app_thesis.entity.model.Model;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -19,7 +22,14 @@ public interface DatasetRepository extends JpaRepository<Dataset, Integer>, JpaS
     List<Dataset> findByCategory(Category category);
 
     // Find datasets that are either owned by the user OR are public
-    @Query("SELECT d FROM Dataset d WHERE d.user.username = :username OR d.accessibility.name = com.cloud_ml_app_thesis.enumeration.accessibility.DatasetAccessibilityEnum.PUBLIC")
-    List<Dataset> findAccessibleDatasetsByUsername(@Param("username") String username);
+    // Listing pages: owner, accessibility and category come with the page instead of one select each
+    @EntityGraph(attributePaths = {"user", "accessibility", "category"})
+    @Query(value = "SELECT d FROM Dataset d WHERE d.user.username = :username OR d.accessibility.name = com.cloud_ml_app_thesis.enumeration.accessibility.DatasetAccessibilityEnum.PUBLIC",
+            countQuery = "SELECT COUNT(d) FROM Dataset d WHERE d.user.username = :username OR d.accessibility.name = com.cloud_ml_app_thesis.enumeration.accessibility.DatasetAccessibilityEnum.PUBLIC")
+    Page<Dataset> findAccessibleDatasetsByUsername(@Param("username") String username, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "accessibility", "category"})
+    @Query(value = "SELECT d FROM Dataset d", countQuery = "SELECT COUNT(d) FROM Dataset d")
+    Page<Dataset> findAllForListing(Pageable pageable);
 
 }
@@ -4,7 +4,12 @@ import com.cloud_ml_app_thesis.entity.Category;
 import com.cloud_ml_app_thesis.entity.Training;
 import com.cloud_ml_app_thesis.entity.User;
 import com.cloud_ml_app_thesis.entity.model.Model;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,7 +20,17 @@ import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface ModelRepository extends JpaRepository<Model, Integer> {
+public interface ModelRepository extends JpaRepository<Model, Integer>, JpaSpecificationExecutor<Model> {
+
+    /**
+     * Search page: fetches the to-one associations the model DTO needs with the page itself.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"training", "training.user", "training.datasetConfiguration.dataset",
+            "training.algorithmConfiguration.algorithm", "training.algorithmConfiguration.algorithmType",
+            "training.customAlgorithmConfiguration.algorithm", "modelType", "status", "accessibility", "category"})
+    Page<Model> findAll(Specification<Model> spec, Pageable pageable);
+
     @Query("""
             SELECT m FROM Model m
             WHERE m.accessibility.name = com.cloud_ml_app_thesis.enumeration.accessibility.ModelAccessibilityEnum.PUBLIC
@@ -15,18 +15,10 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import weka.classifiers.Classifier;
-import weka.core.Option;
-import weka.core.OptionHandler;
 
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -36,64 +28,17 @@ public class AlgorithmService {
 
     private final AlgorithmRepository algorithmRepository;
     private final AlgorithmConfigurationRepository algorithmConfigurationRepository;
+    private final WekaAlgorithmCatalog wekaAlgorithmCatalog;
     private static final Logger logger = LoggerFactory.getLogger(AlgorithmService.class);
 
 
+    /**
+     * Name and description of every Weka classifier and clusterer on the classpath, from the in-memory catalogue.
+     */
     public Map<String, String> getWekaAlgorithms() {
-        Map<String, String> wekaAlgoInfos = new HashMap<>();
-
-        Reflections reflections = new Reflections(new ConfigurationBuilder()
-                .setUrls(ClasspathHelper.forPackage("weka.classifiers"))
-                .setScanners(new SubTypesScanner()));
-
-        Set<Class<? extends Classifier>> classes = reflections.getSubTypesOf(Classifier.class);
-
-        for (Class<? extends Classifier> cls : classes) {
-            try {
-                Classifier instance = cls.getDeclaredConstructor().newInstance();
-                String classifierName = cls.getSimpleName();
-
-                // Retrieve the package path relative to "weka.classifiers"
-                Package pkg = cls.getPackage();
-                String packageName = pkg.getName();
-                String relativePath = packageName.substring(packageName.indexOf("weka.classifiers") + "weka.classifiers".length());
-
-                System.out.println("Package path: " + relativePath);
-
-                // Check if globalInfo method is available
-                Method globalInfoMethod = null;
-                try {
-                    globalInfoMethod = cls.getMethod("globalInfo");
-                } catch (NoSuchMethodException e) {
-                    System.out.println("No globalInfo() method for " + classifierName);
-                }
-
-                if (globalInfoMethod != null) {
-                    String classifierInfo = (String) globalInfoMethod.invoke(instance);
-                    System.out.println("Name: " + classifierName);
-                    System.out.println("Description: " + classifierInfo);
-                    wekaAlgoInfos.put(classifierName, classifierInfo);
-
-                } else {
-                    System.out.println("Name: " + classifierName + " (no description available)");
-                    wekaAlgoInfos.put(classifierName, "(no description available)");
-                }
-
-                // Listing options if the classifier implements OptionHandler
-                if (instance instanceof OptionHandler) {
-                    OptionHandler optionHandler = (OptionHandler) instance;
-                    Enumeration<Option> options = optionHandler.listOptions();
-                    System.out.println("Options:");
-                    while (options.hasMoreElements()) {
-                        Option option = options.nextElement();
-                        System.out.println("\t- " + option.synopsis() + " " + option.description());
-                        wekaAlgoInfos.put(option.name(), option.description());
-                    }
-                }
-                System.out.println("---");
-            } catch (Exception e) {
-                System.err.println("Error processing class " + cls.getName() + ": " + e.getMessage());
-            }
+        Map<String, String> wekaAlgoInfos = new LinkedHashMap<>();
+        for (WekaAlgorithmCatalog.Entry entry : wekaAlgorithmCatalog.entries()) {
+            wekaAlgoInfos.putIfAbsent(entry.name(), entry.description());
         }
         return wekaAlgoInfos;
     }
@@ -231,11 +176,7 @@ public class AlgorithmService {
         Algorithm algorithm = algorithmRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Algorithm not found with id: " + id));
 
-        List<WekaAlgorithmOptionDTO> parsedOptions = WekaOptionsParser.parseOptions(
-                algorithm.getOptions(),
-                algorithm.getOptionsDescription(),
-                algorithm.getDefaultOptions()
-        );
+        List<WekaAlgorithmOptionDTO> parsedOptions = parsedOptions(algorithm);
 
         return WekaAlgorithmDTO.builder()
                 .id(algorithm.getId())
@@ -246,4 +187,19 @@ public class AlgorithmService {
                 .defaultOptionsString(algorithm.getDefaultOptions())
                 .build();
     }
+
+    /**
+     * The options parsed once by the catalogue, unless the row's option strings were edited since it was seeded.
+     */
+    private List<WekaAlgorithmOptionDTO> parsedOptions(Algorithm algorithm) {
+        return wekaAlgorithmCatalog.findByClassName(algorithm.getClassName())
+                .filter(entry -> Objects.equals(entry.options(), algorithm.getOptions())
+                        && Objects.equals(entry.optionsDescription(), algorithm.getOptionsDescription())
+                        && Objects.equals(entry.defaultOptions(), algorithm.getDefaultOptions()))
+                .map(WekaAlgorithmCatalog.Entry::parsedOptions)
+                .orElseGet(() -> WekaOptionsParser.parseOptions(
+                        algorithm.getOptions(),
+                        algorithm.getOptionsDescription(),
+                        algorithm.getDefaultOptions()));
+    }
 }
@@ -6,6 +6,8 @@ import com.cloud_ml_app_thesis.dto.train.CustomTrainMetadata;
 import com.cloud_ml_app_thesis.dto.train.DeferredCustomTrainInput;
 import com.cloud_ml_app_thesis.dto.train.DeferredPredictionInput;
 import com.cloud_ml_app_thesis.dto.train.DeferredWekaTrainInput;
+import com.cloud_ml_app_thesis.dto.train.HyperparameterSearchMetadata;
+import com.cloud_ml_app_thesis.dto.train.HyperparameterSearchSettings;
 import com.cloud_ml_app_thesis.dto.train.WekaContainerTrainMetadata;
 import com.cloud_ml_app_thesis.entity.CustomAlgorithm;
 import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
@@ -195,6 +197,43 @@ public class AsyncTrainingSetupService {
     public WekaContainerTrainMetadata prepareWekaTraining(User user, DeferredWekaTrainInput input) throws Exception {
         log.info("📦 [SETUP] Preparing Weka training for user={}", user.getUsername());
 
+        TrainingDataInput trainingInput = configureWekaTraining(user, input);
+
+        DatasetConfiguration datasetConfig = trainingInput.getDatasetConfiguration();
+        String datasetBucket = bucketResolver.resolve(BucketTypeEnum.TRAIN_DATASET);
+        String datasetKey = datasetConfig.getDataset().getFileName();
+
+        return new WekaContainerTrainMetadata(
+                trainingInput.getTraining().getId(),
+                datasetConfig.getId(),
+                trainingInput.getAlgorithmConfiguration().getId(),
+                datasetBucket,
+                datasetKey,
+                datasetConfig.getTargetColumn(),
+                datasetConfig.getBasicAttributesColumns(),
+                input.evaluationStrategy()
+        );
+    }
+
+    /**
+     * Prepares an in-process hyperparameter search: same entities as a Weka training; the search loads the
+     * dataset once for all trials when it starts.
+     */
+    public HyperparameterSearchMetadata prepareHyperparameterSearch(User user, DeferredWekaTrainInput input,
+                                                                    HyperparameterSearchSettings settings) throws Exception {
+        log.info("📦 [SETUP] Preparing hyperparameter search for user={}", user.getUsername());
+
+        TrainingDataInput trainingInput = configureWekaTraining(user, input);
+
+        return new HyperparameterSearchMetadata(
+                trainingInput.getTraining().getId(),
+                trainingInput.getDatasetConfiguration().getId(),
+                trainingInput.getAlgorithmConfiguration().getId(),
+                settings
+        );
+    }
+
+    private TrainingDataInput configureWekaTraining(User user, DeferredWekaTrainInput input) throws Exception {
         // Reconstruct TrainingStartRequest with PathBackedMultipartFile
         TrainingStartRequest request = new TrainingStartRequest();
 
@@ -224,20 +263,7 @@ public class AsyncTrainingSetupService {
         if (trainingInput.getErrorResponse() != null) {
             throw new BadRequestException(trainingInput.getErrorResponse().getMessage());
         }
-
-        DatasetConfiguration datasetConfig = trainingInput.getDatasetConfiguration();
-        String datasetBucket = bucketResolver.resolve(BucketTypeEnum.TRAIN_DATASET);
-        String datasetKey = datasetConfig.getDataset().getFileName();
-
-        return new WekaContainerTrainMetadata(
-                trainingInput.getTraining().getId(),
-                datasetConfig.getId(),
-                trainingInput.getAlgorithmConfiguration().getId(),
-                datasetBucket,
-                datasetKey,
-                datasetConfig.getTargetColumn(),
-                datasetConfig.getBasicAttributesColumns()
-        );
+        return trainingInput;
     }
 
     /**
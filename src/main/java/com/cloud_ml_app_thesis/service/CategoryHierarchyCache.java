@@ -0,0 +1,182 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.dto.category.CategoryEdge;
+import com.cloud_ml_app_thesis.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable in-memory snapshot of the category DAG (category_hierarchy).
+ *
+ * Descendant and ancestor lookups used to walk the hierarchy one repository call or lazy load per node; the
+ * snapshot is loaded with two queries (category ids and edges) on first use and dropped by {@link #invalidate}
+ * whenever categories or their parents change, so the next lookup reloads it.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryHierarchyCache {
+
+    public static final class Snapshot {
+        private final Set<Integer> categoryIds;
+        private final Map<Integer, Set<Integer>> parents;
+        private final Map<Integer, Set<Integer>> children;
+        private final Map<Integer, Integer> depths = new HashMap<>();
+
+        Snapshot(Set<Integer> categoryIds, List<CategoryEdge> edges) {
+            Map<Integer, Set<Integer>> parents = new HashMap<>();
+            Map<Integer, Set<Integer>> children = new HashMap<>();
+            for (CategoryEdge edge : edges) {
+                parents.computeIfAbsent(edge.childId(), id -> new HashSet<>()).add(edge.parentId());
+                children.computeIfAbsent(edge.parentId(), id -> new HashSet<>()).add(edge.childId());
+            }
+            this.categoryIds = Set.copyOf(categoryIds);
+            this.parents = freeze(parents);
+            this.children = freeze(children);
+            for (Integer id : this.categoryIds) {
+                depth(id, new HashSet<>());
+            }
+        }
+
+        public boolean contains(Integer categoryId) {
+            return categoryIds.contains(categoryId);
+        }
+
+        public Set<Integer> parentIds(Integer categoryId) {
+            return parents.getOrDefault(categoryId, Set.of());
+        }
+
+        public Set<Integer> childIds(Integer categoryId) {
+            return children.getOrDefault(categoryId, Set.of());
+        }
+
+        /**
+         * The category itself and every category below it.
+         */
+        public Set<Integer> descendantsAndSelf(Integer categoryId) {
+            Set<Integer> result = new LinkedHashSet<>();
+            Deque<Integer> pending = new ArrayDeque<>();
+            pending.push(categoryId);
+            while (!pending.isEmpty()) {
+                Integer id = pending.pop();
+                if (result.add(id)) {
+                    childIds(id).forEach(pending::push);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Every category above the given one.
+         */
+        public Set<Integer> ancestors(Integer categoryId) {
+            Set<Integer> result = new LinkedHashSet<>();
+            Deque<Integer> pending = new ArrayDeque<>(parentIds(categoryId));
+            while (!pending.isEmpty()) {
+                Integer id = pending.pop();
+                if (result.add(id)) {
+                    parentIds(id).forEach(pending::push);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Length of the longest parent path up to a top-level category (0 for top-level categories).
+         */
+        public int depth(Integer categoryId) {
+            Integer depth = depths.get(categoryId);
+            return depth != null ? depth : 0;
+        }
+
+        public int size() {
+            return categoryIds.size();
+        }
+
+        // Only called from the constructor; the visiting set breaks cycles left by bad data
+        private int depth(Integer categoryId, Set<Integer> visiting) {
+            Integer known = depths.get(categoryId);
+            if (known != null) {
+                return known;
+            }
+            if (!visiting.add(categoryId)) {
+                return 0;
+            }
+            int depth = 0;
+            for (Integer parentId : parentIds(categoryId)) {
+                depth = Math.max(depth, depth(parentId, visiting) + 1);
+            }
+            visiting.remove(categoryId);
+            depths.put(categoryId, depth);
+            return depth;
+        }
+
+        private static Map<Integer, Set<Integer>> freeze(Map<Integer, Set<Integer>> edges) {
+            Map<Integer, Set<Integer>> frozen = new HashMap<>();
+            edges.forEach((id, linked) -> frozen.put(id, Set.copyOf(linked)));
+            return Collections.unmodifiableMap(frozen);
+        }
+    }
+
+    private final CategoryRepository categoryRepository;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = current.get();
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long loadedGeneration = generation.get();
+            snapshot = new Snapshot(new HashSet<>(categoryRepository.findAllIds()), categoryRepository.findAllEdges());
+            // An invalidation during the load may have missed changes; serve the snapshot but do not keep it
+            if (generation.get() == loadedGeneration) {
+                current.set(snapshot);
+            }
+            log.info("🌳 Loaded category hierarchy snapshot: {} categories", snapshot.size());
+            return snapshot;
+        }
+    }
+
+    /**
+     * Drops the snapshot now and again when the current transaction completes, so a lookup made in between
+     * cannot cache the hierarchy as it was before the commit.
+     */
+    public void invalidate() {
+        drop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop();
+                }
+            });
+        }
+    }
+
+    private void drop() {
+        generation.incrementAndGet();
+        current.set(null);
+    }
+}
@@ -53,6 +53,7 @@ public class CategoryService {
     private final ModelRepository modelRepository;
     private final DatasetRepository datasetRepository;
     private final ModelMapper modelMapper;
+    private final CategoryHierarchyCache categoryHierarchyCache;
 
     @Transactional
     public GenericResponse<CategoryRequestDTO> createCategory(String username, CategoryCreateRequest request) {
@@ -95,6 +96,7 @@ public class CategoryService {
                 category.setId(request.getId());
             }
             categoryRepository.save(category);
+            categoryHierarchyCache.invalidate();
             statusEnum = CategoryRequestStatusEnum.APPROVED;
             processedBy = user;
             processedAt = requestedAt;
@@ -161,6 +163,7 @@ public class CategoryService {
 
         // Save Category
         Category savedCategory = categoryRepository.save(category);
+        categoryHierarchyCache.invalidate();
 
         // Update CategoryRequest
         request.setApprovedCategory(savedCategory);
@@ -266,6 +269,7 @@ public class CategoryService {
         }
 
         Category updated = categoryRepository.save(category);
+        categoryHierarchyCache.invalidate();
         String newValues = convertCategoryToJson(updated);
 
         categoryHistoryRepository.save(CategoryHistory.builder()
@@ -346,6 +350,7 @@ public class CategoryService {
 
         log.info("Deleting category '{}'", categoryToDelete.getName());
         categoryRepository.save(categoryToDelete);
+        categoryHierarchyCache.invalidate();
 
         return new GenericResponse<>(null, null, "Category deleted successfully", new Metadata());
     }
@@ -378,37 +383,15 @@ public class CategoryService {
 
     public Set<Integer> getChildCategoryIds(Integer categoryId, boolean deepSearch) {
         if(deepSearch) {
-            Set<Integer> childCategoryIds = new HashSet<>();
-            findChildCategories(categoryId, childCategoryIds);
-            return childCategoryIds; // The same Set is updated recursively
+            // The category itself and everything below it
+            return categoryHierarchyCache.snapshot().descendantsAndSelf(categoryId);
         } else {
             return getDirectChildCategoryIds(categoryId);
         }
     }
 
     public Set<Integer> getDirectChildCategoryIds(Integer categoryId) {
-        return categoryRepository.findByParentCategoriesId(categoryId)
-                .stream()
-                .map(Category::getId)
-                .collect(Collectors.toSet());
-    }
-
-    private void findChildCategories(Integer categoryId, Set<Integer> childCategoryIds) {
-        childCategoryIds.add(categoryId);
-        Set<Category> children = categoryRepository.findByParentCategoriesId(categoryId);
-        // Recursively find deeper child categories
-        for (Category child : children) {
-            findChildCategories(child.getId(), childCategoryIds);
-        }
-    }
-
-    private int getCategoryLevel(Category category) {
-        int level = 0;
-        while (!category.getParentCategories().isEmpty()) {
-            category = category.getParentCategories().iterator().next();
-            level++;
-        }
-        return level;
+        return categoryHierarchyCache.snapshot().childIds(categoryId);
     }
 
     public Category findClosestParent(Category category) {
@@ -423,12 +406,13 @@ public class CategoryService {
             return parentCategories.iterator().next();
         }
 
-        // If multiple parents exist, find the one closest in hierarchy
+        // If multiple parents exist, the deepest one in the hierarchy is the closest
+        CategoryHierarchyCache.Snapshot hierarchy = categoryHierarchyCache.snapshot();
         Category closestParent = null;
         int highestLevel = -1;
 
         for (Category parent : parentCategories) {
-            int parentLevel = getCategoryLevel(parent);
+            int parentLevel = hierarchy.depth(parent.getId());
             if (parentLevel > highestLevel) {
                 highestLevel = parentLevel;
                 closestParent = parent;
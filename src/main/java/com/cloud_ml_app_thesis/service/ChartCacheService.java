@@ -0,0 +1,243 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.config.ChartCacheProperties;
+import com.cloud_ml_app_thesis.util.LruCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of rendered chart PNGs keyed by model, chart type, size and metrics URL: an LRU memory tier bounded by
+ * entry count and bytes, backed by a disk tier under {@code chart-cache.directory}.
+ *
+ * Metrics files never change once a training completes and a new metrics file has a new URL, so entries only
+ * go stale through {@link #invalidate(Integer)} (ModelService.updateModelContent, deleteModel). Each chart carries
+ * an ETag derived from its bytes so clients can revalidate with If-None-Match.
+ * Disk reads and writes take no lock; a write and the invalidation of the same model are serialized by a lock
+ * striped by model id.
+ * Metrics: chart.cache.requests{result=memory|disk|miss}, chart.cache.entries, chart.cache.weight.bytes.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(ChartCacheProperties.class)
+public class ChartCacheService implements MeterBinder {
+
+    public enum ChartType {
+        METRICS_BAR(600, 400),
+        CONFUSION_MATRIX(600, 600),
+        REGRESSION_SCATTER(600, 600),
+        RESIDUALS(600, 600),
+        CLUSTER_SIZES(600, 400),
+        CLUSTER_SCATTER(600, 500);
+
+        private final int width;
+        private final int height;
+
+        ChartType(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        public int width() {
+            return width;
+        }
+
+        public int height() {
+            return height;
+        }
+    }
+
+    public record Key(Integer modelId, ChartType type, int width, int height, String metricsUrl) {
+    }
+
+    public record RenderedChart(byte[] png, String etag) {
+
+        static RenderedChart of(byte[] png) {
+            return new RenderedChart(png, DigestUtils.md5DigestAsHex(png));
+        }
+
+        public ByteArrayResource toResource() {
+            return new ByteArrayResource(png);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Renderer {
+        byte[] render() throws Exception;
+    }
+
+    private static final int DISK_LOCK_STRIPES = 32;
+
+    private final ChartCacheProperties properties;
+    // Evicted charts stay on disk
+    private final LruCache<Key, RenderedChart> entries = new LruCache<>(chart -> chart.png().length);
+    private final ReentrantLock[] diskLocks = new ReentrantLock[DISK_LOCK_STRIPES];
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ChartCacheService(ChartCacheProperties properties) {
+        this.properties = properties;
+        for (int i = 0; i < diskLocks.length; i++) {
+            diskLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public RenderedChart get(Key key, Renderer renderer) throws Exception {
+        if (!properties.isEnabled()) {
+            return RenderedChart.of(renderer.render());
+        }
+        long renderGeneration = entries.generation();
+
+        RenderedChart cached = entries.get(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached;
+        }
+
+        byte[] png = readFromDisk(key);
+        if (png != null) {
+            diskHits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            png = renderer.render();
+        }
+        RenderedChart chart = RenderedChart.of(png);
+        put(key, chart, renderGeneration);
+        return chart;
+    }
+
+    /**
+     * Drops every cached chart of a model, in memory and on disk.
+     */
+    public void invalidate(Integer modelId) {
+        ReentrantLock diskLock = diskLock(modelId);
+        diskLock.lock();
+        try {
+            entries.invalidateIf((key, chart) -> Objects.equals(key.modelId(), modelId));
+            if (properties.isDiskEnabled()) {
+                FileSystemUtils.deleteRecursively(modelDirectory(modelId));
+            }
+            log.info("🧹 Chart cache invalidated: modelId={}", modelId);
+        } catch (IOException e) {
+            log.warn("⚠️ Failed to delete cached charts of model {}: {}", modelId, e.getMessage());
+        } finally {
+            diskLock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long weightBytes() {
+        return entries.weight();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("chart.cache.requests", memoryHits, AtomicLong::get)
+                .tag("result", "memory")
+                .description("Charts served from the memory tier")
+                .register(registry);
+        FunctionCounter.builder("chart.cache.requests", diskHits, AtomicLong::get)
+                .tag("result", "disk")
+                .description("Charts served from the disk tier")
+                .register(registry);
+        FunctionCounter.builder("chart.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Charts rendered from the metrics file")
+                .register(registry);
+        Gauge.builder("chart.cache.entries", this, ChartCacheService::size)
+                .description("Charts currently held in memory")
+                .register(registry);
+        Gauge.builder("chart.cache.weight.bytes", this, ChartCacheService::weightBytes)
+                .description("Size of the charts held in memory")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void put(Key key, RenderedChart chart, long renderGeneration) {
+        long maxBytes = properties.getMaxSize().toBytes();
+
+        ReentrantLock diskLock = diskLock(key.modelId());
+        diskLock.lock();
+        try {
+            if (entries.generation() != renderGeneration) {
+                return;
+            }
+            writeToDisk(key, chart.png());
+        } finally {
+            diskLock.unlock();
+        }
+        if (chart.png().length <= maxBytes) {
+            entries.put(key, chart, renderGeneration, properties.getMaxEntries(), maxBytes);
+        }
+    }
+
+    private ReentrantLock diskLock(Integer modelId) {
+        return diskLocks[Math.floorMod(Objects.hashCode(modelId), diskLocks.length)];
+    }
+
+    private byte[] readFromDisk(Key key) {
+        if (!properties.isDiskEnabled()) {
+            return null;
+        }
+        Path file = file(key);
+        try {
+            return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+        } catch (IOException e) {
+            log.warn("⚠️ Failed to read cached chart {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    // Called under the model's disk lock so an invalidation cannot interleave with the write
+    private void writeToDisk(Key key, byte[] png) {
+        if (!properties.isDiskEnabled()) {
+            return;
+        }
+        Path file = file(key);
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "chart-", ".tmp");
+            Files.write(tmp, png);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Failed to write cached chart {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path modelDirectory(Integer modelId) {
+        return properties.getDirectory().resolve(String.valueOf(modelId));
+    }
+
+    private Path file(Key key) {
+        String metricsHash = DigestUtils.md5DigestAsHex(
+                String.valueOf(key.metricsUrl()).getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        return modelDirectory(key.modelId())
+                .resolve(key.type().name().toLowerCase() + "-" + key.width() + "x" + key.height() + "-" + metricsHash + ".png");
+    }
+}
@@ -0,0 +1,193 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
+import com.cloud_ml_app_thesis.repository.DatasetConfigurationRepository;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import weka.core.Attribute;
+import weka.core.Instances;
+import weka.filters.Filter;
+import weka.filters.unsupervised.attribute.NumericToNominal;
+import weka.filters.unsupervised.attribute.Remove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class attribute schema of a DatasetConfiguration's training data: what predictions need from the training set
+ * (class name, type, labels, selected columns) without downloading and parsing it again.
+ *
+ * Saved on the configuration (class_schema column) when a training completes and kept in memory per configuration.
+ * A schema only applies while the configuration still points at the same dataset file and columns; otherwise, or
+ * for configurations trained before the schema existed, it is rebuilt once from the training file and saved.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClassSchemaService {
+
+    public enum ClassType { NOMINAL, NUMERIC, STRING, DATE, OTHER }
+
+    /**
+     * @param classValues     nominal labels as declared; for a numeric class trained by a classification algorithm,
+     *                        the labels NumericToNominal gives it; empty otherwise
+     * @param selectedColumns attribute names the configuration keeps, in dataset order
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ClassSchema(String classAttributeName,
+                              ClassType classType,
+                              List<String> classValues,
+                              List<String> selectedColumns,
+                              String datasetPath,
+                              String basicAttributesColumns,
+                              String targetColumn) {
+
+        @JsonIgnore
+        public boolean isNominal() {
+            return classType == ClassType.NOMINAL;
+        }
+
+        boolean matches(DatasetConfiguration config, boolean classification) {
+            boolean labelled = !classification || classType != ClassType.NUMERIC || !classValues.isEmpty();
+            return labelled
+                    && config.getDataset() != null
+                    && Objects.equals(datasetPath, config.getDataset().getFilePath())
+                    && Objects.equals(basicAttributesColumns, config.getBasicAttributesColumns())
+                    && Objects.equals(targetColumn, config.getTargetColumn());
+        }
+    }
+
+    private final DatasetConfigurationRepository datasetConfigurationRepository;
+    private final DatasetSnapshotRegistry datasetSnapshotRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Integer, ClassSchema> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Schema of training data loaded for {@code config} (projected, class index set). Call before any
+     * training-time filtering so the class type is the one in the dataset file. A numeric class only gets labels
+     * when {@code classification} is set: regression keeps it numeric, so there is nothing to convert.
+     */
+    public ClassSchema describe(DatasetConfiguration config, Instances trainingData, boolean classification) throws Exception {
+        Attribute classAttr = trainingData.classAttribute();
+
+        ClassType classType;
+        List<String> classValues = new ArrayList<>();
+        if (classAttr.isNominal()) {
+            classType = ClassType.NOMINAL;
+            for (int i = 0; i < classAttr.numValues(); i++) {
+                classValues.add(classAttr.value(i));
+            }
+        } else if (classAttr.isNumeric()) {
+            classType = ClassType.NUMERIC;
+            if (classification) {
+                classValues.addAll(numericClassLabels(trainingData));
+            }
+        } else if (classAttr.isString()) {
+            classType = ClassType.STRING;
+        } else if (classAttr.isDate()) {
+            classType = ClassType.DATE;
+        } else {
+            classType = ClassType.OTHER;
+        }
+
+        List<String> selectedColumns = new ArrayList<>(trainingData.numAttributes());
+        for (int i = 0; i < trainingData.numAttributes(); i++) {
+            selectedColumns.add(trainingData.attribute(i).name());
+        }
+
+        return new ClassSchema(classAttr.name(), classType, List.copyOf(classValues), List.copyOf(selectedColumns),
+                config.getDataset() != null ? config.getDataset().getFilePath() : null,
+                config.getBasicAttributesColumns(), config.getTargetColumn());
+    }
+
+    /**
+     * Stores the schema captured for a completed training. Failures are logged, never propagated:
+     * the schema can always be rebuilt from the training file.
+     */
+    public void save(Integer datasetConfigurationId, ClassSchema schema) {
+        try {
+            datasetConfigurationRepository.updateClassSchema(datasetConfigurationId, objectMapper.writeValueAsString(schema));
+            cache.put(datasetConfigurationId, schema);
+            log.info("📋 Saved class schema for datasetConfiguration={} (class='{}', {})",
+                    datasetConfigurationId, schema.classAttributeName(), schema.classType());
+        } catch (Exception e) {
+            log.warn("⚠️ Could not save class schema for datasetConfiguration={}: {}", datasetConfigurationId, e.getMessage());
+        }
+    }
+
+    /**
+     * Schema for {@code config}: from memory, else from the configuration row, else built from the training file.
+     * A {@code classification} caller also needs the labels of a numeric class, so a schema saved by a regression
+     * training is rebuilt for it.
+     */
+    public ClassSchema get(DatasetConfiguration config, boolean classification) throws Exception {
+        ClassSchema schema = cache.get(config.getId());
+        if (schema != null && schema.matches(config, classification)) {
+            return schema;
+        }
+
+        schema = stored(config);
+        if (schema != null && schema.matches(config, classification)) {
+            cache.put(config.getId(), schema);
+            return schema;
+        }
+
+        log.info("📥 No class schema for datasetConfiguration={}, reading training dataset once", config.getId());
+        // Through the snapshot registry: shared with a training running on the configuration, and within its budget
+        try (DatasetSnapshotRegistry.Lease lease = datasetSnapshotRegistry.acquire(config)) {
+            schema = describe(config, lease.instances(), classification);
+        }
+        save(config.getId(), schema);
+        return schema;
+    }
+
+    private ClassSchema stored(DatasetConfiguration config) {
+        String json = config.getClassSchema();
+        if (json == null) {
+            json = datasetConfigurationRepository.findById(config.getId())
+                    .map(DatasetConfiguration::getClassSchema)
+                    .orElse(null);
+        }
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, ClassSchema.class);
+        } catch (JsonProcessingException e) {
+            log.warn("⚠️ Ignoring unreadable class schema for datasetConfiguration={}: {}", config.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Labels a classification training gives a numeric class (TrainService converts it with NumericToNominal).
+     */
+    private static List<String> numericClassLabels(Instances trainingData) throws Exception {
+        // Only the class column goes through the filter
+        Remove keepClass = new Remove();
+        keepClass.setAttributeIndicesArray(new int[]{trainingData.classIndex()});
+        keepClass.setInvertSelection(true);
+        keepClass.setInputFormat(trainingData);
+        Instances classOnly = Filter.useFilter(trainingData, keepClass);
+
+        NumericToNominal convert = new NumericToNominal();
+        convert.setAttributeIndices("first");
+        convert.setInputFormat(classOnly);
+        Attribute converted = Filter.useFilter(classOnly, convert).attribute(0);
+
+        List<String> labels = new ArrayList<>(converted.numValues());
+        for (int i = 0; i < converted.numValues(); i++) {
+            labels.add(converted.value(i));
+        }
+        return labels;
+    }
+}
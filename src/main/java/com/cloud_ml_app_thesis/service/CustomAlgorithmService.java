@@ -16,6 +16,8 @@ import com.cloud_ml_app_thesis.repository.AlgorithmImageRepository;
 import com.cloud_ml_app_thesis.repository.CustomAlgorithmConfigurationRepository;
 import com.cloud_ml_app_thesis.repository.CustomAlgorithmRepository;
 import com.cloud_ml_app_thesis.repository.accessibility.AlgorithmAccessibilityRepository;
+import com.cloud_ml_app_thesis.specification.CustomAlgorithmSpecification;
+import com.cloud_ml_app_thesis.specification.SearchSort;
 import com.cloud_ml_app_thesis.util.DateUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -27,6 +29,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.glassfish.jersey.internal.inject.Custom;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -44,6 +50,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CustomAlgorithmService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 500;
+
     private final MinioService minioService;
 
     private final CustomAlgorithmRepository customAlgorithmRepository;
@@ -203,108 +211,31 @@ public class CustomAlgorithmService {
     }
 
     //If admin should return all the algorithms even if is private or public. If is simple user should filter accessibility
-    public List<CustomAlgorithmDTO> searchCustomAlgorithms(CustomAlgorithmSearchRequest request, User user) {
+    /**
+     * Filters, sorts and pages the custom algorithms in the database; only the requested page is loaded and mapped.
+     */
+    @Transactional
+    public Page<CustomAlgorithmDTO> searchCustomAlgorithms(CustomAlgorithmSearchRequest request, User user,
+                                                           int page, int size, String sortBy, String sortDirection) {
 
         // Check if user has ADMIN role
         boolean isAdmin = user.getRoles().stream()
                 .anyMatch(role -> role.getName().name().equals("ADMIN"));
 
         // Admin sees ALL algorithms, regular users see only their own + public ones
-        List<CustomAlgorithm> algorithms = isAdmin
-                ? customAlgorithmRepository.findAll()
-                : customAlgorithmRepository.findByOwnerOrPublic(user);
-
-        log.info("Search Custom Algorithms: {} (isAdmin: {})", algorithms.size(), isAdmin);
-
-        List<CustomAlgorithmDTO> results = algorithms.stream()
-                .filter(algorithm -> matchCriteria(algorithm, request))
-                .map(algorithm -> mapToDTO(algorithm, user))
-                .collect(Collectors.toList());
-
-        return results;
-    }
-
-    public boolean matchCriteria(CustomAlgorithm algorithm, CustomAlgorithmSearchRequest request) {
-        List<Boolean> matches = new ArrayList<>();
-
-        //Simple search
-        if(StringUtils.isNotBlank(request.getSimpleSearchInput()) && !request.getSimpleSearchInput().equalsIgnoreCase("string")) {
-            String searchInput = request.getSimpleSearchInput().toLowerCase();
-            boolean searchMatch = algorithm.getName().toLowerCase().contains(searchInput)
-                || (algorithm.getDescription() != null && algorithm.getDescription().toLowerCase().contains(searchInput))
-                || algorithm.getKeywords().stream().anyMatch(k -> k.toLowerCase().contains(searchInput))
-                || algorithm.getAccessibility().getName().name().toLowerCase().equals(searchInput) ;
-            matches.add(searchMatch);
-        }
+        Specification<CustomAlgorithm> spec = CustomAlgorithmSpecification.getCustomAlgorithmsByCriteria(request, user, isAdmin, dateUtil);
 
-        // Advanced Search - name AND description
-        if(StringUtils.isNotBlank(request.getName()) && !request.getName().equalsIgnoreCase("string")) {
-            boolean nameMatch = algorithm.getName().toLowerCase().contains(request.getName().toLowerCase());
-            matches.add(nameMatch);
-            log.info("  ➜ Name '{}' match: {}", request.getName(), nameMatch);
-        }
-
-        if(StringUtils.isNotBlank(request.getDescription()) && !request.getDescription().equalsIgnoreCase("string")) {
-            boolean descMatch = algorithm.getDescription() != null &&
-                algorithm.getDescription().toLowerCase().contains(request.getDescription().toLowerCase());
-            matches.add(descMatch);
-            log.info("  ➜ Description '{}' match: {}", request.getDescription(), descMatch);
-        }
-
-        // Date range filter - combine FROM and TO with AND logic
-        boolean hasDateFrom = StringUtils.isNotBlank(request.getCreatedAtFrom()) && !request.getCreatedAtFrom().equalsIgnoreCase("string");
-        boolean hasDateTo = StringUtils.isNotBlank(request.getCreatedAtTo()) && !request.getCreatedAtTo().equalsIgnoreCase("string");
-
-        if(hasDateFrom || hasDateTo) {
-            if(algorithm.getCreatedAt() == null) {
-                // If createdAt is null, date filter always fails
-                matches.add(false);
-                log.info("  ➜ Date range match: false (algorithm createdAt is null)");
-            } else {
-                LocalDateTime createdAt = algorithm.getCreatedAt();
-                boolean dateMatch = true;
-
-                // Check FROM date
-                if(hasDateFrom) {
-                    try {
-                        LocalDateTime from = dateUtil.parseDateTime(request.getCreatedAtFrom(), true);
-                        boolean fromMatch = createdAt.isAfter(from) || createdAt.isEqual(from);
-                        dateMatch = dateMatch && fromMatch;
-                        log.info("  ➜ CreatedAtFrom '{}' match: {} (algo date: {})",
-                                request.getCreatedAtFrom(), fromMatch, algorithm.getCreatedAt());
-                    } catch (Exception e) {
-                        log.warn("Invalid createdAtFrom format: {}", request.getCreatedAtFrom(), e);
-                        dateMatch = false;
-                    }
-                }
+        Pageable pageable = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE),
+                SearchSort.of(sortBy, sortDirection)
+        );
 
-                // Check TO date
-                if(hasDateTo) {
-                    try {
-                        LocalDateTime to = dateUtil.parseDateTime(request.getCreatedAtTo(), false);
-                        boolean toMatch = createdAt.isBefore(to) || createdAt.isEqual(to);
-                        dateMatch = dateMatch && toMatch;
-                        log.info("  ➜ CreatedAtTo '{}' match: {} (algo date: {})",
-                                request.getCreatedAtTo(), toMatch, algorithm.getCreatedAt());
-                    } catch (Exception e) {
-                        log.warn("Invalid createdAtTo format: {}", request.getCreatedAtTo(), e);
-                        dateMatch = false;
-                    }
-                }
-
-                matches.add(dateMatch);
-                log.info("  ➜ Date range overall match: {}", dateMatch);
-            }
-        }
-        if(matches.isEmpty()){
-            return true;
-        }
+        Page<CustomAlgorithm> algorithms = customAlgorithmRepository.findAll(spec, pageable);
 
-        log.info("matches found: {}",matches.stream().allMatch(Boolean::booleanValue));
+        log.info("Search Custom Algorithms: {} of {} (isAdmin: {})", algorithms.getNumberOfElements(), algorithms.getTotalElements(), isAdmin);
 
-        return request.getSearchMode() == CustomAlgorithmSearchRequest.SearchMode.AND
-                ? matches.stream().allMatch(Boolean::booleanValue)
-                : matches.stream().anyMatch(Boolean::booleanValue);
+        return algorithms.map(algorithm -> mapToDTO(algorithm, user));
     }
 
 
@@ -85,6 +85,7 @@ public class CustomTrainingService {
     private final CustomAlgorithmConfigurationRepository customAlgorithmConfigurationRepository;
     private final AlgorithmImageRepository algorithmImageRepository;
     private final TaskStatusService taskStatusService;
+    private final StopTestDelay stopTestDelay;
     private final PathResolver pathResolver;
     private final EntityManager entityManager;
     private final TransactionTemplate transactionTemplate;
@@ -165,8 +166,7 @@ public class CustomTrainingService {
             }
             trainingId = training.getId();
             entityManager.detach(training);
-            log.info("⏳ Sleeping for 10 seconds before starting training (for manual stop testing)");
-            Thread.sleep(10000);
+            stopTestDelay.pause(taskId, "before training");
             if (taskStatusService.stopRequested(taskId)) {
                 throw new UserInitiatedStopException("User requested stop for task " + taskId);
             }
@@ -446,9 +446,8 @@ public class CustomTrainingService {
 
             modelService.saveModel(training, modelUrl, metricsUrl, labelMappingUrl, featureColumnsUrl, customType);
 
-            log.info("⏳ Sleeping for 20 seconds after training (for manual stop testing)");
             complete=true;
-            Thread.sleep(10000);
+            stopTestDelay.pause(taskId, "after the model upload");
             if (taskStatusService.stopRequested(taskId)) {
                 throw new UserInitiatedStopException("User requested stop for task " + taskId);
             }
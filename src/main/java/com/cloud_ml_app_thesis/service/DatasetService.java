@@ -26,10 +26,11 @@ import com.cloud_ml_app_thesis.repository.dataset.DatasetRepository;
 import com.cloud_ml_app_thesis.repository.TrainingRepository;
 import com.cloud_ml_app_thesis.repository.UserRepository;
 import com.cloud_ml_app_thesis.specification.DatasetSpecification;
+import com.cloud_ml_app_thesis.specification.SearchSort;
 import com.cloud_ml_app_thesis.util.AlgorithmUtil;
 import com.cloud_ml_app_thesis.util.DatasetUtil;
 import com.cloud_ml_app_thesis.util.FileUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.cloud_ml_app_thesis.util.MinioObjectResource;
 import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
 import jakarta.persistence.EntityNotFoundException;
@@ -45,7 +46,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.web.multipart.MultipartFile;
 
 import org.slf4j.Logger;
@@ -56,7 +56,6 @@ import weka.core.Instances;
 import weka.core.converters.ArffLoader;
 import weka.core.converters.ArffSaver;
 import weka.core.converters.CSVLoader;
-import weka.core.converters.ConverterUtils;
 import weka.filters.Filter;
 import weka.filters.unsupervised.attribute.Remove;
 
@@ -76,6 +75,7 @@ import java.util.stream.Collectors;
 import com.cloud_ml_app_thesis.exception.FileProcessingException;
 
 import com.cloud_ml_app_thesis.dto.dataset.DatasetColumnsResponse;
+import com.cloud_ml_app_thesis.dto.dataset.DatasetTrainingCount;
 
 import static com.cloud_ml_app_thesis.util.DatasetUtil.resolveDatasetMinioInfo;
 
@@ -85,8 +85,10 @@ import static com.cloud_ml_app_thesis.util.DatasetUtil.resolveDatasetMinioInfo;
 public class DatasetService {
 
     private final MinioService minioService;
+    private final ClassSchemaService classSchemaService;
     private final BucketResolver bucketResolver;
     private final CategoryService categoryService;
+    private final DatasetSnapshotRegistry datasetSnapshotRegistry;
 
     private final DatasetRepository datasetRepository;
     private final DatasetConfigurationRepository datasetConfigurationRepository;
@@ -96,9 +98,10 @@ public class DatasetService {
     private final CategoryRepository categoryRepository;
 
     private final MinioClient minioClient;
-    private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(DatasetService.class);
 
+    private static final int MAX_DATASET_PAGE_SIZE = 500;
+
     @Value("${dataset.default-category-id}")
     private Integer defaultCategoryId;
 
@@ -136,7 +139,7 @@ public class DatasetService {
         Pageable pageable = PageRequest.of(
                 page,
                 size,
-                Sort.by(Sort.Direction.fromString(sortDirection), sortBy)
+                SearchSort.of(sortBy, sortDirection)
         );
 
         return datasetRepository.findAll(spec, pageable);
@@ -225,28 +228,53 @@ public class DatasetService {
 
 
     //*********************************************************************************************************************
-    public GenericResponse<?> getDatasets(String username) {
-        List<Dataset> datasets;
+    /**
+     * One page of the dataset table. Training counts for the whole page come from a single grouped query.
+     */
+    public GenericResponse<Page<DatasetSelectTableDTO>> getDatasets(String username, int page, int size, String sortBy, String sortDirection) {
+        Pageable pageable = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_DATASET_PAGE_SIZE),
+                Sort.by(Sort.Direction.fromString(sortDirection), sortBy)
+        );
 
         // If username is null (admin/manager), return all datasets
-        if (username == null) {
-            datasets = datasetRepository.findAll();
-        } else {
-            // For regular users: return their own datasets + public datasets from others
-            datasets = datasetRepository.findAccessibleDatasetsByUsername(username);
-        }
+        Page<Dataset> datasets = username == null
+                ? datasetRepository.findAllForListing(pageable)
+                // For regular users: return their own datasets + public datasets from others
+                : datasetRepository.findAccessibleDatasetsByUsername(username, pageable);
+
+        Map<Integer, Map<TrainingStatusEnum, Long>> trainingCounts = countTrainings(datasets.getContent());
+        Page<DatasetSelectTableDTO> dtos = datasets.map(dataset ->
+                convertToDTO(dataset, trainingCounts.getOrDefault(dataset.getId(), Map.of())));
+        return new GenericResponse<>(dtos, null, null, new Metadata());
+    }
 
-        if (datasets != null && !datasets.isEmpty()) {
-            List<DatasetSelectTableDTO> datasetSelectTableDTOS = datasets.stream()
-                    .map(this::convertToDTO)
-                    .toList();
-            return new GenericResponse<List<DatasetSelectTableDTO>>(datasetSelectTableDTOS, null, null, new Metadata());
+    private Map<Integer, Map<TrainingStatusEnum, Long>> countTrainings(List<Dataset> datasets) {
+        if (datasets.isEmpty()) {
+            return Map.of();
         }
-        return new GenericResponse<List<DatasetSelectTableDTO>>(List.of(), null, null, new Metadata());
+        List<Integer> datasetIds = datasets.stream().map(Dataset::getId).toList();
+        Map<Integer, Map<TrainingStatusEnum, Long>> counts = new HashMap<>();
+        for (DatasetTrainingCount row : trainingRepository.countByDatasetIdsAndStatuses(
+                datasetIds, EnumSet.of(TrainingStatusEnum.COMPLETED, TrainingStatusEnum.FAILED))) {
+            counts.computeIfAbsent(row.datasetId(), id -> new EnumMap<>(TrainingStatusEnum.class))
+                    .put(row.status(), row.count());
+        }
+        return counts;
     }
 
-    private DatasetSelectTableDTO convertToDTO(Dataset dataset) {
-        DatasetSelectTableDTO dto = objectMapper.convertValue(dataset, DatasetSelectTableDTO.class);
+    private DatasetSelectTableDTO convertToDTO(Dataset dataset, Map<TrainingStatusEnum, Long> trainingCounts) {
+        // Mapped field by field: serializing the entity would also load its configurations and shares
+        DatasetSelectTableDTO dto = new DatasetSelectTableDTO();
+        dto.setId(dataset.getId());
+        dto.setOriginalFileName(dataset.getOriginalFileName());
+        dto.setFileName(dataset.getFileName());
+        dto.setFilePath(dataset.getFilePath());
+        dto.setFileSize(dataset.getFileSize());
+        dto.setContentType(dataset.getContentType());
+        dto.setUploadDate(dataset.getUploadDate());
+        dto.setDescription(dataset.getDescription());
 
         // Explicitly map accessibility entity's name field to DTO's status field
         if (dataset.getAccessibility() != null) {
@@ -261,11 +289,8 @@ public class DatasetService {
             dto.setOwnerUsername(dataset.getUser().getUsername());
         }
 
-        long completeCount = trainingRepository.countByDatasetConfigurationDatasetIdAndStatus(dataset.getId(), TrainingStatusEnum.COMPLETED);
-        dto.setCompleteTrainingCount(completeCount);
-
-        long failedCount = trainingRepository.countByDatasetConfigurationDatasetIdAndStatus(dataset.getId(), TrainingStatusEnum.FAILED);
-        dto.setFailedTrainingCount(failedCount);
+        dto.setCompleteTrainingCount(trainingCounts.getOrDefault(TrainingStatusEnum.COMPLETED, 0L));
+        dto.setFailedTrainingCount(trainingCounts.getOrDefault(TrainingStatusEnum.FAILED, 0L));
 
         return dto;
     }
@@ -291,10 +316,12 @@ public class DatasetService {
                                                     AlgorithmType algoType) throws Exception {
         log.info("📥 [SIMPLE] Loading prediction dataset from CSV: {}", csvPath);
 
-        // 1. Μετατροπή σε ARFF
-        String arffPath = DatasetUtil.csvToArff(Files.newInputStream(csvPath), csvPath.getFileName().toString());
-        Instances data = new ConverterUtils.DataSource(arffPath).getDataSet();
-        log.info("✅ Loaded ARFF with {} instances and {} attributes", data.numInstances(), data.numAttributes());
+        // 1. Φόρτωση απευθείας σε Instances
+        Instances data;
+        try (InputStream in = Files.newInputStream(csvPath)) {
+            data = DatasetUtil.loadInstances(in, csvPath.getFileName().toString());
+        }
+        log.info("✅ Loaded {} instances and {} attributes", data.numInstances(), data.numAttributes());
 
         // 2. Αν είναι classification ➤ inject nominal class column
         if (algoType.getName() == AlgorithmTypeEnum.CLASSIFICATION) {
@@ -307,36 +334,21 @@ public class DatasetService {
                 if (!classAttr.isNominal()) {
                     log.warn("⚠️ Class attribute is not nominal. Attempting to inject nominal class labels...");
 
-                    // ➕ Ανάκτηση class labels από το training dataset στο MinIO
-                    String[] pathParts = DatasetUtil.resolveDatasetMinioInfo(config.getDataset());
-                    String bucket = pathParts[0];
-                    String objectName = pathParts[1];
-
-                    try (InputStream trainingStream = minioService.loadObjectAsInputStream(bucket, objectName)) {
-                        Instances trainingData = DatasetUtil.loadDatasetInstancesByDatasetConfigurationFromMinio(config, trainingStream, objectName);
-                        Attribute trainingClassAttr = trainingData.classAttribute();
-                        if (trainingClassAttr == null) {
-                            throw new IllegalStateException("Training dataset does not contain a class attribute");
-                        }
-                        if (!trainingClassAttr.isNominal()) {
-                            log.warn("⚠️ Training class attribute is not nominal. Skipping nominal injection.");
-                            // Do not inject anything. Just return as-is.
-                            return DatasetUtil.selectColumns(
-                                    data,
-                                    config.getBasicAttributesColumns(),
-                                    config.getTargetColumn(),
-                                    1
-                            );
-                        }
-
-                        List<String> classValuesFromTraining = Collections.list(trainingClassAttr.enumerateValues())
-                                .stream()
-                                .map(Object::toString)
-                                .collect(Collectors.toList());
-
-                        data = DatasetUtil.injectNominalClassFromTraining(data, classAttrName, classValuesFromTraining);
-                        log.info("✅ Nominal class attribute injected successfully");
+                    // ➕ Class labels από το αποθηκευμένο schema του training dataset
+                    ClassSchemaService.ClassSchema classSchema = classSchemaService.get(config, true);
+                    if (!classSchema.isNominal()) {
+                        log.warn("⚠️ Training class attribute is not nominal. Skipping nominal injection.");
+                        // Do not inject anything. Just return as-is.
+                        return DatasetUtil.selectColumns(
+                                data,
+                                config.getBasicAttributesColumns(),
+                                config.getTargetColumn(),
+                                1
+                        );
                     }
+
+                    data = DatasetUtil.injectNominalClassFromTraining(data, classAttrName, classSchema.classValues());
+                    log.info("✅ Nominal class attribute injected successfully");
                 }
             } else {
                 log.warn("⚠️ Class attribute '{}' not found or no missing values.", classAttrName);
@@ -345,17 +357,9 @@ public class DatasetService {
             // For REGRESSION: Add a dummy numeric target column if it doesn't exist
             log.info("📈 REGRESSION detected. Checking if target column exists in prediction data...");
 
-            // Get target column name from TRAINING dataset (not prediction data)
-            String[] pathParts = DatasetUtil.resolveDatasetMinioInfo(config.getDataset());
-            String bucket = pathParts[0];
-            String objectName = pathParts[1];
-
-            String classAttrName;
-            try (InputStream trainingStream = minioService.loadObjectAsInputStream(bucket, objectName)) {
-                Instances trainingData = DatasetUtil.loadDatasetInstancesByDatasetConfigurationFromMinio(config, trainingStream, objectName);
-                classAttrName = trainingData.classAttribute().name();
-                log.info("📋 Target column from training data: '{}'", classAttrName);
-            }
+            // Get target column name from the TRAINING dataset schema (not prediction data)
+            String classAttrName = classSchemaService.get(config, false).classAttributeName();
+            log.info("📋 Target column from training data: '{}'", classAttrName);
 
             Attribute classAttr = data.attribute(classAttrName);
 
@@ -387,18 +391,15 @@ public class DatasetService {
         );
     }
 
-    public Instances loadTrainingInstances(DatasetConfiguration conf) throws Exception {
-        // Αν έχεις ήδη κάτι αντίστοιχο, χρησιμοποίησέ το — αυτό είναι safe default.
-        String[] minioInfo = DatasetUtil.resolveDatasetMinioInfo(conf.getDataset());
-        String bucket = minioInfo[0];
-        String objectName = minioInfo[1];
-
-        try (InputStream in = minioService.loadObjectAsInputStream(bucket, objectName)) {
-            return DatasetUtil.loadDatasetInstancesByDatasetConfigurationFromMinio(conf, in, objectName);
-        }
+    /**
+     * The training dataset of a configuration, shared with the other trainings running on it; the lease must be
+     * closed once the training is done and its Instances treated as read-only (see DatasetSnapshotRegistry).
+     */
+    public DatasetSnapshotRegistry.Lease acquireTrainingInstances(DatasetConfiguration conf) throws Exception {
+        return datasetSnapshotRegistry.acquire(conf);
     }
 
-    public ByteArrayResource downloadDataset(Integer datasetId, User user) {
+    public MinioObjectResource downloadDataset(Integer datasetId, User user) {
         Dataset dataset = datasetRepository.findById(datasetId)
                 .orElseThrow(() -> new EntityNotFoundException("Dataset not found"));
 
@@ -422,8 +423,7 @@ public class DatasetService {
             key = filePath.contains("/") ? filePath.substring(filePath.indexOf("/") + 1) : filePath;
         }
 
-        byte[] data = minioService.downloadObjectAsBytes(bucket, key);
-        return new ByteArrayResource(data);
+        return minioService.objectResource(bucket, key);
     }
 
     public void deleteDataset(Integer datasetId, User user) {
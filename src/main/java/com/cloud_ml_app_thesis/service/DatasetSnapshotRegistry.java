@@ -0,0 +1,320 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.config.DatasetSnapshotProperties;
+import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
+import com.cloud_ml_app_thesis.util.ColumnProjection;
+import com.cloud_ml_app_thesis.util.DatasetUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import weka.core.Instances;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Parsed training datasets shared by the trainings that run on the same dataset file and column projection
+ * (basic attribute columns + target column of a DatasetConfiguration).
+ *
+ * The first {@link #acquire} of a key loads the dataset; callers arriving while it loads wait for that load
+ * instead of starting their own. Each caller holds a {@link Lease} and the snapshot is dropped as soon as the
+ * last lease is closed, so nothing outlives the trainings using it.
+ *
+ * Snapshots in use are bounded by {@code dataset-snapshots.max-size}. A load reserves an estimate (the size of
+ * the file) before it starts and the reservation is corrected to the parsed size once loaded; a load that does not
+ * fit waits until leases are closed, for at most {@code dataset-snapshots.max-wait}; past that it is loaded for
+ * the caller alone, outside the budget and unshared, rather than holding the caller's thread any longer. With nothing
+ * else loaded a dataset is loaded even if it exceeds the budget on its own.
+ *
+ * The Instances of a lease are shared and must be treated as read-only: randomize, setClassIndex, delete and the
+ * like go to a copy ({@code new Instances(lease.instances())}). Filters and splits already produce new Instances.
+ * Metrics: dataset.snapshots.requests{result=shared|loaded|private}, dataset.snapshots.active,
+ * dataset.snapshots.weight.bytes, dataset.snapshots.waits.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(DatasetSnapshotProperties.class)
+public class DatasetSnapshotRegistry implements MeterBinder {
+
+    // Rough cost of an instance besides its values: the object, its weight and the values array header
+    private static final long INSTANCE_OVERHEAD_BYTES = 48;
+
+    public record Key(String bucket, String objectName, ColumnProjection projection) {
+
+        public static Key of(DatasetConfiguration configuration) {
+            String[] minioInfo = DatasetUtil.resolveDatasetMinioInfo(configuration.getDataset());
+            return new Key(minioInfo[0], minioInfo[1], ColumnProjection.of(configuration));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        Instances load() throws Exception;
+    }
+
+    /**
+     * A training's hold on a snapshot; closing it more than once has no effect.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Snapshot snapshot;
+        private final Instances instances;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(Snapshot snapshot, Instances instances) {
+            this.snapshot = snapshot;
+            this.instances = instances;
+        }
+
+        /**
+         * The shared, read-only dataset.
+         */
+        public Instances instances() {
+            return instances;
+        }
+
+        @Override
+        public void close() {
+            if (snapshot != null && closed.compareAndSet(false, true)) {
+                release(snapshot);
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private final Key key;
+        private final CompletableFuture<Instances> data = new CompletableFuture<>();
+        private int references;
+        private long bytes;
+
+        private Snapshot(Key key) {
+            this.key = key;
+        }
+    }
+
+    private final DatasetSnapshotProperties properties;
+    private final MinioService minioService;
+    private final Map<Key, Snapshot> snapshots = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private long weightBytes;
+
+    private final AtomicLong sharedRequests = new AtomicLong();
+    private final AtomicLong loadedRequests = new AtomicLong();
+    private final AtomicLong privateRequests = new AtomicLong();
+    private final AtomicLong budgetWaits = new AtomicLong();
+
+    public DatasetSnapshotRegistry(DatasetSnapshotProperties properties, MinioService minioService) {
+        this.properties = properties;
+        this.minioService = minioService;
+    }
+
+    /**
+     * The training dataset of a configuration, read from MinIO when no other training holds it.
+     */
+    public Lease acquire(DatasetConfiguration configuration) throws Exception {
+        Key key = Key.of(configuration);
+        return acquire(key, minioService.objectSize(key.bucket(), key.objectName()), () -> {
+            try (InputStream in = minioService.loadObjectAsInputStream(key.bucket(), key.objectName())) {
+                return DatasetUtil.loadDatasetInstancesByDatasetConfigurationFromMinio(configuration, in, key.objectName());
+            }
+        });
+    }
+
+    /**
+     * @param estimatedBytes reserved from the budget while the dataset loads, usually the size of its file
+     */
+    public Lease acquire(Key key, long estimatedBytes, Loader loader) throws Exception {
+        if (!properties.isEnabled()) {
+            privateRequests.incrementAndGet();
+            return new Lease(null, loader.load());
+        }
+
+        Snapshot snapshot;
+        boolean owner = false;
+        lock.lockInterruptibly();
+        try {
+            long maxBytes = properties.getMaxSize().toBytes();
+            long remainingNanos = properties.getMaxWait().toNanos();
+            boolean waited = false;
+            while (true) {
+                snapshot = snapshots.get(key);
+                if (snapshot != null) {
+                    break;
+                }
+                if (weightBytes == 0 || weightBytes + estimatedBytes <= maxBytes) {
+                    snapshot = new Snapshot(key);
+                    snapshot.bytes = estimatedBytes;
+                    weightBytes += estimatedBytes;
+                    snapshots.put(key, snapshot);
+                    owner = true;
+                    break;
+                }
+                if (!waited) {
+                    waited = true;
+                    budgetWaits.incrementAndGet();
+                    log.info("⏳ Dataset {} (~{} KB) waits for the snapshot budget ({} KB in use)",
+                            key.objectName(), estimatedBytes / 1024, weightBytes / 1024);
+                }
+                if (remainingNanos <= 0) {
+                    break;
+                }
+                remainingNanos = released.awaitNanos(remainingNanos);
+            }
+            if (snapshot == null) {
+                log.warn("⌛ Dataset {} waited {} for the snapshot budget, loading it unshared",
+                        key.objectName(), properties.getMaxWait());
+            } else {
+                snapshot.references++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (snapshot == null) {
+            privateRequests.incrementAndGet();
+            return new Lease(null, loader.load());
+        }
+        if (owner) {
+            load(snapshot, loader);
+        } else {
+            sharedRequests.incrementAndGet();
+        }
+        try {
+            return new Lease(snapshot, await(snapshot));
+        } catch (Exception e) {
+            release(snapshot);
+            throw e;
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return snapshots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weightBytes() {
+        lock.lock();
+        try {
+            return weightBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dataset.snapshots.requests", sharedRequests, AtomicLong::get)
+                .tag("result", "shared")
+                .description("Trainings served a dataset already loaded by another training")
+                .register(registry);
+        FunctionCounter.builder("dataset.snapshots.requests", loadedRequests, AtomicLong::get)
+                .tag("result", "loaded")
+                .description("Datasets loaded and offered to other trainings")
+                .register(registry);
+        FunctionCounter.builder("dataset.snapshots.requests", privateRequests, AtomicLong::get)
+                .tag("result", "private")
+                .description("Datasets loaded for one training only (registry disabled or budget wait timed out)")
+                .register(registry);
+        FunctionCounter.builder("dataset.snapshots.waits", budgetWaits, AtomicLong::get)
+                .description("Dataset loads that waited for snapshot budget")
+                .register(registry);
+        Gauge.builder("dataset.snapshots.active", this, DatasetSnapshotRegistry::size)
+                .description("Dataset snapshots currently shared")
+                .register(registry);
+        Gauge.builder("dataset.snapshots.weight.bytes", this, DatasetSnapshotRegistry::weightBytes)
+                .description("Estimated size of the shared dataset snapshots")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void load(Snapshot snapshot, Loader loader) {
+        Instances data;
+        try {
+            data = loader.load();
+        } catch (Exception | Error e) {
+            unregister(snapshot);
+            snapshot.data.completeExceptionally(e);
+            return;
+        }
+
+        // The file size was only an estimate: the reservation becomes the parsed size
+        long bytes = estimateBytes(data);
+        lock.lock();
+        try {
+            long reserved = snapshot.bytes;
+            weightBytes += bytes - reserved;
+            snapshot.bytes = bytes;
+            if (bytes < reserved) {
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        loadedRequests.incrementAndGet();
+        log.info("📚 Dataset snapshot {} loaded: {} instances, ~{} KB", snapshot.key.objectName(),
+                data.numInstances(), bytes / 1024);
+        snapshot.data.complete(data);
+    }
+
+    private void release(Snapshot snapshot) {
+        lock.lock();
+        try {
+            if (--snapshot.references == 0 && snapshots.remove(snapshot.key, snapshot)) {
+                weightBytes -= snapshot.bytes;
+                released.signalAll();
+                log.info("🗑️ Dataset snapshot {} released by its last training", snapshot.key.objectName());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unregister(Snapshot snapshot) {
+        lock.lock();
+        try {
+            if (snapshots.remove(snapshot.key, snapshot)) {
+                weightBytes -= snapshot.bytes;
+                snapshot.bytes = 0;
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Instances await(Snapshot snapshot) throws Exception {
+        try {
+            return snapshot.data.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static long estimateBytes(Instances data) {
+        long bytes = 0;
+        for (int i = 0; i < data.numInstances(); i++) {
+            bytes += INSTANCE_OVERHEAD_BYTES + 8L * data.instance(i).numValues();
+        }
+        return bytes;
+    }
+}
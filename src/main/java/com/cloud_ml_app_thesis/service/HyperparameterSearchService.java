@@ -0,0 +1,442 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.config.AsyncExecutorConfig;
+import com.cloud_ml_app_thesis.dto.train.EvaluationResult;
+import com.cloud_ml_app_thesis.dto.train.HyperparameterSearchMetadata;
+import com.cloud_ml_app_thesis.dto.train.HyperparameterSearchSettings;
+import com.cloud_ml_app_thesis.dto.train.RegressionEvaluationResult;
+import com.cloud_ml_app_thesis.dto.train.TrainMetricResult;
+import com.cloud_ml_app_thesis.entity.AlgorithmConfiguration;
+import com.cloud_ml_app_thesis.entity.AlgorithmType;
+import com.cloud_ml_app_thesis.entity.AsyncTaskStatus;
+import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
+import com.cloud_ml_app_thesis.entity.Training;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.model.Model;
+import com.cloud_ml_app_thesis.enumeration.AlgorithmTypeEnum;
+import com.cloud_ml_app_thesis.enumeration.status.TaskStatusEnum;
+import com.cloud_ml_app_thesis.enumeration.status.TrainingStatusEnum;
+import com.cloud_ml_app_thesis.exception.UserInitiatedStopException;
+import com.cloud_ml_app_thesis.repository.AlgorithmConfigurationRepository;
+import com.cloud_ml_app_thesis.repository.AlgorithmTypeRepository;
+import com.cloud_ml_app_thesis.repository.DatasetConfigurationRepository;
+import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
+import com.cloud_ml_app_thesis.repository.TrainingRepository;
+import com.cloud_ml_app_thesis.repository.status.TrainingStatusRepository;
+import com.cloud_ml_app_thesis.util.AlgorithmUtil;
+import com.cloud_ml_app_thesis.util.FileUtil;
+import com.cloud_ml_app_thesis.util.HyperparameterSearchSpace.Candidate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import weka.classifiers.Classifier;
+import weka.classifiers.evaluation.Evaluation;
+import weka.core.Instances;
+import weka.core.Option;
+import weka.core.OptionHandler;
+import weka.core.Utils;
+import weka.filters.Filter;
+import weka.filters.unsupervised.attribute.NumericToNominal;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * In-process hyperparameter search over the options of a predefined (Weka) classification or regression algorithm.
+ *
+ * The dataset is taken from DatasetSnapshotRegistry (shared with other trainings on the same configuration) and
+ * split once (70/30 with the request's seed), so every trial is scored on the same test set: accuracy for classification, RMSE for regression. Trials run on the evaluation pool with at most
+ * training.search.parallelism in flight; every finished trial updates the task's progress document (leaderboard
+ * of the best trials), which reaches status polls and the task event stream.
+ *
+ * The search ends when every combination ran, when {@code patience} trials in a row did not improve on the best
+ * score (early stopping), or on a stop request. Only the best model is kept: it is uploaded with its metrics like
+ * a predefined training, its options are saved as a new algorithm configuration, and the training's results hold a
+ * compact table of every trial.
+ */
+@Service
+@Slf4j
+public class HyperparameterSearchService {
+
+    private static final double TRAIN_RATIO = 0.7;
+    private static final int LEADERBOARD_SIZE = 10;
+
+    /**
+     * One finished trial; {@code score} is null when the trial failed.
+     */
+    public record Trial(int number, String options, Double score, long millis, String error) {
+    }
+
+    /**
+     * Progress document of a running search, stored on the task as JSON.
+     */
+    public record Progress(String strategy, String metric, int completed, int total, int failed,
+                           boolean stoppedEarly, Trial best, List<Trial> leaderboard) {
+    }
+
+    private record TrialOutcome(Trial trial, Classifier model) {
+    }
+
+    private final TrainingRepository trainingRepository;
+    private final TrainingStatusRepository trainingStatusRepository;
+    private final AlgorithmConfigurationRepository algorithmConfigurationRepository;
+    private final AlgorithmTypeRepository algorithmTypeRepository;
+    private final DatasetConfigurationRepository datasetConfigurationRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final TaskStatusService taskStatusService;
+    private final TaskCancellationRegistry cancellationRegistry;
+    private final ModelService modelService;
+    private final DatasetService datasetService;
+    private final PredefinedModelStore predefinedModelStore;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor executor;
+    private final ObjectMapper objectMapper;
+    private final int parallelism;
+
+    public HyperparameterSearchService(TrainingRepository trainingRepository,
+                                       TrainingStatusRepository trainingStatusRepository,
+                                       AlgorithmConfigurationRepository algorithmConfigurationRepository,
+                                       AlgorithmTypeRepository algorithmTypeRepository,
+                                       DatasetConfigurationRepository datasetConfigurationRepository,
+                                       TaskStatusRepository taskStatusRepository,
+                                       TaskStatusService taskStatusService,
+                                       TaskCancellationRegistry cancellationRegistry,
+                                       ModelService modelService,
+                                       DatasetService datasetService,
+                                       PredefinedModelStore predefinedModelStore,
+                                       EntityManager entityManager,
+                                       TransactionTemplate transactionTemplate,
+                                       @Qualifier(AsyncExecutorConfig.EVALUATION_EXECUTOR) AsyncTaskExecutor executor,
+                                       ObjectMapper objectMapper,
+                                       @Value("${training.search.parallelism:4}") int parallelism) {
+        this.trainingRepository = trainingRepository;
+        this.trainingStatusRepository = trainingStatusRepository;
+        this.algorithmConfigurationRepository = algorithmConfigurationRepository;
+        this.algorithmTypeRepository = algorithmTypeRepository;
+        this.datasetConfigurationRepository = datasetConfigurationRepository;
+        this.taskStatusRepository = taskStatusRepository;
+        this.taskStatusService = taskStatusService;
+        this.cancellationRegistry = cancellationRegistry;
+        this.modelService = modelService;
+        this.datasetService = datasetService;
+        this.predefinedModelStore = predefinedModelStore;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void search(String taskId, User user, HyperparameterSearchMetadata metadata) {
+        AlgorithmUtil.ensureWekaClasspathCompatibility();
+        HyperparameterSearchSettings settings = metadata.settings();
+        Integer trainingId = null;
+        log.info("🔎 Starting hyperparameter search [taskId={}] for user={}", taskId, user.getUsername());
+
+        AsyncTaskStatus task = taskStatusRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalStateException("Async task tracking not found"));
+        task.setStatus(TaskStatusEnum.RUNNING);
+        taskStatusRepository.save(task);
+
+        Training training = trainingRepository.findById(metadata.trainingId())
+                .orElseThrow(() -> new EntityNotFoundException("Training not found"));
+
+        try {
+            AlgorithmConfiguration config = algorithmConfigurationRepository.findById(metadata.algorithmConfigurationId())
+                    .orElseThrow(() -> new EntityNotFoundException("AlgorithmConfiguration not found"));
+            String algorithmClassName = config.getAlgorithm().getClassName();
+            AlgorithmTypeEnum algorithmType = config.getAlgorithm().getType().getName();
+            if (algorithmType == AlgorithmTypeEnum.CLUSTERING || !AlgorithmUtil.isClassifier(algorithmClassName)) {
+                throw new IllegalArgumentException("Hyperparameter search supports classification and regression algorithms only");
+            }
+            boolean classification = algorithmType == AlgorithmTypeEnum.CLASSIFICATION;
+            checkFlags(algorithmClassName, settings);
+
+            training.setStartedDate(ZonedDateTime.now());
+            training.setStatus(trainingStatusRepository.findByName(TrainingStatusEnum.RUNNING)
+                    .orElseThrow(() -> new EntityNotFoundException("Status RUNNING not found")));
+            training = trainingRepository.save(training);
+            trainingId = training.getId();
+            entityManager.detach(training);
+
+            DatasetConfiguration datasetConfig = datasetConfigurationRepository.findById(metadata.datasetConfigurationId())
+                    .orElseThrow(() -> new EntityNotFoundException("DatasetConfiguration not found"));
+            Instances trainData;
+            Instances testData;
+            // The splits copy their instances, so the shared snapshot is released before the trials start
+            try (DatasetSnapshotRegistry.Lease lease = datasetService.acquireTrainingInstances(datasetConfig)) {
+                Instances data = lease.instances();
+                if (classification && data.classAttribute().isNumeric()) {
+                    NumericToNominal convert = new NumericToNominal();
+                    convert.setAttributeIndices(String.valueOf(data.classIndex() + 1));
+                    convert.setInputFormat(data);
+                    data = Filter.useFilter(data, convert);
+                }
+                if (data == lease.instances()) {
+                    // randomize reorders in place; the snapshot is shared
+                    data = new Instances(data);
+                }
+                data.randomize(new Random(settings.seed()));
+                int trainSize = (int) (data.numInstances() * TRAIN_RATIO);
+                if (trainSize < 1 || trainSize >= data.numInstances()) {
+                    throw new IllegalArgumentException("Dataset is too small for a hyperparameter search");
+                }
+                trainData = new Instances(data, 0, trainSize);
+                testData = new Instances(data, trainSize, data.numInstances() - trainSize);
+            }
+
+            List<Candidate> candidates = settings.space().candidates(
+                    AlgorithmUtil.fixNestedOptions(config.getOptions()), settings.strategy(), settings.maxTrials(), settings.seed());
+            log.info("🔎 Search [taskId={}]: {} {} trials of {} on {} instances", taskId, candidates.size(),
+                    settings.strategy(), algorithmClassName, trainData.numInstances() + testData.numInstances());
+
+            List<Trial> trials = new ArrayList<>();
+            TrialOutcome best = runTrials(taskId, algorithmClassName, classification, settings, candidates,
+                    trainData, testData, trials);
+            Classifier bestModel = best.model();
+
+            TrainMetricResult metrics = classification
+                    ? modelService.evaluateClassifier(bestModel, trainData, testData)
+                    : modelService.evaluateRegressor(bestModel, trainData, testData);
+            String results = resultTable(settings, classification, candidates.size(), trials, best.trial())
+                    + "\n" + metrics.getSummary();
+
+            AlgorithmType type = algorithmTypeRepository.findByName(algorithmType)
+                    .orElseThrow(() -> new EntityNotFoundException("AlgorithmType not found"));
+            AlgorithmConfiguration bestConfig = new AlgorithmConfiguration(config.getAlgorithm());
+            bestConfig.setUser(user);
+            bestConfig.setOptions(best.trial().options());
+            bestConfig.setAlgorithmType(type);
+            bestConfig = algorithmConfigurationRepository.save(bestConfig);
+
+            byte[] modelBytes = modelService.serializeModel(bestModel, trainData);
+            Path metricsPath = metrics instanceof EvaluationResult evaluationResult
+                    ? FileUtil.writeMetricsToJsonFile(evaluationResult)
+                    : FileUtil.writeMetricsToJsonFile((RegressionEvaluationResult) metrics);
+            Model model = predefinedModelStore.storeModel(user, training, modelBytes, metricsPath);
+            predefinedModelStore.completeTraining(taskId, trainingId, model, results, bestConfig);
+            log.info("✅ Hyperparameter search complete [taskId={}]: best {} = {} with options '{}', modelId={}",
+                    taskId, metricName(classification), best.trial().score(), best.trial().options(), model.getId());
+
+        } catch (UserInitiatedStopException e) {
+            log.warn("🛑 Hyperparameter search stopped by user [taskId={}]: {}", taskId, e.getMessage());
+            taskStatusService.taskStoppedTraining(taskId, training.getId(), null);
+            markTrainingFailed(training.getId(), null);
+        } catch (Exception e) {
+            log.error("❌ Hyperparameter search failed [taskId={}]: {}", taskId, e.getMessage(), e);
+            taskStatusService.taskFailed(taskId, e.getMessage());
+            if (trainingId != null) {
+                markTrainingFailed(trainingId, e.getMessage());
+            }
+            throw new RuntimeException("Hyperparameter search failed", e);
+        }
+    }
+
+    /**
+     * Runs the trials with at most {@code parallelism} in flight and returns the best successful one;
+     * {@code trials} receives every finished trial in completion order.
+     */
+    private TrialOutcome runTrials(String taskId, String algorithmClassName, boolean classification,
+                                   HyperparameterSearchSettings settings, List<Candidate> candidates,
+                                   Instances trainData, Instances testData, List<Trial> trials) throws Exception {
+        Comparator<Trial> ranking = ranking(classification);
+        ExecutorCompletionService<TrialOutcome> completion = new ExecutorCompletionService<>(executor);
+        List<Future<TrialOutcome>> futures = new ArrayList<>(candidates.size());
+        TrialOutcome best = null;
+        int next = 0;
+        int running = 0;
+        int sinceImprovement = 0;
+        boolean stoppedEarly = false;
+
+        try {
+            while (next < candidates.size() && running < parallelism) {
+                futures.add(submit(completion, taskId, algorithmClassName, classification, next, candidates.get(next), trainData, testData));
+                next++;
+                running++;
+            }
+            while (running > 0) {
+                Future<TrialOutcome> done = cancellationRegistry.interruptibly(taskId, completion::take);
+                running--;
+                TrialOutcome outcome = result(done);
+                trials.add(outcome.trial());
+
+                if (outcome.model() != null && (best == null || ranking.compare(outcome.trial(), best.trial()) < 0)) {
+                    best = outcome;
+                    sinceImprovement = 0;
+                } else {
+                    sinceImprovement++;
+                }
+                stoppedEarly = settings.patience() > 0 && sinceImprovement >= settings.patience()
+                        && (next < candidates.size() || running > 0);
+                publishProgress(taskId, settings, classification, candidates.size(), trials, best, stoppedEarly);
+
+                if (taskStatusService.stopRequested(taskId)) {
+                    throw new UserInitiatedStopException("User requested stop for task " + taskId);
+                }
+                if (stoppedEarly) {
+                    log.info("⏹️ Search [taskId={}] stopped early: {} trials without improvement", taskId, sinceImprovement);
+                    break;
+                }
+                if (next < candidates.size()) {
+                    futures.add(submit(completion, taskId, algorithmClassName, classification, next, candidates.get(next), trainData, testData));
+                    next++;
+                    running++;
+                }
+            }
+        } finally {
+            // No-op for finished trials; abandons the rest after early stopping, a stop request or a failure
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        if (best == null) {
+            String firstError = trials.isEmpty() ? "no trials" : trials.get(0).error();
+            throw new IllegalStateException("All " + trials.size() + " trials failed, first error: " + firstError);
+        }
+        return best;
+    }
+
+    private Future<TrialOutcome> submit(ExecutorCompletionService<TrialOutcome> completion, String taskId,
+                                        String algorithmClassName, boolean classification, int index, Candidate candidate,
+                                        Instances trainData, Instances testData) {
+        return completion.submit(() -> runTrial(taskId, algorithmClassName, classification, index + 1, candidate, trainData, testData));
+    }
+
+    private TrialOutcome runTrial(String taskId, String algorithmClassName, boolean classification, int number,
+                                  Candidate candidate, Instances trainData, Instances testData) throws Exception {
+        cancellationRegistry.checkpoint(taskId);
+        long start = System.currentTimeMillis();
+        try {
+            Classifier cls = AlgorithmUtil.getClassifierInstance(algorithmClassName);
+            AlgorithmUtil.setClassifierOptions(cls, Utils.splitOptions(candidate.options()));
+            cancellationRegistry.buildClassifier(taskId, cls, trainData);
+            Evaluation eval = new Evaluation(trainData);
+            eval.evaluateModel(cls, testData);
+            double score = classification ? eval.pctCorrect() : eval.rootMeanSquaredError();
+            return new TrialOutcome(new Trial(number, candidate.options(), score, System.currentTimeMillis() - start, null), cls);
+        } catch (UserInitiatedStopException e) {
+            throw e;
+        } catch (Exception e) {
+            // An invalid combination fails its trial only
+            log.debug("Trial {} [taskId={}] failed: {}", number, taskId, e.getMessage());
+            return new TrialOutcome(new Trial(number, candidate.options(), null, System.currentTimeMillis() - start,
+                    String.valueOf(e.getMessage())), null);
+        }
+    }
+
+    private TrialOutcome result(Future<TrialOutcome> done) throws Exception {
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void publishProgress(String taskId, HyperparameterSearchSettings settings, boolean classification, int total,
+                                 List<Trial> trials, TrialOutcome best, boolean stoppedEarly) {
+        List<Trial> leaderboard = trials.stream()
+                .filter(trial -> trial.score() != null)
+                .sorted(ranking(classification))
+                .limit(LEADERBOARD_SIZE)
+                .toList();
+        int failed = (int) trials.stream().filter(trial -> trial.score() == null).count();
+        Progress progress = new Progress(settings.strategy().name(), metricName(classification), trials.size(), total,
+                failed, stoppedEarly, best != null ? best.trial() : null, leaderboard);
+        try {
+            taskStatusService.updateProgress(taskId, objectMapper.writeValueAsString(progress));
+        } catch (JsonProcessingException e) {
+            log.warn("⚠️ Could not serialize search progress [taskId={}]: {}", taskId, e.getMessage());
+        }
+    }
+
+    /**
+     * Rejects option flags the algorithm does not declare, before any trial runs.
+     */
+    private void checkFlags(String algorithmClassName, HyperparameterSearchSettings settings) throws Exception {
+        Classifier probe = AlgorithmUtil.getClassifierInstance(algorithmClassName);
+        if (!(probe instanceof OptionHandler optionHandler)) {
+            throw new IllegalArgumentException(algorithmClassName + " has no options to search");
+        }
+        Set<String> known = new HashSet<>();
+        for (Option option : Collections.list(optionHandler.listOptions())) {
+            known.add(option.name());
+        }
+        for (String flag : settings.space().flags()) {
+            if (!known.contains(flag)) {
+                throw new IllegalArgumentException("Unknown option -" + flag + " for " + algorithmClassName);
+            }
+        }
+    }
+
+    private void markTrainingFailed(Integer trainingId, String message) {
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            Training tr = trainingRepository.findById(trainingId)
+                    .orElseThrow(() -> new EntityNotFoundException("Training not found"));
+            tr.setStatus(trainingStatusRepository.findByName(TrainingStatusEnum.FAILED)
+                    .orElseThrow(() -> new EntityNotFoundException("TrainingStatus FAILED not found")));
+            if (message != null) {
+                tr.setResults(message);
+            }
+            tr.setFinishedDate(ZonedDateTime.now());
+            trainingRepository.saveAndFlush(tr);
+        });
+    }
+
+    private static String resultTable(HyperparameterSearchSettings settings, boolean classification, int total,
+                                      List<Trial> trials, Trial best) {
+        List<Trial> ranked = new ArrayList<>(trials);
+        ranked.sort(ranking(classification));
+
+        StringBuilder table = new StringBuilder()
+                .append("=== Hyperparameter search: ").append(settings.strategy()).append(", ")
+                .append(trials.size()).append(" of ").append(total).append(" trials");
+        if (trials.size() < total) {
+            table.append(" (stopped early after ").append(settings.patience()).append(" trials without improvement)");
+        }
+        table.append(" ===\n")
+                .append("Best ").append(metricName(classification)).append(": ").append(String.format("%.4f", best.score()))
+                .append(" with options: ").append(best.options()).append("\n\n")
+                .append(String.format("%-5s %-12s %-10s %s%n", "Rank", metricName(classification), "Time (ms)", "Options"));
+        int rank = 1;
+        for (Trial trial : ranked) {
+            String score = trial.score() != null ? String.format("%.4f", trial.score()) : "failed";
+            table.append(String.format("%-5d %-12s %-10d %s%n", rank++, score, trial.millis(), trial.options()));
+        }
+        return table.toString();
+    }
+
+    private static Comparator<Trial> ranking(boolean classification) {
+        // Accuracy: higher is better; RMSE: lower is better. Failed trials last, ties go to the earlier trial.
+        Comparator<Double> order = classification ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return Comparator.comparing(Trial::score, Comparator.nullsLast(order)).thenComparingInt(Trial::number);
+    }
+
+    private static String metricName(boolean classification) {
+        return classification ? "accuracy(%)" : "rmse";
+    }
+}
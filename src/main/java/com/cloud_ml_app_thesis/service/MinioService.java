@@ -6,10 +6,14 @@ import com.cloud_ml_app_thesis.enumeration.BucketTypeEnum;
 import com.cloud_ml_app_thesis.enumeration.DatasetFunctionalTypeEnum;
 import com.cloud_ml_app_thesis.exception.FileProcessingException;
 import com.cloud_ml_app_thesis.exception.MinioFileUploadException;
+import com.cloud_ml_app_thesis.util.MinioObjectResource;
+import com.cloud_ml_app_thesis.util.ModelArtifact;
 import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import io.minio.errors.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,8 +21,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
-import weka.core.SerializationHelper;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -44,6 +48,10 @@ public class MinioService {
     @Value("#{'${minio.bucket.datasets},${minio.bucket.models},${minio.bucket.predictions},${minio.bucket.algorithms},${minio.bucket.results},${minio.bucket.metrics},${minio.bucket.parameters}'.split(',')}")
     private List<String> allBuckets;
 
+    // Part size for uploads of unknown length (MinIO requires at least 5MB)
+    @Value("${minio.upload.part-size:10MB}")
+    private DataSize uploadPartSize;
+
     public void uploadObjectToBucket(Object object, String bucketName, String objectName) throws IOException {
         //Ensure that the bucket that is going to get the object is still being offered by the application
         // in order to prevent forgotten hard-coded name in code.
@@ -131,6 +139,36 @@ public class MinioService {
             throw new FileProcessingException("MinIO upload failed for: " + objectName, e);
         }
     }
+    /**
+     * Uploads a stream of unknown length as a multipart upload; at most one part is buffered at a time.
+     */
+    public void uploadStreamToMinio(InputStream inputStream, String bucketName, String objectName, String contentType) {
+        if (!isKnownBucket(bucketName)) {
+            logger.error("Error: Invalid bucket name: {}", bucketName);
+            throw new IllegalArgumentException("Invalid bucket name: " + bucketName);
+        }
+
+        if (inputStream == null) {
+            logger.error("❌ InputStream is null for object: {}", objectName);
+            throw new IllegalArgumentException("stream must not be null");
+        }
+
+        try {
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .stream(inputStream, -1, uploadPartSize.toBytes())
+                            .contentType(contentType)
+                            .build()
+            );
+            logger.info("✅ Streamed object [{}] to bucket [{}] (part size {})", objectName, bucketName, uploadPartSize);
+        } catch (Exception e) {
+            logger.error("❌ Failed to upload object [{}] to bucket [{}]: {}", objectName, bucketName, e.getMessage(), e);
+            throw new FileProcessingException("MinIO upload failed for: " + objectName, e);
+        }
+    }
+
     private boolean isKnownBucket(String bucketName){
         return allBuckets.contains(bucketName);
     }
@@ -160,19 +198,86 @@ public class MinioService {
             throw new FileProcessingException("Error fetching file from MinIO: " + e.getMessage(), e);
         }
     }
-    public Object loadObject(String bucketName, String fileReference) {
+    /**
+     * Opens the object starting at {@code offset}; MinIO only sends the bytes from there on.
+     */
+    public InputStream loadObjectAsInputStream(String bucketName, String fileReference, long offset) {
         try {
-            return SerializationHelper.read(minioClient.getObject(
+            return minioClient.getObject(
                     GetObjectArgs.builder()
                             .bucket(bucketName)
                             .object(fileReference)
+                            .offset(offset)
                             .build()
-            ));
+            );
         } catch (Exception e) {
             throw new FileProcessingException("Error fetching file from MinIO: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * A downloadable handle on the object: size, ETag and last-modified come from a stat call, the content is only
+     * fetched when the response body is written (and only from the first requested byte on), so it can be returned
+     * as a ResponseEntity body for Range and conditional (304) requests without buffering the object.
+     */
+    public MinioObjectResource objectResource(String bucketName, String fileReference) {
+        try {
+            StatObjectResponse stat = minioClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(fileReference)
+                            .build()
+            );
+            return new MinioObjectResource(this, bucketName, fileReference, stat.size(), stat.etag(),
+                    stat.lastModified().toInstant());
+        } catch (Exception e) {
+            throw new FileProcessingException("❌ Failed to stat object in MinIO: " + fileReference, e);
+        }
+    }
+
+    /**
+     * Size of the object in bytes, from a stat call.
+     */
+    public long objectSize(String bucketName, String fileReference) {
+        try {
+            return minioClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(fileReference)
+                            .build()
+            ).size();
+        } catch (Exception e) {
+            throw new FileProcessingException("❌ Failed to stat object in MinIO: " + fileReference, e);
+        }
+    }
+
+    public Object loadObject(String bucketName, String fileReference) {
+        try (InputStream in = minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(fileReference)
+                        .build())) {
+            return ModelArtifact.readModel(in);
+        } catch (Exception e) {
+            throw new FileProcessingException("Error fetching file from MinIO: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the metadata of a stored model artifact; the download stops after the header.
+     */
+    public ModelArtifact.Metadata loadModelMetadata(String bucketName, String fileReference) {
+        try (InputStream in = minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(fileReference)
+                        .build())) {
+            return ModelArtifact.readMetadata(in);
+        } catch (Exception e) {
+            throw new FileProcessingException("Error fetching model metadata from MinIO: " + e.getMessage(), e);
+        }
+    }
+
     public String extractMinioKey(String minioUrl) {
         if (minioUrl == null || minioUrl.isBlank()) {
             throw new IllegalArgumentException("MinIO URL cannot be null or empty");
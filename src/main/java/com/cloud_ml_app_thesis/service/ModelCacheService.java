@@ -0,0 +1,171 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.config.ModelCacheProperties;
+import com.cloud_ml_app_thesis.util.LruCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of deserialized models keyed by model id and model URL, bounded by entry count and by a memory budget.
+ *
+ * A changed modelUrl is a different key, so a re-uploaded artifact is never served stale; explicit
+ * {@link #invalidate(Integer)} covers content changes that keep the URL (ModelService.updateModelContent, deleteModel).
+ * Concurrent misses on the same key share a single load. Metrics: model.cache.requests{result=hit|miss},
+ * model.cache.evictions, model.cache.entries, model.cache.weight.bytes.
+ *
+ * Cached instances are shared between predictions; callers must not mutate or retrain them.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(ModelCacheProperties.class)
+public class ModelCacheService implements MeterBinder {
+
+    public record Key(Integer modelId, String modelUrl) {
+    }
+
+    /**
+     * A freshly loaded model with its serialized size, used as its weight against the memory budget.
+     */
+    public record LoadedModel(Object model, long sizeBytes) {
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        LoadedModel load() throws Exception;
+    }
+
+    private final ModelCacheProperties properties;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final LruCache<Key, LoadedModel> entries = new LruCache<>(LoadedModel::sizeBytes, (key, evicted) -> {
+        evictions.incrementAndGet();
+        log.debug("♻️ Model cache evicted: modelId={}", key.modelId());
+    });
+    private final Map<Key, CompletableFuture<LoadedModel>> loading = new ConcurrentHashMap<>();
+
+    public ModelCacheService(ModelCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public Object get(Integer modelId, String modelUrl, Loader loader) throws Exception {
+        if (!properties.isEnabled()) {
+            return loader.load().model();
+        }
+        Key key = new Key(modelId, modelUrl);
+        long loadGeneration = entries.generation();
+
+        LoadedModel cached = entries.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            log.debug("🎯 Model cache hit: modelId={}", modelId);
+            return cached.model();
+        }
+
+        misses.incrementAndGet();
+        CompletableFuture<LoadedModel> ownLoad = new CompletableFuture<>();
+        CompletableFuture<LoadedModel> inFlight = loading.putIfAbsent(key, ownLoad);
+        if (inFlight != null) {
+            return awaitLoad(inFlight).model();
+        }
+
+        try {
+            LoadedModel loaded = loader.load();
+            put(key, loaded, loadGeneration);
+            ownLoad.complete(loaded);
+            return loaded.model();
+        } catch (Exception e) {
+            ownLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, ownLoad);
+        }
+    }
+
+    /**
+     * Drops every cached version of a model.
+     */
+    public void invalidate(Integer modelId) {
+        if (entries.invalidateIf((key, loaded) -> Objects.equals(key.modelId(), modelId)) > 0) {
+            log.info("🧹 Model cache invalidated: modelId={}", modelId);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long weightBytes() {
+        return entries.weight();
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("model.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Model lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("model.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Model lookups that downloaded and deserialized the model")
+                .register(registry);
+        FunctionCounter.builder("model.cache.evictions", evictions, AtomicLong::get)
+                .description("Models evicted to respect the entry or memory limit")
+                .register(registry);
+        Gauge.builder("model.cache.entries", this, ModelCacheService::size)
+                .description("Models currently cached")
+                .register(registry);
+        Gauge.builder("model.cache.weight.bytes", this, ModelCacheService::weightBytes)
+                .description("Serialized size of the cached models")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void put(Key key, LoadedModel loaded, long loadGeneration) {
+        long maxBytes = properties.getMaxSize().toBytes();
+        if (loaded.sizeBytes() > maxBytes) {
+            log.info("⚠️ Model {} ({} bytes) exceeds the cache budget, not caching", key.modelId(), loaded.sizeBytes());
+            return;
+        }
+        entries.put(key, loaded, loadGeneration, properties.getMaxEntries(), maxBytes);
+    }
+
+    private static LoadedModel awaitLoad(CompletableFuture<LoadedModel> inFlight) throws Exception {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
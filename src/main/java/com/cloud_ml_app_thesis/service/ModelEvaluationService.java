@@ -0,0 +1,271 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.config.AsyncExecutorConfig;
+import com.cloud_ml_app_thesis.dto.train.EvaluationResult;
+import com.cloud_ml_app_thesis.dto.train.RegressionEvaluationResult;
+import com.cloud_ml_app_thesis.enumeration.EvaluationStrategyEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import weka.classifiers.AbstractClassifier;
+import weka.classifiers.Classifier;
+import weka.classifiers.evaluation.AggregateableEvaluation;
+import weka.classifiers.evaluation.Evaluation;
+import weka.classifiers.evaluation.Prediction;
+import weka.core.Attribute;
+import weka.core.Instances;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Resampled evaluation of predefined trainings: k-fold, stratified k-fold and repeated holdout. The default
+ * HOLDOUT strategy (one 70/30 split, model trained on the 70%) stays in TrainService / ModelService.
+ *
+ * Every fold trains its own copy of the configured classifier (AbstractClassifier.makeCopy) on the
+ * evaluation pool while the calling thread builds the final model on the whole dataset, so a run takes
+ * roughly as long as the slowest of those builds when there are enough cores. The per-fold Weka
+ * evaluations are merged with AggregateableEvaluation into a single EvaluationResult / RegressionEvaluationResult,
+ * whose summary, confusion matrix and actual/predicted values cover every fold.
+ *
+ * A fold's train/test split is built inside its own task (Weka copies every instance into a split), so only the
+ * folds in flight hold one, not all k at once.
+ *
+ * A stop request aborts the wait for the folds and cancels the ones still running; folds of iterative
+ * classifiers also stop at their next iteration.
+ *
+ * Containerized trainings evaluate in the Weka runner; {@link #containerSettings} gives them the same settings.
+ */
+@Service
+@Slf4j
+public class ModelEvaluationService {
+
+    private static final double HOLDOUT_TRAIN_RATIO = 0.7;
+
+    /**
+     * Merged metrics of every fold plus the model built on the whole dataset.
+     */
+    public record Outcome<R>(Classifier model, R result) {
+    }
+
+    private record Split(Instances train, Instances test) {
+    }
+
+    @FunctionalInterface
+    private interface SplitBuilder {
+        Split build();
+    }
+
+    private final AsyncTaskExecutor executor;
+    private final TaskCancellationRegistry cancellationRegistry;
+    private final EvaluationStrategyEnum defaultStrategy;
+    private final int folds;
+    private final int repeats;
+    private final long seed;
+
+    public ModelEvaluationService(@Qualifier(AsyncExecutorConfig.EVALUATION_EXECUTOR) AsyncTaskExecutor executor,
+                                  TaskCancellationRegistry cancellationRegistry,
+                                  @Value("${training.evaluation.strategy:HOLDOUT}") EvaluationStrategyEnum defaultStrategy,
+                                  @Value("${training.evaluation.folds:10}") int folds,
+                                  @Value("${training.evaluation.repeats:5}") int repeats,
+                                  @Value("${training.evaluation.seed:1}") long seed) {
+        this.executor = executor;
+        this.cancellationRegistry = cancellationRegistry;
+        this.defaultStrategy = defaultStrategy;
+        this.folds = Math.max(2, folds);
+        this.repeats = Math.max(1, repeats);
+        this.seed = seed;
+    }
+
+    /**
+     * The strategy a training uses: the requested one, or training.evaluation.strategy when none was requested.
+     */
+    public EvaluationStrategyEnum resolve(EvaluationStrategyEnum requested) {
+        return requested != null ? requested : defaultStrategy;
+    }
+
+    /**
+     * The "evaluation" block of a Weka runner params.json: the resolved strategy with the configured folds,
+     * repeats, seed and holdout ratio.
+     */
+    public Map<String, Object> containerSettings(EvaluationStrategyEnum requested) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("strategy", resolve(requested).name());
+        settings.put("folds", folds);
+        settings.put("repeats", repeats);
+        settings.put("seed", seed);
+        settings.put("trainRatio", HOLDOUT_TRAIN_RATIO);
+        return settings;
+    }
+
+    public Outcome<EvaluationResult> evaluateClassifier(String taskId, EvaluationStrategyEnum strategy,
+                                                        Classifier classifier, Instances data) throws Exception {
+        Outcome<AggregateableEvaluation> outcome = evaluate(taskId, strategy, classifier, data);
+        AggregateableEvaluation eval = outcome.result();
+
+        double[][] cmatrix = eval.confusionMatrix();
+        List<List<Integer>> matrix = new ArrayList<>();
+        for (double[] row : cmatrix) {
+            List<Integer> rowList = new ArrayList<>();
+            for (double val : row) {
+                rowList.add((int) val);
+            }
+            matrix.add(rowList);
+        }
+
+        Attribute classAttribute = data.classAttribute();
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < classAttribute.numValues(); i++) {
+            labels.add(classAttribute.value(i));
+        }
+
+        return new Outcome<>(outcome.model(), new EvaluationResult(
+                String.format("%.2f%%", eval.pctCorrect()),
+                String.format("%.2f%%", eval.weightedPrecision() * 100),
+                String.format("%.2f%%", eval.weightedRecall() * 100),
+                String.format("%.2f%%", eval.weightedFMeasure() * 100),
+                eval.toSummaryString(title(strategy, data), false),
+                matrix,
+                labels
+        ));
+    }
+
+    public Outcome<RegressionEvaluationResult> evaluateRegressor(String taskId, EvaluationStrategyEnum strategy,
+                                                                 Classifier regressor, Instances data) throws Exception {
+        Outcome<AggregateableEvaluation> outcome = evaluate(taskId, strategy, regressor, data);
+        AggregateableEvaluation eval = outcome.result();
+
+        List<Double> actual = new ArrayList<>();
+        List<Double> predicted = new ArrayList<>();
+        for (Prediction prediction : eval.predictions()) {
+            actual.add(prediction.actual());
+            predicted.add(prediction.predicted());
+        }
+
+        return new Outcome<>(outcome.model(), new RegressionEvaluationResult(
+                eval.rootMeanSquaredError(),
+                eval.meanAbsoluteError(),
+                Math.pow(eval.correlationCoefficient(), 2),
+                eval.toSummaryString(title(strategy, data), false),
+                actual,
+                predicted
+        ));
+    }
+
+    private Outcome<AggregateableEvaluation> evaluate(String taskId, EvaluationStrategyEnum strategy,
+                                                      Classifier classifier, Instances data) throws Exception {
+        List<SplitBuilder> splits = splits(strategy, data);
+        log.info("🧪 Evaluating [taskId={}] with {}: {} folds on {} instances", taskId, strategy, splits.size(), data.numInstances());
+        long start = System.currentTimeMillis();
+
+        List<Future<Evaluation>> futures = new ArrayList<>(splits.size());
+        try {
+            for (SplitBuilder split : splits) {
+                Classifier copy = AbstractClassifier.makeCopy(classifier);
+                futures.add(executor.submit(() -> evaluateFold(taskId, copy, split)));
+            }
+
+            // The final model is built here while the folds run on the evaluation pool
+            cancellationRegistry.buildClassifier(taskId, classifier, data);
+
+            AggregateableEvaluation merged = null;
+            for (Future<Evaluation> future : futures) {
+                Evaluation fold = await(taskId, future);
+                if (merged == null) {
+                    // Takes the header and priors of the fold only, its statistics are added below
+                    merged = new AggregateableEvaluation(fold);
+                }
+                merged.aggregate(fold);
+            }
+            merged.finalizeAggregation();
+
+            log.info("✅ Evaluated [taskId={}] {} folds in {} ms", taskId, splits.size(), System.currentTimeMillis() - start);
+            return new Outcome<>(classifier, merged);
+        } finally {
+            // No-op for completed folds; stops the rest after a failure or a stop request
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Evaluation evaluateFold(String taskId, Classifier classifier, SplitBuilder builder) throws Exception {
+        cancellationRegistry.checkpoint(taskId);
+        Split split = builder.build();
+        cancellationRegistry.buildClassifier(taskId, classifier, split.train());
+        cancellationRegistry.checkpoint(taskId);
+        Evaluation eval = new Evaluation(split.train());
+        eval.evaluateModel(classifier, split.test());
+        return eval;
+    }
+
+    private Evaluation await(String taskId, Future<Evaluation> future) throws Exception {
+        try {
+            return cancellationRegistry.interruptibly(taskId, future::get);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * One builder per fold; only the shuffled (and stratified) order is computed up front, shared read-only.
+     */
+    private List<SplitBuilder> splits(EvaluationStrategyEnum strategy, Instances data) {
+        int total = data.numInstances();
+        if (total < 2) {
+            throw new IllegalArgumentException("❌ At least 2 instances are needed to evaluate a model, got " + total);
+        }
+
+        List<SplitBuilder> splits = new ArrayList<>();
+        switch (strategy) {
+            case K_FOLD, STRATIFIED_K_FOLD -> {
+                int k = Math.min(folds, total);
+                Instances shuffled = new Instances(data);
+                shuffled.randomize(new Random(seed));
+                if (strategy == EvaluationStrategyEnum.STRATIFIED_K_FOLD && shuffled.classAttribute().isNominal()) {
+                    shuffled.stratify(k);
+                }
+                for (int fold = 0; fold < k; fold++) {
+                    int f = fold;
+                    splits.add(() -> new Split(shuffled.trainCV(k, f), shuffled.testCV(k, f)));
+                }
+            }
+            case REPEATED_HOLDOUT -> {
+                for (int repeat = 0; repeat < repeats; repeat++) {
+                    long repeatSeed = seed + repeat;
+                    splits.add(() -> {
+                        Instances shuffled = new Instances(data);
+                        shuffled.randomize(new Random(repeatSeed));
+                        return holdout(shuffled);
+                    });
+                }
+            }
+            case HOLDOUT -> throw new IllegalArgumentException("❌ HOLDOUT trains on the split itself, see TrainService");
+        }
+        return splits;
+    }
+
+    private static Split holdout(Instances shuffled) {
+        int trainSize = Math.max(1, Math.min(shuffled.numInstances() - 1, (int) (shuffled.numInstances() * HOLDOUT_TRAIN_RATIO)));
+        return new Split(new Instances(shuffled, 0, trainSize),
+                new Instances(shuffled, trainSize, shuffled.numInstances() - trainSize));
+    }
+
+    private String title(EvaluationStrategyEnum strategy, Instances data) {
+        return switch (strategy) {
+            case K_FOLD -> "=== " + Math.min(folds, data.numInstances()) + "-fold cross-validation ===";
+            case STRATIFIED_K_FOLD -> "=== Stratified " + Math.min(folds, data.numInstances()) + "-fold cross-validation ===";
+            case REPEATED_HOLDOUT -> "=== Repeated holdout (" + repeats + " x " + Math.round(HOLDOUT_TRAIN_RATIO * 100) + "/"
+                    + Math.round((1 - HOLDOUT_TRAIN_RATIO) * 100) + ") ===";
+            case HOLDOUT -> "=== Holdout ===";
+        };
+    }
+}
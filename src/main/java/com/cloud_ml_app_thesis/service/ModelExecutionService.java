@@ -1,6 +1,5 @@
 package com.cloud_ml_app_thesis.service;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.time.LocalDate;
@@ -8,7 +7,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -19,7 +17,11 @@ import com.cloud_ml_app_thesis.enumeration.accessibility.ModelExecutionAccessibi
 import com.github.dockerjava.api.exception.UnauthorizedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionDefinition;
@@ -48,9 +50,11 @@ import com.cloud_ml_app_thesis.repository.UserRepository;
 import com.cloud_ml_app_thesis.repository.model.ModelExecutionRepository;
 import com.cloud_ml_app_thesis.repository.model.ModelRepository;
 import com.cloud_ml_app_thesis.repository.status.ModelExecutionStatusRepository;
-import com.cloud_ml_app_thesis.util.DatasetUtil;
+import com.cloud_ml_app_thesis.specification.ModelExecutionSpecification;
+import com.cloud_ml_app_thesis.util.BatchScoringEngine;
+import com.cloud_ml_app_thesis.util.PredictionCsvInputStream;
 import com.cloud_ml_app_thesis.util.DateUtil;
-import com.nimbusds.oauth2.sdk.util.StringUtils;
+import com.cloud_ml_app_thesis.util.MinioObjectResource;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
@@ -69,6 +73,8 @@ import weka.filters.unsupervised.attribute.NumericToNominal;
 @Slf4j
 public class ModelExecutionService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 500;
+
     private final DatasetService datasetService;
     private final ModelRepository modelRepository;
     private final UserRepository userRepository;
@@ -76,12 +82,14 @@ public class ModelExecutionService {
     private final ModelExecutionRepository modelExecutionRepository;
     private final ModelExecutionStatusRepository modelExecutionStatusRepository;
     private final TaskStatusService taskStatusService;
+    private final TaskCancellationRegistry cancellationRegistry;
     private final BucketResolver bucketResolver;
     private final MinioService minioService;
     private final TaskStatusRepository taskStatusRepository;
     private final EntityManager entityManager;
     private final TransactionTemplate transactionTemplate;
     private final DateUtil dateUtil;
+    private final BatchScoringEngine batchScoringEngine;
 
     private static final Logger logger = LoggerFactory.getLogger(ModelExecutionService.class);
 
@@ -160,16 +168,17 @@ public class ModelExecutionService {
             }
 
             // ⬇️ 2. Φόρτωσε το εκπαιδευμένο μοντέλο
-            Object modelObject = modelService.loadModel(model.getModelUrl());
+            Object modelObject = modelService.loadModel(model.getId(), model.getModelUrl());
             log.info("✅ Loaded model: {}", modelObject.getClass().getSimpleName());
 
             // ⬇️ 3. Κάνε prediction ανάλογα το μοντέλο
             List<String> predictions;
             boolean isClsuterer = false;
+            Instances scoredInstances = predictInstances;
             if (modelObject instanceof Classifier classifier) {
-                predictions = predictWithClassifier(classifier, predictInstances);
+                predictions = cancellationRegistry.interruptibly(taskId, () -> predictWithClassifier(classifier, scoredInstances));
             } else if (modelObject instanceof Clusterer clusterer) {
-                predictions = predictWithClusterer(clusterer, predictInstances);
+                predictions = cancellationRegistry.interruptibly(taskId, () -> predictWithClusterer(clusterer, scoredInstances));
                 isClsuterer = true;
             } else {
                 throw new IllegalStateException("Unsupported model type: " + modelObject.getClass().getName());
@@ -193,15 +202,12 @@ public class ModelExecutionService {
                 throw new UserInitiatedStopException("User requested stop after model loading for task " + taskId);
             }
 
-            // ➕ Generate predictions and CSV
-            byte[] resultFile = DatasetUtil.replaceQuestionMarksWithPredictionResultsAsCSV(predictInstances, predictions, isClsuterer);
-
-            // ☁️ Upload result to MinIO
+            // ☁️ Stream the result CSV to MinIO, rendered row by row as it is uploaded
             String timestamp = DateTimeFormatter.ofPattern("ddMMyyyyHHmmss").format(LocalDateTime.now());
             String resultKey = user.getUsername() + "_" + timestamp + "_prediction.csv";
             String resultBucket = bucketResolver.resolve(BucketTypeEnum.PREDICTION_RESULTS);
-            try (InputStream in = new ByteArrayInputStream(resultFile)) {
-                minioService.uploadToMinio(in, resultBucket, resultKey, resultFile.length, "text/csv");
+            try (InputStream in = new PredictionCsvInputStream(predictInstances, predictions, isClsuterer)) {
+                minioService.uploadStreamToMinio(in, resultBucket, resultKey, "text/csv");
             }
 
             String minioUrl = modelService.generateMinioUrl(resultBucket, resultKey);
@@ -285,7 +291,7 @@ public class ModelExecutionService {
     }
 
 
-    public ByteArrayResource getExecutionResultsFile(Integer modelExecutionId, User user) {
+    public MinioObjectResource getExecutionResultsFile(Integer modelExecutionId, User user) {
         logger.debug("📥 Fetching result for execution id = {} by user={}", modelExecutionId, user.getUsername());
 
         ModelExecution modelExecution = modelExecutionRepository.findById(modelExecutionId)
@@ -306,20 +312,18 @@ public class ModelExecutionService {
         String resultKey = minioService.extractMinioKey(predictionUrl);
         String bucket = bucketResolver.resolve(BucketTypeEnum.PREDICTION_RESULTS);
 
-        // 📤 Download as byte array
-        byte[] resultBytes = minioService.downloadObjectAsBytes(bucket, resultKey);
-        if (resultBytes.length == 0) {
+        // 📤 Streamed to the response by the controller; only the object's metadata is fetched here
+        MinioObjectResource result = minioService.objectResource(bucket, resultKey);
+        if (result.contentLength() == 0) {
             throw new FileProcessingException("The prediction result is empty", null);
         }
 
-        logger.info("✅ Prediction result fetched from MinIO [key={}, size={} bytes]", resultKey, resultBytes.length);
+        logger.info("✅ Prediction result found in MinIO [key={}, size={} bytes]", resultKey, result.contentLength());
 
-        return new ByteArrayResource(resultBytes);
+        return result;
     }
 
     public List<String> predictWithClassifier(Classifier classifier, Instances instances) throws Exception {
-        List<String> predictions = new ArrayList<>();
-
         if (instances.classIndex() == -1) {
             throw new IllegalStateException("❌ Class index is not set in the prediction dataset.");
         }
@@ -333,24 +337,8 @@ public class ModelExecutionService {
         log.info("    ➤ Class attribute isNominal: {}", classAttr.isNominal());
         log.info("    ➤ Class attribute isNumeric: {}", classAttr.isNumeric());
 
-        for (int i = 0; i < instances.numInstances(); i++) {
-            Instance instance = instances.instance(i);
-            double pred = classifier.classifyInstance(instance);
-
-            String predictedLabel;
-
-            if (classAttr.isNominal()) {
-                // Classification: return label
-                int classIndex = (int) pred;
-                predictedLabel = classAttr.value(classIndex);
-            } else {
-                // Regression: return value
-                predictedLabel = String.valueOf(pred);
-            }
-
-            predictions.add(predictedLabel);
-            log.info("📌 Instance {}: Predicted value: {}", i, predictedLabel);
-        }
+        // Chunked, order-preserving scoring; shared cached models are copied per worker unless thread-safe
+        List<String> predictions = batchScoringEngine.scoreClassifier(classifier, instances);
 
         log.info("🔍 Classifier class labels: {}", Arrays.toString(instances.classAttribute().toString().split(",")));
         log.info("✅ Predictions completed successfully. Total: {}", predictions.size());
@@ -360,12 +348,8 @@ public class ModelExecutionService {
 
     private List<String> predictWithClusterer(Clusterer clusterer, Instances dataset) throws Exception {
         logger.info("Performing prediction with clusterer on dataset with {} instances", dataset.numInstances());
-        List<String> predictions = new ArrayList<>();
-        for (int i = 0; i < dataset.numInstances(); i++) {
-            int cluster = clusterer.clusterInstance(dataset.instance(i));
-            logger.info("Instance {}: Predicted cluster: {}", i, cluster);
-            predictions.add(String.valueOf(cluster));  // 👈 απλό αριθμητικό string
-        }
+        List<String> predictions = batchScoringEngine.scoreClusterer(clusterer, dataset);
+        logger.info("Clustering completed. Total: {}", predictions.size());
         return predictions;
     }
 
@@ -421,7 +405,12 @@ public class ModelExecutionService {
                 .collect(Collectors.toList());
     }
 
-    public List<ModelExecutionDTO> searchExecutions(ModelExecutionSearchRequest request, User user) {
+    /**
+     * Filters, sorts and pages the executions in the database; only the requested page is loaded and mapped.
+     */
+    @Transactional(readOnly = true)
+    public Page<ModelExecutionDTO> searchExecutions(ModelExecutionSearchRequest request, User user,
+                                                    int page, int size, String sortBy, String sortDirection) {
         ModelExecutionSearchRequest criteria = request != null ? request : new ModelExecutionSearchRequest();
 
         boolean isAdmin = user.getRoles().stream()
@@ -429,51 +418,19 @@ public class ModelExecutionService {
 
         log.info("User {} isAdmin: {}", user.getUsername(), isAdmin);
 
-        List<ModelExecution> executions = isAdmin
-                ? modelExecutionRepository.findAllWithDetails()
-                : modelExecutionRepository.findAccessibleToUser(user.getId());
-
-        log.info("Found {} executions before filtering", executions.size());
+        Specification<ModelExecution> spec = ModelExecutionSpecification.getExecutionsByCriteria(criteria, user, isAdmin, dateUtil);
 
-        List<ModelExecutionDTO> filtered = executions.stream()
-                .filter(execution -> matchExecutionCriteria(execution, criteria))
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-
-        log.info("Returning {} executions after filtering", filtered.size());
-
-        return filtered;
-    }
-
-    private boolean matchExecutionCriteria(ModelExecution execution, ModelExecutionSearchRequest request) {
-        List<Boolean> matches = new ArrayList<>();
+        Pageable pageable = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE),
+                Sort.by(Sort.Direction.fromString(sortDirection), sortBy)
+        );
 
-        boolean hasExecutedAtFrom = StringUtils.isNotBlank(request.getExecutedAtFrom()) && !request.getExecutedAtFrom().equalsIgnoreCase("string");
-        boolean hasExecutedAtTo = StringUtils.isNotBlank(request.getExecutedAtTo()) && !request.getExecutedAtTo().equalsIgnoreCase("string");
-        if (hasExecutedAtFrom || hasExecutedAtTo) {
-            if (execution.getExecutedAt() == null) {
-                matches.add(false);
-            } else {
-                LocalDateTime executedAt = execution.getExecutedAt().toLocalDateTime();
-                boolean dateMatch = true;
+        Page<ModelExecution> executions = modelExecutionRepository.findAll(spec, pageable);
 
-                if (hasExecutedAtFrom) {
-                    LocalDateTime from = dateUtil.parseDateTime(request.getExecutedAtFrom(), true);
-                    dateMatch = dateMatch && (executedAt.isAfter(from) || executedAt.isEqual(from));
-                }
-                if (hasExecutedAtTo) {
-                    LocalDateTime to = dateUtil.parseDateTime(request.getExecutedAtTo(), false);
-                    dateMatch = dateMatch && (executedAt.isBefore(to) || executedAt.isEqual(to));
-                }
-                matches.add(dateMatch);
-            }
-        }
-        if (matches.isEmpty()) {
-            return true;
-        }
+        log.info("Returning {} of {} executions", executions.getNumberOfElements(), executions.getTotalElements());
 
-        // All date conditions must be satisfied
-        return matches.stream().allMatch(Boolean::booleanValue);
+        return executions.map(this::convertToDTO);
     }
 
     private ModelExecutionDTO convertToDTO(ModelExecution execution) {
@@ -20,8 +20,13 @@ import com.cloud_ml_app_thesis.repository.accessibility.ModelAccessibilityReposi
 import com.cloud_ml_app_thesis.repository.model.ModelRepository;
 import com.cloud_ml_app_thesis.repository.ModelTypeRepository;
 import com.cloud_ml_app_thesis.repository.status.ModelStatusRepository;
+import com.cloud_ml_app_thesis.specification.ModelSpecification;
+import com.cloud_ml_app_thesis.specification.SearchSort;
 import com.cloud_ml_app_thesis.util.AlgorithmUtil;
 import com.cloud_ml_app_thesis.util.DateUtil;
+import com.cloud_ml_app_thesis.util.MinioObjectResource;
+import com.cloud_ml_app_thesis.util.ModelArtifact;
+import com.cloud_ml_app_thesis.util.UnwrappedModelResource;
 import com.nimbusds.oauth2.sdk.util.StringUtils;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
@@ -33,6 +38,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -54,7 +63,6 @@ import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.time.chrono.ChronoZonedDateTime;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -63,6 +71,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ModelService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 500;
+
     private final MinioClient minioClient;
     private final MinioService minioService;
 
@@ -79,6 +89,8 @@ public class ModelService {
     private final TrainingRepository trainingRepository;
     private final ModelAccessibilityRepository modelAccessibilityRepository;
     private final ModelTypeRepository modelTypeRepository;
+    private final ModelCacheService modelCacheService;
+    private final ChartCacheService chartCacheService;
 
     @Value("${minio.url}")
     private String minioUrl;
@@ -96,11 +108,14 @@ public class ModelService {
     }
 
     public byte[] serializeModel(Object model) throws Exception {
-        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-             ObjectOutputStream out = new ObjectOutputStream(bos)) {
-            out.writeObject(model);
-            return bos.toByteArray();
-        }
+        return serializeModel(model, null);
+    }
+
+    /**
+     * Packs a model as a {@link ModelArtifact}; the header of {@code trainingData} is kept as its metadata.
+     */
+    public byte[] serializeModel(Object model, Instances trainingData) throws Exception {
+        return ModelArtifact.write(model, trainingData);
     }
 
     @Transactional
@@ -332,21 +347,7 @@ public class ModelService {
     public Object loadModel(String modelMinioUri) throws Exception {
         logger.info("Loading model from minio URI: {}", modelMinioUri);
 
-        URI modelUri = new URI(modelMinioUri);
-
-        // Splitting the path to get bucket and object names
-        String[] pathParts = modelUri.getPath().split("/");
-        logger.info("Path parts: {}", (Object) pathParts);
-
-        if (pathParts.length < 2) {
-            throw new RuntimeException("Invalid model URI: " + modelUri);
-        }
-
-        String minioUrl = pathParts[0];
-        String bucketName = pathParts[1];
-
-        String objectName = String.join("/", Arrays.copyOfRange(pathParts, 2, pathParts.length));
-
+        String objectName = modelObjectName(modelMinioUri);
 
         try {
 
@@ -361,7 +362,45 @@ public class ModelService {
         }
     }
 
-    public ByteArrayResource downloadModel(Integer trainingId, User user) {
+    /**
+     * Same as {@link #loadModel(String)} but served from the in-memory model cache when possible.
+     * The returned instance may be shared with concurrent predictions and must not be modified.
+     */
+    public Object loadModel(Integer modelId, String modelMinioUri) throws Exception {
+        return modelCacheService.get(modelId, modelMinioUri, () -> {
+            logger.info("Loading model {} from minio URI: {}", modelId, modelMinioUri);
+            try {
+                byte[] bytes = minioService.downloadObjectAsBytes(bucketResolver.resolve(BucketTypeEnum.MODEL),
+                        modelObjectName(modelMinioUri));
+                // The cache budget is meant for the model's serialized size, not its compressed one
+                ModelArtifact.Metadata metadata = ModelArtifact.readMetadata(new ByteArrayInputStream(bytes));
+                Object model = ModelArtifact.readModel(new ByteArrayInputStream(bytes));
+                long weight = metadata != null ? metadata.serializedBytes() : bytes.length;
+                logger.info("Model loaded successfully ({} bytes, {} serialized)", bytes.length, weight);
+                return new ModelCacheService.LoadedModel(model, weight);
+            } catch (Exception e) {
+                String errorMessage = "Unexpected error while loading model: " + e.getMessage();
+                logger.error(errorMessage, e);
+                throw new RuntimeException(errorMessage, e);
+            }
+        });
+    }
+
+    private String modelObjectName(String modelMinioUri) throws Exception {
+        URI modelUri = new URI(modelMinioUri);
+
+        // Splitting the path to get bucket and object names
+        String[] pathParts = modelUri.getPath().split("/");
+        logger.info("Path parts: {}", (Object) pathParts);
+
+        if (pathParts.length < 2) {
+            throw new RuntimeException("Invalid model URI: " + modelUri);
+        }
+
+        return String.join("/", Arrays.copyOfRange(pathParts, 2, pathParts.length));
+    }
+
+    public MinioObjectResource downloadModel(Integer trainingId, User user) {
         Training training = trainingRepository.findById(trainingId).orElseThrow(() -> new EntityNotFoundException("Training not found"));
         if (!training.getUser().getUsername().equals(user.getUsername())) {
             throw new AuthorizationDeniedException("Access denied");
@@ -374,8 +413,12 @@ public class ModelService {
         String modelUrl = training.getModel().getModelUrl();
         String bucket = bucketResolver.resolve(BucketTypeEnum.MODEL);
         String key = minioService.extractMinioKey(modelUrl);
-        byte[] data = minioService.downloadObjectAsBytes(bucket, key);
-        return new ByteArrayResource(data);
+        MinioObjectResource stored = minioService.objectResource(bucket, key);
+        // Artifacts are handed out as plain Java serialization, the format Weka and earlier downloads use
+        ModelArtifact.Metadata metadata = minioService.loadModelMetadata(bucket, key);
+        return metadata != null
+                ? new UnwrappedModelResource(minioService, bucket, key, metadata, stored.getLastModified())
+                : stored;
     }
 
     public List<com.cloud_ml_app_thesis.dto.model.ModelDTO> getAccessibleModels(User user) {
@@ -541,6 +584,8 @@ public class ModelService {
         model.setCreatedAt(ZonedDateTime.now());
 
         modelRepository.save(model);
+        modelCacheService.invalidate(modelId);
+        chartCacheService.invalidate(modelId);
         log.info("✅ Model content updated successfully: modelId={}, newTrainingId={}", modelId, newTrainingId);
     }
 
@@ -601,118 +646,35 @@ public class ModelService {
             }
         }
         modelRepository.delete(model);
+        modelCacheService.invalidate(modelId);
+        chartCacheService.invalidate(modelId);
         log.info("✅ Model with ID={} deleted successfully", modelId);
     }
 
-    public List<ModelDTO> searchModels(ModelSearchRequest request, User user) {
+    /**
+     * Filters, sorts and pages the models in the database; only the requested page is loaded and mapped.
+     */
+    @Transactional
+    public Page<ModelDTO> searchModels(ModelSearchRequest request, User user, int page, int size, String sortBy, String sortDirection) {
 
         // Check if user has ADMIN role
         boolean isAdmin = user.getRoles().stream()
                 .anyMatch(role -> role.getName().name().equals("ADMIN"));
 
-        // Admin sees ALL algorithms, regular users see only their own + public ones
-        List<Model> models = isAdmin
-                ? modelRepository.findAll()
-                : modelRepository.findAllAccessibleToUser(user.getId());
-
-        log.info("Search Models: {} (isAdmin: {})", models.size(), isAdmin);
+        // Admin sees ALL models, regular users see public, own and shared ones
+        Specification<Model> spec = ModelSpecification.getModelsByCriteria(request, user, isAdmin, dateUtil);
 
-        return models.stream()
-                .filter(model -> matchCriteria(model, request))
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-    }
-
-    public boolean matchCriteria(Model model, ModelSearchRequest request) {
-        List<Boolean> matches = new ArrayList<>();
-
-        //Simple search
-        if(StringUtils.isNotBlank(request.getSimpleSearchInput()) && !request.getSimpleSearchInput().equalsIgnoreCase("string")) {
-            String searchInput = request.getSimpleSearchInput().toLowerCase();
-            boolean searchMatch = model.getName() != null && model.getName().toLowerCase().contains(searchInput)
-                    || (model.getDescription() != null && model.getDescription().toLowerCase().contains(searchInput))
-                    || (model.getKeywords() != null && model.getKeywords().stream().anyMatch(k -> k.toLowerCase().contains(searchInput)))
-                    || (model.getAccessibility().getName().name().toLowerCase().equals(searchInput))
-                    || (model.getCategory().getName().toLowerCase().contains(searchInput));
-            matches.add(searchMatch);
-        }
-
-        // Advanced Search - name AND description
-        if(StringUtils.isNotBlank(request.getName()) && !request.getName().equalsIgnoreCase("string")) {
-            boolean nameMatch = model.getName() != null && model.getName().toLowerCase().contains(request.getName().toLowerCase());
-            matches.add(nameMatch);
-            log.info("  ➜ Name '{}' match: {}", request.getName(), nameMatch);
-        }
-
-        if(StringUtils.isNotBlank(request.getDescription()) && !request.getDescription().equalsIgnoreCase("string")) {
-            boolean descMatch = model.getDescription() != null &&
-                    model.getDescription().toLowerCase().contains(request.getDescription().toLowerCase());
-            matches.add(descMatch);
-            log.info("  ➜ Description '{}' match: {}", request.getDescription(), descMatch);
-        }
-
-        if(StringUtils.isNotBlank(request.getCategory()) && !request.getCategory().equalsIgnoreCase("string")) {
-            boolean categoryMatch = model.getCategory() != null &&
-                    model.getCategory().getName().toLowerCase().contains(request.getCategory().toLowerCase());
-            matches.add(categoryMatch);
-            log.info("  ➜ Category '{}' match: {}", request.getCategory(), categoryMatch);
-        }
-
-        // Date range filter - combine FROM and TO with AND logic
-        boolean hasDateFrom = StringUtils.isNotBlank(request.getCreatedAtFrom()) && !request.getCreatedAtFrom().equalsIgnoreCase("string");
-        boolean hasDateTo = StringUtils.isNotBlank(request.getCreatedAtTo()) && !request.getCreatedAtTo().equalsIgnoreCase("string");
-
-        if(hasDateFrom || hasDateTo) {
-            if(model.getCreatedAt() == null) {
-                // If createdAt is null, date filter always fails
-                matches.add(false);
-                log.info("  ➜ Date range match: false (model createdAt is null)");
-            } else {
-                LocalDateTime createdAt = model.getCreatedAt().toLocalDateTime();
-                boolean dateMatch = true;
-
-                // Check FROM date
-                if(hasDateFrom) {
-                    try {
-                        LocalDateTime from = dateUtil.parseDateTime(request.getCreatedAtFrom(), true);
-                        boolean fromMatch = createdAt.isAfter(from) || createdAt.isEqual(from);
-                        dateMatch = dateMatch && fromMatch;
-                        log.info("  ➜ CreatedAtFrom '{}' match: {} (model date: {})",
-                                request.getCreatedAtFrom(), fromMatch, model.getCreatedAt());
-                    } catch (DateTimeParseException e) {
-                        log.warn("Invalid createdAtFrom format: {}", request.getCreatedAtFrom(), e);
-                        dateMatch = false;
-                    }
-                }
-
-                // Check TO date
-                if(hasDateTo) {
-                    try {
-                        LocalDateTime to = dateUtil.parseDateTime(request.getCreatedAtTo(), true);
-                        boolean toMatch = createdAt.isBefore(to) || createdAt.isEqual(to);
-                        dateMatch = dateMatch && toMatch;
-                        log.info("  ➜ CreatedAtTo '{}' match: {} (model date: {})",
-                                request.getCreatedAtTo(), toMatch, model.getCreatedAt());
-                    } catch (DateTimeParseException e) {
-                        log.warn("Invalid createdAtTo format: {}", request.getCreatedAtTo(), e);
-                        dateMatch = false;
-                    }
-                }
-
-                matches.add(dateMatch);
-                log.info("  ➜ Date range overall match: {}", dateMatch);
-            }
-        }
+        Pageable pageable = PageRequest.of(
+                Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE),
+                SearchSort.of(sortBy, sortDirection)
+        );
 
-        if(matches.isEmpty()){
-            return true;
-        }
+        Page<Model> models = modelRepository.findAll(spec, pageable);
 
-        log.info("matches found: {}",matches.stream().allMatch(Boolean::booleanValue));
+        log.info("Search Models: {} of {} (isAdmin: {})", models.getNumberOfElements(), models.getTotalElements(), isAdmin);
 
-        return request.getSearchMode() == ModelSearchRequest.SearchMode.AND
-                ? matches.stream().allMatch(Boolean::booleanValue)
-                : matches.stream().anyMatch(Boolean::booleanValue);
+        return models.map(this::mapToDTO);
     }
 
 
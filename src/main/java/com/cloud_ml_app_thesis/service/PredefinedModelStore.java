@@ -0,0 +1,117 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.config.BucketResolver;
+import com.cloud_ml_app_thesis.entity.AlgorithmConfiguration;
+import com.cloud_ml_app_thesis.entity.AsyncTaskStatus;
+import com.cloud_ml_app_thesis.entity.ModelType;
+import com.cloud_ml_app_thesis.entity.Training;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.model.Model;
+import com.cloud_ml_app_thesis.enumeration.BucketTypeEnum;
+import com.cloud_ml_app_thesis.enumeration.ModelTypeEnum;
+import com.cloud_ml_app_thesis.enumeration.status.TaskStatusEnum;
+import com.cloud_ml_app_thesis.enumeration.status.TrainingStatusEnum;
+import com.cloud_ml_app_thesis.repository.ModelTypeRepository;
+import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
+import com.cloud_ml_app_thesis.repository.TrainingRepository;
+import com.cloud_ml_app_thesis.repository.model.ModelRepository;
+import com.cloud_ml_app_thesis.repository.status.TrainingStatusRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Persists the outcome of an in-process predefined training (TrainService and HyperparameterSearchService): the
+ * model artifact and metrics in MinIO, the Model row, then the COMPLETED training and task.
+ *
+ * The two steps are separate so a training can still honour a stop request between them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PredefinedModelStore {
+
+    private final MinioService minioService;
+    private final BucketResolver bucketResolver;
+    private final ModelService modelService;
+    private final ModelRepository modelRepository;
+    private final ModelTypeRepository modelTypeRepository;
+    private final TrainingRepository trainingRepository;
+    private final TrainingStatusRepository trainingStatusRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final TaskStatusService taskStatusService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Uploads the serialized model and its metrics file and links a PREDEFINED Model to the training.
+     */
+    public Model storeModel(User user, Training training, byte[] modelBytes, Path metricsPath) throws IOException {
+        String timestamp = DateTimeFormatter.ofPattern("ddMMyyyyHHmmss").format(LocalDateTime.now());
+        String modelKey = user.getUsername() + "_" + timestamp + "_model.pkl";
+        String metricsKey = user.getUsername() + "_" + timestamp + "_metrics.json";
+        String modelBucket = bucketResolver.resolve(BucketTypeEnum.MODEL);
+        String metricsBucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
+
+        try (InputStream modelIn = new ByteArrayInputStream(modelBytes);
+             InputStream metricsIn = Files.newInputStream(metricsPath)) {
+            minioService.uploadToMinio(modelIn, modelBucket, modelKey, modelBytes.length, "application/octet-stream");
+            minioService.uploadToMinio(metricsIn, metricsBucket, metricsKey, Files.size(metricsPath), "application/json");
+        }
+
+        ModelType predefined = modelTypeRepository.findByName(ModelTypeEnum.PREDEFINED)
+                .orElseThrow(() -> new EntityNotFoundException("ModelType PREDEFINED not found"));
+        modelService.saveModel(training, modelService.generateMinioUrl(modelBucket, modelKey),
+                modelService.generateMinioUrl(metricsBucket, metricsKey), predefined);
+        return modelRepository.findByTraining(training)
+                .orElseThrow(() -> new EntityNotFoundException("Model not linked to training"));
+    }
+
+    /**
+     * Marks the training COMPLETED with its results and model, then completes the task unless it was stopped.
+     *
+     * @param configuration replaces the training's algorithm configuration when not null
+     */
+    public void completeTraining(String taskId, Integer trainingId, Model model, String results,
+                                 AlgorithmConfiguration configuration) {
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            Training tr = trainingRepository.findById(trainingId)
+                    .orElseThrow(() -> new EntityNotFoundException("Training not found"));
+            tr.setStatus(trainingStatusRepository.findByName(TrainingStatusEnum.COMPLETED)
+                    .orElseThrow(() -> new EntityNotFoundException("TrainingStatus COMPLETED not found")));
+            if (configuration != null) {
+                tr.setAlgorithmConfiguration(configuration);
+            }
+            tr.setResults(results);
+            tr.setModel(model);
+            tr.setFinishedDate(ZonedDateTime.now());
+            trainingRepository.saveAndFlush(tr);
+        });
+
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            AsyncTaskStatus current = taskStatusRepository.findById(taskId)
+                    .orElseThrow(() -> new IllegalStateException("Task not found"));
+            if (current.getStatus() == TaskStatusEnum.STOPPED) {
+                return;
+            }
+            taskStatusService.completeTask(taskId); // bumps version
+            AsyncTaskStatus fresh = taskStatusRepository.findById(taskId).orElseThrow();
+            fresh.setModelId(model.getId());
+            fresh.setTrainingId(trainingId);
+            taskStatusRepository.saveAndFlush(fresh);
+        });
+    }
+}
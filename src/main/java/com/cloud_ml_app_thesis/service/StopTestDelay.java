@@ -0,0 +1,43 @@
+package com.cloud_ml_app_thesis.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Pause at the stop checkpoints of training jobs, so stop requests can be tried by hand against jobs that
+ * would otherwise finish before the button is pressed.
+ *
+ * Off unless tasks.stop-test-delay is set (the debug profile sets it). The pause is an interruptible section of the
+ * task, so a stop request ends it right away when the task is registered with TaskCancellationRegistry.
+ */
+@Service
+@Slf4j
+public class StopTestDelay {
+
+    private final TaskCancellationRegistry cancellationRegistry;
+    private final Duration delay;
+
+    public StopTestDelay(TaskCancellationRegistry cancellationRegistry,
+                         @Value("${tasks.stop-test-delay:0s}") Duration delay) {
+        this.cancellationRegistry = cancellationRegistry;
+        this.delay = delay;
+    }
+
+    public boolean isEnabled() {
+        return !delay.isZero() && !delay.isNegative();
+    }
+
+    /**
+     * Waits tasks.stop-test-delay before the named checkpoint; returns immediately when disabled.
+     */
+    public void pause(String taskId, String checkpoint) throws Exception {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("⏳ Stop-test delay: waiting {} ms {} [taskId={}]", delay.toMillis(), checkpoint, taskId);
+        cancellationRegistry.runInterruptibly(taskId, () -> Thread.sleep(delay.toMillis()));
+    }
+}
@@ -0,0 +1,224 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.exception.UserInitiatedStopException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import weka.classifiers.Classifier;
+import weka.classifiers.IterativeClassifier;
+import weka.classifiers.meta.FilteredClassifier;
+import weka.clusterers.Clusterer;
+import weka.core.Instances;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancellation tokens of the tasks running on this node: in-process Weka work and the threads supervising
+ * container jobs (whose stop checks are then answered from the token; the job is deleted by stopTask).
+ *
+ * The worker registers its task before it starts and unregisters it when it ends; {@link #cancel} (called by
+ * TaskStatusService.stopTask) flips the token and interrupts the worker while it is inside an
+ * {@link #interruptibly interruptible section}, so checkpoints cost a volatile read instead of a database query.
+ * Interrupts are confined to those sections (model builds, scoring) so they never hit JDBC or MinIO calls.
+ *
+ * Weka's build loops do not poll the interrupt flag themselves, so builds of IterativeClassifiers
+ * (MultilayerPerceptron, AdaBoostM1, LogitBoost, AdditiveRegression) are driven iteration by iteration with a
+ * checkpoint in between; other builds stop as soon as they return.
+ *
+ * A stop sent to another node only lands in the database; TaskStatusService re-reads that flag for a registered
+ * task at most once per remote-check-interval.
+ */
+@Service
+@Slf4j
+public class TaskCancellationRegistry {
+
+    public static final class CancellationToken {
+        private final String taskId;
+        private final Thread worker;
+        private volatile boolean cancelled;
+        private volatile long cancelledAtNanos;
+        // Guarded by this: the worker may only be interrupted while inside an interruptible section
+        private boolean interruptible;
+        private volatile long nextRemoteCheckNanos;
+        private volatile boolean remoteChecked;
+
+        private CancellationToken(String taskId, Thread worker) {
+            this.taskId = taskId;
+            this.worker = worker;
+        }
+
+        public String getTaskId() {
+            return taskId;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    @FunctionalInterface
+    public interface InterruptibleWork {
+        void run() throws Exception;
+    }
+
+    private final long remoteCheckIntervalNanos;
+    private final Map<String, CancellationToken> tokens = new ConcurrentHashMap<>();
+
+    public TaskCancellationRegistry(@Value("${tasks.cancellation.remote-check-interval:5s}") Duration remoteCheckInterval) {
+        this.remoteCheckIntervalNanos = remoteCheckInterval.toNanos();
+    }
+
+    /**
+     * Registers the calling thread as the worker of a task.
+     */
+    public CancellationToken register(String taskId) {
+        CancellationToken token = new CancellationToken(taskId, Thread.currentThread());
+        tokens.put(taskId, token);
+        return token;
+    }
+
+    public void unregister(CancellationToken token) {
+        tokens.remove(token.taskId, token);
+        synchronized (token) {
+            token.interruptible = false;
+        }
+        if (token.cancelled && token.worker == Thread.currentThread()) {
+            // Pool threads are reused: our interrupt must not leak into the next task
+            Thread.interrupted();
+        }
+        if (token.cancelled) {
+            log.info("🛑 Task {} stopped {} ms after the stop request", token.taskId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - token.cancelledAtNanos));
+        }
+    }
+
+    /**
+     * Flags a task as cancelled and interrupts its worker if it is inside an interruptible section.
+     *
+     * @return false when the task is not running on this node
+     */
+    public boolean cancel(String taskId) {
+        CancellationToken token = tokens.get(taskId);
+        if (token == null) {
+            return false;
+        }
+        synchronized (token) {
+            if (!token.cancelled) {
+                token.cancelledAtNanos = System.nanoTime();
+                token.cancelled = true;
+            }
+            if (token.interruptible) {
+                token.worker.interrupt();
+            }
+        }
+        log.info("🛑 Cancellation signalled to worker {} of task {}", token.worker.getName(), taskId);
+        return true;
+    }
+
+    public CancellationToken find(String taskId) {
+        return tokens.get(taskId);
+    }
+
+    public boolean isCancelled(String taskId) {
+        CancellationToken token = tokens.get(taskId);
+        return token != null && token.cancelled;
+    }
+
+    /**
+     * True for the first call and then at most once per interval: the database stop flag of a registered task
+     * is only re-read that often, to catch stop requests handled by another node.
+     */
+    public boolean remoteCheckDue(CancellationToken token) {
+        long now = System.nanoTime();
+        if (token.remoteChecked && now - token.nextRemoteCheckNanos < 0) {
+            return false;
+        }
+        token.remoteChecked = true;
+        token.nextRemoteCheckNanos = now + remoteCheckIntervalNanos;
+        return true;
+    }
+
+    /**
+     * Throws UserInitiatedStopException if the task was cancelled on this node; no I/O.
+     */
+    public void checkpoint(String taskId) {
+        if (isCancelled(taskId)) {
+            throw new UserInitiatedStopException("User requested stop for task " + taskId);
+        }
+    }
+
+    /**
+     * Runs work that a stop request may interrupt. When the task is cancelled, whatever the work threw
+     * (typically InterruptedException) surfaces as UserInitiatedStopException. Tasks not registered by the
+     * calling thread run the work as is.
+     */
+    public <T> T interruptibly(String taskId, Callable<T> work) throws Exception {
+        CancellationToken token = tokens.get(taskId);
+        if (token == null || token.worker != Thread.currentThread()) {
+            return work.call();
+        }
+
+        synchronized (token) {
+            if (token.cancelled) {
+                throw new UserInitiatedStopException("User requested stop for task " + taskId);
+            }
+            token.interruptible = true;
+        }
+        T result;
+        try {
+            result = work.call();
+        } catch (Exception e) {
+            if (token.cancelled) {
+                throw new UserInitiatedStopException("User requested stop for task " + taskId, e);
+            }
+            throw e;
+        } finally {
+            synchronized (token) {
+                token.interruptible = false;
+                if (token.cancelled) {
+                    // Clear our interrupt if it arrived after the work returned
+                    Thread.interrupted();
+                }
+            }
+        }
+        checkpoint(taskId);
+        return result;
+    }
+
+    public void runInterruptibly(String taskId, InterruptibleWork work) throws Exception {
+        interruptibly(taskId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * buildClassifier that a stop request can abort between iterations of an IterativeClassifier.
+     */
+    public void buildClassifier(String taskId, Classifier classifier, Instances data) throws Exception {
+        runInterruptibly(taskId, () -> {
+            // FilteredClassifier only iterates when its base classifier does, so it builds in one go
+            if (classifier instanceof IterativeClassifier iterative && !(classifier instanceof FilteredClassifier)) {
+                iterative.initializeClassifier(data);
+                while (iterative.next()) {
+                    checkpoint(taskId);
+                }
+                iterative.done();
+            } else {
+                classifier.buildClassifier(data);
+            }
+        });
+    }
+
+    public void buildClusterer(String taskId, Clusterer clusterer, Instances data) throws Exception {
+        runInterruptibly(taskId, () -> clusterer.buildClusterer(data));
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+}
@@ -0,0 +1,168 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.config.AsyncExecutorConfig;
+import com.cloud_ml_app_thesis.dto.task.AsyncTaskStatusDTO;
+import com.cloud_ml_app_thesis.dto.task.TaskStatusChangedEvent;
+import com.cloud_ml_app_thesis.enumeration.status.TaskStatusEnum;
+import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process fan-out of task status changes to server-sent event subscribers (GET /api/tasks/{id}/events).
+ *
+ * Every save of an AsyncTaskStatus publishes a {@link TaskStatusChangedEvent}; after the transaction commits the
+ * task is read once, for all of its subscribers, and pushed as a "status" event to each subscriber that has not
+ * seen that version yet. Tasks nobody is watching cost nothing. The stream completes after a terminal status
+ * (COMPLETED, FAILED, STOPPED); a stop request is pushed as a separate "stop-requested" event.
+ *
+ * The fan-out runs on the storage pool, not on the thread that committed the change: that is a training,
+ * prediction or search worker, and a slow SSE client must not hold it up. The worker only hands over the task id.
+ *
+ * Subscribers are held per node, so this replaces polling only for clients connected to the node running the task's
+ * status updates; the status GET (with ETag) stays available as the fallback.
+ */
+@Service
+@Slf4j
+public class TaskEventHub {
+
+    public static final String STATUS_EVENT = "status";
+    public static final String STOP_REQUESTED_EVENT = "stop-requested";
+
+    private static final Set<TaskStatusEnum> TERMINAL = Set.of(TaskStatusEnum.COMPLETED, TaskStatusEnum.FAILED, TaskStatusEnum.STOPPED);
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        // Last version sent to this subscriber, -1 before the first snapshot
+        private long version = -1;
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private final TaskStatusRepository taskStatusRepository;
+    private final ModelMapper modelMapper;
+    private final long timeoutMillis;
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    public TaskEventHub(TaskStatusRepository taskStatusRepository,
+                        ModelMapper modelMapper,
+                        @Value("${tasks.events.timeout:30m}") Duration timeout) {
+        this.taskStatusRepository = taskStatusRepository;
+        this.modelMapper = modelMapper;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Opens a stream for an already authorized task; the current status is sent right away.
+     */
+    public SseEmitter subscribe(String taskId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(emitter);
+
+        // Registered before the first read, so a change committed in between is not missed
+        subscriptions.computeIfAbsent(taskId, id -> new CopyOnWriteArrayList<>()).add(subscription);
+        emitter.onCompletion(() -> unsubscribe(taskId, subscription));
+        emitter.onTimeout(() -> unsubscribe(taskId, subscription));
+        emitter.onError(e -> unsubscribe(taskId, subscription));
+
+        log.debug("📡 Subscribed to task events [{}] ({} subscribers)", taskId, subscriberCount(taskId));
+        publish(taskId);
+        return emitter;
+    }
+
+    @Async(AsyncExecutorConfig.STORAGE_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskStatusChanged(TaskStatusChangedEvent event) {
+        publish(event.taskId());
+    }
+
+    /**
+     * Tells subscribers a stop was requested; the STOPPED status follows once the worker has stopped.
+     */
+    public void stopRequested(String taskId) {
+        List<Subscription> current = subscriptions.get(taskId);
+        if (current == null) {
+            return;
+        }
+        for (Subscription subscription : current) {
+            send(taskId, subscription, SseEmitter.event().name(STOP_REQUESTED_EVENT).data(taskId));
+        }
+    }
+
+    public int subscriberCount(String taskId) {
+        List<Subscription> current = subscriptions.get(taskId);
+        return current == null ? 0 : current.size();
+    }
+
+    private void publish(String taskId) {
+        List<Subscription> current = subscriptions.get(taskId);
+        if (current == null || current.isEmpty()) {
+            return;
+        }
+
+        AsyncTaskStatusDTO status = taskStatusRepository.findById(taskId)
+                .map(task -> modelMapper.map(task, AsyncTaskStatusDTO.class))
+                .orElse(null);
+        if (status == null) {
+            return;
+        }
+        long version = status.getVersion() != null ? status.getVersion() : 0;
+        boolean terminal = TERMINAL.contains(status.getStatus());
+
+        for (Subscription subscription : current) {
+            synchronized (subscription) {
+                if (version <= subscription.version) {
+                    continue;
+                }
+                subscription.version = version;
+                boolean sent = send(taskId, subscription, SseEmitter.event()
+                        .name(STATUS_EVENT)
+                        .id(String.valueOf(version))
+                        .data(status, MediaType.APPLICATION_JSON));
+                if (sent && terminal) {
+                    subscription.emitter.complete();
+                    unsubscribe(taskId, subscription);
+                }
+            }
+        }
+        if (terminal) {
+            log.debug("📡 Task [{}] finished as {}, event streams closed", taskId, status.getStatus());
+        }
+    }
+
+    private boolean send(String taskId, Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away
+            log.debug("📡 Dropping task event subscriber [{}]: {}", taskId, e.getMessage());
+            subscription.emitter.completeWithError(e);
+            unsubscribe(taskId, subscription);
+            return false;
+        }
+    }
+
+    private void unsubscribe(String taskId, Subscription subscription) {
+        subscriptions.computeIfPresent(taskId, (id, list) -> {
+            list.remove(subscription);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.cloud_ml_app_thesis.service;
 
 import com.cloud_ml_app_thesis.dto.task.AsyncTaskStatusDTO;
+import com.cloud_ml_app_thesis.dto.task.TaskStatusChangedEvent;
 import com.cloud_ml_app_thesis.entity.AsyncTaskStatus;
 import com.cloud_ml_app_thesis.entity.User;
 import com.cloud_ml_app_thesis.enumeration.accessibility.DatasetAccessibilityEnum;
@@ -14,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
@@ -30,14 +32,23 @@ public class TaskStatusService {
     private final TaskStatusRepository taskStatusRepository;
     private final ModelMapper modelMapper;
     private final ContainerRunner containerRunner;
+    private final TaskEventHub taskEventHub;
+    private final TaskCancellationRegistry cancellationRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TaskStatusService(
             TaskStatusRepository taskStatusRepository,
             ModelMapper modelMapper,
-            @Qualifier("kubernetesRunner") ContainerRunner containerRunner) {
+            @Qualifier("kubernetesRunner") ContainerRunner containerRunner,
+            TaskEventHub taskEventHub,
+            TaskCancellationRegistry cancellationRegistry,
+            ApplicationEventPublisher eventPublisher) {
         this.taskStatusRepository = taskStatusRepository;
         this.modelMapper = modelMapper;
         this.containerRunner = containerRunner;
+        this.taskEventHub = taskEventHub;
+        this.cancellationRegistry = cancellationRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
     public AsyncTaskStatusDTO getTaskStatus(String taskId, User user) {
@@ -132,6 +143,9 @@ public class TaskStatusService {
             throw new EntityNotFoundException("Task not found: " + taskId);
         }
         log.info("🛑 stopTask({}) by {}", taskId, username);
+        // In-process workers on this node see the token right away; others pick up the database flag
+        cancellationRegistry.cancel(taskId);
+        taskEventHub.stopRequested(taskId);
 
         // Cancel the Kubernetes job if one is running
         String jobName = task.getJobName();
@@ -149,9 +163,21 @@ public class TaskStatusService {
     }
 
 
+    /**
+     * Checkpoint for workers. Tasks running in-process on this node answer from their cancellation token and only
+     * re-read the database flag once per remote-check-interval (a stop handled by another node); any other task
+     * reads the flag.
+     */
     public boolean stopRequested(String taskId) {
+        TaskCancellationRegistry.CancellationToken token = cancellationRegistry.find(taskId);
+        if (token != null && (token.isCancelled() || !cancellationRegistry.remoteCheckDue(token))) {
+            return token.isCancelled();
+        }
         Boolean result = taskStatusRepository.findStopRequested(taskId);
         log.info("🧪 stopRequested({}) = {}", taskId, result);
+        if (token != null && Boolean.TRUE.equals(result)) {
+            cancellationRegistry.cancel(taskId);
+        }
         return Boolean.TRUE.equals(result);
     }
 
@@ -165,9 +191,22 @@ public class TaskStatusService {
         }
     }
 
+    /**
+     * Replaces the task's progress document; subscribers of the task's event stream receive it right away.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updateProgress(String taskId, String progress) {
+        taskStatusRepository.findByTaskId(taskId).ifPresent(task -> {
+            task.setProgress(progress);
+            taskStatusRepository.save(task);
+        });
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void taskStoppedTraining(String taskId, Integer trainingId, Integer modelId) {
         taskStatusRepository.markTaskStopped(taskId, trainingId, modelId);
+        // Bulk update, so no repository save publishes the change
+        eventPublisher.publishEvent(new TaskStatusChangedEvent(taskId));
         log.info("🛑 Task {} marked as STOPPED with trainingId={}, modelId={}", taskId, trainingId, modelId);
     }
 
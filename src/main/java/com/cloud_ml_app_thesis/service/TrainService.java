@@ -1,14 +1,9 @@
 package com.cloud_ml_app_thesis.service;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -41,6 +36,7 @@ import com.cloud_ml_app_thesis.entity.model.Model;
 import com.cloud_ml_app_thesis.entity.status.TrainingStatus;
 import com.cloud_ml_app_thesis.enumeration.AlgorithmTypeEnum;
 import com.cloud_ml_app_thesis.enumeration.BucketTypeEnum;
+import com.cloud_ml_app_thesis.enumeration.EvaluationStrategyEnum;
 import com.cloud_ml_app_thesis.enumeration.ModelTypeEnum;
 import com.cloud_ml_app_thesis.enumeration.UserRoleEnum;
 import com.cloud_ml_app_thesis.enumeration.status.TaskStatusEnum;
@@ -49,7 +45,6 @@ import com.cloud_ml_app_thesis.exception.UserInitiatedStopException;
 import com.cloud_ml_app_thesis.repository.AlgorithmConfigurationRepository;
 import com.cloud_ml_app_thesis.repository.AlgorithmTypeRepository;
 import com.cloud_ml_app_thesis.repository.DatasetConfigurationRepository;
-import com.cloud_ml_app_thesis.repository.ModelTypeRepository;
 import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
 import com.cloud_ml_app_thesis.repository.TrainingRepository;
 import com.cloud_ml_app_thesis.repository.model.ModelRepository;
@@ -82,8 +77,13 @@ public class TrainService {
     private final BucketResolver bucketResolver;
     private final ModelService modelService;
     private final ModelRepository modelRepository;
-    private final ModelTypeRepository modelTypeRepository;
     private final TaskStatusService taskStatusService;
+    private final TaskCancellationRegistry cancellationRegistry;
+    private final ClassSchemaService classSchemaService;
+    private final DatasetService datasetService;
+    private final StopTestDelay stopTestDelay;
+    private final PredefinedModelStore predefinedModelStore;
+    private final ModelEvaluationService modelEvaluationService;
     private final AlgorithmTypeRepository algorithmTypeRepository;
     private final EntityManager entityManager;
     private final TransactionTemplate transactionTemplate;
@@ -135,7 +135,22 @@ public class TrainService {
             RegressionEvaluationResult regressionEvaluationResult = null;
             ClusterEvaluationResult clusterEvaluationResult = null;
 
-            Instances data = metadata.dataset();
+            Instances data;
+            // Captured before any class conversion, saved once the training completes
+            ClassSchemaService.ClassSchema classSchema = null;
+            try (DatasetSnapshotRegistry.Lease lease = datasetService.acquireTrainingInstances(datasetConfig)) {
+                Instances snapshot = lease.instances();
+                if (snapshot.classIndex() >= 0) {
+                    try {
+                        classSchema = classSchemaService.describe(datasetConfig, snapshot,
+                                algorithmTypeFromDb == AlgorithmTypeEnum.CLASSIFICATION);
+                    } catch (Exception e) {
+                        log.warn("⚠️ Could not describe class schema for datasetConfiguration={}: {}", datasetConfig.getId(), e.getMessage());
+                    }
+                }
+                // randomize reorders in place and the snapshot is shared with other trainings
+                data = new Instances(snapshot);
+            }
             data.randomize(new Random(1));
             int trainSize = (int) (data.numInstances() * 0.7);
             int testSize = data.numInstances() - trainSize;
@@ -166,12 +181,14 @@ public class TrainService {
                     algorithmTypeFromDb, data.classAttribute().name());
             }
 
+            // HOLDOUT trains on the 70% split; the resampling strategies train on all data (see ModelEvaluationService)
+            EvaluationStrategyEnum evaluationStrategy = modelEvaluationService.resolve(metadata.evaluationStrategy());
+
             String fixedRawOptions = AlgorithmUtil.fixNestedOptions(config.getOptions());
             AlgorithmType algorithmType;
             log.info("➡️ Class index set to: " + data.classIndex());
             log.info("➡️ Class attribute name: " + data.classAttribute().name());
-            log.info("⏳ Sleeping for 20 seconds before starting training (for manual stop testing)");
-            //Thread.sleep(10000);
+            stopTestDelay.pause(taskId, "before training");
             if (taskStatusService.stopRequested(taskId)) {
                 throw new UserInitiatedStopException("User requested stop for task " + taskId);
             }
@@ -181,16 +198,19 @@ public class TrainService {
                 Classifier cls = AlgorithmUtil.getClassifierInstance(algorithmClassName);
                 String[] optionsArray = Utils.splitOptions(fixedRawOptions);                //TODO exception ??
                 AlgorithmUtil.setClassifierOptions(cls, optionsArray);
-                Thread.sleep(5000);
                 log.info("🧪 Checking stop status before classification training...");
                 if (taskStatusService.stopRequested(taskId)) {
                     throw new UserInitiatedStopException("User requested stop before classification training for task " + taskId);
                 }
-                cls.buildClassifier(trainData);
-                evaluationResult = modelService.evaluateClassifier(cls, trainData, testData);
+                if (evaluationStrategy == EvaluationStrategyEnum.HOLDOUT) {
+                    cancellationRegistry.buildClassifier(taskId, cls, trainData);
+                    evaluationResult = modelService.evaluateClassifier(cls, trainData, testData);
+                } else {
+                    evaluationResult = modelEvaluationService.evaluateClassifier(taskId, evaluationStrategy, cls, data).result();
+                }
                 results = evaluationResult.getSummary();
                 algorithmType = algorithmTypeRepository.findByName(AlgorithmTypeEnum.CLASSIFICATION).orElseThrow(() -> new EntityNotFoundException("AlgorithmType not found"));
-                modelBytes = modelService.serializeModel(cls);
+                modelBytes = modelService.serializeModel(cls, trainData);
 
             } else if (isClassifier && AlgorithmUtil.isRegression(data)) {
                 log.info("📈 Regression detected");
@@ -204,11 +224,15 @@ public class TrainService {
                 if (taskStatusService.stopRequested(taskId)) {
                     throw new UserInitiatedStopException("User requested stop before regression training for task " + taskId);
                 }
-                cls.buildClassifier(trainData);
-                regressionEvaluationResult = modelService.evaluateRegressor(cls, trainData, testData);
+                if (evaluationStrategy == EvaluationStrategyEnum.HOLDOUT) {
+                    cancellationRegistry.buildClassifier(taskId, cls, trainData);
+                    regressionEvaluationResult = modelService.evaluateRegressor(cls, trainData, testData);
+                } else {
+                    regressionEvaluationResult = modelEvaluationService.evaluateRegressor(taskId, evaluationStrategy, cls, data).result();
+                }
                 results = regressionEvaluationResult.getSummary();
                 algorithmType = algorithmTypeRepository.findByName(AlgorithmTypeEnum.REGRESSION).orElseThrow(() -> new EntityNotFoundException("AlgorithmType not found"));
-                modelBytes = modelService.serializeModel(cls);
+                modelBytes = modelService.serializeModel(cls, trainData);
 
             } else if (isClusterer) {
                 log.info("🔀 Clustering detected");
@@ -221,24 +245,17 @@ public class TrainService {
                 if (taskStatusService.stopRequested(taskId)) {
                     throw new UserInitiatedStopException("User requested stop before clustering training for task " + taskId);
                 }
-                cls.buildClusterer(data);
+                cancellationRegistry.buildClusterer(taskId, cls, data);
                 clusterEvaluationResult = modelService.evaluateClusterer(cls, data);
                 results = clusterEvaluationResult.getSummary();
                 algorithmType = algorithmTypeRepository.findByName(AlgorithmTypeEnum.CLUSTERING).orElseThrow(() -> new EntityNotFoundException("AlgorithmType not found"));
-                modelBytes = modelService.serializeModel(cls);
+                modelBytes = modelService.serializeModel(cls, data);
             } else {
                 throw new UnsupportedOperationException("Unsupported algorithm type: " + algorithmClassName);
             }
 
             config.setAlgorithmType(algorithmType);
             algorithmConfigurationRepository.save(config);
-            String timestamp = DateTimeFormatter.ofPattern("ddMMyyyyHHmmss").format(LocalDateTime.now());
-            String modelKey = user.getUsername() + "_" + timestamp + "_model.pkl";
-            String metricsKey = user.getUsername() + "_" + timestamp + "_metrics.json";
-
-            String modelBucket = bucketResolver.resolve(BucketTypeEnum.MODEL);
-            String metricsBucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
-
             Path metricsPath = null;
             if (evaluationResult != null) {
                 metricsPath = FileUtil.writeMetricsToJsonFile(evaluationResult);
@@ -248,61 +265,24 @@ public class TrainService {
                 metricsPath = FileUtil.writeMetricsToJsonFile(clusterEvaluationResult);
             }
 
-            try (InputStream modelIn = new ByteArrayInputStream(modelBytes);
-                 InputStream metricsIn = Files.newInputStream(metricsPath)) {
-                minioService.uploadToMinio(modelIn, modelBucket, modelKey, modelBytes.length, "application/octet-stream");
-                minioService.uploadToMinio(metricsIn, metricsBucket, metricsKey, Files.size(metricsPath), "application/json");
-            }
-
-            String modelUrl = modelService.generateMinioUrl(modelBucket, modelKey);
-            String metricsUrl = modelService.generateMinioUrl(metricsBucket, metricsKey);
-
-            ModelType predefined = modelTypeRepository.findByName(ModelTypeEnum.PREDEFINED)
-                    .orElseThrow(() -> new EntityNotFoundException("AlgorithmType PREDEFINED not found"));
-
-
-            modelService.saveModel(training, modelUrl, metricsUrl, predefined);
-            model = modelRepository.findByTraining(training)
-                    .orElseThrow(() -> new EntityNotFoundException("Model not linked to training"));
-           // log.info("⏳ Sleeping for 20 seconds after starting training (for manual stop testing)");
-            Thread.sleep(10000);
+            model = predefinedModelStore.storeModel(user, training, modelBytes, metricsPath);
+            stopTestDelay.pause(taskId, "after the model upload");
             complete = true;
             if (taskStatusService.stopRequested(taskId)) {
                 throw new UserInitiatedStopException("User requested stop after model and metrics were uploaded");
             }
 
-            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
-            Integer finalTrainingId = trainingId;
-            Model finalModel = model;
-            transactionTemplate.executeWithoutResult(status -> {
-                Training tr = trainingRepository.findById(finalTrainingId)
-                        .orElseThrow(() -> new EntityNotFoundException("Training not found"));
-                tr.setStatus(trainingStatusRepository.findByName(TrainingStatusEnum.COMPLETED)
-                        .orElseThrow(() -> new EntityNotFoundException("TrainingStatus COMPLETED not found")));
-                tr.setResults(results);
-                tr.setModel(finalModel);
-                tr.setFinishedDate(ZonedDateTime.now());
-                trainingRepository.saveAndFlush(tr);
-            });
-
-            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
-            Model finalModel1 = model;
-            Integer finalTrainingId1 = trainingId;
-            transactionTemplate.executeWithoutResult(status -> {
-                if (task.getStatus() != TaskStatusEnum.STOPPED) {
-                    taskStatusService.completeTask(taskId); // bumps version
-                    AsyncTaskStatus fresh = taskStatusRepository.findById(taskId).orElseThrow();
-                    fresh.setModelId(finalModel1.getId());
-                    fresh.setTrainingId(finalTrainingId1);
-                    taskStatusRepository.saveAndFlush(fresh);
-                }
-            });
+            predefinedModelStore.completeTraining(taskId, trainingId, model, results, null);
+            if (classSchema != null) {
+                classSchemaService.save(datasetConfig.getId(), classSchema);
+            }
             log.info("✅ Training complete [taskId={}] with modelId={}", taskId, model.getId());
 
         } catch (UserInitiatedStopException e) {
             log.warn("🛑 Training manually stopped by user [taskId={}]: {}", taskId, e.getMessage());
 
-            taskStatusService.taskStoppedTraining(taskId, training.getId(), model.getId());
+            // A stop during the build comes before the model exists
+            taskStatusService.taskStoppedTraining(taskId, training.getId(), model != null ? model.getId() : null);
 
             // User-initiated stop should always result in FAILED status
             TrainingStatusEnum finalStatus = TrainingStatusEnum.FAILED;
@@ -22,6 +22,7 @@ import com.cloud_ml_app_thesis.repository.CategoryRequestRepository;
 import com.cloud_ml_app_thesis.repository.JwtTokenRepository;
 import com.cloud_ml_app_thesis.repository.PasswordResetTokenRepository;
 import com.cloud_ml_app_thesis.repository.UserRepository;
+import com.cloud_ml_app_thesis.service.security.JwtValidationService;
 
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
@@ -40,6 +41,7 @@ public class UserService {
     private final JwtTokenRepository jwtTokenRepository;
     private final CategoryRepository categoryRepository;
     private final CategoryRequestRepository categoryRequestRepository;
+    private final JwtValidationService jwtValidationService;
 
     private static final String SYSTEM_USERNAME = "SYSTEM";
 
@@ -87,7 +89,7 @@ public class UserService {
     @Transactional
     public GenericResponse<?> updateUser(User currentUser, UserUpdateRequest request) {
         log.debug("🔄 Updating profile for user: {}", currentUser.getUsername());
-        UserDTO dto = applyUserUpdates(currentUser, request);
+        UserDTO dto = applyUserUpdates(reload(currentUser), request);
         return new GenericResponse<>(dto, null, "User profile updated successfully", new Metadata());
     }
 
@@ -110,6 +112,7 @@ public class UserService {
         user.setCountry(request.getCountry());
 
         userRepository.save(user);
+        jwtValidationService.invalidateUser(user.getUsername());
         UserDTO dto = modelMapper.map(user, UserDTO.class);
         dto.setStatus(user.getStatus().getName().name());
         dto.setRoles(user.getRoles().stream()
@@ -121,7 +124,7 @@ public class UserService {
     @Transactional
     public void deleteUser(User user, String reason) {
         log.info("❌ {} deleted their own account. Reason: {}", user.getUsername(), reason);
-        performUserDeletion(user);
+        performUserDeletion(reload(user));
         log.info("✅ User {} successfully deleted", user.getUsername());
     }
 
@@ -135,6 +138,14 @@ public class UserService {
         log.info("✅ Admin successfully deleted user {}", user.getUsername());
     }
 
+    /**
+     * The managed User behind the authenticated principal, which is a detached copy (see JwtValidationService).
+     */
+    private User reload(User principal) {
+        return userRepository.findByUsername(principal.getUsername())
+                .orElseThrow(() -> new UserNotFoundException("User not found with username: " + principal.getUsername()));
+    }
+
     /**
      * Common logic for user deletion - transfers resources to SYSTEM user
      */
@@ -162,6 +173,7 @@ public class UserService {
 
         // 6. Finally delete user
         userRepository.delete(user);
+        jwtValidationService.invalidateUser(user.getUsername());
     }
 
     /**
@@ -12,6 +12,8 @@ import com.cloud_ml_app_thesis.exception.BadRequestException;
 import com.cloud_ml_app_thesis.repository.DatasetConfigurationRepository;
 import com.cloud_ml_app_thesis.repository.dataset.DatasetRepository;
 import com.cloud_ml_app_thesis.repository.model.ModelRepository;
+import com.cloud_ml_app_thesis.service.ChartCacheService.ChartType;
+import com.cloud_ml_app_thesis.service.ChartCacheService.RenderedChart;
 import com.cloud_ml_app_thesis.util.AlgorithmUtil;
 import com.cloud_ml_app_thesis.util.DatasetUtil;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -20,15 +22,14 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.knowm.xchart.*;
+import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.style.markers.SeriesMarkers;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.stereotype.Service;
-import org.springframework.core.io.ByteArrayResource;
 import weka.clusterers.Clusterer;
 import weka.core.Instances;
 
 import java.awt.*;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
@@ -45,6 +46,9 @@ public class VisualizationService {
     private final BucketResolver bucketResolver;
     private final DatasetService datasetService;
     private final DatasetConfigurationRepository datasetConfigurationRepository;
+    private final ChartCacheService chartCacheService;
+
+    private static final ObjectMapper METRICS_MAPPER = new ObjectMapper();
 
     private void validateNotCustomAlgorithm(Model model) {
         if (model.getTraining().getCustomAlgorithmConfiguration() != null) {
@@ -53,31 +57,9 @@ public class VisualizationService {
     }
 
     //classification
-    public ByteArrayResource generateBarChartFromMetricsJson(Integer modelId, User user) {
-        Model model = modelRepository.findById(modelId)
-                .orElseThrow(() -> new EntityNotFoundException("Model not found"));
-
-        if(!user.getUsername().equals(model.getTraining().getUser().getUsername()) && model.getAccessibility().getName().equals(ModelAccessibilityEnum.PRIVATE)) {
-            throw new AuthorizationDeniedException("User not authorized to train this algorithm");
-        }
-
-        validateNotCustomAlgorithm(model);
-
-        String metricsUrl = model.getMetricsUrl();
-        if (metricsUrl == null || metricsUrl.isBlank()) {
-            throw new IllegalArgumentException("Model does not contain metrics URL");
-        }
-        log.info("Generating bar chart from metrics URL: {}", metricsUrl);
-
-        String key = minioService.extractMinioKey(metricsUrl);
-        String bucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
-        log.info("KEY, BUCKET: {} {}", key, bucket);
-        byte[] content = minioService.downloadObjectAsBytes(bucket, key);
-
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode json = mapper.readTree(content);
-
+    public RenderedChart generateBarChartFromMetricsJson(Integer modelId, User user) {
+        Model model = loadChartModel(modelId, user);
+        return render(model, ChartType.METRICS_BAR, "Unable to generate chart", (json, width, height) -> {
             String accStr = json.get("accuracy").asText().replace("%", "").trim();
             String precStr = json.get("precision").asText().replace("%", "").trim();
             String recStr = json.get("recall").asText().replace("%", "").trim();
@@ -92,7 +74,7 @@ public class VisualizationService {
             );
 
             CategoryChart chart = new CategoryChartBuilder()
-                    .width(600).height(400)
+                    .width(width).height(height)
                     .title("Model Evaluation Metrics")
                     .xAxisTitle("Metric").yAxisTitle("Percentage")
                     .build();
@@ -101,42 +83,13 @@ public class VisualizationService {
             chart.getStyler().setDefaultSeriesRenderStyle(CategorySeries.CategorySeriesRenderStyle.Bar);
             chart.getStyler().setYAxisDecimalPattern("##0.00");
             chart.getStyler().setLegendVisible(false);
-
-            // export to byte[]
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
-            return new ByteArrayResource(baos.toByteArray());
-
-        } catch (Exception e) {
-            log.error("📉 Failed to generate bar chart for modelId={}", modelId, e);
-            throw new RuntimeException("Unable to generate chart", e);
-        }
+            return chart;
+        });
     }
 
-    public ByteArrayResource generateConfusionMatrixChart(Integer modelId, User user) {
-        Model model = modelRepository.findById(modelId)
-                .orElseThrow(() -> new EntityNotFoundException("Model not found"));
-
-        if (!user.getUsername().equals(model.getTraining().getUser().getUsername())
-                && model.getAccessibility().getName().equals(ModelAccessibilityEnum.PRIVATE)) {
-            throw new AuthorizationDeniedException("User not authorized to access this model");
-        }
-
-        validateNotCustomAlgorithm(model);
-
-        String metricsUrl = model.getMetricsUrl();
-        if (metricsUrl == null || metricsUrl.isBlank()) {
-            throw new IllegalArgumentException("Model does not contain metrics URL");
-        }
-
-        try {
-            String key = minioService.extractMinioKey(metricsUrl);
-            String bucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
-            byte[] content = minioService.downloadObjectAsBytes(bucket, key);
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode json = mapper.readTree(content);
-
+    public RenderedChart generateConfusionMatrixChart(Integer modelId, User user) {
+        Model model = loadChartModel(modelId, user);
+        return render(model, ChartType.CONFUSION_MATRIX, "Unable to generate confusion matrix chart", (json, width, height) -> {
             JsonNode matrixNode = json.get("confusionMatrix");
             JsonNode labelsNode = json.get("classLabels");
 
@@ -166,8 +119,8 @@ public class VisualizationService {
             }
 
             CategoryChart chart = new CategoryChartBuilder()
-                    .width(600)
-                    .height(600)
+                    .width(width)
+                    .height(height)
                     .title("Confusion Matrix")
                     .xAxisTitle("Predicted")
                     .yAxisTitle("Actual")
@@ -184,43 +137,14 @@ public class VisualizationService {
 
             chart.getStyler().setLegendVisible(true);
             chart.getStyler().setDefaultSeriesRenderStyle(CategorySeries.CategorySeriesRenderStyle.Bar);
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
-
-            return new ByteArrayResource(baos.toByteArray());
-
-        } catch (Exception e) {
-            log.error("📉 Failed to generate confusion matrix for modelId={}", modelId, e);
-            throw new RuntimeException("Unable to generate confusion matrix chart", e);
-        }
+            return chart;
+        });
     }
 
     //Regression
-    public ByteArrayResource generateRegressionScatterPlot(Integer modelId, User user) {
-        Model model = modelRepository.findById(modelId)
-                .orElseThrow(() -> new EntityNotFoundException("Model not found"));
-
-        if (!user.getUsername().equals(model.getTraining().getUser().getUsername())
-                && model.getAccessibility().getName().equals(ModelAccessibilityEnum.PRIVATE)) {
-            throw new AuthorizationDeniedException("User not authorized to access this model");
-        }
-
-        validateNotCustomAlgorithm(model);
-
-        String metricsUrl = model.getMetricsUrl();
-        if (metricsUrl == null || metricsUrl.isBlank()) {
-            throw new IllegalArgumentException("Model does not contain metrics URL");
-        }
-
-        try {
-            String key = minioService.extractMinioKey(metricsUrl);
-            String bucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
-            byte[] content = minioService.downloadObjectAsBytes(bucket, key);
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode json = mapper.readTree(content);
-
+    public RenderedChart generateRegressionScatterPlot(Integer modelId, User user) {
+        Model model = loadChartModel(modelId, user);
+        return render(model, ChartType.REGRESSION_SCATTER, "Unable to generate scatter plot", (json, width, height) -> {
             JsonNode actualNode = json.get("actualValues");
             JsonNode predictedNode = json.get("predictedValues");
 
@@ -237,8 +161,8 @@ public class VisualizationService {
             }
 
             XYChart chart = new XYChartBuilder()
-                    .width(600)
-                    .height(600)
+                    .width(width)
+                    .height(height)
                     .title("Actual vs Predicted")
                     .xAxisTitle("Actual")
                     .yAxisTitle("Predicted")
@@ -260,43 +184,14 @@ public class VisualizationService {
             chart.getStyler().setLegendVisible(true);
             chart.getStyler().setChartBackgroundColor(Color.WHITE);
             chart.getStyler().setPlotGridLinesVisible(true);
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
-
-            return new ByteArrayResource(baos.toByteArray());
-
-        } catch (Exception e) {
-            log.error("📉 Failed to generate regression scatter plot for modelId={}", modelId, e);
-            throw new RuntimeException("Unable to generate scatter plot", e);
-        }
+            return chart;
+        });
     }
 
     //Regression
-    public ByteArrayResource generateResidualPlot(Integer modelId, User user) {
-        Model model = modelRepository.findById(modelId)
-                .orElseThrow(() -> new EntityNotFoundException("Model not found"));
-
-        if (!user.getUsername().equals(model.getTraining().getUser().getUsername())
-                && model.getAccessibility().getName().equals(ModelAccessibilityEnum.PRIVATE)) {
-            throw new AuthorizationDeniedException("User not authorized to access this model");
-        }
-
-        validateNotCustomAlgorithm(model);
-
-        String metricsUrl = model.getMetricsUrl();
-        if (metricsUrl == null || metricsUrl.isBlank()) {
-            throw new IllegalArgumentException("Model does not contain metrics URL");
-        }
-
-        try {
-            String key = minioService.extractMinioKey(metricsUrl);
-            String bucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
-            byte[] content = minioService.downloadObjectAsBytes(bucket, key);
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode json = mapper.readTree(content);
-
+    public RenderedChart generateResidualPlot(Integer modelId, User user) {
+        Model model = loadChartModel(modelId, user);
+        return render(model, ChartType.RESIDUALS, "Unable to generate residual plot", (json, width, height) -> {
             JsonNode actualNode = json.get("actualValues");
             JsonNode predictedNode = json.get("predictedValues");
 
@@ -317,8 +212,8 @@ public class VisualizationService {
             }
 
             XYChart chart = new XYChartBuilder()
-                    .width(600)
-                    .height(600)
+                    .width(width)
+                    .height(height)
                     .title("Residuals vs Predicted")
                     .xAxisTitle("Predicted Values")
                     .yAxisTitle("Residuals (Actual - Predicted)")
@@ -343,46 +238,19 @@ public class VisualizationService {
             zeroLine.setLineColor(Color.GRAY);
             zeroLine.setMarker(SeriesMarkers.NONE);
             zeroLine.setLineWidth(1.0f);
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
-
-            return new ByteArrayResource(baos.toByteArray());
-
-        } catch (Exception e) {
-            log.error("📉 Failed to generate residual plot for modelId={}", modelId, e);
-            throw new RuntimeException("Unable to generate residual plot", e);
-        }
+            return chart;
+        });
     }
 
-    public ByteArrayResource generateClusterSizeChart(Integer modelId, User user) {
+    public RenderedChart generateClusterSizeChart(Integer modelId, User user) {
         AlgorithmUtil.ensureWekaClasspathCompatibility();
-        Model model = modelRepository.findById(modelId)
-                .orElseThrow(() -> new EntityNotFoundException("Model not found"));
-
-        if (!user.getUsername().equals(model.getTraining().getUser().getUsername())
-                && model.getAccessibility().getName().equals(ModelAccessibilityEnum.PRIVATE)) {
-            throw new AuthorizationDeniedException("User not authorized to access this model");
-        }
-
-        validateNotCustomAlgorithm(model);
+        Model model = loadChartModel(modelId, user);
 
         //            if (!AlgorithmUtil.isClustering(data)) {
 //                throw new BadRequestException("The model with ID " + modelId + " is not a clustering model.");
 //            }
 
-        String metricsUrl = model.getMetricsUrl();
-        if (metricsUrl == null || metricsUrl.isBlank()) {
-            throw new IllegalArgumentException("Model does not contain metrics URL");
-        }
-
-        try {
-            String key = minioService.extractMinioKey(metricsUrl);
-            String bucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
-            byte[] content = minioService.downloadObjectAsBytes(bucket, key);
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode json = mapper.readTree(content);
+        return render(model, ChartType.CLUSTER_SIZES, "Unable to generate cluster size chart", (json, width, height) -> {
             JsonNode assignments = json.get("clusterAssignments");
 
             if (assignments == null || !assignments.isArray()) {
@@ -402,7 +270,7 @@ public class VisualizationService {
                     .toList();
 
             CategoryChart chart = new CategoryChartBuilder()
-                    .width(600).height(400)
+                    .width(width).height(height)
                     .title("Cluster Size Distribution")
                     .xAxisTitle("Cluster")
                     .yAxisTitle("Instances")
@@ -411,41 +279,16 @@ public class VisualizationService {
             chart.addSeries("Size", clusterLabels, clusterSizes);
             chart.getStyler().setDefaultSeriesRenderStyle(CategorySeries.CategorySeriesRenderStyle.Bar);
             chart.getStyler().setLegendVisible(false);
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
-            return new ByteArrayResource(baos.toByteArray());
-
-        } catch (Exception e) {
-            log.error("📉 Failed to generate cluster size chart for modelId={}", modelId, e);
-            throw new RuntimeException("Unable to generate cluster size chart", e);
-        }
+            return chart;
+        });
     }
 
-    public ByteArrayResource generateClusterScatterPlot(Integer modelId, User user) {
+    public RenderedChart generateClusterScatterPlot(Integer modelId, User user) {
         AlgorithmUtil.ensureWekaClasspathCompatibility();
-        Model model = modelRepository.findById(modelId)
-                .orElseThrow(() -> new EntityNotFoundException("Model not found"));
-
-        if (!user.getUsername().equals(model.getTraining().getUser().getUsername())
-                && model.getAccessibility().getName().equals(ModelAccessibilityEnum.PRIVATE)) {
-            throw new AuthorizationDeniedException("User not authorized to access this model");
-        }
-
-        validateNotCustomAlgorithm(model);
-
-        String metricsUrl = model.getMetricsUrl();
+        Model model = loadChartModel(modelId, user);
 
-        if (metricsUrl == null || metricsUrl.isBlank()) {
-            throw new IllegalArgumentException("Model does not contain metrics URL");
-        }
+        return render(model, ChartType.CLUSTER_SCATTER, "Unable to generate cluster scatter plot", (json, width, height) -> {
             // 📥 Load cluster assignments
-            try {
-            String key = minioService.extractMinioKey(metricsUrl);
-            String bucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
-            byte[] content = minioService.downloadObjectAsBytes(bucket, key);
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode json = mapper.readTree(content);
             JsonNode assignments = json.get("clusterAssignments");
 
             if (assignments == null || !assignments.isArray()) {
@@ -460,50 +303,88 @@ public class VisualizationService {
                 clusterAssignments.add(clusterIndex);
             }
 
-                JsonNode projection = json.get("projection2D");
-                if (projection == null || !projection.isArray()) {
-                    throw new IllegalArgumentException("projection2D not found in metrics.json");
-                }
+            JsonNode projection = json.get("projection2D");
+            if (projection == null || !projection.isArray()) {
+                throw new IllegalArgumentException("projection2D not found in metrics.json");
+            }
 
-                Map<Integer, List<Double>> xMap = new HashMap<>();
-                Map<Integer, List<Double>> yMap = new HashMap<>();
+            Map<Integer, List<Double>> xMap = new HashMap<>();
+            Map<Integer, List<Double>> yMap = new HashMap<>();
 
-                for (int i = 0; i < projection.size(); i++) {
-                    int cluster = clusterAssignments.get(i);
-                    double x = projection.get(i).get("x").asDouble();
-                    double y = projection.get(i).get("y").asDouble();
+            for (int i = 0; i < projection.size(); i++) {
+                int cluster = clusterAssignments.get(i);
+                double x = projection.get(i).get("x").asDouble();
+                double y = projection.get(i).get("y").asDouble();
 
-                    xMap.computeIfAbsent(cluster, k -> new ArrayList<>()).add(x);
-                    yMap.computeIfAbsent(cluster, k -> new ArrayList<>()).add(y);
-                }
+                xMap.computeIfAbsent(cluster, k -> new ArrayList<>()).add(x);
+                yMap.computeIfAbsent(cluster, k -> new ArrayList<>()).add(y);
+            }
 
-                XYChart chart = new XYChartBuilder()
-                        .width(600)
-                        .height(500)
-                        .title("Clustered Instances")
-                        .xAxisTitle("X")
-                        .yAxisTitle("Y")
-                        .build();
-
-                for (Integer clusterId : xMap.keySet()) {
-                    chart.addSeries("Cluster " + clusterId, xMap.get(clusterId), yMap.get(clusterId))
-                            .setXYSeriesRenderStyle(XYSeries.XYSeriesRenderStyle.Scatter);
-                }
+            XYChart chart = new XYChartBuilder()
+                    .width(width)
+                    .height(height)
+                    .title("Clustered Instances")
+                    .xAxisTitle("X")
+                    .yAxisTitle("Y")
+                    .build();
+
+            for (Integer clusterId : xMap.keySet()) {
+                chart.addSeries("Cluster " + clusterId, xMap.get(clusterId), yMap.get(clusterId))
+                        .setXYSeriesRenderStyle(XYSeries.XYSeriesRenderStyle.Scatter);
+            }
 
             chart.getStyler().setLegendVisible(true);
             chart.getStyler().setChartBackgroundColor(Color.WHITE);
             chart.getStyler().setPlotGridLinesVisible(true);
             chart.getStyler().setMarkerSize(6);
+            return chart;
+        });
+    }
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BitmapEncoder.saveBitmap(chart, baos, BitmapEncoder.BitmapFormat.PNG);
-            return new ByteArrayResource(baos.toByteArray());
+    /**
+     * Loads the model and checks that the user may view its results and that it has a metrics file.
+     */
+    private Model loadChartModel(Integer modelId, User user) {
+        Model model = modelRepository.findById(modelId)
+                .orElseThrow(() -> new EntityNotFoundException("Model not found"));
 
-        } catch (Exception e) {
-            log.error("📉 Failed to generate cluster scatter plot for modelId={}", modelId, e);
-            throw new RuntimeException("Unable to generate cluster scatter plot", e);
+        if (!user.getUsername().equals(model.getTraining().getUser().getUsername())
+                && model.getAccessibility().getName().equals(ModelAccessibilityEnum.PRIVATE)) {
+            throw new AuthorizationDeniedException("User not authorized to access this model");
         }
+
+        validateNotCustomAlgorithm(model);
+
+        String metricsUrl = model.getMetricsUrl();
+        if (metricsUrl == null || metricsUrl.isBlank()) {
+            throw new IllegalArgumentException("Model does not contain metrics URL");
+        }
+        return model;
     }
 
+    /**
+     * Serves the chart from the chart cache; on a miss downloads and parses metrics.json and renders it to PNG.
+     */
+    private RenderedChart render(Model model, ChartType type, String failureMessage, ChartFactory factory) {
+        String metricsUrl = model.getMetricsUrl();
+        ChartCacheService.Key key = new ChartCacheService.Key(model.getId(), type, type.width(), type.height(), metricsUrl);
+        try {
+            return chartCacheService.get(key, () -> {
+                log.info("Rendering {} chart from metrics URL: {}", type, metricsUrl);
+                String objectKey = minioService.extractMinioKey(metricsUrl);
+                String bucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
+                JsonNode json = METRICS_MAPPER.readTree(minioService.downloadObjectAsBytes(bucket, objectKey));
+                return BitmapEncoder.getBitmapBytes(factory.build(json, key.width(), key.height()),
+                        BitmapEncoder.BitmapFormat.PNG);
+            });
+        } catch (Exception e) {
+            log.error("📉 Failed to generate {} chart for modelId={}", type, model.getId(), e);
+            throw new RuntimeException(failureMessage, e);
+        }
+    }
 
+    @FunctionalInterface
+    private interface ChartFactory {
+        Chart<?, ?> build(JsonNode metrics, int width, int height);
+    }
 }
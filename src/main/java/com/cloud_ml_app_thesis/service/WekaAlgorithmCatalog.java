@@ -0,0 +1,204 @@
+package com.cloud_ml_app_thesis.service;
+
+import com.cloud_ml_app_thesis.dto.weka_algorithm.WekaAlgorithmOptionDTO;
+import com.cloud_ml_app_thesis.enumeration.AlgorithmTypeEnum;
+import com.cloud_ml_app_thesis.util.WekaOptionsParser;
+import lombok.extern.slf4j.Slf4j;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.springframework.stereotype.Service;
+import weka.classifiers.Classifier;
+import weka.clusterers.Clusterer;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.Option;
+import weka.core.OptionHandler;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable catalogue of the Weka classifiers and clusterers on the classpath, with their descriptions, option
+ * strings and parsed options.
+ *
+ * Scanning the weka packages and instantiating every algorithm takes seconds, so it happens once, on first use
+ * (DataInitializer at startup), and every later lookup is served from memory.
+ */
+@Service
+@Slf4j
+public class WekaAlgorithmCatalog {
+
+    public static final String NO_DESCRIPTION = "(no description available)";
+
+    /**
+     * One concrete algorithm class. {@code options} (comma separated flags), {@code optionsDescription} ("->"
+     * separated) and {@code defaultOptions} use the format stored in the algorithms table.
+     */
+    public record Entry(String name,
+                        String className,
+                        String description,
+                        AlgorithmTypeEnum type,
+                        String options,
+                        String optionsDescription,
+                        String defaultOptions,
+                        List<WekaAlgorithmOptionDTO> parsedOptions) {
+    }
+
+    private record Catalog(List<Entry> entries, Map<String, Entry> byClassName) {
+    }
+
+    private volatile Catalog catalog;
+
+    public List<Entry> entries() {
+        return catalog().entries();
+    }
+
+    public Optional<Entry> findByClassName(String className) {
+        return Optional.ofNullable(catalog().byClassName().get(className));
+    }
+
+    private Catalog catalog() {
+        Catalog loaded = catalog;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (this) {
+            if (catalog == null) {
+                long start = System.currentTimeMillis();
+                List<Entry> entries = scan();
+                catalog = new Catalog(entries, entries.stream()
+                        .collect(Collectors.toUnmodifiableMap(Entry::className, Function.identity())));
+                log.info("📦 Built Weka algorithm catalogue: {} algorithms in {} ms",
+                        entries.size(), System.currentTimeMillis() - start);
+            }
+            return catalog;
+        }
+    }
+
+    private List<Entry> scan() {
+        Reflections reflections = new Reflections(new ConfigurationBuilder()
+                .setUrls(ClasspathHelper.forPackage("weka.classifiers"))
+                .addUrls(ClasspathHelper.forPackage("weka.clusterers"))
+                .setScanners(new SubTypesScanner()));
+
+        List<Entry> entries = new ArrayList<>();
+        addEntries(reflections.getSubTypesOf(Classifier.class), entries);
+        addEntries(reflections.getSubTypesOf(Clusterer.class), entries);
+        entries.sort(Comparator.comparing(Entry::name).thenComparing(Entry::className));
+        return List.copyOf(entries);
+    }
+
+    private <T> void addEntries(Set<Class<? extends T>> classes, List<Entry> entries) {
+        for (Class<? extends T> cls : classes) {
+            // Skip abstract classes, interfaces, or inner classes
+            if (Modifier.isAbstract(cls.getModifiers()) || cls.isInterface() || cls.isMemberClass()) {
+                continue;
+            }
+            try {
+                T instance = cls.getDeclaredConstructor().newInstance();
+                // Only configurable algorithms are offered to users
+                if (instance instanceof OptionHandler optionHandler) {
+                    entries.add(toEntry(cls, instance, optionHandler));
+                }
+            } catch (Exception | LinkageError e) {
+                log.debug("Skipping Weka class {}: {}", cls.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private Entry toEntry(Class<?> cls, Object instance, OptionHandler optionHandler) throws Exception {
+        String description = NO_DESCRIPTION;
+        try {
+            Method globalInfoMethod = cls.getMethod("globalInfo");
+            description = (String) globalInfoMethod.invoke(instance);
+        } catch (NoSuchMethodException e) {
+            // globalInfo method is not available
+        }
+
+        List<String> flags = new ArrayList<>();
+        List<String> descriptions = new ArrayList<>();
+        Enumeration<Option> options = optionHandler.listOptions();
+        while (options.hasMoreElements()) {
+            Option option = options.nextElement();
+            if (option.name() != null && !option.name().isBlank()) {
+                flags.add(option.name());
+                descriptions.add(option.description());
+            }
+        }
+
+        String optionsStr = clean(String.join(",", flags)).replace(",,", ",");
+        String optionsDescription = clean(String.join("->", descriptions)).replace("->->", "->");
+        String defaultOptions = String.join(" ", optionHandler.getOptions());
+
+        return new Entry(
+                cls.getSimpleName(),
+                cls.getName(),
+                clean(description),
+                typeOf(cls, instance),
+                optionsStr,
+                optionsDescription,
+                defaultOptions,
+                List.copyOf(WekaOptionsParser.parseOptions(optionsStr, optionsDescription, defaultOptions)));
+    }
+
+    private static AlgorithmTypeEnum typeOf(Class<?> cls, Object instance) {
+        if (Clusterer.class.isAssignableFrom(cls)) {
+            return AlgorithmTypeEnum.CLUSTERING;
+        }
+        if (instance instanceof Classifier classifier) {
+            // Check if this classifier is actually a regressor (handles numeric target)
+            return isRegressor(classifier) ? AlgorithmTypeEnum.REGRESSION : AlgorithmTypeEnum.CLASSIFICATION;
+        }
+        throw new IllegalArgumentException("❌ Unknown algorithm type: " + cls.getName());
+    }
+
+    private static String clean(String value) {
+        return value.replaceAll("[\\t\\n]", "");
+    }
+
+    /**
+     * Helper method to determine if a classifier is a regressor
+     */
+    static boolean isRegressor(Classifier classifier) {
+        try {
+            // 1. Create dummy dataset
+            ArrayList<Attribute> attributes = new ArrayList<>();
+            attributes.add(new Attribute("feature1"));
+            attributes.add(new Attribute("feature2"));
+            attributes.add(new Attribute("target")); // numeric class
+
+            Instances data = new Instances("dummy", attributes, 0);
+            data.setClassIndex(data.numAttributes() - 1);
+
+            // Add dummy data
+            double[] vals1 = {1.0, 2.0, 3.0};
+            double[] vals2 = {2.0, 3.0, 4.0};
+            double[] target = {10.0, 15.0, 20.0};
+
+            for (int i = 0; i < vals1.length; i++) {
+                double[] instance = {vals1[i], vals2[i], target[i]};
+                data.add(new DenseInstance(1.0, instance));
+            }
+
+            // 2. Try to build model
+            classifier.buildClassifier(data);
+
+            // 3. Check if classAttribute is numeric
+            return data.classAttribute().isNumeric();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -20,10 +20,9 @@ import com.cloud_ml_app_thesis.repository.model.ModelExecutionRepository;
 import com.cloud_ml_app_thesis.repository.model.ModelRepository;
 import com.cloud_ml_app_thesis.repository.status.ModelExecutionStatusRepository;
 import com.cloud_ml_app_thesis.util.ContainerRunner;
+import com.cloud_ml_app_thesis.util.ModelArtifact;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import weka.core.Attribute;
-import weka.core.Instances;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +39,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -64,6 +64,7 @@ public class WekaContainerPredictionService {
     private final ModelRepository modelRepository;
     private final BucketResolver bucketResolver;
     private final MinioService minioService;
+    private final ClassSchemaService classSchemaService;
     private final ModelExecutionStatusRepository modelExecutionStatusRepository;
     private final ModelExecutionRepository modelExecutionRepository;
     private final ModelService modelService;
@@ -171,40 +172,24 @@ public class WekaContainerPredictionService {
             String modelKey = minioService.extractMinioKey(model.getModelUrl());
             Path modelPath = minioService.downloadObjectToTempFile(modelBucket, modelKey);
             Path modelInside = outputDir.resolve("model.ser");
-            Files.copy(modelPath, modelInside, StandardCopyOption.REPLACE_EXISTING);
+            // The container reads plain Java serialization; artifacts are unpacked (and their hash checked) here
+            try (InputStream in = Files.newInputStream(modelPath);
+                 OutputStream out = Files.newOutputStream(modelInside)) {
+                ModelArtifact.unwrap(in, out);
+            }
             log.info("📥 Trained model copied to: {}", modelInside);
 
-            // 4b. For CLASSIFICATION: Extract class labels from training dataset
+            // 4b. For CLASSIFICATION: Class labels from the training dataset's class schema
             // This replicates what the in-memory approach does in DatasetService.loadPredictionInstancesFromCsv
             // Use algorithmConfig.getAlgorithmType() (effective type from training) not algorithm.getType() (database type)
+            // A numeric training class comes with the labels NumericToNominal gave it at training time
             List<String> classLabels = null;
             if (algorithmConfig.getAlgorithmType().getName() == com.cloud_ml_app_thesis.enumeration.AlgorithmTypeEnum.CLASSIFICATION) {
                 try {
-                    String[] pathParts = com.cloud_ml_app_thesis.util.DatasetUtil.resolveDatasetMinioInfo(datasetConfig.getDataset());
-                    String trainingBucket = pathParts[0];
-                    String trainingObjectName = pathParts[1];
-
-                    try (InputStream trainingStream = minioService.loadObjectAsInputStream(trainingBucket, trainingObjectName)) {
-                        Instances trainingData = com.cloud_ml_app_thesis.util.DatasetUtil.loadDatasetInstancesByDatasetConfigurationFromMinio(
-                                datasetConfig, trainingStream, trainingObjectName);
-
-                        // Convert numeric class to nominal if needed (matching training behavior)
-                        if (trainingData.classAttribute() != null && trainingData.classAttribute().isNumeric()) {
-                            log.info("🔄 Converting numeric class to nominal in training data to extract labels");
-                            weka.filters.unsupervised.attribute.NumericToNominal convert = new weka.filters.unsupervised.attribute.NumericToNominal();
-                            convert.setAttributeIndices(String.valueOf(trainingData.classIndex() + 1));
-                            convert.setInputFormat(trainingData);
-                            trainingData = weka.filters.Filter.useFilter(trainingData, convert);
-                        }
-
-                        Attribute trainingClassAttr = trainingData.classAttribute();
-                        if (trainingClassAttr != null && trainingClassAttr.isNominal()) {
-                            classLabels = new ArrayList<>();
-                            for (int i = 0; i < trainingClassAttr.numValues(); i++) {
-                                classLabels.add(trainingClassAttr.value(i));
-                            }
-                            log.info("📋 Extracted class labels from training data: {}", classLabels);
-                        }
+                    ClassSchemaService.ClassSchema classSchema = classSchemaService.get(datasetConfig, true);
+                    if (!classSchema.classValues().isEmpty()) {
+                        classLabels = new ArrayList<>(classSchema.classValues());
+                        log.info("📋 Class labels from training data: {}", classLabels);
                     }
                 } catch (Exception e) {
                     log.warn("⚠️ Could not extract class labels from training dataset: {}", e.getMessage());
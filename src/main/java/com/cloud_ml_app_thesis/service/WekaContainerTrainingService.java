@@ -49,10 +49,11 @@ import com.cloud_ml_app_thesis.repository.TrainingRepository;
 import com.cloud_ml_app_thesis.repository.model.ModelRepository;
 import com.cloud_ml_app_thesis.repository.status.TrainingStatusRepository;
 
-import weka.core.Instances;
-import weka.core.converters.CSVLoader;
 import com.cloud_ml_app_thesis.util.ContainerRunner;
+import com.cloud_ml_app_thesis.util.DatasetUtil;
+import com.cloud_ml_app_thesis.util.ModelArtifact;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import weka.core.Instances;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
@@ -77,6 +78,9 @@ public class WekaContainerTrainingService {
     private final TaskStatusRepository taskStatusRepository;
     private final ModelTypeRepository modelTypeRepository;
     private final DatasetConfigurationRepository datasetConfigurationRepository;
+    private final ClassSchemaService classSchemaService;
+    private final DatasetSnapshotRegistry datasetSnapshotRegistry;
+    private final ModelEvaluationService modelEvaluationService;
     private final AlgorithmConfigurationRepository algorithmConfigurationRepository;
     private final AlgorithmTypeRepository algorithmTypeRepository;
     private final ModelRepository modelRepository;
@@ -105,6 +109,8 @@ public class WekaContainerTrainingService {
         String uploadedMetricsKey = null;
         String modelBucket = null;
         String metricsBucket = null;
+        // Held until the training ends, so trainings on the same configuration share it and the budget counts it
+        DatasetSnapshotRegistry.Lease trainingData = null;
 
         try {
             // 1. Update task to RUNNING
@@ -170,8 +176,27 @@ public class WekaContainerTrainingService {
             // 6. Create params.json with algorithm info
             // Auto-detect algorithm type based on target column type (nominal=CLASSIFICATION, numeric=REGRESSION)
             // This allows algorithms like RandomForest to work for both classification and regression
-            String effectiveAlgorithmType = detectAlgorithmType(
-                    datasetInside, metadata.targetColumn(), algorithm.getType().getName());
+            trainingData = acquireTrainingData(datasetPath, datasetConfig);
+            Instances header = trainingData != null ? new Instances(trainingData.instances(), 0) : null;
+            String effectiveAlgorithmType = detectAlgorithmType(header, algorithm.getType().getName());
+            // Class schema for predictions, described from the rows already parsed for the header
+            ClassSchemaService.ClassSchema classSchema = null;
+            if (header != null && header.classIndex() >= 0) {
+                try {
+                    classSchema = classSchemaService.describe(datasetConfig, trainingData.instances(),
+                            AlgorithmTypeEnum.CLASSIFICATION.name().equals(effectiveAlgorithmType));
+                } catch (Exception e) {
+                    log.warn("⚠️ Could not describe class schema for datasetConfiguration={}: {}", datasetConfig.getId(), e.getMessage());
+                }
+            }
+            // The container trains on the copied file: only the header is kept, the rows go back to the registry
+            if (trainingData != null) {
+                trainingData.close();
+                trainingData = null;
+            }
+            if (header != null && AlgorithmTypeEnum.CLUSTERING.name().equals(effectiveAlgorithmType)) {
+                header.setClassIndex(-1);
+            }
 
             Map<String, Object> params = new HashMap<>();
             params.put("algorithmClassName", algorithm.getClassName());
@@ -179,6 +204,8 @@ public class WekaContainerTrainingService {
             params.put("options", algorithmConfig.getOptions() != null ? algorithmConfig.getOptions() : "");
             params.put("targetColumn", metadata.targetColumn());
             params.put("basicAttributesColumns", metadata.basicAttributesColumns());
+            // Evaluation runs in the container: strategy, folds, repeats and seed as for in-process trainings
+            params.put("evaluation", modelEvaluationService.containerSettings(metadata.evaluationStrategy()));
 
             Path paramsFile = dataDir.resolve("params.json");
             ObjectMapper mapper = new ObjectMapper();
@@ -211,6 +238,11 @@ public class WekaContainerTrainingService {
 
             log.info("✅ Found output files: model={}, metrics={}", modelFile.getName(), metricsFile.getName());
 
+            // The container writes plain serialization; store it in the same artifact format as in-process trainings
+            File artifactFile = outputDir.resolve(modelFile.getName() + ".artifact").toFile();
+            ModelArtifact.wrap(modelFile.toPath(), algorithm.getClassName(), algorithmConfig.getOptions(), header,
+                    artifactFile.toPath());
+
             // 10. Upload results to MinIO
             String timestamp = DateTimeFormatter.ofPattern("ddMMyyyyHHmmss").format(LocalDateTime.now());
             String modelFolder = username + "_" + timestamp + "/";
@@ -220,9 +252,9 @@ public class WekaContainerTrainingService {
             modelBucket = bucketResolver.resolve(BucketTypeEnum.MODEL);
             metricsBucket = bucketResolver.resolve(BucketTypeEnum.METRICS);
 
-            try (InputStream modelIn = new FileInputStream(modelFile);
+            try (InputStream modelIn = new FileInputStream(artifactFile);
                  InputStream metricsIn = new FileInputStream(metricsFile)) {
-                minioService.uploadToMinio(modelIn, modelBucket, modelKey, modelFile.length(), "application/octet-stream");
+                minioService.uploadToMinio(modelIn, modelBucket, modelKey, artifactFile.length(), "application/octet-stream");
                 uploadedModelKey = modelKey;  // Track for cleanup on stop
                 minioService.uploadToMinio(metricsIn, metricsBucket, metricsKey, metricsFile.length(), "application/json");
                 uploadedMetricsKey = metricsKey;  // Track for cleanup on stop
@@ -295,6 +327,11 @@ public class WekaContainerTrainingService {
                 }
             });
 
+            // 14. Keep the class schema so predictions never re-read the training dataset
+            if (classSchema != null) {
+                classSchemaService.save(datasetConfig.getId(), classSchema);
+            }
+
             log.info("✅ Weka container training complete [taskId={}] with modelId={}", taskId, model.getId());
 
         } catch (UserInitiatedStopException e) {
@@ -393,6 +430,9 @@ public class WekaContainerTrainingService {
             throw new RuntimeException("Weka container training failed", e);
 
         } finally {
+            if (trainingData != null) {
+                trainingData.close();
+            }
             // Cleanup temp directories
             try {
                 if (System.getenv("PRESERVE_SHARED_DEBUG") == null) {
@@ -427,6 +467,33 @@ public class WekaContainerTrainingService {
         }
     }
 
+    /**
+     * Training data projected like the training (the configured target column, or the last column without one),
+     * from the shared dataset snapshot of the configuration: trainings running on the same dataset configuration
+     * parse the downloaded file once between them. The caller closes the lease when the training ends. Null when
+     * the file cannot be parsed here; the container reports its own errors.
+     *
+     * @param datasetPath Path to the downloaded dataset (CSV, Excel or ARFF)
+     * @param datasetConfig Dataset configuration holding the target column (1-based index as string)
+     */
+    private DatasetSnapshotRegistry.Lease acquireTrainingData(Path datasetPath, DatasetConfiguration datasetConfig) {
+        DatasetSnapshotRegistry.Key key = DatasetSnapshotRegistry.Key.of(datasetConfig);
+        try {
+            return datasetSnapshotRegistry.acquire(key, Files.size(datasetPath), () -> {
+                try (InputStream in = Files.newInputStream(datasetPath)) {
+                    return DatasetUtil.loadInstances(in, key.objectName(), key.projection());
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Interrupted while waiting for dataset {}", key.objectName());
+            return null;
+        } catch (Exception e) {
+            log.warn("⚠️ Could not read dataset {}: {}", key.objectName(), e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Detects the effective algorithm type based on the target column type.
      * Many Weka algorithms (like RandomForest) can do both classification and regression.
@@ -434,57 +501,30 @@ public class WekaContainerTrainingService {
      * - If target column is NUMERIC → REGRESSION
      * - CLUSTERING algorithms are kept as-is (they don't use target column)
      *
-     * @param datasetPath Path to the CSV dataset
-     * @param targetColumn Target column (1-based index as string)
+     * @param header Header of the training data, or null when it could not be read
      * @param databaseType The algorithm type stored in the database
      * @return The effective algorithm type based on target column analysis
      */
-    private String detectAlgorithmType(Path datasetPath, String targetColumn, AlgorithmTypeEnum databaseType) {
+    private String detectAlgorithmType(Instances header, AlgorithmTypeEnum databaseType) {
         // Clustering doesn't depend on target column type
         if (databaseType == AlgorithmTypeEnum.CLUSTERING) {
             return databaseType.name();
         }
+        if (header == null) {
+            log.warn("⚠️ Could not auto-detect algorithm type, using database type {}", databaseType.name());
+            return databaseType.name();
+        }
 
-        try {
-            CSVLoader loader = new CSVLoader();
-            loader.setSource(datasetPath.toFile());
-            Instances data = loader.getDataSet();
-
-            // Parse target column index (1-based to 0-based)
-            int targetIdx = -1;
-            if (targetColumn != null && !targetColumn.isEmpty()) {
-                try {
-                    targetIdx = Integer.parseInt(targetColumn.trim()) - 1;
-                } catch (NumberFormatException e) {
-                    // It might be a column name, try to find it
-                    weka.core.Attribute attr = data.attribute(targetColumn);
-                    if (attr != null) {
-                        targetIdx = attr.index();
-                    }
-                }
-            }
-
-            // Default to last column if target not specified
-            if (targetIdx < 0 || targetIdx >= data.numAttributes()) {
-                targetIdx = data.numAttributes() - 1;
-            }
-
-            weka.core.Attribute targetAttr = data.attribute(targetIdx);
-            boolean isNominal = targetAttr.isNominal() || targetAttr.isString();
-
-            String detectedType = isNominal ? "CLASSIFICATION" : "REGRESSION";
+        weka.core.Attribute targetAttr = header.classAttribute();
+        boolean isNominal = targetAttr.isNominal() || targetAttr.isString();
 
-            if (!detectedType.equals(databaseType.name())) {
-                log.info("🔄 Auto-detected algorithm type: {} (target column '{}' is {}). Database type was: {}",
-                        detectedType, targetAttr.name(), isNominal ? "nominal" : "numeric", databaseType.name());
-            }
+        String detectedType = isNominal ? "CLASSIFICATION" : "REGRESSION";
 
-            return detectedType;
-
-        } catch (Exception e) {
-            log.warn("⚠️ Could not auto-detect algorithm type, using database type {}: {}",
-                    databaseType.name(), e.getMessage());
-            return databaseType.name();
+        if (!detectedType.equals(databaseType.name())) {
+            log.info("🔄 Auto-detected algorithm type: {} (target column '{}' is {}). Database type was: {}",
+                    detectedType, targetAttr.name(), isNominal ? "nominal" : "numeric", databaseType.name());
         }
+
+        return detectedType;
     }
 }
@@ -62,6 +62,7 @@ public class AuthService {
     private final JwtTokenRepository jwtTokenRepository;
     private final JavaMailSender mailSender;
     private final PasswordResetTokenRepository tokenRepository;
+    private final JwtValidationService jwtValidationService;
 
     @Value("${app.frontend.reset-password-url:http://localhost:5174/#/reset-password}")
     private String resetPasswordUrl;
@@ -186,6 +187,7 @@ public class AuthService {
             jwtTokenRepository.save(storedToken);
             log.info("🔒 Token revoked: {}", token);
         });
+        jwtValidationService.invalidateToken(token);
     }
 
     @Transactional
@@ -273,8 +275,11 @@ public class AuthService {
     }
 
         @Transactional
-    public GenericResponse<?> changePassword(User user, PasswordChangeRequest request) {
-        log.debug("🔍 Validating old password for user '{}'", user.getUsername());
+    public GenericResponse<?> changePassword(User principal, PasswordChangeRequest request) {
+        log.debug("🔍 Validating old password for user '{}'", principal.getUsername());
+        // The principal is a detached copy (see JwtValidationService); change the managed user
+        User user = userRepository.findByUsername(principal.getUsername())
+                .orElseThrow(() -> new UserNotFoundException("User not found with username: " + principal.getUsername()));
 
         if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
             throw new BadRequestException("Old password is incorrect");
@@ -286,6 +291,7 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        jwtValidationService.invalidateUser(user.getUsername());
 
         log.info("✅ Password successfully updated for user '{}'", user.getUsername());
         return new GenericResponse<>(null, null, "Password changed successfully", new Metadata());
@@ -299,6 +305,7 @@ public class AuthService {
         user.setPasswordResetToken(null);
         tokenRepository.deleteByUser(user);
         userRepository.save(user);
+        jwtValidationService.invalidateUser(user.getUsername());
         log.info("🔐 Password reset and token cleared for user: {}", user.getUsername());
     }
 }
@@ -0,0 +1,237 @@
+package com.cloud_ml_app_thesis.service.security;
+
+import com.cloud_ml_app_thesis.config.JwtCacheProperties;
+import com.cloud_ml_app_thesis.config.security.AccountDetails;
+import com.cloud_ml_app_thesis.config.security.JwtTokenProvider;
+import com.cloud_ml_app_thesis.entity.JwtToken;
+import com.cloud_ml_app_thesis.entity.Role;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.status.UserStatus;
+import com.cloud_ml_app_thesis.enumeration.UserRoleEnum;
+import com.cloud_ml_app_thesis.enumeration.status.UserStatusEnum;
+import com.cloud_ml_app_thesis.repository.JwtTokenRepository;
+import com.cloud_ml_app_thesis.util.LruCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Validates bearer tokens for the JWT filters and caches the outcome per token.
+ *
+ * A miss verifies the RSA signature once, checks the stored token (not revoked / expired) and loads the
+ * account; a hit needs none of the three. The cache keeps a value snapshot of the account and every request gets
+ * its own AccountDetails built from it, so nothing a request does to its User reaches the next one.
+ * Entries live for the configured TTL, never past the JWT's own expiry, and the least recently used entry is
+ * evicted beyond max-entries. Logout ({@link #invalidateToken}) and any change to a user
+ * ({@link #invalidateUser}, called by UserChangeListener) drop entries immediately and again after their
+ * transaction commits, so a request racing the change cannot re-cache the old state.
+ * Metrics: jwt.cache.requests{result=hit|miss}, jwt.cache.entries.
+ *
+ * Only valid stored tokens are cached; unknown or revoked tokens are checked against the database every time.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(JwtCacheProperties.class)
+public class JwtValidationService implements MeterBinder {
+
+    private record CachedToken(AccountSnapshot account, long expiresAtMillis) {
+    }
+
+    private record AccountSnapshot(UUID id, String username, String firstName, String lastName, String email,
+                                   String password, Integer age, String profession, String country,
+                                   Set<RoleValue> roles, StatusValue status) {
+
+        static AccountSnapshot of(User user) {
+            Set<RoleValue> roles = user.getRoles() == null ? null : user.getRoles().stream()
+                    .map(role -> new RoleValue(role.getId(), role.getName(), role.getDescription()))
+                    .collect(Collectors.toUnmodifiableSet());
+            StatusValue status = user.getStatus() == null ? null : new StatusValue(
+                    user.getStatus().getId(), user.getStatus().getName(), user.getStatus().getDescription());
+            return new AccountSnapshot(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                    user.getEmail(), user.getPassword(), user.getAge(), user.getProfession(), user.getCountry(),
+                    roles, status);
+        }
+
+        AccountDetails toAccountDetails() {
+            return new AccountDetails(User.builder()
+                    .id(id)
+                    .username(username)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .email(email)
+                    .password(password)
+                    .age(age)
+                    .profession(profession)
+                    .country(country)
+                    .roles(roles == null ? null : roles.stream()
+                            .map(role -> new Role(role.id(), role.name(), role.description(), null))
+                            .collect(Collectors.toCollection(HashSet::new)))
+                    .status(status == null ? null : new UserStatus(status.id(), status.name(), status.description()))
+                    .build());
+        }
+    }
+
+    private record RoleValue(Integer id, UserRoleEnum name, String description) {
+    }
+
+    private record StatusValue(Integer id, UserStatusEnum name, String description) {
+    }
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtTokenRepository tokenRepository;
+    private final AccountDetailsService accountDetailsService;
+    private final JwtCacheProperties properties;
+
+    // Bounded by entry count only
+    private final LruCache<String, CachedToken> entries = new LruCache<>(cached -> 0);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public JwtValidationService(JwtTokenProvider jwtTokenProvider,
+                                JwtTokenRepository tokenRepository,
+                                AccountDetailsService accountDetailsService,
+                                JwtCacheProperties properties) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRepository = tokenRepository;
+        this.accountDetailsService = accountDetailsService;
+        this.properties = properties;
+    }
+
+    /**
+     * The account a token authenticates, or empty when the token is unknown, revoked or expired in the database.
+     * A token with a bad signature or past its exp claim throws io.jsonwebtoken.JwtException.
+     */
+    public Optional<AccountDetails> validate(String token) {
+        return check(token, false);
+    }
+
+    /**
+     * Same as {@link #validate}, except that a token missing from the database is authenticated by its signature
+     * alone, as JwtAuthenticationFilter always did. Such tokens are not cached.
+     */
+    public Optional<AccountDetails> authenticate(String token) {
+        return check(token, true);
+    }
+
+    private Optional<AccountDetails> check(String token, boolean acceptUnknown) {
+        long validationGeneration = entries.generation();
+
+        CachedToken cached = entries.get(token);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return Optional.of(cached.account().toAccountDetails());
+            }
+            entries.remove(token, cached);
+        }
+
+        misses.incrementAndGet();
+        Claims claims = jwtTokenProvider.parseClaims(token);
+
+        Optional<JwtToken> storedToken = tokenRepository.findByToken(token);
+        if (storedToken.isEmpty()) {
+            log.debug("🧾 Token in DB present: false, accepted by signature: {}", acceptUnknown);
+            return acceptUnknown ? Optional.of(loadAccount(claims)) : Optional.empty();
+        }
+        boolean isTokenValid = !storedToken.get().isExpired() && !storedToken.get().isRevoked();
+        log.debug("🧾 Token in DB present: true, valid: {}", isTokenValid);
+        if (!isTokenValid) {
+            return Optional.empty();
+        }
+
+        AccountDetails accountDetails = loadAccount(claims);
+        put(token, AccountSnapshot.of(accountDetails.getUser()), claims, validationGeneration);
+        return Optional.of(accountDetails);
+    }
+
+    /**
+     * Drops a token, e.g. on logout.
+     */
+    public void invalidateToken(String token) {
+        evictAfterCommit(() -> entries.invalidate(token));
+    }
+
+    /**
+     * Drops every token of a user, e.g. after a password, profile, role or status change.
+     */
+    public void invalidateUser(String username) {
+        evictAfterCommit(() -> entries.invalidateIf(
+                (token, cached) -> Objects.equals(cached.account().username(), username)));
+        log.info("🧹 JWT cache invalidated for user: {}", username);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Bearer tokens accepted from the validation cache")
+                .register(registry);
+        FunctionCounter.builder("jwt.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Bearer tokens verified against the signature and the database")
+                .register(registry);
+        Gauge.builder("jwt.cache.entries", this, JwtValidationService::size)
+                .description("Validated tokens currently cached")
+                .register(registry);
+    }
+
+    private AccountDetails loadAccount(Claims claims) {
+        return (AccountDetails) accountDetailsService.loadUserByUsername(claims.getSubject());
+    }
+
+    private void put(String token, AccountSnapshot account, Claims claims, long validationGeneration) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + properties.getTtl().toMillis();
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        entries.put(token, new CachedToken(account, expiresAt), validationGeneration,
+                properties.getMaxEntries(), Long.MAX_VALUE);
+    }
+
+    private static void evictAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.cloud_ml_app_thesis.specification;
+
+import com.cloud_ml_app_thesis.dto.request.custom_algorithm.CustomAlgorithmSearchRequest;
+import com.cloud_ml_app_thesis.entity.CustomAlgorithm;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.accessibility.CustomAlgorithmAccessibility;
+import com.cloud_ml_app_thesis.enumeration.accessibility.AlgorithmAccessibiltyEnum;
+import com.cloud_ml_app_thesis.util.DateUtil;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.apache.commons.lang3.EnumUtils;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cloud_ml_app_thesis.specification.SearchPredicates.*;
+
+public class CustomAlgorithmSpecification {
+
+    /**
+     * Custom algorithms visible to the user (public or owned; everything for admins) matching the search
+     * criteria, combined with AND or OR according to the search mode.
+     */
+    public static Specification<CustomAlgorithm> getCustomAlgorithmsByCriteria(CustomAlgorithmSearchRequest request, User user,
+                                                                              boolean isAdmin, DateUtil dateUtil) {
+        return (root, query, cb) -> {
+            Join<CustomAlgorithm, CustomAlgorithmAccessibility> accessibility = root.join("accessibility", JoinType.LEFT);
+            List<Predicate> predicates = new ArrayList<>();
+
+            // 1️⃣ Simple search (name, description, keywords contain the input, or accessibility equals it),
+            //    one indexed branch per column
+            if (hasText(request.getSimpleSearchInput())) {
+                String input = request.getSimpleSearchInput();
+                List<Branch<CustomAlgorithm>> any = new ArrayList<>(List.of(
+                        (row, c) -> containsIgnoreCase(c, row.get("name"), input),
+                        (row, c) -> containsIgnoreCase(c, row.get("description"), input),
+                        (row, c) -> containsIgnoreCase(c, row.join("keywords"), input)));
+                AlgorithmAccessibiltyEnum accessibilityInput = EnumUtils.getEnumIgnoreCase(AlgorithmAccessibiltyEnum.class, input.trim());
+                if (accessibilityInput != null) {
+                    any.add((row, c) -> c.equal(row.get("accessibility").get("name"), accessibilityInput));
+                }
+                predicates.add(idMatchesAny(query, cb, CustomAlgorithm.class, root.get("id"), any));
+            }
+
+            // 2️⃣ Name filter (LIKE, case-insensitive)
+            if (hasText(request.getName())) {
+                predicates.add(containsIgnoreCase(cb, root.get("name"), request.getName()));
+            }
+
+            // 3️⃣ Description filter (LIKE, case-insensitive)
+            if (hasText(request.getDescription())) {
+                predicates.add(containsIgnoreCase(cb, root.get("description"), request.getDescription()));
+            }
+
+            // 4️⃣ Keywords filter (any of the keywords, case-insensitive)
+            List<String> keywords = request.getKeywords() == null ? List.of()
+                    : request.getKeywords().stream().filter(SearchPredicates::hasText).toList();
+            if (!keywords.isEmpty()) {
+                predicates.add(keywordIn(query, cb, CustomAlgorithm.class, root.get("id"), keywords));
+            }
+
+            // 5️⃣ Accessibility filter (PUBLIC / PRIVATE)
+            if (request.getAccessibility() != null) {
+                predicates.add(cb.equal(accessibility.get("name"), request.getAccessibility()));
+            }
+
+            // 6️⃣ Date range filter (createdAt between From and To)
+            if (hasText(request.getCreatedAtFrom()) || hasText(request.getCreatedAtTo())) {
+                predicates.add(localDateRange(cb, root.get("createdAt"), request.getCreatedAtFrom(), request.getCreatedAtTo(), dateUtil));
+            }
+
+            // 7️⃣ Relevance order (exact / prefix / similar name first) unless the page is sorted explicitly
+            orderByRelevance(query, cb, root.get("name"), searchText(request.getSimpleSearchInput(), request.getName()), root.get("createdAt"));
+
+            Predicate criteria = combine(cb, predicates, request.getSearchMode() == CustomAlgorithmSearchRequest.SearchMode.AND);
+            if (isAdmin) {
+                return criteria;
+            }
+            Predicate accessible = cb.or(
+                    cb.equal(root.get("owner").get("id"), user.getId()),
+                    cb.equal(accessibility.get("name"), AlgorithmAccessibiltyEnum.PUBLIC));
+            return cb.and(accessible, criteria);
+        };
+    }
+}
@@ -59,6 +59,9 @@ public class DatasetSpecification {
                 predicates.add(cb.lessThanOrEqualTo(root.get("uploadDate"), dateTo));
             }
 
+            // 8️⃣ Relevance order (exact / prefix / similar file name first) when sorted by relevance
+            SearchPredicates.orderByRelevance(query, cb, root.get("originalFileName"), request.getName(), root.get("uploadDate"));
+
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
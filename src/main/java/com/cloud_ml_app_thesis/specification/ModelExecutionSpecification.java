@@ -0,0 +1,43 @@
+package com.cloud_ml_app_thesis.specification;
+
+import com.cloud_ml_app_thesis.dto.request.execution.ModelExecutionSearchRequest;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.accessibility.ModelExecutionAccessibility;
+import com.cloud_ml_app_thesis.entity.model.ModelExecution;
+import com.cloud_ml_app_thesis.enumeration.accessibility.ModelExecutionAccessibilityEnum;
+import com.cloud_ml_app_thesis.util.DateUtil;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import static com.cloud_ml_app_thesis.specification.SearchPredicates.*;
+
+public class ModelExecutionSpecification {
+
+    /**
+     * Executions visible to the user (run by them or public; everything for admins) within the executedAt range.
+     */
+    public static Specification<ModelExecution> getExecutionsByCriteria(ModelExecutionSearchRequest request, User user,
+                                                                       boolean isAdmin, DateUtil dateUtil) {
+        return (root, query, cb) -> {
+            Predicate predicate = cb.conjunction();
+
+            // 1️⃣ Access filter (own executions or public ones)
+            if (!isAdmin) {
+                Join<ModelExecution, ModelExecutionAccessibility> accessibility = root.join("accessibility", JoinType.LEFT);
+                predicate = cb.or(
+                        cb.equal(root.get("executedByUser").get("id"), user.getId()),
+                        cb.equal(accessibility.get("name"), ModelExecutionAccessibilityEnum.PUBLIC));
+            }
+
+            // 2️⃣ Date range filter (executedAt between From and To)
+            if (hasText(request.getExecutedAtFrom()) || hasText(request.getExecutedAtTo())) {
+                predicate = cb.and(predicate,
+                        zonedDateRange(cb, root.get("executedAt"), request.getExecutedAtFrom(), request.getExecutedAtTo(), dateUtil));
+            }
+
+            return predicate;
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.cloud_ml_app_thesis.specification;
+
+import com.cloud_ml_app_thesis.dto.request.model.ModelSearchRequest;
+import com.cloud_ml_app_thesis.entity.Category;
+import com.cloud_ml_app_thesis.entity.ModelType;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.accessibility.ModelAccessibility;
+import com.cloud_ml_app_thesis.entity.model.Model;
+import com.cloud_ml_app_thesis.entity.model.ModelShare;
+import com.cloud_ml_app_thesis.enumeration.ModelTypeEnum;
+import com.cloud_ml_app_thesis.enumeration.accessibility.ModelAccessibilityEnum;
+import com.cloud_ml_app_thesis.util.DateUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.apache.commons.lang3.EnumUtils;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.cloud_ml_app_thesis.specification.SearchPredicates.*;
+
+public class ModelSpecification {
+
+    /**
+     * Models visible to the user (public, trained by them or shared with them; everything for admins)
+     * matching the search criteria, combined with AND or OR according to the search mode.
+     */
+    public static Specification<Model> getModelsByCriteria(ModelSearchRequest request, User user, boolean isAdmin, DateUtil dateUtil) {
+        return (root, query, cb) -> {
+            Join<Model, ModelAccessibility> accessibility = root.join("accessibility", JoinType.LEFT);
+            Join<Model, Category> category = root.join("category", JoinType.LEFT);
+            List<Predicate> predicates = new ArrayList<>();
+
+            // 1️⃣ Simple search (name, description, keywords, category contain the input, or accessibility equals it),
+            //    one indexed branch per column
+            if (hasText(request.getSimpleSearchInput())) {
+                String input = request.getSimpleSearchInput();
+                List<Branch<Model>> any = new ArrayList<>(List.of(
+                        (row, c) -> containsIgnoreCase(c, row.get("name"), input),
+                        (row, c) -> containsIgnoreCase(c, row.get("description"), input),
+                        (row, c) -> containsIgnoreCase(c, row.join("keywords"), input),
+                        (row, c) -> containsIgnoreCase(c, row.join("category").get("name"), input)));
+                ModelAccessibilityEnum accessibilityInput = EnumUtils.getEnumIgnoreCase(ModelAccessibilityEnum.class, input.trim());
+                if (accessibilityInput != null) {
+                    any.add((row, c) -> c.equal(row.get("accessibility").get("name"), accessibilityInput));
+                }
+                predicates.add(idMatchesAny(query, cb, Model.class, root.get("id"), any));
+            }
+
+            // 2️⃣ Name filter (LIKE, case-insensitive)
+            if (hasText(request.getName())) {
+                predicates.add(containsIgnoreCase(cb, root.get("name"), request.getName()));
+            }
+
+            // 3️⃣ Description filter (LIKE, case-insensitive)
+            if (hasText(request.getDescription())) {
+                predicates.add(containsIgnoreCase(cb, root.get("description"), request.getDescription()));
+            }
+
+            // 4️⃣ Keywords filter (any of the keywords, case-insensitive)
+            List<String> keywords = request.getKeywords() == null ? List.of()
+                    : request.getKeywords().stream().filter(SearchPredicates::hasText).toList();
+            if (!keywords.isEmpty()) {
+                predicates.add(keywordIn(query, cb, Model.class, root.get("id"), keywords));
+            }
+
+            // 5️⃣ Category filter (category name LIKE, case-insensitive)
+            if (hasText(request.getCategory())) {
+                predicates.add(containsIgnoreCase(cb, category.get("name"), request.getCategory()));
+            }
+
+            // 6️⃣ Accessibility filter (PUBLIC / PRIVATE)
+            if (hasText(request.getAccessibility())) {
+                predicates.add(equalsEnum(cb, accessibility.get("name"),
+                        EnumUtils.getEnumIgnoreCase(ModelAccessibilityEnum.class, request.getAccessibility().trim())));
+            }
+
+            // 7️⃣ Model type filter (CLASSIFICATION / REGRESSION / CLUSTERING)
+            if (hasText(request.getModelType())) {
+                Join<Model, ModelType> modelType = root.join("modelType", JoinType.LEFT);
+                predicates.add(equalsEnum(cb, modelType.get("name"),
+                        EnumUtils.getEnumIgnoreCase(ModelTypeEnum.class, request.getModelType().trim())));
+            }
+
+            // 8️⃣ Date range filter (createdAt between From and To)
+            if (hasText(request.getCreatedAtFrom()) || hasText(request.getCreatedAtTo())) {
+                predicates.add(zonedDateRange(cb, root.get("createdAt"), request.getCreatedAtFrom(), request.getCreatedAtTo(), dateUtil));
+            }
+
+            // 9️⃣ Relevance order (exact / prefix / similar name first) unless the page is sorted explicitly
+            orderByRelevance(query, cb, root.get("name"), searchText(request.getSimpleSearchInput(), request.getName()), root.get("createdAt"));
+
+            Predicate criteria = combine(cb, predicates, request.getSearchMode() == ModelSearchRequest.SearchMode.AND);
+            return isAdmin ? criteria : cb.and(accessibleTo(root, query, cb, accessibility, user.getId()), criteria);
+        };
+    }
+
+    private static Predicate accessibleTo(Root<Model> root, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                          Join<Model, ModelAccessibility> accessibility, UUID userId) {
+        Subquery<Integer> shared = query.subquery(Integer.class);
+        Root<ModelShare> share = shared.from(ModelShare.class);
+        shared.select(cb.literal(1))
+                .where(cb.equal(share.get("model"), root), cb.equal(share.get("sharedWithUser").get("id"), userId));
+
+        return cb.or(
+                cb.equal(accessibility.get("name"), ModelAccessibilityEnum.PUBLIC),
+                cb.equal(root.get("training").get("user").get("id"), userId),
+                cb.exists(shared));
+    }
+}
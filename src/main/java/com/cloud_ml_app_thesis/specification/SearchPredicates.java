@@ -0,0 +1,177 @@
+package com.cloud_ml_app_thesis.specification;
+
+import com.cloud_ml_app_thesis.util.DateUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Predicate building blocks shared by the search specifications (models, custom algorithms, executions).
+ */
+final class SearchPredicates {
+
+    private SearchPredicates() {
+    }
+
+    /**
+     * A criterion is set when it is not blank and not Swagger's "string" placeholder.
+     */
+    static boolean hasText(String value) {
+        return StringUtils.isNotBlank(value) && !value.equalsIgnoreCase("string");
+    }
+
+    /**
+     * The text results are ranked against: the simple search input, else the name criterion.
+     */
+    static String searchText(String simpleSearchInput, String name) {
+        return hasText(simpleSearchInput) ? simpleSearchInput : name;
+    }
+
+    static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> expression, String value) {
+        return cb.like(cb.lower(expression), "%" + escapeLike(value.toLowerCase()) + "%", '\\');
+    }
+
+    /**
+     * One way a row can match the simple search, as a condition on a fresh root of the entity.
+     */
+    @FunctionalInterface
+    interface Branch<E> {
+        Predicate where(Root<E> row, CriteriaBuilder cb);
+    }
+
+    /**
+     * id IN (ids matching the first branch UNION ids matching the second ...). Each branch is a query of its own
+     * that can use its index (the pg_trgm indexes of V6 for the LIKE branches); an OR of the same conditions across
+     * the entity, its keywords and its category can only be answered by reading every row.
+     */
+    static <E> Predicate idMatchesAny(CriteriaQuery<?> query, CriteriaBuilder cb, Class<E> entity, Path<Integer> id,
+                                     List<Branch<E>> branches) {
+        List<Subquery<Integer>> subqueries = new ArrayList<>(branches.size());
+        for (Branch<E> branch : branches) {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<E> row = subquery.from(entity);
+            subqueries.add(subquery.select(row.get("id")).where(branch.where(row, cb)));
+        }
+        if (subqueries.size() == 1) {
+            return id.in(subqueries.get(0));
+        }
+        HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+        return id.in(hcb.union(subqueries.get(0), subqueries.subList(1, subqueries.size()).toArray(new Subquery<?>[0])));
+    }
+
+    /**
+     * EXISTS a keyword of the entity equal (ignoring case) to one of the values.
+     */
+    static <E> Predicate keywordIn(CriteriaQuery<?> query, CriteriaBuilder cb, Class<E> entity, Path<?> id, Collection<String> values) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<E> owner = subquery.from(entity);
+        Join<E, String> keyword = owner.join("keywords");
+        List<String> lowered = values.stream().map(String::toLowerCase).toList();
+        return cb.exists(subquery.select(cb.literal(1))
+                .where(cb.equal(owner.get("id"), id), cb.lower(keyword).in(lowered)));
+    }
+
+    /**
+     * Equality on an enum column; a value that is not a constant of the enum matches nothing.
+     */
+    static Predicate equalsEnum(CriteriaBuilder cb, Path<?> path, Enum<?> value) {
+        return value == null ? cb.disjunction() : cb.equal(path, value);
+    }
+
+    /**
+     * from <= date <= to on a timestamptz column; date-only bounds cover the whole day. An unparseable bound
+     * matches nothing, like the former in-memory filters.
+     */
+    static Predicate zonedDateRange(CriteriaBuilder cb, Path<ZonedDateTime> date, String from, String to, DateUtil dateUtil) {
+        try {
+            Predicate range = cb.isNotNull(date);
+            if (hasText(from)) {
+                range = cb.and(range, cb.greaterThanOrEqualTo(date, atSystemZone(dateUtil.parseDateTime(from, true))));
+            }
+            if (hasText(to)) {
+                range = cb.and(range, cb.lessThanOrEqualTo(date, atSystemZone(dateUtil.parseDateTime(to, false))));
+            }
+            return range;
+        } catch (DateTimeParseException e) {
+            return cb.disjunction();
+        }
+    }
+
+    /**
+     * Same as {@link #zonedDateRange} for a timestamp (LocalDateTime) column.
+     */
+    static Predicate localDateRange(CriteriaBuilder cb, Path<LocalDateTime> date, String from, String to, DateUtil dateUtil) {
+        try {
+            Predicate range = cb.isNotNull(date);
+            if (hasText(from)) {
+                range = cb.and(range, cb.greaterThanOrEqualTo(date, dateUtil.parseDateTime(from, true)));
+            }
+            if (hasText(to)) {
+                range = cb.and(range, cb.lessThanOrEqualTo(date, dateUtil.parseDateTime(to, false)));
+            }
+            return range;
+        } catch (DateTimeParseException e) {
+            return cb.disjunction();
+        }
+    }
+
+    /**
+     * All criteria (AND mode) or any of them (OR mode); no criteria matches everything.
+     */
+    static Predicate combine(CriteriaBuilder cb, List<Predicate> criteria, boolean matchAll) {
+        if (criteria.isEmpty()) {
+            return cb.conjunction();
+        }
+        Predicate[] array = criteria.toArray(new Predicate[0]);
+        return matchAll ? cb.and(array) : cb.or(array);
+    }
+
+    /**
+     * Orders by relevance to the search input: exact name, then name prefix, then pg_trgm similarity of the
+     * name; everything else (and every row when there is no input) newest first. Spring Data replaces this
+     * order when the page request is sorted, and count queries are left alone.
+     */
+    static void orderByRelevance(CriteriaQuery<?> query, CriteriaBuilder cb, Expression<String> name, String input,
+                                 Expression<?> newest) {
+        if (Long.class.equals(query.getResultType()) || long.class.equals(query.getResultType())) {
+            return;
+        }
+        if (!hasText(input)) {
+            query.orderBy(cb.desc(newest));
+            return;
+        }
+        String lowered = input.trim().toLowerCase();
+        Expression<String> lowerName = cb.lower(name);
+        Expression<Integer> matchKind = cb.<Integer>selectCase()
+                .when(cb.equal(lowerName, lowered), 0)
+                .when(cb.like(lowerName, escapeLike(lowered) + "%", '\\'), 1)
+                .otherwise(2);
+        query.orderBy(
+                cb.asc(matchKind),
+                cb.desc(cb.function("similarity", Double.class, lowerName, cb.literal(lowered))),
+                cb.desc(newest));
+    }
+
+    private static ZonedDateTime atSystemZone(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,21 @@
+package com.cloud_ml_app_thesis.specification;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Sort of a search page. "relevance" leaves the page unsorted so the specification's relevance order applies.
+ */
+public final class SearchSort {
+
+    public static final String RELEVANCE = "relevance";
+
+    private SearchSort() {
+    }
+
+    public static Sort of(String sortBy, String sortDirection) {
+        if (sortBy == null || RELEVANCE.equalsIgnoreCase(sortBy)) {
+            return Sort.unsorted();
+        }
+        return Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+    }
+}
@@ -1,9 +1,12 @@
 package com.cloud_ml_app_thesis.util;
 
+import com.cloud_ml_app_thesis.config.AsyncExecutorConfig;
 import com.cloud_ml_app_thesis.dto.train.CustomTrainMetadata;
 import com.cloud_ml_app_thesis.dto.train.DeferredCustomTrainInput;
 import com.cloud_ml_app_thesis.dto.train.DeferredPredictionInput;
 import com.cloud_ml_app_thesis.dto.train.DeferredWekaTrainInput;
+import com.cloud_ml_app_thesis.dto.train.HyperparameterSearchMetadata;
+import com.cloud_ml_app_thesis.dto.train.HyperparameterSearchSettings;
 import com.cloud_ml_app_thesis.dto.train.PredefinedTrainMetadata;
 import com.cloud_ml_app_thesis.dto.train.WekaContainerTrainMetadata;
 import com.cloud_ml_app_thesis.entity.User;
@@ -12,13 +15,15 @@ import com.cloud_ml_app_thesis.repository.model.ModelRepository;
 import com.cloud_ml_app_thesis.service.AsyncTrainingSetupService;
 import com.cloud_ml_app_thesis.service.CustomTrainingService;
 import com.cloud_ml_app_thesis.service.CustomModelExecutionService;
+import com.cloud_ml_app_thesis.service.HyperparameterSearchService;
 import com.cloud_ml_app_thesis.service.ModelExecutionService;
+import com.cloud_ml_app_thesis.service.TaskCancellationRegistry;
 import com.cloud_ml_app_thesis.service.TaskStatusService;
 import com.cloud_ml_app_thesis.service.TrainService;
 import com.cloud_ml_app_thesis.service.WekaContainerTrainingService;
 import com.cloud_ml_app_thesis.service.WekaContainerPredictionService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
@@ -27,10 +32,18 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+/**
+ * Entry point for all background work. Methods are bound to named pools (see AsyncExecutorConfig):
+ * - wekaExecutor: in-process Weka training/prediction and hyperparameter searches (CPU-bound), cancellable
+ *   through TaskCancellationRegistry
+ * - storageExecutor: MinIO staging before a job starts (I/O-bound)
+ * - containerExecutor: Docker/Kubernetes job supervision (mostly blocked); the supervising thread is
+ *   registered with TaskCancellationRegistry too, so its stop checks are answered from memory
+ */
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class AsyncManager {
 
     private final CustomTrainingService customTrainingService;
@@ -39,11 +52,44 @@ public class AsyncManager {
     private final ModelExecutionService modelExecutionService;
     private final WekaContainerTrainingService wekaContainerTrainingService;
     private final WekaContainerPredictionService wekaContainerPredictionService;
+    private final HyperparameterSearchService hyperparameterSearchService;
     private final AsyncTrainingSetupService setupService;
     private final TaskStatusService taskStatusService;
+    private final TaskCancellationRegistry cancellationRegistry;
     private final ModelRepository modelRepository;
+    private final Executor containerExecutor;
+    private final Executor wekaExecutor;
 
-    @Async
+    public AsyncManager(
+            CustomTrainingService customTrainingService,
+            CustomModelExecutionService customModelExecutionService,
+            TrainService trainService,
+            ModelExecutionService modelExecutionService,
+            WekaContainerTrainingService wekaContainerTrainingService,
+            WekaContainerPredictionService wekaContainerPredictionService,
+            HyperparameterSearchService hyperparameterSearchService,
+            AsyncTrainingSetupService setupService,
+            TaskStatusService taskStatusService,
+            TaskCancellationRegistry cancellationRegistry,
+            ModelRepository modelRepository,
+            @Qualifier(AsyncExecutorConfig.CONTAINER_EXECUTOR) Executor containerExecutor,
+            @Qualifier(AsyncExecutorConfig.WEKA_EXECUTOR) Executor wekaExecutor) {
+        this.customTrainingService = customTrainingService;
+        this.customModelExecutionService = customModelExecutionService;
+        this.trainService = trainService;
+        this.modelExecutionService = modelExecutionService;
+        this.wekaContainerTrainingService = wekaContainerTrainingService;
+        this.wekaContainerPredictionService = wekaContainerPredictionService;
+        this.hyperparameterSearchService = hyperparameterSearchService;
+        this.setupService = setupService;
+        this.taskStatusService = taskStatusService;
+        this.cancellationRegistry = cancellationRegistry;
+        this.modelRepository = modelRepository;
+        this.containerExecutor = containerExecutor;
+        this.wekaExecutor = wekaExecutor;
+    }
+
+    @Async(AsyncExecutorConfig.CONTAINER_EXECUTOR)
     public CompletableFuture<Void> customTrainAsync(String taskId, UUID userId, String username, CustomTrainMetadata metadata) {
         log.info("🔍 [ASYNC] Training started [taskId={}]", taskId);
         try {
@@ -55,19 +101,22 @@ public class AsyncManager {
         }
     }
 
-    @Async
+    @Async(AsyncExecutorConfig.WEKA_EXECUTOR)
     public CompletableFuture<Void> trainAsync(String taskId, User user, PredefinedTrainMetadata metadata) {
         log.info("🔍 [ASYNC] Training started [taskId={}]", taskId);
+        TaskCancellationRegistry.CancellationToken token = cancellationRegistry.register(taskId);
         try {
             trainService.train(taskId, user, metadata);
             return CompletableFuture.completedFuture(null);
 
         } catch (Exception e) {
             return CompletableFuture.failedFuture(e);
+        } finally {
+            cancellationRegistry.unregister(token);
         }
     }
 
-    @Async
+    @Async(AsyncExecutorConfig.CONTAINER_EXECUTOR)
     public CompletableFuture<String> predictCustom(String taskId, Integer modelId, String datasetKey, User user) {
         log.info("🔍 [ASYNC] Prediction started [taskId={}]", taskId);
         try {
@@ -80,9 +129,10 @@ public class AsyncManager {
         }
     }
 
-    @Async
+    @Async(AsyncExecutorConfig.WEKA_EXECUTOR)
     public CompletableFuture<String> predictPredefined(String taskId, Integer modelId, String datasetKey, User user) {
         log.info("🔍 [ASYNC] Prediction started [taskId={}]", taskId);
+        TaskCancellationRegistry.CancellationToken token = cancellationRegistry.register(taskId);
         try {
             modelExecutionService.executePredefined(taskId, modelId, datasetKey, user);
 
@@ -90,13 +140,15 @@ public class AsyncManager {
 
         } catch (Exception e) {
             return CompletableFuture.failedFuture(e);
+        } finally {
+            cancellationRegistry.unregister(token);
         }
     }
 
     /**
      * Run Weka (predefined) algorithm training as a containerized Kubernetes job.
      */
-    @Async
+    @Async(AsyncExecutorConfig.CONTAINER_EXECUTOR)
     public CompletableFuture<Void> trainWekaContainerAsync(String taskId, UUID userId, String username, WekaContainerTrainMetadata metadata) {
         log.info("🔍 [ASYNC] Weka container training started [taskId={}]", taskId);
         try {
@@ -110,7 +162,7 @@ public class AsyncManager {
     /**
      * Run Weka (predefined) algorithm prediction as a containerized Kubernetes job.
      */
-    @Async
+    @Async(AsyncExecutorConfig.CONTAINER_EXECUTOR)
     public CompletableFuture<String> predictWekaContainer(String taskId, Integer modelId, String datasetKey, User user) {
         log.info("🔍 [ASYNC] Weka container prediction started [taskId={}]", taskId);
         try {
@@ -126,15 +178,17 @@ public class AsyncManager {
     // =========================================================================
 
     /**
-     * Setup custom training (MinIO upload + entity creation) then run training.
+     * Setup custom training (MinIO upload + entity creation) on the storage pool,
+     * then hand the container run over to the container pool.
      * Called after taskId is returned to client.
      */
-    @Async
+    @Async(AsyncExecutorConfig.STORAGE_EXECUTOR)
     public CompletableFuture<Void> setupAndTrainCustom(String taskId, UUID userId, String username, User user, DeferredCustomTrainInput input) {
         log.info("🔍 [ASYNC] Setup + custom training started [taskId={}]", taskId);
         try {
             CustomTrainMetadata metadata = setupService.prepareCustomTraining(user, input);
-            customTrainingService.trainCustom(taskId, userId, username, metadata);
+            return runOnContainerPool(taskId, "Custom training",
+                    () -> customTrainingService.trainCustom(taskId, userId, username, metadata));
         } catch (Exception e) {
             log.error("Custom training failed [taskId={}]: {}", taskId, e.getMessage(), e);
             taskStatusService.taskFailed(taskId, e.getMessage());
@@ -145,15 +199,17 @@ public class AsyncManager {
     }
 
     /**
-     * Setup Weka training (MinIO upload + entity creation) then run training.
+     * Setup Weka training (MinIO upload + entity creation) on the storage pool,
+     * then hand the container run over to the container pool.
      * Called after taskId is returned to client.
      */
-    @Async
+    @Async(AsyncExecutorConfig.STORAGE_EXECUTOR)
     public CompletableFuture<Void> setupAndTrainWeka(String taskId, UUID userId, String username, User user, DeferredWekaTrainInput input) {
         log.info("🔍 [ASYNC] Setup + Weka training started [taskId={}]", taskId);
         try {
             WekaContainerTrainMetadata metadata = setupService.prepareWekaTraining(user, input);
-            wekaContainerTrainingService.trainWeka(taskId, userId, username, metadata);
+            return runOnContainerPool(taskId, "Weka training",
+                    () -> wekaContainerTrainingService.trainWeka(taskId, userId, username, metadata));
         } catch (Exception e) {
             log.error("Weka training failed [taskId={}]: {}", taskId, e.getMessage(), e);
             taskStatusService.taskFailed(taskId, e.getMessage());
@@ -164,10 +220,33 @@ public class AsyncManager {
     }
 
     /**
-     * Setup prediction (MinIO upload) then run prediction.
+     * Setup a hyperparameter search (MinIO upload, entity creation, dataset load) on the storage pool,
+     * then run the search in-process on the weka pool.
      * Called after taskId is returned to client.
      */
-    @Async
+    @Async(AsyncExecutorConfig.STORAGE_EXECUTOR)
+    public CompletableFuture<Void> setupAndSearch(String taskId, User user, DeferredWekaTrainInput input,
+                                                  HyperparameterSearchSettings settings) {
+        log.info("🔍 [ASYNC] Setup + hyperparameter search started [taskId={}]", taskId);
+        try {
+            HyperparameterSearchMetadata metadata = setupService.prepareHyperparameterSearch(user, input, settings);
+            return runOnWekaPool(taskId, "Hyperparameter search",
+                    () -> hyperparameterSearchService.search(taskId, user, metadata));
+        } catch (Exception e) {
+            log.error("Hyperparameter search failed [taskId={}]: {}", taskId, e.getMessage(), e);
+            taskStatusService.taskFailed(taskId, e.getMessage());
+        } finally {
+            cleanupTempFiles(input.datasetTempFile());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Setup prediction (MinIO upload) on the storage pool,
+     * then hand the container run over to the container pool.
+     * Called after taskId is returned to client.
+     */
+    @Async(AsyncExecutorConfig.STORAGE_EXECUTOR)
     public CompletableFuture<Void> setupAndPredict(String taskId, User user, DeferredPredictionInput input) {
         log.info("🔍 [ASYNC] Setup + prediction started [taskId={}]", taskId);
         try {
@@ -177,10 +256,12 @@ public class AsyncManager {
 
             Model model = modelRepository.findByIdWithTrainingDetails(input.modelId())
                     .orElseThrow(() -> new IllegalArgumentException("Model not found: " + input.modelId()));
-            switch (model.getModelType().getName()) {
-                case CUSTOM -> customModelExecutionService.executeCustom(taskId, input.modelId(), datasetKey, user, useTrainBucket);
-                case PREDEFINED -> wekaContainerPredictionService.executeWeka(taskId, input.modelId(), datasetKey, user, useTrainBucket);
-            }
+            return switch (model.getModelType().getName()) {
+                case CUSTOM -> runOnContainerPool(taskId, "Prediction",
+                        () -> customModelExecutionService.executeCustom(taskId, input.modelId(), datasetKey, user, useTrainBucket));
+                case PREDEFINED -> runOnContainerPool(taskId, "Prediction",
+                        () -> wekaContainerPredictionService.executeWeka(taskId, input.modelId(), datasetKey, user, useTrainBucket));
+            };
         } catch (Exception e) {
             log.error("Prediction failed [taskId={}]: {}", taskId, e.getMessage(), e);
             taskStatusService.taskFailed(taskId, e.getMessage());
@@ -190,6 +271,43 @@ public class AsyncManager {
         return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * Submits a container job to the container pool so the storage thread is released as soon as staging is done.
+     * The supervising thread is registered with TaskCancellationRegistry while the job runs; the job itself is
+     * deleted by TaskStatusService.stopTask.
+     * A full container queue (RejectedExecutionException) propagates to the caller, which marks the task FAILED.
+     */
+    private CompletableFuture<Void> runOnContainerPool(String taskId, String label, Runnable job) {
+        return CompletableFuture.runAsync(() -> {
+            TaskCancellationRegistry.CancellationToken token = cancellationRegistry.register(taskId);
+            try {
+                job.run();
+            } catch (Exception e) {
+                log.error("{} failed [taskId={}]: {}", label, taskId, e.getMessage(), e);
+                taskStatusService.taskFailed(taskId, e.getMessage());
+            } finally {
+                cancellationRegistry.unregister(token);
+            }
+        }, containerExecutor);
+    }
+
+    /**
+     * Submits in-process Weka work to the weka pool, registered with TaskCancellationRegistry while it runs.
+     * The work marks its own task FAILED; the catch only logs what escapes it.
+     */
+    private CompletableFuture<Void> runOnWekaPool(String taskId, String label, Runnable job) {
+        return CompletableFuture.runAsync(() -> {
+            TaskCancellationRegistry.CancellationToken token = cancellationRegistry.register(taskId);
+            try {
+                job.run();
+            } catch (Exception e) {
+                log.error("{} failed [taskId={}]: {}", label, taskId, e.getMessage(), e);
+            } finally {
+                cancellationRegistry.unregister(token);
+            }
+        }, wekaExecutor);
+    }
+
     /**
      * Cleanup temp files after async processing.
      */
@@ -0,0 +1,226 @@
+package com.cloud_ml_app_thesis.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import weka.classifiers.AbstractClassifier;
+import weka.classifiers.Classifier;
+import weka.clusterers.AbstractClusterer;
+import weka.clusterers.Clusterer;
+import weka.core.Attribute;
+import weka.core.Instance;
+import weka.core.Instances;
+import weka.core.ThreadSafe;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scores a whole {@link Instances} batch with a trained classifier or clusterer.
+ *
+ * The batch is cut into fixed-size chunks which a few workers on a shared fork-join pool pull in turn;
+ * each prediction is written at its instance index, so the output order always matches the input.
+ * Models marked {@link ThreadSafe} are shared by all workers; any other model is copied once per worker
+ * (AbstractClassifier/AbstractClusterer.makeCopy) and the original is only touched while holding its monitor,
+ * because cached models are shared between executions.
+ * Copies are deep, so a batch borrows idle copies left by earlier batches of the same model and hands them back
+ * when done (at most {@code parallelism} kept per model); they are dropped with the model once nothing else
+ * references it, e.g. after the model cache evicts it.
+ * Small batches (a single chunk) are scored on the calling thread.
+ */
+@Slf4j
+@Component
+public class BatchScoringEngine implements DisposableBean {
+
+    @FunctionalInterface
+    private interface InstanceScorer<M> {
+        String score(M model, Instance instance) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface ModelCopier<M> {
+        M copy(M model) throws Exception;
+    }
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int chunkSize;
+
+    // Idle per-worker copies by original model; weak keys, a copy holds no reference to its original
+    private final Map<Object, ArrayDeque<Object>> idleCopies = new WeakHashMap<>();
+    private final ReentrantLock copiesLock = new ReentrantLock();
+
+    public BatchScoringEngine(@Value("${prediction.scoring.parallelism:0}") int parallelism,
+                              @Value("${prediction.scoring.chunk-size:5000}") int chunkSize) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, chunkSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ForkJoinPool(this.parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("scoring-" + threadCount.incrementAndGet());
+            return thread;
+        }, null, false);
+        log.info("🧮 Batch scoring engine: parallelism={}, chunkSize={}", this.parallelism, this.chunkSize);
+    }
+
+    /**
+     * Predicted label (nominal class) or value (numeric class) for every instance, in instance order.
+     */
+    public List<String> scoreClassifier(Classifier classifier, Instances instances) throws Exception {
+        Attribute classAttr = instances.classAttribute();
+        boolean nominal = classAttr.isNominal();
+        return score(classifier, instances, AbstractClassifier::makeCopy, (model, instance) -> {
+            double pred = model.classifyInstance(instance);
+            return nominal ? classAttr.value((int) pred) : String.valueOf(pred);
+        });
+    }
+
+    /**
+     * Assigned cluster number for every instance, in instance order.
+     */
+    public List<String> scoreClusterer(Clusterer clusterer, Instances instances) throws Exception {
+        return score(clusterer, instances, AbstractClusterer::makeCopy,
+                (model, instance) -> String.valueOf(model.clusterInstance(instance)));
+    }
+
+    private <M> List<String> score(M model, Instances instances, ModelCopier<M> copier, InstanceScorer<M> scorer) throws Exception {
+        int total = instances.numInstances();
+        String[] predictions = new String[total];
+        int chunks = (total + chunkSize - 1) / chunkSize;
+        int workers = Math.min(parallelism, chunks);
+        boolean threadSafe = model instanceof ThreadSafe;
+
+        if (workers <= 1) {
+            if (threadSafe) {
+                scoreSerially(model, scorer, instances, predictions);
+            } else {
+                synchronized (model) {
+                    scoreSerially(model, scorer, instances, predictions);
+                }
+            }
+            return Arrays.asList(predictions);
+        }
+
+        List<M> workerModels = threadSafe ? Collections.nCopies(workers, model) : borrowCopies(model, workers, copier);
+        log.info("🧮 Scoring {} instances in {} chunks on {} workers ({})", total, chunks, workers,
+                threadSafe ? "shared model" : "per-worker copies");
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (M workerModel : workerModels) {
+            tasks.add(pool.submit(() -> {
+                int chunk;
+                while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                    int from = chunk * chunkSize;
+                    try {
+                        scoreRange(workerModel, scorer, instances, predictions, from, Math.min(total, from + chunkSize));
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                        // Drain the remaining chunks so the other workers stop early
+                        nextChunk.set(chunks);
+                    }
+                }
+            }));
+        }
+
+        try {
+            for (ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            nextChunk.set(chunks);
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            if (!threadSafe && tasks.stream().allMatch(ForkJoinTask::isDone)) {
+                returnCopies(model, workerModels);
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return Arrays.asList(predictions);
+    }
+
+    /**
+     * Idle copies of the model first, new ones (made under the model's monitor) for the rest.
+     */
+    @SuppressWarnings("unchecked")
+    private <M> List<M> borrowCopies(M model, int count, ModelCopier<M> copier) throws Exception {
+        List<M> copies = new ArrayList<>(count);
+        copiesLock.lock();
+        try {
+            ArrayDeque<Object> idle = idleCopies.get(model);
+            while (idle != null && !idle.isEmpty() && copies.size() < count) {
+                copies.add((M) idle.poll());
+            }
+        } finally {
+            copiesLock.unlock();
+        }
+        if (copies.size() < count) {
+            synchronized (model) {
+                while (copies.size() < count) {
+                    copies.add(copier.copy(model));
+                }
+            }
+        }
+        return copies;
+    }
+
+    private <M> void returnCopies(M model, List<M> copies) {
+        copiesLock.lock();
+        try {
+            ArrayDeque<Object> idle = idleCopies.computeIfAbsent(model, key -> new ArrayDeque<>());
+            for (M copy : copies) {
+                if (idle.size() >= parallelism) {
+                    break;
+                }
+                idle.push(copy);
+            }
+        } finally {
+            copiesLock.unlock();
+        }
+    }
+
+    // Chunk by chunk so an interrupt (task stop) ends the scoring between chunks
+    private <M> void scoreSerially(M model, InstanceScorer<M> scorer, Instances instances, String[] predictions) throws Exception {
+        int total = instances.numInstances();
+        for (int from = 0; from < total; from += chunkSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("Scoring interrupted after " + from + " of " + total + " instances");
+            }
+            scoreRange(model, scorer, instances, predictions, from, Math.min(total, from + chunkSize));
+        }
+    }
+
+    private static <M> void scoreRange(M model, InstanceScorer<M> scorer, Instances instances,
+                                       String[] predictions, int from, int to) throws Exception {
+        for (int i = from; i < to; i++) {
+            predictions[i] = scorer.score(model, instances.instance(i));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+        copiesLock.lock();
+        try {
+            idleCopies.clear();
+        } finally {
+            copiesLock.unlock();
+        }
+    }
+}
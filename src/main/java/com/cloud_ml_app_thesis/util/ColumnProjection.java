@@ -0,0 +1,91 @@
+package com.cloud_ml_app_thesis.util;
+
+import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * The columns a {@link DatasetConfiguration} trains on, resolved against the dataset's column count:
+ * - indices are 1-based, as stored in the configuration
+ * - invalid basic column indices are ignored; no basic columns means every column
+ * - a target index out of range falls back to the last column; the target column is always kept
+ * Used by {@link DatasetUtil#selectColumns} and by the loaders that project while parsing, so both agree.
+ */
+public record ColumnProjection(String basicAttributesColumns, String targetClassColumn) {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnProjection.class);
+
+    public static ColumnProjection of(DatasetConfiguration configuration) {
+        return new ColumnProjection(configuration.getBasicAttributesColumns(), configuration.getTargetColumn());
+    }
+
+    /**
+     * Projection resolved for a dataset with {@code numColumns} columns.
+     *
+     * @param keep         keep-mask over the 0-based column indices
+     * @param targetColumn 0-based index of the target column, or -1 when no target is configured
+     */
+    public record Resolved(boolean[] keep, int targetColumn) {
+
+        public int keptCount() {
+            int count = 0;
+            for (boolean kept : keep) {
+                if (kept) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Class index once only the kept columns remain: the target column, or the last kept column without one.
+         */
+        public int projectedClassIndex() {
+            if (targetColumn < 0) {
+                return keptCount() - 1;
+            }
+            int position = 0;
+            for (int i = 0; i < targetColumn; i++) {
+                if (keep[i]) {
+                    position++;
+                }
+            }
+            return position;
+        }
+    }
+
+    public Resolved resolve(int numColumns) {
+        int target = targetColumn(numColumns);
+        boolean[] keep = new boolean[numColumns];
+        if (basicAttributesColumns == null || basicAttributesColumns.isEmpty()) {
+            Arrays.fill(keep, true);
+        } else {
+            for (String index : basicAttributesColumns.split(",")) {
+                int idx = Integer.parseInt(index.trim()) - 1;
+                if (idx >= 0 && idx < numColumns) {
+                    keep[idx] = true;
+                } else {
+                    logger.warn("⚠️ Ignoring invalid basic attribute index: {}", idx + 1);
+                }
+            }
+        }
+        if (target >= 0) {
+            keep[target] = true;
+        }
+        return new Resolved(keep, target);
+    }
+
+    private int targetColumn(int numColumns) {
+        if (targetClassColumn == null || targetClassColumn.isEmpty()) {
+            return -1;
+        }
+        int targetIdx = Integer.parseInt(targetClassColumn.trim()) - 1;
+        if (targetIdx >= 0 && targetIdx < numColumns) {
+            return targetIdx;
+        }
+        logger.warn("⚠️ Target column index {} out of bounds (attributes: {}). Falling back to last attribute", targetIdx + 1, numColumns);
+        return numColumns - 1;
+    }
+}
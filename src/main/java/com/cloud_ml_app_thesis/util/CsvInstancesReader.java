@@ -0,0 +1,382 @@
+package com.cloud_ml_app_thesis.util;
+
+import com.cloud_ml_app_thesis.exception.FileProcessingException;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.Utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass CSV to {@link Instances} reader (no temp files, no ARFF round trip).
+ *
+ * Attribute types follow Weka's CSVLoader so models trained on either loader see the same structure:
+ * - numeric: every non-missing value is a number
+ * - nominal: the first non-missing value is not a number; labels keep their order of first appearance
+ * - string: numbers first, then a non-number
+ * Types are inferred on the first {@code sampleRows} rows, which are buffered as text; later rows are
+ * encoded straight into double[] values. A non-number that shows up in a numeric column after the sample
+ * turns it into a string column, with earlier values rendered back from their parsed numbers.
+ * Missing values are empty fields and "?". Fields may be quoted with " or ' (doubled quote escapes it).
+ *
+ * With a {@link ColumnProjection} only the projected columns are materialized (dropped fields are scanned
+ * but never turned into Strings) and the class index is set the way {@link DatasetUtil#selectColumns} sets it.
+ */
+public final class CsvInstancesReader {
+
+    public static final int DEFAULT_SAMPLE_ROWS = 1000;
+
+    private enum ColumnType { UNKNOWN, NUMERIC, NOMINAL, STRING }
+
+    private static final class Column {
+        final String name;
+        ColumnType type = ColumnType.UNKNOWN;
+        final Map<String, Integer> labels = new LinkedHashMap<>();
+
+        Column(String name) {
+            this.name = name;
+        }
+
+        double labelIndex(String token) {
+            Integer index = labels.get(token);
+            if (index == null) {
+                index = labels.size();
+                labels.put(token, index);
+            }
+            return index;
+        }
+    }
+
+    private final List<Column> columns = new ArrayList<>();
+    private final List<double[]> rows = new ArrayList<>();
+    private int width;
+
+    private CsvInstancesReader() {
+    }
+
+    public static Instances read(InputStream in, String relationName) {
+        return read(in, relationName, DEFAULT_SAMPLE_ROWS);
+    }
+
+    public static Instances read(InputStream in, String relationName, int sampleRows) {
+        return read(in, relationName, sampleRows, null);
+    }
+
+    public static Instances read(InputStream in, String relationName, ColumnProjection projection) {
+        return read(in, relationName, DEFAULT_SAMPLE_ROWS, projection);
+    }
+
+    public static Instances read(InputStream in, String relationName, int sampleRows, ColumnProjection projection) {
+        try {
+            return new CsvInstancesReader().parse(
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16),
+                    relationName, Math.max(1, sampleRows), projection);
+        } catch (IOException e) {
+            throw new FileProcessingException("Failed to read CSV dataset: " + relationName, e);
+        }
+    }
+
+    private Instances parse(Reader reader, String relationName, int sampleRows, ColumnProjection projection) throws IOException {
+        RecordTokenizer tokenizer = new RecordTokenizer(reader);
+
+        List<String> header = tokenizer.next();
+        if (header == null) {
+            throw new FileProcessingException("CSV dataset is empty: " + relationName, null);
+        }
+        width = header.size();
+        ColumnProjection.Resolved resolved = projection != null ? projection.resolve(width) : null;
+        for (int c = 0; c < width; c++) {
+            if (resolved == null || resolved.keep()[c]) {
+                columns.add(new Column(header.get(c)));
+            }
+        }
+        if (resolved != null) {
+            tokenizer.keep = resolved.keep();
+        }
+
+        // 1. Buffer a bounded sample and infer column types from it
+        List<List<String>> sample = new ArrayList<>();
+        List<String> record;
+        while (sample.size() < sampleRows && (record = tokenizer.next()) != null) {
+            checkWidth(tokenizer);
+            sample.add(record);
+        }
+        inferTypes(sample);
+        for (List<String> sampled : sample) {
+            rows.add(encode(sampled));
+        }
+        sample.clear();
+
+        // 2. Stream the rest straight into values
+        while ((record = tokenizer.next()) != null) {
+            checkWidth(tokenizer);
+            rows.add(encode(record));
+        }
+
+        Instances data = build(relationName);
+        if (resolved != null && data.numAttributes() > 0) {
+            data.setClassIndex(resolved.projectedClassIndex());
+        }
+        return data;
+    }
+
+    private void inferTypes(List<List<String>> sample) {
+        for (int c = 0; c < columns.size(); c++) {
+            Column column = columns.get(c);
+            for (List<String> record : sample) {
+                String token = record.get(c);
+                if (isMissing(token)) {
+                    continue;
+                }
+                boolean numeric = isNumber(token);
+                if (column.type == ColumnType.UNKNOWN) {
+                    column.type = numeric ? ColumnType.NUMERIC : ColumnType.NOMINAL;
+                } else if (column.type == ColumnType.NUMERIC && !numeric) {
+                    column.type = ColumnType.STRING;
+                    break;
+                }
+            }
+        }
+    }
+
+    private double[] encode(List<String> record) {
+        double[] values = new double[columns.size()];
+        for (int c = 0; c < values.length; c++) {
+            String token = record.get(c);
+            if (isMissing(token)) {
+                values[c] = Utils.missingValue();
+                continue;
+            }
+            Column column = columns.get(c);
+            if (column.type == ColumnType.UNKNOWN) {
+                column.type = isNumber(token) ? ColumnType.NUMERIC : ColumnType.NOMINAL;
+            }
+            if (column.type == ColumnType.NUMERIC) {
+                if (isNumber(token)) {
+                    values[c] = Double.parseDouble(token);
+                    continue;
+                }
+                promoteToString(c);
+            }
+            values[c] = column.labelIndex(token);
+        }
+        return values;
+    }
+
+    /**
+     * A numeric column met a non-number after the sample: re-encode what was read so far as strings.
+     */
+    private void promoteToString(int c) {
+        Column column = columns.get(c);
+        column.type = ColumnType.STRING;
+        for (double[] row : rows) {
+            if (!Utils.isMissingValue(row[c])) {
+                row[c] = column.labelIndex(formatNumber(row[c]));
+            }
+        }
+    }
+
+    private Instances build(String relationName) {
+        ArrayList<Attribute> attributes = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            attributes.add(switch (column.type) {
+                case UNKNOWN, NUMERIC -> new Attribute(column.name);
+                case NOMINAL -> new Attribute(column.name, new ArrayList<>(column.labels.keySet()));
+                case STRING -> {
+                    Attribute attribute = new Attribute(column.name, (List<String>) null);
+                    column.labels.keySet().forEach(attribute::addStringValue);
+                    yield attribute;
+                }
+            });
+        }
+
+        Instances data = new Instances(relationName, attributes, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            // Instances.add shares the value array, so drop our reference as we go
+            data.add(new DenseInstance(1.0, rows.get(i)));
+            rows.set(i, null);
+        }
+        rows.clear();
+        return data;
+    }
+
+    private void checkWidth(RecordTokenizer tokenizer) {
+        if (tokenizer.fieldCount != width) {
+            throw new FileProcessingException("CSV line " + tokenizer.line() + " has " + tokenizer.fieldCount
+                    + " values, expected " + width, null);
+        }
+    }
+
+    private static boolean isMissing(String token) {
+        return token == null || token.isEmpty() || token.equals("?");
+    }
+
+    /**
+     * Plain decimal/scientific numbers only (no NaN, Infinity, hex or Java type suffixes).
+     */
+    static boolean isNumber(String token) {
+        String s = token.strip();
+        int i = 0;
+        int n = s.length();
+        if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            i++;
+        }
+        boolean digits = false;
+        while (i < n && Character.isDigit(s.charAt(i))) {
+            i++;
+            digits = true;
+        }
+        if (i < n && s.charAt(i) == '.') {
+            i++;
+            while (i < n && Character.isDigit(s.charAt(i))) {
+                i++;
+                digits = true;
+            }
+        }
+        if (!digits) {
+            return false;
+        }
+        if (i < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+                i++;
+            }
+            boolean exponentDigits = false;
+            while (i < n && Character.isDigit(s.charAt(i))) {
+                i++;
+                exponentDigits = true;
+            }
+            if (!exponentDigits) {
+                return false;
+            }
+        }
+        return i == n;
+    }
+
+    private static String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * Splits the input into records; handles quoted fields containing separators, quotes and line breaks.
+     */
+    private static final class RecordTokenizer {
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private long line;
+        private int pushedBack = -2;
+        /** Columns to keep (null keeps all); the others are scanned but not collected. */
+        boolean[] keep;
+        /** Number of fields in the last record, kept or not. */
+        int fieldCount;
+
+        RecordTokenizer(Reader reader) {
+            this.reader = reader;
+        }
+
+        long line() {
+            return line;
+        }
+
+        List<String> next() throws IOException {
+            List<String> record = new ArrayList<>();
+            int ch = read();
+            // Skip blank lines
+            while (ch == '\n' || ch == '\r') {
+                if (ch == '\n') {
+                    line++;
+                }
+                ch = read();
+            }
+            if (ch == -1) {
+                return null;
+            }
+            line++;
+            fieldCount = 0;
+
+            while (true) {
+                boolean collect = keep == null || (fieldCount < keep.length && keep[fieldCount]);
+                field.setLength(0);
+                if (ch == '"' || ch == '\'') {
+                    int quote = ch;
+                    while (true) {
+                        ch = read();
+                        if (ch == -1) {
+                            throw new FileProcessingException("Unterminated quoted field at CSV line " + line, null);
+                        }
+                        if (ch == quote) {
+                            int following = read();
+                            if (following == quote) {
+                                if (collect) {
+                                    field.append((char) quote);
+                                }
+                                continue;
+                            }
+                            ch = following;
+                            break;
+                        }
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        if (collect) {
+                            field.append((char) ch);
+                        }
+                    }
+                    // Ignore anything between the closing quote and the separator
+                    while (ch != ',' && ch != '\n' && ch != '\r' && ch != -1) {
+                        ch = read();
+                    }
+                } else {
+                    while (ch != ',' && ch != '\n' && ch != '\r' && ch != -1) {
+                        if (collect) {
+                            field.append((char) ch);
+                        }
+                        ch = read();
+                    }
+                }
+                if (collect) {
+                    record.add(field.toString());
+                }
+                fieldCount++;
+
+                if (ch == ',') {
+                    ch = read();
+                    continue;
+                }
+                if (ch == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                return record;
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int ch = pushedBack;
+                pushedBack = -2;
+                return ch;
+            }
+            return reader.read();
+        }
+
+        private void unread(int ch) {
+            pushedBack = ch;
+        }
+    }
+}
@@ -5,22 +5,18 @@ import com.cloud_ml_app_thesis.entity.AlgorithmType;
 import com.cloud_ml_app_thesis.enumeration.AlgorithmTypeEnum;
 import com.cloud_ml_app_thesis.repository.AlgorithmRepository;
 import com.cloud_ml_app_thesis.repository.AlgorithmTypeRepository;
+import com.cloud_ml_app_thesis.service.WekaAlgorithmCatalog;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
-import weka.classifiers.Classifier;
-import weka.clusterers.Clusterer;
-import weka.core.*;
 
-import java.lang.reflect.Method;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * DataInitializer - Handles dynamic initialization that cannot be done in SQL
@@ -38,6 +34,7 @@ public class DataInitializer implements CommandLineRunner {
 
     private final AlgorithmRepository algorithmRepository;
     private final AlgorithmTypeRepository algorithmTypeRepository;
+    private final WekaAlgorithmCatalog wekaAlgorithmCatalog;
 
     @Override
     public void run(String... args) {
@@ -47,124 +44,36 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     /**
-     * Discovers and initializes Weka algorithms from classpath
+     * Stores the Weka algorithms of the classpath catalogue that are not in the database yet
      * This cannot be done in SQL as it requires Java reflection
      */
     private void initializeWekaAlgorithms() {
         log.info("📦 Scanning classpath for Weka algorithms...");
 
-        Reflections reflections = new Reflections(new ConfigurationBuilder()
-                .setUrls(ClasspathHelper.forPackage("weka.classifiers"))
-                .addUrls(ClasspathHelper.forPackage("weka.clusterers"))
-                .setScanners(new SubTypesScanner()));
-
-        Set<Class<? extends Classifier>> classifierClasses = reflections.getSubTypesOf(Classifier.class);
-        Set<Class<? extends Clusterer>> clustererClasses = reflections.getSubTypesOf(Clusterer.class);
-
+        Map<AlgorithmTypeEnum, AlgorithmType> types = new EnumMap<>(AlgorithmTypeEnum.class);
         List<Algorithm> algorithmInfos = new ArrayList<>();
 
-        processAlgorithmClasses(classifierClasses, algorithmInfos, Classifier.class);
-        processAlgorithmClasses(clustererClasses, algorithmInfos, Clusterer.class);
+        for (WekaAlgorithmCatalog.Entry entry : wekaAlgorithmCatalog.entries()) {
+            AlgorithmType algorithmType = types.computeIfAbsent(entry.type(), typeEnum ->
+                    algorithmTypeRepository.findByName(typeEnum)
+                            .orElseThrow(() -> new EntityNotFoundException("Algorithm Type not found: " + typeEnum)));
+
+            algorithmInfos.add(new Algorithm(
+                    null,
+                    entry.name(),
+                    entry.description(),
+                    algorithmType,
+                    entry.options(),
+                    entry.optionsDescription(),
+                    entry.defaultOptions(),
+                    entry.className()));
+        }
 
         saveAlgorithms(algorithmInfos);
 
         log.info("✅ Found and processed {} Weka algorithms", algorithmInfos.size());
     }
 
-    /**
-     * Process algorithm classes using reflection
-     */
-    private <T> void processAlgorithmClasses(Set<Class<? extends T>> classes, List<Algorithm> algorithmInfos, Class<T> type) {
-        for (Class<? extends T> cls : classes) {
-            try {
-                // Skip abstract classes, interfaces, or inner classes
-                if (java.lang.reflect.Modifier.isAbstract(cls.getModifiers()) || cls.isInterface() || cls.isMemberClass()) {
-                    continue;
-                }
-
-                T instance = cls.getDeclaredConstructor().newInstance();
-                String className = cls.getSimpleName();
-
-                // Retrieve the package path relative to "weka.classifiers" or other packages
-                Package pkg = cls.getPackage();
-                String packageName = pkg.getName();
-                String relativePath = packageName.substring(packageName.indexOf("weka.") + "weka.".length());
-
-                // Check if globalInfo method is available
-                Method globalInfoMethod = null;
-                try {
-                    globalInfoMethod = cls.getMethod("globalInfo");
-                } catch (NoSuchMethodException e) {
-                    // globalInfo method is not available
-                }
-
-                String classInfo = "(no description available)";
-                if (globalInfoMethod != null) {
-                    classInfo = (String) globalInfoMethod.invoke(instance);
-                }
-
-                String[] optionsDefaultArr = new String[]{};
-
-                // Listing options if the algorithm implements OptionHandler
-                if (instance instanceof OptionHandler) {
-                    OptionHandler optionHandler = (OptionHandler) instance;
-                    Enumeration<Option> options = optionHandler.listOptions();
-                    StringBuilder optionsStr = new StringBuilder();
-                    StringBuilder optionsDescrStr = new StringBuilder();
-
-                    while (options.hasMoreElements()) {
-                        Option option = options.nextElement();
-                        if (option.name() != null && !option.name().isBlank()) {
-                            optionsStr.append(option.name()).append(",");
-                            optionsDescrStr.append(option.description()).append("->");
-                        }
-                        optionsDefaultArr = optionHandler.getOptions();
-                    }
-
-                    if (!optionsStr.isEmpty()) {
-                        optionsStr.deleteCharAt(optionsStr.length() - 1); // Remove trailing comma
-                    }
-                    if (optionsDescrStr.length() > 1) {
-                        optionsDescrStr.delete(optionsDescrStr.length() - 2, optionsDescrStr.length()); // Remove trailing "->"
-                    }
-
-                    String defaultOptionsFinal = String.join(" ", optionsDefaultArr);
-
-                    // Determine algorithm type
-                    AlgorithmTypeEnum typeEnum;
-                    if (Clusterer.class.isAssignableFrom(cls)) {
-                        typeEnum = AlgorithmTypeEnum.CLUSTERING;
-                    } else if (Classifier.class.isAssignableFrom(cls)) {
-                        // Check if this classifier is actually a regressor (handles numeric target)
-                        if (isRegressor((Classifier) instance)) {
-                            typeEnum = AlgorithmTypeEnum.REGRESSION;
-                        } else {
-                            typeEnum = AlgorithmTypeEnum.CLASSIFICATION;
-                        }
-                    } else {
-                        throw new IllegalArgumentException("❌ Unknown algorithm type: " + cls.getName());
-                    }
-
-                    AlgorithmType algorithmType = algorithmTypeRepository.findByName(typeEnum)
-                            .orElseThrow(() -> new EntityNotFoundException("Algorithm Type not found: " + typeEnum));
-
-                    Algorithm algorithm = new Algorithm(
-                            null,
-                            className,
-                            classInfo.replaceAll("[\\t\\n]", ""),
-                            algorithmType,
-                            optionsStr.toString().replaceAll("[\\t\\n]", "").replace(",,", ","),
-                            optionsDescrStr.toString().replaceAll("[\\t\\n]", "").replace("->->", "->"),
-                            defaultOptionsFinal,
-                            cls.getName());
-                    algorithmInfos.add(algorithm);
-                }
-            } catch (Exception e) {
-                log.error("Error processing class {}: {}", cls.getName(), e.getMessage());
-            }
-        }
-    }
-
     /**
      * Save discovered algorithms to database
      */
@@ -195,38 +104,4 @@ public class DataInitializer implements CommandLineRunner {
                     currentAlgorithm != null ? currentAlgorithm.getOptionsDescription().length() : "unknown");
         }
     }
-
-    /**
-     * Helper method to determine if a classifier is a regressor
-     */
-    public static boolean isRegressor(Classifier classifier) {
-        try {
-            // 1. Create dummy dataset
-            ArrayList<Attribute> attributes = new ArrayList<>();
-            attributes.add(new Attribute("feature1"));
-            attributes.add(new Attribute("feature2"));
-            attributes.add(new Attribute("target")); // numeric class
-
-            Instances data = new Instances("dummy", attributes, 0);
-            data.setClassIndex(data.numAttributes() - 1);
-
-            // Add dummy data
-            double[] vals1 = {1.0, 2.0, 3.0};
-            double[] vals2 = {2.0, 3.0, 4.0};
-            double[] target = {10.0, 15.0, 20.0};
-
-            for (int i = 0; i < vals1.length; i++) {
-                double[] instance = {vals1[i], vals2[i], target[i]};
-                data.add(new DenseInstance(1.0, instance));
-            }
-
-            // 2. Try to build model
-            classifier.buildClassifier(data);
-
-            // 3. Check if classAttribute is numeric
-            return data.classAttribute().isNumeric();
-        } catch (Exception e) {
-            return false;
-        }
-    }
 }
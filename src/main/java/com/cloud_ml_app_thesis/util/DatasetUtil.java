@@ -16,12 +16,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import weka.core.Attribute;
+import weka.core.DenseInstance;
 import weka.core.Instance;
 import weka.core.Instances;
+import weka.core.Utils;
 import weka.core.converters.ArffLoader;
-import weka.core.converters.ArffSaver;
 import weka.core.converters.CSVLoader;
-import weka.core.converters.ConverterUtils;
 import weka.filters.Filter;
 import weka.filters.unsupervised.attribute.Remove;
 
@@ -30,11 +30,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -51,53 +49,26 @@ public class DatasetUtil {
             logger.info("Attribute {}: {}", i + 1, data.attribute(i).name());
         }
 
-        // Step 1: Resolve target class attribute name safely
+        // Step 1-3: Resolve target class and basic attributes (the target class is always kept)
+        ColumnProjection.Resolved projection = new ColumnProjection(basicAttributesColumns, targetClassColumn)
+                .resolve(data.numAttributes());
         String classAttrName = null;
-        if (targetClassColumn != null && !targetClassColumn.isEmpty()) {
-            int targetIdx = Integer.parseInt(targetClassColumn.trim()) - 1;
-            if (targetIdx >= 0 && targetIdx < data.numAttributes()) {
-                classAttrName = data.attribute(targetIdx).name();
-                logger.info("Target class column: {} (index {})", classAttrName, targetIdx);
-            } else {
-                logger.warn("⚠️ Target column index {} out of bounds (attributes: {}). Falling back to last attribute", targetIdx + 1, data.numAttributes());
-                classAttrName = data.attribute(data.numAttributes() - 1).name();
-            }
+        if (projection.targetColumn() >= 0) {
+            classAttrName = data.attribute(projection.targetColumn()).name();
+            logger.info("Target class column: {} (index {})", classAttrName, projection.targetColumn());
         }
 
-        // Step 2: Add basic attributes
-        if (basicAttributesColumns == null || basicAttributesColumns.isEmpty()) {
-            for (int i = 0; i < data.numAttributes(); i++) {
-                columnNames.add(data.attribute(i).name());
-            }
-        } else {
-            for (String index : basicAttributesColumns.split(",")) {
-                int idx = Integer.parseInt(index.trim()) - 1;
-                if (idx >= 0 && idx < data.numAttributes()) {
-                    columnNames.add(data.attribute(idx).name());
-                } else {
-                    logger.warn("⚠️ Ignoring invalid basic attribute index: {}", idx + 1);
-                }
-            }
-        }
-
-        logger.info("Selected basic attributes columns: {}", columnNames);
-
-        // Step 3: Ensure class attribute is kept
-        if (classAttrName != null && data.attribute(classAttrName) != null && !columnNames.contains(classAttrName)) {
-            columnNames.add(classAttrName);
-            logger.info("✅ Added class attribute '{}' to selected columns", classAttrName);
-        }
-
-        logger.info("Final columns to keep: {}", columnNames);
-
         // Step 4: Build indices
         List<Integer> indicesToKeep = new ArrayList<>();
         for (int i = 0; i < data.numAttributes(); i++) {
-            if (columnNames.contains(data.attribute(i).name())) {
+            if (projection.keep()[i]) {
                 indicesToKeep.add(i);
+                columnNames.add(data.attribute(i).name());
             }
         }
 
+        logger.info("Final columns to keep: {}", columnNames);
+
         logger.info("Indices to keep: {}", indicesToKeep);
 
         // Step 5: Apply filtering
@@ -131,61 +102,94 @@ public class DatasetUtil {
         return filteredData;
     }
 
-    public static String csvToArff(InputStream inputStream, String fileReference) {
-        logger.info("▶ Entering csvToArff() for file: {}", fileReference);
-        File tempInputFile = null;
-        File tempOutputFile = null;
-        File tempCsvFile = null;
+    /**
+     * Loads a CSV, Excel or ARFF dataset straight from the stream into {@link Instances}.
+     * CSV is parsed in a single pass by {@link CsvInstancesReader}; Excel is converted to a temporary CSV
+     * (deleted once read); anything else is read as ARFF. The stream is not closed.
+     */
+    public static Instances loadInstances(InputStream inputStream, String fileReference) {
+        return loadInstances(inputStream, fileReference, null);
+    }
 
+    /**
+     * Same as {@link #loadInstances(InputStream, String)}, but only the columns of the projection are materialized
+     * and the class index is set exactly as {@link #selectColumns} would set it. A null projection keeps every column.
+     */
+    public static Instances loadInstances(InputStream inputStream, String fileReference, ColumnProjection projection) {
+        logger.info("▶ Loading dataset instances for file: {}", fileReference);
+        String fileExtension = getFileExtension(fileReference);
+        String relationName = relationName(fileReference);
         try {
-            String fileExtension = getFileExtension(fileReference);
-
-            // If it's an Excel file, first convert to CSV
-            if (isExcelFile(fileExtension)) {
+            Instances data;
+            if (fileExtension.equalsIgnoreCase(".csv")) {
+                data = CsvInstancesReader.read(inputStream, relationName, projection);
+            } else if (isExcelFile(fileExtension)) {
                 logger.info("📊 Detected Excel file, converting to CSV first...");
-                String csvPath = XlsToCsv.convertExcelToCsv(inputStream, fileReference);
-                tempCsvFile = new File(csvPath);
-                tempInputFile = tempCsvFile;
-                fileExtension = ".csv";
-                inputStream = Files.newInputStream(tempInputFile.toPath());
+                Path csvPath = Paths.get(XlsToCsv.convertExcelToCsv(inputStream, fileReference));
+                try (InputStream csvStream = Files.newInputStream(csvPath)) {
+                    data = CsvInstancesReader.read(csvStream, relationName, projection);
+                } finally {
+                    Files.deleteIfExists(csvPath);
+                }
             } else {
-                // Create a temporary file for the input data
-                tempInputFile = File.createTempFile("input", fileExtension);
-                Files.copy(inputStream, tempInputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                data = readArff(inputStream, projection);
             }
+            logger.info("✅ Loaded {} instances and {} attributes from {}", data.numInstances(), data.numAttributes(), fileReference);
+            return data;
+        } catch (IOException e) {
+            throw new FileProcessingException("Failed to load dataset: " + fileReference, e);
+        }
+    }
 
-            // Determine if the file is CSV or ARFF and load the data accordingly
-            Instances data;
-            if (fileExtension.equalsIgnoreCase(".arff")) {
-                ArffLoader arffLoader = new ArffLoader();
-                arffLoader.setSource(tempInputFile);
-                data = arffLoader.getDataSet();
-            } else {
-                CSVLoader csvLoader = new CSVLoader();
-                csvLoader.setSource(tempInputFile);
-                data = csvLoader.getDataSet();
+    /**
+     * Reads ARFF instance by instance, copying only the projected attributes.
+     */
+    private static Instances readArff(InputStream inputStream, ColumnProjection projection) throws IOException {
+        ArffLoader arffLoader = new ArffLoader();
+        arffLoader.setSource(inputStream);
+        if (projection == null) {
+            return arffLoader.getDataSet();
+        }
+
+        Instances structure = arffLoader.getStructure();
+        ColumnProjection.Resolved resolved = projection.resolve(structure.numAttributes());
+        int[] kept = new int[resolved.keptCount()];
+        ArrayList<Attribute> attributes = new ArrayList<>(kept.length);
+        for (int i = 0, k = 0; i < structure.numAttributes(); i++) {
+            if (resolved.keep()[i]) {
+                kept[k++] = i;
+                Attribute attribute = structure.attribute(i);
+                // String values are only known per instance in incremental mode, so start from an empty table
+                attributes.add(attribute.isString() ? new Attribute(attribute.name(), (List<String>) null) : attribute.copy(attribute.name()));
             }
+        }
 
-            // Create a separate temporary file for the ARFF output
-            tempOutputFile = File.createTempFile("output", ".arff");
-
-            // Save the data in ARFF format to the output file
-            ArffSaver saver = new ArffSaver();
-            saver.setInstances(data);
-            saver.setFile(tempOutputFile);
-            saver.writeBatch();
-            logger.info("📄 ARFF file saved to: {}", tempOutputFile.getAbsolutePath());
-            logger.info("🧾 ARFF content:\n{}", Files.readString(tempOutputFile.toPath()));
-            // Return the path of the output file
-            return tempOutputFile.getAbsolutePath();
-        } catch (IOException e) {
-            throw new FileProcessingException("Failed to convert file to ARFF format", e);
-        } finally {
-            // Clean up the temporary input file
-            if (tempInputFile != null) {
-                tempInputFile.delete();
+        Instances data = new Instances(structure.relationName(), attributes, 0);
+        Instance instance;
+        while ((instance = arffLoader.getNextInstance(structure)) != null) {
+            double[] values = new double[kept.length];
+            for (int k = 0; k < kept.length; k++) {
+                int source = kept[k];
+                if (instance.isMissing(source)) {
+                    values[k] = Utils.missingValue();
+                } else if (structure.attribute(source).isString()) {
+                    values[k] = data.attribute(k).addStringValue(instance.stringValue(source));
+                } else {
+                    values[k] = instance.value(source);
+                }
             }
+            data.add(new DenseInstance(instance.weight(), values));
+        }
+        if (data.numAttributes() > 0) {
+            data.setClassIndex(resolved.projectedClassIndex());
         }
+        return data;
+    }
+
+    private static String relationName(String fileReference) {
+        String fileName = Paths.get(fileReference).getFileName().toString();
+        int lastIndex = fileName.lastIndexOf('.');
+        return lastIndex > 0 ? fileName.substring(0, lastIndex) : fileName;
     }
 
     private static String getFileExtension(String fileName) {
@@ -204,19 +208,9 @@ public class DatasetUtil {
     }
 
     public static Instances prepareDataset(MultipartFile file, String filename, DatasetConfiguration datasetConfiguration) throws Exception {
-        InputStream datasetStream = file.getInputStream();
-        // Convert the dataset to ARFF format if it is in CSV or Excel format
-        String fileExtension = getFileExtension(filename);
-        if (fileExtension.equalsIgnoreCase(".csv") || isExcelFile(fileExtension)) {
-            logger.info("📥 Converting {} file to ARFF format...", fileExtension);
-            String arffFilePath = csvToArff(datasetStream, filename);
-            datasetStream = Files.newInputStream(Paths.get(arffFilePath));
+        try (InputStream datasetStream = file.getInputStream()) {
+            return loadInstances(datasetStream, filename, ColumnProjection.of(datasetConfiguration));
         }
-
-        Instances data = new ConverterUtils.DataSource(datasetStream).getDataSet();
-        int prediction = 0;
-        data = selectColumns(data, datasetConfiguration.getBasicAttributesColumns(), datasetConfiguration.getTargetColumn(), prediction);
-        return data;
     }
 
 
@@ -224,84 +218,7 @@ public class DatasetUtil {
 
         logger.info("Dataset Stream obtained successfully.");
 
-        // Convert the dataset to ARFF format if it is in CSV or Excel format
-        String fileExtension = getFileExtension(objectName);
-        if (fileExtension.equalsIgnoreCase(".csv") || isExcelFile(fileExtension)) {
-            logger.info("📥 Converting {} file from MinIO to ARFF format...", fileExtension);
-            String arffFilePath = csvToArff(datasetStream, objectName);
-            datasetStream = Files.newInputStream(Paths.get(arffFilePath));
-        }
-
-        Instances data = new ConverterUtils.DataSource(datasetStream).getDataSet();
-        int prediction = 0;
-
-        data = selectColumns(data, datasetConfiguration.getBasicAttributesColumns(), datasetConfiguration.getTargetColumn(), prediction);
-        return data;
-    }
-
-    public static byte[] replaceQuestionMarksWithPredictionResultsAsCSV(Instances dataset, List<String> predictions, boolean isClusterer) {
-        logger.info("▶ Entering replaceQuestionMarksWithPredictionResultsAsCSV() with isClusterer = {}", isClusterer);
-
-        if (!isClusterer) {
-            int classIndex = dataset.classIndex();
-            Attribute classAttr = dataset.classAttribute();
-
-            if (classAttr != null && classAttr.name().equalsIgnoreCase("class") && hasMissingValues(dataset, classIndex)) {
-                // 🔁 Replace ? values in class column
-                for (int i = 0; i < dataset.numInstances(); i++) {
-                    dataset.instance(i).setValue(classIndex, predictions.get(i));
-                }
-                logger.info("✅ Replaced missing values in class attribute '{}'", classAttr.name());
-
-            } else {
-                // ➕ Add new attribute for predictions
-                logger.warn("⚠️ Class attribute not found or no missing values. Adding 'prediction' column instead.");
-                Attribute predictionAttr = new Attribute("prediction", (List<String>) null);
-                dataset.insertAttributeAt(predictionAttr, dataset.numAttributes());
-                int predictionIndex = dataset.numAttributes() - 1;
-
-                for (int i = 0; i < dataset.numInstances(); i++) {
-                    dataset.instance(i).setValue(predictionIndex, predictions.get(i));
-                }
-            }
-
-        } else {
-            // ➕ Clusterer → Always add "prediction" column
-            logger.info("➕ Adding 'prediction' column for clustering results");
-            Attribute predictionAttr = new Attribute("prediction", (List<String>) null);
-            dataset.insertAttributeAt(predictionAttr, dataset.numAttributes());
-            int predictionIndex = dataset.numAttributes() - 1;
-
-            for (int i = 0; i < dataset.numInstances(); i++) {
-                dataset.instance(i).setValue(predictionIndex, predictions.get(i));
-            }
-        }
-
-        // 📝 Build CSV string
-        StringBuilder sb = new StringBuilder();
-
-        // Header
-        for (int i = 0; i < dataset.numAttributes(); i++) {
-            sb.append(dataset.attribute(i).name());
-            if (i != dataset.numAttributes() - 1) sb.append(",");
-        }
-        sb.append("\n");
-
-        // Data rows
-        for (int i = 0; i < dataset.numInstances(); i++) {
-            Instance instance = dataset.instance(i);
-            for (int j = 0; j < dataset.numAttributes(); j++) {
-                if (instance.attribute(j).isNumeric()) {
-                    sb.append(instance.value(j));
-                } else {
-                    sb.append(instance.stringValue(j));
-                }
-                if (j != dataset.numAttributes() - 1) sb.append(",");
-            }
-            sb.append("\n");
-        }
-
-        return sb.toString().getBytes(StandardCharsets.UTF_8);
+        return loadInstances(datasetStream, objectName, ColumnProjection.of(datasetConfiguration));
     }
 
     public static String resolveClassAttributeName(DatasetConfiguration config, Instances data) {
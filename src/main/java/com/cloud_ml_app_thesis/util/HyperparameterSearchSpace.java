@@ -0,0 +1,182 @@
+package com.cloud_ml_app_thesis.util;
+
+import com.cloud_ml_app_thesis.enumeration.SearchStrategyEnum;
+import com.cloud_ml_app_thesis.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import weka.core.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Candidate values per Weka option flag, e.g. {@code {"C": ["0.1", "0.25", "0.5"], "M": ["2", "5"]}}.
+ *
+ * Each combination overrides those flags in the base options string of the algorithm configuration.
+ * An empty string sets a switch without a value ({@code "U": ["", null]}), null leaves the flag out.
+ */
+public final class HyperparameterSearchSpace {
+
+    private static final Pattern FLAG = Pattern.compile("^[A-Za-z][A-Za-z0-9_-]*$");
+
+    /**
+     * One combination: the value picked per flag and the resulting options string.
+     */
+    public record Candidate(Map<String, String> values, String options) {
+    }
+
+    private final Map<String, List<String>> values;
+
+    private HyperparameterSearchSpace(Map<String, List<String>> values) {
+        this.values = values;
+    }
+
+    /**
+     * Parses the JSON object sent with a search request; flags may be given with or without the leading dash.
+     */
+    public static HyperparameterSearchSpace parse(String json, ObjectMapper objectMapper) {
+        if (json == null || json.isBlank()) {
+            throw new BadRequestException("❌ searchSpace is required, e.g. {\"C\": [\"0.1\", \"0.25\"]}");
+        }
+        Map<String, List<String>> parsed;
+        try {
+            parsed = objectMapper.readValue(json, new TypeReference<LinkedHashMap<String, List<String>>>() {});
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("❌ searchSpace must be a JSON object of option flag to candidate values: "
+                    + e.getOriginalMessage());
+        }
+        if (parsed == null || parsed.isEmpty()) {
+            throw new BadRequestException("❌ searchSpace must name at least one option.");
+        }
+
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : parsed.entrySet()) {
+            String flag = entry.getKey().startsWith("-") ? entry.getKey().substring(1) : entry.getKey();
+            if (!FLAG.matcher(flag).matches()) {
+                throw new BadRequestException("❌ Invalid option flag in searchSpace: " + entry.getKey());
+            }
+            List<String> candidates = entry.getValue();
+            if (candidates == null || candidates.isEmpty()) {
+                throw new BadRequestException("❌ No candidate values for option -" + flag);
+            }
+            // Duplicates would only repeat trials
+            values.put(flag, Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(candidates))));
+        }
+        return new HyperparameterSearchSpace(Collections.unmodifiableMap(values));
+    }
+
+    public Set<String> flags() {
+        return values.keySet();
+    }
+
+    /**
+     * Number of combinations, saturated at Long.MAX_VALUE.
+     */
+    public long gridSize() {
+        long size = 1;
+        for (List<String> candidates : values.values()) {
+            if (size > Long.MAX_VALUE / candidates.size()) {
+                return Long.MAX_VALUE;
+            }
+            size *= candidates.size();
+        }
+        return size;
+    }
+
+    /**
+     * The combinations a search trains: the whole grid in order (GRID), or maxTrials distinct combinations
+     * drawn with the seed (RANDOM; the whole grid, shuffled, when it is not larger than maxTrials).
+     */
+    public List<Candidate> candidates(String baseOptions, SearchStrategyEnum strategy, int maxTrials, long seed) throws Exception {
+        long gridSize = gridSize();
+        String[] base = baseOptions == null || baseOptions.isBlank() ? new String[0] : Utils.splitOptions(baseOptions);
+
+        List<Long> indices = new ArrayList<>();
+        if (strategy == SearchStrategyEnum.GRID || gridSize <= maxTrials) {
+            if (gridSize > maxTrials) {
+                throw new BadRequestException("❌ The grid has " + gridSize + " combinations, more than maxTrials ("
+                        + maxTrials + "); use strategy RANDOM or fewer candidate values.");
+            }
+            for (long i = 0; i < gridSize; i++) {
+                indices.add(i);
+            }
+            if (strategy == SearchStrategyEnum.RANDOM) {
+                Collections.shuffle(indices, new Random(seed));
+            }
+        } else {
+            Random random = new Random(seed);
+            Set<Long> drawn = new LinkedHashSet<>();
+            while (drawn.size() < maxTrials) {
+                drawn.add(Math.floorMod(random.nextLong(), gridSize));
+            }
+            indices.addAll(drawn);
+        }
+
+        List<Candidate> candidates = new ArrayList<>(indices.size());
+        for (long index : indices) {
+            Map<String, String> assignment = assignment(index);
+            candidates.add(new Candidate(Collections.unmodifiableMap(assignment), Utils.joinOptions(apply(base, assignment))));
+        }
+        return candidates;
+    }
+
+    // Mixed-radix decoding: the last flag varies fastest, like nested loops in declaration order
+    private Map<String, String> assignment(long index) {
+        List<Map.Entry<String, List<String>>> entries = new ArrayList<>(values.entrySet());
+        Map<String, String> assignment = new LinkedHashMap<>();
+        String[] picked = new String[entries.size()];
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            List<String> candidates = entries.get(i).getValue();
+            picked[i] = candidates.get((int) (index % candidates.size()));
+            index /= candidates.size();
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            assignment.put(entries.get(i).getKey(), picked[i]);
+        }
+        return assignment;
+    }
+
+    private static String[] apply(String[] base, Map<String, String> assignment) throws Exception {
+        String[] options = base.clone();
+        // Options after "--" belong to a nested classifier and are left alone
+        int nested = Arrays.asList(options).indexOf("--");
+        String[] own = nested >= 0 ? Arrays.copyOfRange(options, 0, nested) : options;
+        List<String> tail = nested >= 0 ? Arrays.asList(options).subList(nested, options.length) : List.of();
+
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, String> entry : assignment.entrySet()) {
+            String value = entry.getValue();
+            if (value == null || value.isEmpty()) {
+                Utils.getFlag(entry.getKey(), own);
+            } else {
+                Utils.getOption(entry.getKey(), own);
+            }
+        }
+        for (String option : own) {
+            if (!option.isEmpty()) {
+                result.add(option);
+            }
+        }
+        for (Map.Entry<String, String> entry : assignment.entrySet()) {
+            String value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            result.add("-" + entry.getKey());
+            if (!value.isEmpty()) {
+                result.add(value);
+            }
+        }
+        result.addAll(tail);
+        return result.toArray(new String[0]);
+    }
+}
@@ -5,9 +5,15 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 
 import io.fabric8.kubernetes.api.model.*;
@@ -26,12 +32,13 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Component("kubernetesRunner")
-public class KubernetesJobRunner implements ContainerRunner {
+public class KubernetesJobRunner implements ContainerRunner, DisposableBean {
 
     private final KubernetesClient kubernetesClient;
     private final String namespace;
     private final String pvcName;
     private final Path sharedRoot;
+    private final KubernetesJobWatcher jobWatcher;
 
     public KubernetesJobRunner() {
         // Auto-detect if running in Kubernetes cluster
@@ -54,10 +61,40 @@ public class KubernetesJobRunner implements ContainerRunner {
         String sharedEnv = System.getenv().getOrDefault("SHARED_VOLUME", "/app/shared");
         this.sharedRoot = Paths.get(sharedEnv).toAbsolutePath().normalize();
 
+        int maxWatchedJobs = Integer.parseInt(System.getenv().getOrDefault("K8S_MAX_WATCHED_JOBS", "200"));
+        this.jobWatcher = new KubernetesJobWatcher(kubernetesClient, namespace, maxWatchedJobs,
+                Duration.ofMinutes(5).toMillis());
+
         log.info("☸️ Kubernetes Job Runner initialized: namespace={}, pvc={}, shared={}",
                 namespace, pvcName, sharedRoot);
     }
 
+    @Override
+    public void destroy() {
+        jobWatcher.close();
+    }
+
+    private Map<String, String> jobLabels(String app) {
+        return Map.of(
+                "app", app,
+                KubernetesJobWatcher.MANAGED_BY_LABEL, KubernetesJobWatcher.MANAGED_BY_VALUE
+        );
+    }
+
+    /**
+     * Registers the job with the shared watcher, creates it and blocks until it finishes.
+     */
+    private void createAndAwait(Job job, Duration timeout) {
+        String jobName = job.getMetadata().getName();
+        CompletableFuture<Job> completion = jobWatcher.register(jobName);
+        try {
+            kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
+            waitForJobCompletion(jobName, completion, timeout);
+        } finally {
+            jobWatcher.unregister(jobName);
+        }
+    }
+
     private boolean isRunningInKubernetes() {
         return Files.exists(Paths.get("/var/run/secrets/kubernetes.io/serviceaccount/token"));
     }
@@ -88,7 +125,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .withNewMetadata()
                     .withName(jobName)
                     .withNamespace(namespace)
-                    .withLabels(Collections.singletonMap("app", "ml-training"))
+                    .withLabels(jobLabels("ml-training"))
                 .endMetadata()
                 .withNewSpec()
                     .withBackoffLimit(0)  // Don't retry on failure
@@ -129,10 +166,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .build();
 
         log.info("🚀 Creating Kubernetes Job: {}", jobName);
-        kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
-
-        // Wait for job to complete and stream logs
-        waitForJobCompletion(jobName, Duration.ofMinutes(10));
+        createAndAwait(job, Duration.ofMinutes(10));
     }
 
     @Override
@@ -151,7 +185,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .withNewMetadata()
                     .withName(jobName)
                     .withNamespace(namespace)
-                    .withLabels(Collections.singletonMap("app", "ml-prediction"))
+                    .withLabels(jobLabels("ml-prediction"))
                 .endMetadata()
                 .withNewSpec()
                     .withBackoffLimit(0)
@@ -192,9 +226,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .build();
 
         log.info("🚀 Creating Kubernetes Job: {}", jobName);
-        kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
-
-        waitForJobCompletion(jobName, Duration.ofMinutes(10));
+        createAndAwait(job, Duration.ofMinutes(10));
     }
 
     @Override
@@ -228,7 +260,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .withNewMetadata()
                     .withName(jobName)
                     .withNamespace(namespace)
-                    .withLabels(Collections.singletonMap("app", "weka-training"))
+                    .withLabels(jobLabels("weka-training"))
                 .endMetadata()
                 .withNewSpec()
                     .withBackoffLimit(0)  // Don't retry on failure
@@ -269,10 +301,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .build();
 
         log.info("🚀 Creating Kubernetes Weka Training Job: {}", jobName);
-        kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
-
-        // Wait for job to complete and stream logs
-        waitForJobCompletion(jobName, Duration.ofMinutes(30));  // Weka training may take longer
+        createAndAwait(job, Duration.ofMinutes(30));  // Weka training may take longer
     }
 
     @Override
@@ -301,7 +330,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .withNewMetadata()
                     .withName(jobName)
                     .withNamespace(namespace)
-                    .withLabels(Collections.singletonMap("app", "weka-prediction"))
+                    .withLabels(jobLabels("weka-prediction"))
                 .endMetadata()
                 .withNewSpec()
                     .withBackoffLimit(0)
@@ -342,105 +371,76 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .build();
 
         log.info("🚀 Creating Kubernetes Weka Prediction Job: {}", jobName);
-        kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
-
-        waitForJobCompletion(jobName, Duration.ofMinutes(10));
+        createAndAwait(job, Duration.ofMinutes(10));
     }
 
-    private void waitForJobCompletion(String jobName, Duration timeout) {
+    /**
+     * Streams the job pod's logs and waits on the watcher future for the Job to finish.
+     * No polling and no per-job watch: the shared Job informer reports when the pod is active and when the Job ends.
+     */
+    private void waitForJobCompletion(String jobName, CompletableFuture<Job> completion, Duration timeout) {
         log.info("⌛ Waiting for job {} to complete...", jobName);
 
-        long startTime = System.currentTimeMillis();
-        long timeoutMs = timeout.toMillis();
+        long deadline = System.nanoTime() + timeout.toNanos();
 
-        // Wait for pod to be created
+        // Wait for the Job to report an active pod (or to end without one, e.g. deleted)
         Pod jobPod = null;
-        while (jobPod == null && (System.currentTimeMillis() - startTime) < timeoutMs) {
-            var pods = kubernetesClient.pods()
+        try {
+            jobWatcher.started(jobName).get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            List<Pod> pods = kubernetesClient.pods()
                     .inNamespace(namespace)
                     .withLabel("job-name", jobName)
                     .list()
                     .getItems();
-
             if (!pods.isEmpty()) {
                 jobPod = pods.get(0);
-                break;
             }
-
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Interrupted while waiting for job pod", e);
-            }
-        }
-
-        if (jobPod == null) {
+        } catch (TimeoutException e) {
             throw new RuntimeException("Job pod not created within timeout");
+        } catch (ExecutionException e) {
+            // Job ended (most likely deleted) before its pod appeared; handled below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for job pod", e);
         }
 
-        String podName = jobPod.getMetadata().getName();
-        log.info("📡 Attaching to pod logs: {}", podName);
+        if (jobPod != null) {
+            String podName = jobPod.getMetadata().getName();
+            log.info("📡 Attaching to pod logs: {}", podName);
 
-        // Stream logs
-        try (LogWatch logWatch = kubernetesClient.pods()
-                .inNamespace(namespace)
-                .withName(podName)
-                .watchLog();
-             java.io.BufferedReader reader = new java.io.BufferedReader(
-                     new java.io.InputStreamReader(logWatch.getOutput()))) {
+            // Stream logs
+            try (LogWatch logWatch = kubernetesClient.pods()
+                    .inNamespace(namespace)
+                    .withName(podName)
+                    .watchLog();
+                 java.io.BufferedReader reader = new java.io.BufferedReader(
+                         new java.io.InputStreamReader(logWatch.getOutput()))) {
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                log.info("[K8S JOB LOG] {}", line);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    log.info("[K8S JOB LOG] {}", line);
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ Error streaming logs: {}", e.getMessage());
             }
-        } catch (Exception e) {
-            log.warn("⚠️ Error streaming logs: {}", e.getMessage());
         }
 
-        // Wait for job to complete (handles deletion/cancellation)
+        // Wait for job to complete (deletion/cancellation completes the future exceptionally)
         Job completedJob;
         try {
-            completedJob = kubernetesClient.batch().v1().jobs()
-                    .inNamespace(namespace)
-                    .withName(jobName)
-                    .waitUntilCondition(
-                            job -> {
-                                // Job was deleted (cancelled) - return true to exit the wait
-                                if (job == null) {
-                                    return true;
-                                }
-                                // Job completed or failed
-                                return job.getStatus() != null &&
-                                       (job.getStatus().getSucceeded() != null && job.getStatus().getSucceeded() > 0 ||
-                                        job.getStatus().getFailed() != null && job.getStatus().getFailed() > 0);
-                            },
-                            timeoutMs - (System.currentTimeMillis() - startTime),
-                            TimeUnit.MILLISECONDS
-                    );
-        } catch (Exception e) {
-            // Check if job was deleted (cancelled)
-            Job currentJob = kubernetesClient.batch().v1().jobs()
-                    .inNamespace(namespace)
-                    .withName(jobName)
-                    .get();
-            if (currentJob == null) {
-                log.info("🛑 Job {} was cancelled/deleted", jobName);
-                throw new RuntimeException("Job cancelled: " + jobName, e);
-            }
-            throw e;
-        }
-
-        // Job was deleted (cancelled)
-        if (completedJob == null) {
+            completedJob = completion.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
             log.info("🛑 Job {} was cancelled/deleted", jobName);
-            throw new RuntimeException("Job cancelled: " + jobName);
+            throw new RuntimeException("Job cancelled: " + jobName, e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Kubernetes job timed out: " + jobName, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for job " + jobName, e);
         }
 
         // Job failed
-        if (completedJob.getStatus() != null &&
-            completedJob.getStatus().getFailed() != null &&
-            completedJob.getStatus().getFailed() > 0) {
+        if (KubernetesJobWatcher.isFailed(completedJob)) {
             log.error("❌ Job {} failed", jobName);
             throw new RuntimeException("Kubernetes job failed: " + jobName);
         }
@@ -448,6 +448,10 @@ public class KubernetesJobRunner implements ContainerRunner {
         log.info("✅ Job {} completed successfully", jobName);
     }
 
+    private static long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
     @Override
     public void loadImageFromTar(Path tarPath, String expectedTag) {
         log.info("☸️ Loading Docker image from TAR in Kubernetes: {}", tarPath);
@@ -747,7 +751,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .withNewMetadata()
                     .withName(jobName)
                     .withNamespace(namespace)
-                    .withLabels(Collections.singletonMap("app", "ml-training"))
+                    .withLabels(jobLabels("ml-training"))
                 .endMetadata()
                 .withNewSpec()
                     .withBackoffLimit(0)
@@ -788,9 +792,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .build();
 
         log.info("🚀 Creating Kubernetes Job: {}", jobName);
-        kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
-
-        waitForJobCompletion(jobName, Duration.ofMinutes(10));
+        createAndAwait(job, Duration.ofMinutes(10));
     }
 
     @Override
@@ -814,7 +816,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .withNewMetadata()
                     .withName(jobName)
                     .withNamespace(namespace)
-                    .withLabels(Collections.singletonMap("app", "ml-prediction"))
+                    .withLabels(jobLabels("ml-prediction"))
                 .endMetadata()
                 .withNewSpec()
                     .withBackoffLimit(0)
@@ -855,9 +857,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .build();
 
         log.info("🚀 Creating Kubernetes Job: {}", jobName);
-        kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
-
-        waitForJobCompletion(jobName, Duration.ofMinutes(10));
+        createAndAwait(job, Duration.ofMinutes(10));
     }
 
     @Override
@@ -895,7 +895,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .withNewMetadata()
                     .withName(jobName)
                     .withNamespace(namespace)
-                    .withLabels(Collections.singletonMap("app", "weka-training"))
+                    .withLabels(jobLabels("weka-training"))
                 .endMetadata()
                 .withNewSpec()
                     .withBackoffLimit(0)
@@ -936,9 +936,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .build();
 
         log.info("🚀 Creating Kubernetes Weka Training Job: {}", jobName);
-        kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
-
-        waitForJobCompletion(jobName, Duration.ofMinutes(30));
+        createAndAwait(job, Duration.ofMinutes(30));
     }
 
     @Override
@@ -972,7 +970,7 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .withNewMetadata()
                     .withName(jobName)
                     .withNamespace(namespace)
-                    .withLabels(Collections.singletonMap("app", "weka-prediction"))
+                    .withLabels(jobLabels("weka-prediction"))
                 .endMetadata()
                 .withNewSpec()
                     .withBackoffLimit(0)
@@ -1013,8 +1011,6 @@ public class KubernetesJobRunner implements ContainerRunner {
                 .build();
 
         log.info("🚀 Creating Kubernetes Weka Prediction Job: {}", jobName);
-        kubernetesClient.batch().v1().jobs().inNamespace(namespace).create(job);
-
-        waitForJobCompletion(jobName, Duration.ofMinutes(10));
+        createAndAwait(job, Duration.ofMinutes(10));
     }
 }
@@ -0,0 +1,290 @@
+package com.cloud_ml_app_thesis.util;
+
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobStatus;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One shared informer on the Jobs this application creates (label {@value #MANAGED_BY_LABEL}={@value #MANAGED_BY_VALUE}).
+ *
+ * Callers {@link #register} a job name before creating the Job and get a future that completes with the
+ * final Job once it has succeeded or failed, or completes exceptionally if the Job is deleted first (cancellation).
+ * {@link #started} completes once the Job reports an active pod, so callers can attach to its logs without
+ * watching pods themselves.
+ * This replaces per-job polling: the API server sees one list+watch per namespace instead of one GET per job per second.
+ *
+ * - Back-pressure: at most {@code maxPendingJobs} jobs can be awaited at once (one permit each); further
+ *   registrations are refused before the Job is created.
+ * - Watch loss: fabric8 re-lists and re-watches on its own; if the informer stops for good it is recreated and
+ *   jobs that disappeared in the meantime are failed. A periodic resync re-delivers every cached Job.
+ * - The informer is started lazily so nodes running the Docker runner never talk to the API server.
+ */
+@Slf4j
+public class KubernetesJobWatcher implements AutoCloseable {
+
+    public static final String MANAGED_BY_LABEL = "app.kubernetes.io/managed-by";
+    public static final String MANAGED_BY_VALUE = "mlapp";
+    private static final long INITIAL_SYNC_TIMEOUT_SECONDS = 30;
+
+    private final KubernetesClient kubernetesClient;
+    private final String namespace;
+    private final int maxPendingJobs;
+    private final long resyncPeriodMs;
+
+    private final Map<String, Awaited> pending = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile SharedIndexInformer<Job> informer;
+    private volatile boolean closed;
+    private boolean everStarted;
+
+    public KubernetesJobWatcher(KubernetesClient kubernetesClient, String namespace, int maxPendingJobs, long resyncPeriodMs) {
+        this.kubernetesClient = kubernetesClient;
+        this.namespace = namespace;
+        this.maxPendingJobs = maxPendingJobs;
+        this.slots = new Semaphore(maxPendingJobs);
+        this.resyncPeriodMs = resyncPeriodMs;
+    }
+
+    /**
+     * Starts tracking a job. Must be called before the Job is created so no event can be missed.
+     *
+     * @throws IllegalStateException if too many jobs are already being awaited
+     */
+    public CompletableFuture<Job> register(String jobName) {
+        if (closed) {
+            throw new IllegalStateException("Kubernetes job watcher is closed");
+        }
+        if (!slots.tryAcquire()) {
+            throw new IllegalStateException("Too many Kubernetes jobs in flight (" + maxPendingJobs + "), retry later");
+        }
+        Awaited awaited = new Awaited(new CompletableFuture<>(), new CompletableFuture<>());
+        Awaited existing = pending.putIfAbsent(jobName, awaited);
+        if (existing != null) {
+            // Already registered: it holds its own permit
+            slots.release();
+            awaited = existing;
+        }
+        ensureStarted();
+
+        SharedIndexInformer<Job> current = informer;
+        Job cached = current != null ? current.getStore().getByKey(namespace + "/" + jobName) : null;
+        if (cached != null) {
+            onJobEvent(cached);
+        }
+        return awaited.finished();
+    }
+
+    /**
+     * Future that completes once the registered job has an active pod (or has already finished),
+     * and completes exceptionally if the Job is deleted first.
+     *
+     * @throws IllegalStateException if the job is not registered
+     */
+    public CompletableFuture<Job> started(String jobName) {
+        Awaited awaited = pending.get(jobName);
+        if (awaited == null) {
+            throw new IllegalStateException("Kubernetes job not registered: " + jobName);
+        }
+        return awaited.started();
+    }
+
+    /**
+     * Stops tracking a job; call once the caller is done waiting (success, failure or timeout).
+     */
+    public void unregister(String jobName) {
+        if (pending.remove(jobName) != null) {
+            slots.release();
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        SharedIndexInformer<Job> current = informer;
+        if (current != null) {
+            current.close();
+        }
+        IllegalStateException closedError = new IllegalStateException("Kubernetes job watcher closed");
+        pending.values().forEach(a -> {
+            a.started().completeExceptionally(closedError);
+            a.finished().completeExceptionally(closedError);
+        });
+        pending.clear();
+    }
+
+    private void ensureStarted() {
+        if (informer != null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (informer == null && !closed) {
+                informer = startInformer();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SharedIndexInformer<Job> startInformer() {
+        log.info("👀 Starting Job informer: namespace={}, selector={}={}", namespace, MANAGED_BY_LABEL, MANAGED_BY_VALUE);
+
+        SharedIndexInformer<Job> created = kubernetesClient.batch().v1().jobs()
+                .inNamespace(namespace)
+                .withLabel(MANAGED_BY_LABEL, MANAGED_BY_VALUE)
+                .runnableInformer(resyncPeriodMs);
+
+        created.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(Job job) {
+                onJobEvent(job);
+            }
+
+            @Override
+            public void onUpdate(Job oldJob, Job newJob) {
+                onJobEvent(newJob);
+            }
+
+            @Override
+            public void onDelete(Job job, boolean deletedFinalStateUnknown) {
+                onJobDeleted(job);
+            }
+        });
+        // Keep retrying list/watch failures instead of giving up on the first API server hiccup
+        created.exceptionHandler((isStarted, t) -> {
+            log.warn("⚠️ Job informer error (will retry): {}", t.getMessage());
+            return true;
+        });
+        created.stopped().whenComplete((ignored, error) -> onInformerStopped(created, error));
+
+        if (everStarted) {
+            Set<String> awaitedBeforeRestart = Set.copyOf(pending.keySet());
+            created.start().thenRun(() -> failMissingJobs(created, awaitedBeforeRestart));
+        } else {
+            // Wait for the initial list so a job created and deleted right after registration is not missed
+            try {
+                created.start().toCompletableFuture().get(INITIAL_SYNC_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                log.warn("⚠️ Job informer not synced after {}s, continuing in background", INITIAL_SYNC_TIMEOUT_SECONDS);
+            } catch (ExecutionException e) {
+                log.warn("⚠️ Job informer failed to start: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        everStarted = true;
+        return created;
+    }
+
+    private void onInformerStopped(SharedIndexInformer<Job> stopped, Throwable error) {
+        if (closed) {
+            return;
+        }
+        log.warn("⚠️ Job informer stopped{}; restarting", error != null ? " (" + error.getMessage() + ")" : "");
+        lock.lock();
+        try {
+            if (informer == stopped) {
+                informer = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!pending.isEmpty()) {
+            ensureStarted();
+        }
+    }
+
+    /**
+     * After a restart the store holds every live Job; an awaited job that is not there was deleted while unwatched.
+     */
+    private void failMissingJobs(SharedIndexInformer<Job> started, Set<String> awaited) {
+        for (String jobName : awaited) {
+            if (started.getStore().getByKey(namespace + "/" + jobName) == null) {
+                fail(jobName, "Job deleted while watch was down: " + jobName);
+            }
+        }
+    }
+
+    private void onJobEvent(Job job) {
+        String jobName = job.getMetadata().getName();
+        Awaited awaited = pending.get(jobName);
+        if (awaited == null) {
+            return;
+        }
+        if (isFinished(job)) {
+            awaited.started().complete(job);
+            awaited.finished().complete(job);
+        } else if (job.getMetadata().getDeletionTimestamp() != null) {
+            fail(jobName, "Job deleted: " + jobName);
+        } else if (hasActivePod(job)) {
+            awaited.started().complete(job);
+        }
+    }
+
+    private void onJobDeleted(Job job) {
+        String jobName = job.getMetadata().getName();
+        Awaited awaited = pending.get(jobName);
+        if (awaited == null) {
+            return;
+        }
+        // A finished Job may be removed by its TTL before we saw the final update
+        if (isFinished(job)) {
+            awaited.started().complete(job);
+            awaited.finished().complete(job);
+        } else {
+            fail(jobName, "Job deleted: " + jobName);
+        }
+    }
+
+    private void fail(String jobName, String reason) {
+        Awaited awaited = pending.get(jobName);
+        if (awaited == null) {
+            return;
+        }
+        IllegalStateException error = new IllegalStateException(reason);
+        awaited.started().completeExceptionally(error);
+        if (awaited.finished().completeExceptionally(error)) {
+            log.info("🛑 {}", reason);
+        }
+    }
+
+    private static boolean hasActivePod(Job job) {
+        JobStatus status = job.getStatus();
+        return status != null && status.getActive() != null && status.getActive() > 0;
+    }
+
+    public static boolean isFinished(Job job) {
+        return isSucceeded(job) || isFailed(job);
+    }
+
+    public static boolean isSucceeded(Job job) {
+        JobStatus status = job.getStatus();
+        return status != null && status.getSucceeded() != null && status.getSucceeded() > 0;
+    }
+
+    public static boolean isFailed(Job job) {
+        JobStatus status = job.getStatus();
+        return status != null && status.getFailed() != null && status.getFailed() > 0;
+    }
+
+    private record Awaited(CompletableFuture<Job> started, CompletableFuture<Job> finished) {
+    }
+}
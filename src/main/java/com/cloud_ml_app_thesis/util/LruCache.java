@@ -0,0 +1,179 @@
+package com.cloud_ml_app_thesis.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory LRU map bounded by entry count and by total weight, shared by the model, chart and JWT caches.
+ *
+ * Every invalidation bumps a generation. A caller reads {@link #generation()} before it starts loading a value and
+ * passes it to {@link #put}, which drops the value if an invalidation happened in between; otherwise a value
+ * loaded from the old state could be cached after the change that invalidated it.
+ *
+ * All operations hold one lock for a few map operations only; loading happens outside the cache.
+ */
+public class LruCache<K, V> {
+
+    private final ToLongFunction<V> weigher;
+    private final BiConsumer<K, V> onEviction;
+
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long weight;
+    private long generation;
+
+    public LruCache(ToLongFunction<V> weigher) {
+        this(weigher, (key, value) -> {
+        });
+    }
+
+    /**
+     * @param weigher    weight of a value against the {@code maxWeight} of {@link #put}
+     * @param onEviction called, under the lock, for each value evicted to respect the limits
+     */
+    public LruCache(ToLongFunction<V> weigher, BiConsumer<K, V> onEviction) {
+        this.weigher = weigher;
+        this.onEviction = onEviction;
+    }
+
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The cached value, marked most recently used, or null.
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches the value unless the cache was invalidated since {@code loadGeneration}, then evicts the least
+     * recently used entries (never the new one) until both limits hold.
+     *
+     * @return false when the value was dropped because of an invalidation
+     */
+    public boolean put(K key, V value, long loadGeneration, int maxEntries, long maxWeight) {
+        lock.lock();
+        try {
+            if (generation != loadGeneration) {
+                return false;
+            }
+            V previous = entries.put(key, value);
+            if (previous != null) {
+                weight -= weigher.applyAsLong(previous);
+            }
+            weight += weigher.applyAsLong(value);
+
+            Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+                Map.Entry<K, V> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                weight -= weigher.applyAsLong(eldest.getValue());
+                it.remove();
+                onEviction.accept(eldest.getKey(), eldest.getValue());
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an entry that is no longer usable (e.g. expired) without invalidating loads in flight.
+     */
+    public void remove(K key, V value) {
+        lock.lock();
+        try {
+            if (entries.remove(key, value)) {
+                weight -= weigher.applyAsLong(value);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the matching entries and invalidates loads in flight.
+     *
+     * @return the number of entries removed
+     */
+    public int invalidateIf(BiPredicate<K, V> filter) {
+        lock.lock();
+        try {
+            generation++;
+            int removed = 0;
+            Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, V> entry = it.next();
+                if (filter.test(entry.getKey(), entry.getValue())) {
+                    weight -= weigher.applyAsLong(entry.getValue());
+                    it.remove();
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            generation++;
+            V removed = entries.remove(key);
+            if (removed != null) {
+                weight -= weigher.applyAsLong(removed);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.cloud_ml_app_thesis.util;
+
+import com.cloud_ml_app_thesis.service.MinioService;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * A MinIO object as a Spring {@link org.springframework.core.io.Resource}, for download endpoints.
+ *
+ * Length, ETag and last-modified are known up front (from a stat), so Spring MVC can answer conditional requests
+ * with 304 and Range requests with 206 without touching the content. Each {@link #getInputStream()} is lazy:
+ * bytes skipped before the first read become the offset of the MinIO GET, so a ranged download only transfers the
+ * requested bytes, and the body is copied to the response through the converter's fixed-size buffer.
+ */
+public class MinioObjectResource extends AbstractResource {
+
+    private final MinioService minioService;
+    private final String bucket;
+    private final String key;
+    private final long size;
+    private final String etag;
+    private final Instant lastModified;
+
+    public MinioObjectResource(MinioService minioService, String bucket, String key, long size, String etag, Instant lastModified) {
+        this.minioService = minioService;
+        this.bucket = bucket;
+        this.key = key;
+        this.size = size;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public String getETag() {
+        return etag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public long lastModified() {
+        return lastModified.toEpochMilli();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getFilename() {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "MinIO object [" + bucket + "/" + key + "]";
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new LazyObjectStream();
+    }
+
+    /**
+     * Opens the MinIO object on the first read, at the position reached by the skips before it.
+     */
+    private class LazyObjectStream extends InputStream {
+
+        private long offset;
+        private InputStream delegate;
+        private boolean closed;
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (delegate != null) {
+                return delegate.skip(n);
+            }
+            ensureOpen();
+            long skipped = Math.max(0, Math.min(n, size - offset));
+            offset += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate().read(b, off, len);
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            return delegate().transferTo(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+
+        private InputStream delegate() throws IOException {
+            ensureOpen();
+            if (delegate == null) {
+                delegate = offset >= size
+                        ? InputStream.nullInputStream()
+                        : minioService.loadObjectAsInputStream(bucket, key, offset);
+            }
+            return delegate;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+        }
+    }
+}
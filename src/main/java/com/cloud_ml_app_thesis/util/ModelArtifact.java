@@ -0,0 +1,427 @@
+package com.cloud_ml_app_thesis.util;
+
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream.BlockSize;
+import weka.core.Instances;
+import weka.core.OptionHandler;
+import weka.core.SerializationHelper;
+import weka.core.Utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Stored form of a Weka model: a small header followed by the LZ4-compressed Java serialization of the model.
+ *
+ * <pre>
+ * magic "MLMA" | version | codec | serialized length (long) | SHA-256 of the serialized bytes (32)
+ * metadata length (int) | metadata | compressed payload
+ * </pre>
+ *
+ * The metadata (model class, options, training header with class index, creation time) comes before the payload,
+ * so {@link #readMetadata} reads it without touching the model; the header is only parsed when asked for.
+ * {@link #readModel} verifies the hash while it deserializes. Both also accept plain serialized models (everything
+ * stored before this format and files from other tools): readModel deserializes them as before, readMetadata
+ * returns null. {@link #unwrap} and {@link #unwrapping} turn an artifact back into plain serialization for the
+ * Weka containers, downloads and other readers.
+ */
+public final class ModelArtifact {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'M', 'L', 'M', 'A'};
+    private static final int CODEC_NONE = 0;
+    private static final int CODEC_LZ4 = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // The payload hash replaces LZ4's own content checksum
+    private static final FramedLZ4CompressorOutputStream.Parameters LZ4 =
+            new FramedLZ4CompressorOutputStream.Parameters(BlockSize.M4, false, false, false);
+
+    /**
+     * What an artifact says about its model.
+     */
+    public static final class Metadata {
+
+        private final int version;
+        private final String modelClass;
+        private final String options;
+        private final String headerArff;
+        private final int classIndex;
+        private final Instant createdAt;
+        private final long serializedBytes;
+        private final String sha256;
+        private Instances header;
+
+        private Metadata(int version, String modelClass, String options, String headerArff, int classIndex,
+                         Instant createdAt, long serializedBytes, String sha256) {
+            this.version = version;
+            this.modelClass = modelClass;
+            this.options = options;
+            this.headerArff = headerArff;
+            this.classIndex = classIndex;
+            this.createdAt = createdAt;
+            this.serializedBytes = serializedBytes;
+            this.sha256 = sha256;
+        }
+
+        public int version() {
+            return version;
+        }
+
+        public String modelClass() {
+            return modelClass;
+        }
+
+        public String options() {
+            return options;
+        }
+
+        public Instant createdAt() {
+            return createdAt;
+        }
+
+        /**
+         * Size of the uncompressed Java serialization.
+         */
+        public long serializedBytes() {
+            return serializedBytes;
+        }
+
+        /**
+         * Hex SHA-256 of the uncompressed Java serialization.
+         */
+        public String sha256() {
+            return sha256;
+        }
+
+        /**
+         * Empty copy of the training data (attributes and class index), or null; parsed on first use.
+         */
+        public synchronized Instances header() throws IOException {
+            if (header == null && headerArff != null) {
+                Instances parsed = new Instances(new StringReader(headerArff));
+                parsed.setClassIndex(classIndex);
+                header = parsed;
+            }
+            return header;
+        }
+
+        public String classAttribute() throws IOException {
+            Instances header = header();
+            return header != null && header.classIndex() >= 0 ? header.classAttribute().name() : null;
+        }
+    }
+
+    private ModelArtifact() {
+    }
+
+    /**
+     * Serializes and packs an in-memory model; {@code trainingData} (may be null) only contributes its header.
+     */
+    public static byte[] write(Object model, Instances trainingData) throws IOException {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(model);
+        }
+        byte[] payload = serialized.toByteArray();
+
+        ByteArrayOutputStream artifact = new ByteArrayOutputStream(payload.length / 2 + 1024);
+        writeHeader(artifact, model.getClass().getName(), options(model),
+                trainingData != null ? new Instances(trainingData, 0) : null, payload.length, sha256(payload));
+        try (OutputStream compressed = new FramedLZ4CompressorOutputStream(artifact, LZ4)) {
+            compressed.write(payload);
+        }
+        return artifact.toByteArray();
+    }
+
+    /**
+     * Packs a model serialized by another process (e.g. the Weka training container) without deserializing it;
+     * {@code trainingData} (may be null) only contributes its header. Files that already are artifacts are copied
+     * as they are.
+     */
+    public static void wrap(Path serialized, String modelClass, String options, Instances trainingData,
+                            Path target) throws IOException {
+        try (InputStream in = Files.newInputStream(serialized)) {
+            if (isArtifact(in.readNBytes(MAGIC.length))) {
+                Files.copy(serialized, target, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            }
+        }
+
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(serialized), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        try (OutputStream out = Files.newOutputStream(target)) {
+            writeHeader(out, modelClass, options, trainingData != null ? new Instances(trainingData, 0) : null,
+                    Files.size(serialized), digest.digest());
+            try (OutputStream compressed = new FramedLZ4CompressorOutputStream(nonClosing(out), LZ4)) {
+                Files.copy(serialized, compressed);
+            }
+        }
+    }
+
+    /**
+     * Reads only the header and metadata of an artifact; null for a plain serialized model.
+     */
+    public static Metadata readMetadata(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        if (!startsWithMagic(buffered)) {
+            return null;
+        }
+        return readHeader(new DataInputStream(buffered)).metadata();
+    }
+
+    /**
+     * Deserializes the model of an artifact, verifying its hash, or a plain serialized model.
+     */
+    public static Object readModel(InputStream in) throws Exception {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        if (!startsWithMagic(buffered)) {
+            return SerializationHelper.read(buffered);
+        }
+        VerifyingStream payload = new VerifyingStream(readHeader(new DataInputStream(buffered)), buffered);
+        // ObjectInputStream reads in tiny pieces; buffer them above the decompressor and the digest
+        Object model = SerializationHelper.read(new BufferedInputStream(nonClosing(payload), BUFFER_SIZE));
+        // ObjectInputStream may stop short of the end; the hash covers every byte
+        payload.transferTo(OutputStream.nullOutputStream());
+        return model;
+    }
+
+    /**
+     * Writes the plain Java serialization of an artifact's model (verifying its hash); plain input is copied.
+     */
+    public static void unwrap(InputStream in, OutputStream out) throws IOException {
+        try (InputStream plain = unwrapping(in)) {
+            plain.transferTo(out);
+        }
+    }
+
+    /**
+     * The plain Java serialization of an artifact's model as a stream, or the input itself for a plain model.
+     * The hash is checked when the end is reached: a corrupt artifact fails its last read with an IOException.
+     */
+    public static InputStream unwrapping(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        if (!startsWithMagic(buffered)) {
+            return buffered;
+        }
+        return new VerifyingStream(readHeader(new DataInputStream(buffered)), buffered);
+    }
+
+    private record Header(Metadata metadata, int codec, byte[] sha256) {
+
+        InputStream payload(InputStream in) throws IOException {
+            return switch (codec) {
+                case CODEC_NONE -> in;
+                case CODEC_LZ4 -> new FramedLZ4CompressorInputStream(in);
+                default -> throw new IOException("Unknown model artifact codec " + codec);
+            };
+        }
+
+        void verify(long length, byte[] actual) throws IOException {
+            if (length != metadata.serializedBytes() || !MessageDigest.isEqual(sha256, actual)) {
+                throw new IOException("Model artifact is corrupt: expected " + metadata.serializedBytes()
+                        + " bytes with SHA-256 " + metadata.sha256() + ", got " + length + " bytes with "
+                        + HexFormat.of().formatHex(actual));
+            }
+        }
+    }
+
+    private static void writeHeader(OutputStream target, String modelClass, String options, Instances header,
+                                    long serializedBytes, byte[] sha256) throws IOException {
+        ByteArrayOutputStream metadataBytes = new ByteArrayOutputStream();
+        DataOutputStream metadata = new DataOutputStream(metadataBytes);
+        metadata.writeLong(System.currentTimeMillis());
+        writeString(metadata, modelClass);
+        writeString(metadata, options);
+        // ARFF header text rather than a serialized Instances, so it stays readable across Weka versions
+        writeString(metadata, header != null ? header.toString() : null);
+        metadata.writeInt(header != null ? header.classIndex() : -1);
+        metadata.flush();
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(CODEC_LZ4);
+        out.writeLong(serializedBytes);
+        out.write(sha256);
+        out.writeInt(metadataBytes.size());
+        metadataBytes.writeTo(out);
+        out.flush();
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        in.readFully(new byte[MAGIC.length]);
+        int version = in.readUnsignedByte();
+        if (version > VERSION) {
+            throw new IOException("Model artifact version " + version + " is newer than supported (" + VERSION + ")");
+        }
+        int codec = in.readUnsignedByte();
+        long serializedBytes = in.readLong();
+        byte[] sha256 = new byte[HASH_LENGTH];
+        in.readFully(sha256);
+        byte[] metadataBytes = new byte[in.readInt()];
+        in.readFully(metadataBytes);
+
+        // Fields added by later versions go after these and are skipped by the length prefix
+        DataInputStream metadata = new DataInputStream(new ByteArrayInputStream(metadataBytes));
+        Instant createdAt = Instant.ofEpochMilli(metadata.readLong());
+        String modelClass = readString(metadata);
+        String options = readString(metadata);
+        String arff = readString(metadata);
+        int classIndex = metadata.readInt();
+        return new Header(new Metadata(version, modelClass, options, arff, classIndex, createdAt, serializedBytes,
+                HexFormat.of().formatHex(sha256)), codec, sha256);
+    }
+
+    private static boolean startsWithMagic(BufferedInputStream in) throws IOException {
+        in.mark(MAGIC.length);
+        byte[] start = in.readNBytes(MAGIC.length);
+        in.reset();
+        return isArtifact(start);
+    }
+
+    private static boolean isArtifact(byte[] start) {
+        return Arrays.equals(start, MAGIC);
+    }
+
+    private static String options(Object model) {
+        return model instanceof OptionHandler handler ? Utils.joinOptions(handler.getOptions()) : null;
+    }
+
+    // writeUTF is limited to 64 KB, too little for headers with many nominal values
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        return newDigest().digest(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static InputStream nonClosing(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static OutputStream nonClosing(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
+
+    /**
+     * The decompressed payload, hashed and counted as it is read; reaching the end verifies it against the header.
+     */
+    private static final class VerifyingStream extends DigestInputStream {
+        private final Header header;
+        private long count;
+        private boolean verified;
+
+        private VerifyingStream(Header header, InputStream in) throws IOException {
+            super(header.payload(in), newDigest());
+            this.header = header;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            } else {
+                verify();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            } else if (n < 0) {
+                verify();
+            }
+            return n;
+        }
+
+        // Skipped bytes still have to go through the digest
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] scratch = new byte[(int) Math.min(BUFFER_SIZE, Math.max(n, 1))];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(scratch, 0, (int) Math.min(scratch.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        private void verify() throws IOException {
+            if (!verified) {
+                verified = true;
+                header.verify(count, getMessageDigest().digest());
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.cloud_ml_app_thesis.util;
+
+import weka.core.Attribute;
+import weka.core.Instance;
+import weka.core.Instances;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Prediction results as CSV, rendered one row at a time while the stream is read (e.g. by a MinIO multipart
+ * upload), so the result never exists as a whole String or byte[] and the dataset is not copied or modified.
+ *
+ * Columns are the prediction dataset's attributes plus a "prediction" column. For a classifier whose class
+ * attribute is named "class" and has missing values, the predictions fill that column instead.
+ * Fields are quoted (RFC 4180) when they contain a comma, quote or line break; missing values are written as "?".
+ */
+public class PredictionCsvInputStream extends InputStream {
+
+    private static final String PREDICTION_COLUMN = "prediction";
+
+    private final Instances dataset;
+    private final List<String> predictions;
+    // Column whose values are replaced by the predictions, or -1 to append a prediction column
+    private final int predictionColumn;
+
+    private final StringBuilder line = new StringBuilder();
+    private byte[] buffer = new byte[0];
+    private int position;
+    // -1 is the header row
+    private int nextRow = -1;
+
+    public PredictionCsvInputStream(Instances dataset, List<String> predictions, boolean isClusterer) {
+        if (predictions.size() != dataset.numInstances()) {
+            throw new IllegalArgumentException("Expected " + dataset.numInstances() + " predictions, got " + predictions.size());
+        }
+        this.dataset = dataset;
+        this.predictions = predictions;
+        this.predictionColumn = isClusterer ? -1 : replacedClassColumn(dataset);
+    }
+
+    private static int replacedClassColumn(Instances dataset) {
+        int classIndex = dataset.classIndex();
+        if (classIndex >= 0 && dataset.classAttribute().name().equalsIgnoreCase("class")
+                && DatasetUtil.hasMissingValues(dataset, classIndex)) {
+            return classIndex;
+        }
+        return -1;
+    }
+
+    /**
+     * Whether the predictions replace the class column (true) or go into an appended "prediction" column.
+     */
+    public boolean replacesClassColumn() {
+        return predictionColumn >= 0;
+    }
+
+    @Override
+    public int read() {
+        if (position >= buffer.length && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int copied = 0;
+        while (copied < length) {
+            if (position >= buffer.length && !fill()) {
+                break;
+            }
+            int chunk = Math.min(length - copied, buffer.length - position);
+            System.arraycopy(buffer, position, target, offset + copied, chunk);
+            position += chunk;
+            copied += chunk;
+        }
+        return copied == 0 ? -1 : copied;
+    }
+
+    private boolean fill() {
+        if (nextRow >= dataset.numInstances()) {
+            return false;
+        }
+        line.setLength(0);
+        if (nextRow < 0) {
+            renderHeader();
+        } else {
+            renderRow(dataset.instance(nextRow), predictions.get(nextRow));
+        }
+        line.append('\n');
+        buffer = line.toString().getBytes(StandardCharsets.UTF_8);
+        position = 0;
+        nextRow++;
+        return true;
+    }
+
+    private void renderHeader() {
+        for (int j = 0; j < dataset.numAttributes(); j++) {
+            if (j > 0) {
+                line.append(',');
+            }
+            appendField(dataset.attribute(j).name());
+        }
+        if (predictionColumn < 0) {
+            line.append(',');
+            appendField(PREDICTION_COLUMN);
+        }
+    }
+
+    private void renderRow(Instance instance, String prediction) {
+        for (int j = 0; j < dataset.numAttributes(); j++) {
+            if (j > 0) {
+                line.append(',');
+            }
+            if (j == predictionColumn) {
+                appendField(prediction);
+            } else {
+                appendValue(instance, j);
+            }
+        }
+        if (predictionColumn < 0) {
+            line.append(',');
+            appendField(prediction);
+        }
+    }
+
+    private void appendValue(Instance instance, int attIndex) {
+        if (instance.isMissing(attIndex)) {
+            line.append('?');
+            return;
+        }
+        Attribute attribute = instance.attribute(attIndex);
+        if (attribute.isNumeric()) {
+            line.append(instance.value(attIndex));
+        } else {
+            appendField(instance.stringValue(attIndex));
+        }
+    }
+
+    private void appendField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -34,7 +34,6 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import weka.core.Instances;
 
 @Component
 @RequiredArgsConstructor
@@ -120,8 +119,8 @@ public class TrainingHelper {
             log.info("🔁 Re-training from modelId={}, trainingId={}", model.getId(), retrainedFrom.getId());
         }
 
-        // ----- Resolve DatasetConfiguration + Instances (με σωστό fallback)
-        Instances datasetInstances;
+        // ----- Resolve DatasetConfiguration (με σωστό fallback)
+        // Τα Instances φορτώνονται από το training που τα χρειάζεται (DatasetService.acquireTrainingInstances)
         DatasetConfiguration datasetConf;
 
         if (hasDatasetId) {
@@ -136,9 +135,6 @@ public class TrainingHelper {
             datasetConf.setUploadDate(ZonedDateTime.now()); // ✅ ευθυγράμμιση με το clustering branch
             datasetConf = datasetConfigurationRepository.save(datasetConf);
 
-            // Φόρτωση από MinIO μέσω DatasetService (✅ όχι απευθείας MinioService)
-            datasetInstances = datasetService.loadTrainingInstances(datasetConf);
-
         } else if (hasDatasetConfId) {
             datasetConf = datasetConfigurationRepository.findById(Integer.parseInt(request.getDatasetConfigurationId()))
                     .orElseThrow(() -> new EntityNotFoundException("DatasetConfiguration not found."));
@@ -148,8 +144,6 @@ public class TrainingHelper {
             if (hasTargetCol) datasetConf.setTargetColumn(request.getTargetClassColumn());
             datasetConf = datasetConfigurationRepository.save(datasetConf);
 
-            datasetInstances = datasetService.loadTrainingInstances(datasetConf); // ✅
-
         } else if (retrainMode) {
             // ✅ Fallback: πάρε το ΠΡΟΗΓΟΥΜΕΝΟ DatasetConfiguration
             DatasetConfiguration baseConf = retrainedFrom.getDatasetConfiguration();
@@ -166,8 +160,6 @@ public class TrainingHelper {
             datasetConf.setStatus(baseConf.getStatus());
             datasetConf = datasetConfigurationRepository.save(datasetConf);
 
-            datasetInstances = datasetService.loadTrainingInstances(datasetConf); // ✅
-
         } else {
             return error("❌ No valid dataset provided.");
         }
@@ -246,7 +238,6 @@ public class TrainingHelper {
                 .training(training)
                 .datasetConfiguration(datasetConf)
                 .algorithmConfiguration(algorithmConf)
-                .dataset(datasetInstances)
                 .build();
     }
 
@@ -0,0 +1,35 @@
+package com.cloud_ml_app_thesis.util;
+
+import com.cloud_ml_app_thesis.service.MinioService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+
+/**
+ * A stored {@link ModelArtifact} served as the plain Java serialization of its model, so downloaded models load in
+ * Weka and other tools as before.
+ *
+ * Length and ETag come from the artifact header (serialized size and SHA-256), so conditional requests are still
+ * answered without reading the model. The stream is decompressed on the fly; a Range request skips through the
+ * decompressed bytes, and the hash is checked when the whole model is read.
+ */
+public class UnwrappedModelResource extends MinioObjectResource {
+
+    private final MinioService minioService;
+    private final String bucket;
+    private final String key;
+
+    public UnwrappedModelResource(MinioService minioService, String bucket, String key,
+                                  ModelArtifact.Metadata metadata, Instant lastModified) {
+        super(minioService, bucket, key, metadata.serializedBytes(), metadata.sha256(), lastModified);
+        this.minioService = minioService;
+        this.bucket = bucket;
+        this.key = key;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return ModelArtifact.unwrapping(minioService.loadObjectAsInputStream(bucket, key));
+    }
+}
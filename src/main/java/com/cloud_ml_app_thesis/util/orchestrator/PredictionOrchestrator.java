@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -106,7 +107,11 @@ public class PredictionOrchestrator {
             );
 
             // Fire and forget - async thread will handle MinIO upload and prediction
-            asyncManager.setupAndPredict(taskId, user, input);
+            try {
+                asyncManager.setupAndPredict(taskId, user, input);
+            } catch (TaskRejectedException e) {
+                TaskRejection.reject(taskStatusService, taskId, e, tempPrediction);
+            }
 
             return taskId;
 
@@ -0,0 +1,40 @@
+package com.cloud_ml_app_thesis.util.orchestrator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.core.task.TaskRejectedException;
+
+import com.cloud_ml_app_thesis.service.TaskStatusService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * What the orchestrators do when the async pools refuse a task they have already registered.
+ */
+@Slf4j
+final class TaskRejection {
+
+    private TaskRejection() {
+    }
+
+    /**
+     * Marks the task FAILED and drops its temp files when the async pools are saturated,
+     * so the task does not stay PENDING forever, then rethrows the rejection.
+     */
+    static void reject(TaskStatusService taskStatusService, String taskId, TaskRejectedException e, Path... tempFiles) {
+        log.warn("🚦 Executor saturated, rejecting task [{}]: {}", taskId, e.getMessage());
+        taskStatusService.taskFailed(taskId, "Server is busy, please retry later");
+        for (Path p : tempFiles) {
+            if (p != null) {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ex) {
+                    log.warn("Failed to delete temp file: {}", p, ex);
+                }
+            }
+        }
+        throw e;
+    }
+}
@@ -2,12 +2,15 @@ package com.cloud_ml_app_thesis.util.orchestrator;
 
 import com.cloud_ml_app_thesis.config.security.AccountDetails;
 import com.cloud_ml_app_thesis.dto.request.train.CustomTrainRequest;
+import com.cloud_ml_app_thesis.dto.request.train.HyperparameterSearchRequest;
 import com.cloud_ml_app_thesis.dto.request.train.TrainingStartRequest;
 import com.cloud_ml_app_thesis.dto.train.DeferredCustomTrainInput;
 import com.cloud_ml_app_thesis.dto.train.DeferredWekaTrainInput;
+import com.cloud_ml_app_thesis.dto.train.HyperparameterSearchSettings;
 import com.cloud_ml_app_thesis.entity.*;
 import com.cloud_ml_app_thesis.entity.dataset.Dataset;
 import com.cloud_ml_app_thesis.entity.model.Model;
+import com.cloud_ml_app_thesis.enumeration.SearchStrategyEnum;
 import com.cloud_ml_app_thesis.enumeration.accessibility.AlgorithmAccessibiltyEnum;
 import com.cloud_ml_app_thesis.enumeration.accessibility.DatasetAccessibilityEnum;
 import com.cloud_ml_app_thesis.repository.dataset.DatasetRepository;
@@ -17,11 +20,15 @@ import com.cloud_ml_app_thesis.repository.*;
 import com.cloud_ml_app_thesis.repository.model.ModelRepository;
 import com.cloud_ml_app_thesis.service.TaskStatusService;
 import com.cloud_ml_app_thesis.util.AsyncManager;
+import com.cloud_ml_app_thesis.util.HyperparameterSearchSpace;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -40,6 +47,13 @@ public class TrainingOrchestrator {
     private final TrainingRepository trainingRepository;
     private final ModelRepository modelRepository;
     private final DatasetRepository datasetRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${training.search.max-trials:50}")
+    private int defaultMaxTrials;
+
+    @Value("${training.search.max-trials-limit:500}")
+    private int maxTrialsLimit;
 
     /**
      * Handles custom algorithm training requests.
@@ -150,7 +164,11 @@ public class TrainingOrchestrator {
             );
 
             // Fire and forget - async thread will handle MinIO upload and training
-            asyncManager.setupAndTrainCustom(taskId, user.getId(), username, user, input);
+            try {
+                asyncManager.setupAndTrainCustom(taskId, user.getId(), username, user, input);
+            } catch (TaskRejectedException e) {
+                TaskRejection.reject(taskStatusService, taskId, e, tempDataset, tempParams);
+            }
 
             return taskId;
 
@@ -178,24 +196,14 @@ public class TrainingOrchestrator {
             Path tempDataset = copyToTemp(request.getFile());
 
             // Build deferred input from request fields
-            DeferredWekaTrainInput input = new DeferredWekaTrainInput(
-                    tempDataset,
-                    tempDataset != null ? request.getFile().getOriginalFilename() : null,
-                    tempDataset != null ? request.getFile().getContentType() : null,
-                    tempDataset != null ? request.getFile().getSize() : 0,
-                    request.getAlgorithmId(),
-                    request.getAlgorithmConfigurationId(),
-                    request.getDatasetId(),
-                    request.getDatasetConfigurationId(),
-                    request.getBasicCharacteristicsColumns(),
-                    request.getTargetClassColumn(),
-                    request.getOptions(),
-                    request.getTrainingId(),
-                    request.getModelId()
-            );
+            DeferredWekaTrainInput input = deferredWekaInput(request, tempDataset);
 
             // Fire and forget - async thread will handle MinIO upload, entity creation, and training
-            asyncManager.setupAndTrainWeka(taskId, user.getId(), username, user, input);
+            try {
+                asyncManager.setupAndTrainWeka(taskId, user.getId(), username, user, input);
+            } catch (TaskRejectedException e) {
+                TaskRejection.reject(taskStatusService, taskId, e, tempDataset);
+            }
 
             return taskId;
 
@@ -206,6 +214,79 @@ public class TrainingOrchestrator {
         }
     }
 
+    /**
+     * Handles hyperparameter search requests over the options of a predefined algorithm.
+     * The search space is validated synchronously; dataset loading and the trials run async.
+     */
+    public String handleSearchRequest(@Valid HyperparameterSearchRequest request, User user) {
+        String username = user.getUsername();
+
+        // ========== VALIDATION (synchronous - throws immediately on error) ==========
+
+        HyperparameterSearchSpace space = HyperparameterSearchSpace.parse(request.getSearchSpace(), objectMapper);
+        int maxTrials = request.getMaxTrials() != null ? request.getMaxTrials() : defaultMaxTrials;
+        if (maxTrials > maxTrialsLimit) {
+            throw new BadRequestException("maxTrials must be at most " + maxTrialsLimit);
+        }
+        HyperparameterSearchSettings settings = new HyperparameterSearchSettings(
+                space,
+                request.getStrategy() != null ? request.getStrategy() : SearchStrategyEnum.GRID,
+                maxTrials,
+                request.getPatience() != null ? request.getPatience() : 0,
+                request.getSeed() != null ? request.getSeed() : 1L
+        );
+        try {
+            // Rejects an oversized grid before anything is uploaded
+            space.candidates(null, settings.strategy(), settings.maxTrials(), settings.seed());
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid searchSpace: " + e.getMessage());
+        }
+
+        // ========== INIT TASK + SAVE TO TEMP + ASYNC (non-blocking) ==========
+
+        String taskId = taskStatusService.initTask(TaskTypeEnum.HYPERPARAMETER_SEARCH, username);
+        log.info("📋 Task initialized [taskId={}] for hyperparameter search", taskId);
+
+        try {
+            Path tempDataset = copyToTemp(request.getFile());
+            DeferredWekaTrainInput input = deferredWekaInput(request, tempDataset);
+
+            try {
+                asyncManager.setupAndSearch(taskId, user, input, settings);
+            } catch (TaskRejectedException e) {
+                TaskRejection.reject(taskStatusService, taskId, e, tempDataset);
+            }
+
+            return taskId;
+
+        } catch (IOException e) {
+            log.error("❌ Failed to create temp files for task [{}]: {}", taskId, e.getMessage(), e);
+            taskStatusService.taskFailed(taskId, "Failed to process uploaded files: " + e.getMessage());
+            throw new RuntimeException("Failed to process uploaded files", e);
+        }
+    }
+
+    private DeferredWekaTrainInput deferredWekaInput(TrainingStartRequest request, Path tempDataset) {
+        return new DeferredWekaTrainInput(
+                tempDataset,
+                tempDataset != null ? request.getFile().getOriginalFilename() : null,
+                tempDataset != null ? request.getFile().getContentType() : null,
+                tempDataset != null ? request.getFile().getSize() : 0,
+                request.getAlgorithmId(),
+                request.getAlgorithmConfigurationId(),
+                request.getDatasetId(),
+                request.getDatasetConfigurationId(),
+                request.getBasicCharacteristicsColumns(),
+                request.getTargetClassColumn(),
+                request.getOptions(),
+                request.getTrainingId(),
+                request.getModelId(),
+                request.getEvaluationStrategy()
+        );
+    }
+
     /**
      * Copies a MultipartFile to a temp file on local disk.
      * This is a fast operation compared to MinIO upload.
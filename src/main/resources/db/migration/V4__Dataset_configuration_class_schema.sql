@@ -0,0 +1,8 @@
+-- ====================================================
+-- V4: Training class schema per dataset configuration
+-- Purpose: Store the class attribute (name, type, values) and selected columns
+--          captured when a training completes, so predictions do not have to
+--          re-download and re-parse the training dataset.
+-- ====================================================
+
+ALTER TABLE dataset_configurations ADD COLUMN IF NOT EXISTS class_schema TEXT;
@@ -0,0 +1,16 @@
+-- ====================================================
+-- V5: Search indexes
+-- Purpose: Support the database-side searches of models, custom algorithms and
+--          executions: date-range filters and the default newest-first sort,
+--          keyword EXISTS subqueries and the per-user execution listing.
+-- ====================================================
+
+CREATE INDEX IF NOT EXISTS idx_models_created_at ON models(created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_model_keywords_keyword_lower ON model_keywords(lower(keyword));
+
+CREATE INDEX IF NOT EXISTS idx_custom_algorithms_created_at ON custom_algorithms(created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_custom_algorithm_keywords_algorithm ON custom_algorithm_keywords(algorithm_id);
+CREATE INDEX IF NOT EXISTS idx_custom_algorithm_keywords_keyword_lower ON custom_algorithm_keywords(lower(keyword));
+
+CREATE INDEX IF NOT EXISTS idx_model_executions_executed_at ON models_executions(executed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_model_executions_user_executed_at ON models_executions(executed_by_user_id, executed_at DESC);
@@ -0,0 +1,23 @@
+-- ====================================================
+-- V6: Trigram search indexes
+-- Purpose: The simple and advanced searches match lower(column) LIKE '%input%'
+--          and rank by similarity(); pg_trgm GIN indexes let both use an index
+--          instead of scanning every model, algorithm and dataset.
+--          pg_trgm is a trusted extension (PostgreSQL 13+), so the database
+--          owner can create it.
+-- ====================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Models: name, description and keywords (category names are few, no index)
+CREATE INDEX IF NOT EXISTS idx_models_name_trgm ON models USING gin (lower(model_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_models_description_trgm ON models USING gin (lower(model_description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_model_keywords_keyword_trgm ON model_keywords USING gin (lower(keyword) gin_trgm_ops);
+
+-- Custom algorithms: name, description and keywords
+CREATE INDEX IF NOT EXISTS idx_custom_algorithms_name_trgm ON custom_algorithms USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_custom_algorithms_description_trgm ON custom_algorithms USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_custom_algorithm_keywords_keyword_trgm ON custom_algorithm_keywords USING gin (lower(keyword) gin_trgm_ops);
+
+-- Datasets: original file name
+CREATE INDEX IF NOT EXISTS idx_datasets_original_file_name_trgm ON datasets USING gin (lower(original_file_name) gin_trgm_ops);
@@ -0,0 +1,49 @@
+-- ====================================================
+-- V7: Foreign key indexes
+-- Purpose: Index the foreign keys V1 left without one. PostgreSQL does not index
+--          the referencing side of a foreign key, so every lookup below and every
+--          ON DELETE CASCADE / SET NULL from the parent row scanned the whole table.
+--          Keys on the small CONST_* lookup tables are left out on purpose.
+-- ====================================================
+
+-- Trainings: the per-user listings filter on user_id (and started_date) and sort
+-- newest first; retrained_from is cleared when the original training is deleted
+CREATE INDEX IF NOT EXISTS idx_trainings_user_started_date ON trainings(user_id, started_date DESC);
+CREATE INDEX IF NOT EXISTS idx_trainings_retrained_from ON trainings(retrained_from);
+
+-- Dataset configurations: training counts per dataset join on dataset_id
+CREATE INDEX IF NOT EXISTS idx_dataset_configurations_dataset ON dataset_configurations(dataset_id);
+
+-- Shares: uk_dataset_shares / uk_model_shares lead with the dataset / model, so
+-- "shared with me" lookups and user deletion need the user columns indexed
+CREATE INDEX IF NOT EXISTS idx_dataset_shares_shared_with ON dataset_shares(shared_with_user_id);
+CREATE INDEX IF NOT EXISTS idx_dataset_shares_shared_by ON dataset_shares(shared_by_user_id);
+CREATE INDEX IF NOT EXISTS idx_model_shares_shared_with ON model_shares(shared_with_user_id);
+CREATE INDEX IF NOT EXISTS idx_model_shares_shared_by ON model_shares(shared_by_user_id);
+
+-- Share history and copies: cascaded from datasets / models on delete
+CREATE INDEX IF NOT EXISTS idx_dataset_share_history_dataset ON dataset_share_history(dataset_id);
+CREATE INDEX IF NOT EXISTS idx_model_share_history_model ON model_share_history(model_id);
+CREATE INDEX IF NOT EXISTS idx_dataset_copies_original_copied_by ON dataset_copies(original_dataset_id, copied_by_user_id);
+
+-- Executions: dataset_id is set to NULL when the prediction dataset is deleted
+CREATE INDEX IF NOT EXISTS idx_model_executions_dataset ON models_executions(dataset_id);
+
+-- Algorithm configurations, images and parameters: looked up by algorithm and
+-- cascaded from custom algorithms, configurations and users
+CREATE INDEX IF NOT EXISTS idx_algorithm_configurations_algorithm ON algorithm_configurations(algorithm_id);
+CREATE INDEX IF NOT EXISTS idx_algorithm_configurations_user ON algorithm_configurations(user_id);
+CREATE INDEX IF NOT EXISTS idx_custom_algorithm_configurations_algorithm ON custom_algorithm_configurations(algorithm_id);
+CREATE INDEX IF NOT EXISTS idx_custom_algorithm_configurations_user ON custom_algorithm_configurations(user_id);
+CREATE INDEX IF NOT EXISTS idx_custom_algorithm_images_algorithm ON custom_algorithm_images(custom_algorithm_id);
+CREATE INDEX IF NOT EXISTS idx_algorithm_parameters_algorithm ON algorithm_parameters(algorithm_id);
+CREATE INDEX IF NOT EXISTS idx_algorithm_parameters_configuration ON algorithm_parameters(configuration_id);
+
+-- Categories: the hierarchy primary key leads with the child, so children of a
+-- parent (and deleting a parent) need parent_category_id indexed
+CREATE INDEX IF NOT EXISTS idx_category_hierarchy_parent ON category_hierarchy(parent_category_id);
+CREATE INDEX IF NOT EXISTS idx_category_request_parents_parent ON category_request_parents(parent_category_id);
+CREATE INDEX IF NOT EXISTS idx_category_history_category ON category_history(category_id);
+
+-- Password reset tokens: looked up and deleted by user
+CREATE INDEX IF NOT EXISTS idx_tokens_user ON tokens(user_id);
@@ -0,0 +1,8 @@
+-- ====================================================
+-- V8: Task progress
+-- Purpose: Long-running in-process tasks (hyperparameter search) publish
+--          their progress as a JSON document on the task row, so status
+--          polls and the task event stream carry it with every update.
+-- ====================================================
+
+ALTER TABLE async_task_status ADD COLUMN IF NOT EXISTS progress TEXT;
@@ -0,0 +1,12 @@
+-- ====================================================
+-- V9: Drop redundant indexes
+-- Purpose: each of these single-column indexes is the leading column of a
+--          composite index added later, which serves every lookup it did,
+--          including the ON DELETE CASCADE from users. Keeping
+--          both only costs writes and space.
+--          - idx_trainings_user (V1)        -> idx_trainings_user_started_date (V7)
+--          - idx_model_executions_user (V1) -> idx_model_executions_user_executed_at (V5)
+-- ====================================================
+
+DROP INDEX IF EXISTS idx_trainings_user;
+DROP INDEX IF EXISTS idx_model_executions_user;
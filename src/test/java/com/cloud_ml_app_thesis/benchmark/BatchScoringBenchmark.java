@@ -0,0 +1,111 @@
+package com.cloud_ml_app_thesis.benchmark;
+
+import com.cloud_ml_app_thesis.util.BatchScoringEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import weka.classifiers.trees.J48;
+import weka.core.Attribute;
+import weka.core.Instances;
+import weka.core.converters.CSVLoader;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legacy per-instance prediction loop vs {@link BatchScoringEngine} on a generated CSV (1M rows by default).
+ *
+ * The legacy loop is the old ModelExecutionService.predictWithClassifier without its per-instance INFO log
+ * (which alone made large files I/O-bound), so the comparison measures scoring only.
+ *
+ * Run: mvn test-compile, then
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        com.cloud_ml_app_thesis.benchmark.BatchScoringBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class BatchScoringBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    private Instances data;
+    private J48 model;
+    private BatchScoringEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path csv = Files.createTempFile("scoring-bench", ".csv");
+        Random random = new Random(7);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("f1,f2,f3,f4,label\n");
+            for (int i = 0; i < rows; i++) {
+                double f1 = random.nextDouble() * 10;
+                double f2 = random.nextDouble() * 10;
+                double f3 = random.nextGaussian();
+                double f4 = random.nextInt(5);
+                String label = f1 + f2 < 8 ? "low" : (f1 > f2 + f3 ? "mid" : "high");
+                writer.write(f1 + "," + f2 + "," + f3 + "," + f4 + "," + label + "\n");
+            }
+        }
+
+        CSVLoader loader = new CSVLoader();
+        loader.setSource(csv.toFile());
+        data = loader.getDataSet();
+        data.setClassIndex(data.numAttributes() - 1);
+        Files.deleteIfExists(csv);
+
+        model = new J48();
+        model.buildClassifier(new Instances(data, 0, Math.min(rows, 20_000)));
+
+        engine = new BatchScoringEngine(0, 5000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public List<String> legacyLoop() throws Exception {
+        Attribute classAttr = data.classAttribute();
+        List<String> predictions = new ArrayList<>();
+        for (int i = 0; i < data.numInstances(); i++) {
+            double pred = model.classifyInstance(data.instance(i));
+            predictions.add(classAttr.isNominal() ? classAttr.value((int) pred) : String.valueOf(pred));
+        }
+        return predictions;
+    }
+
+    @Benchmark
+    public List<String> batchEngine() throws Exception {
+        return engine.scoreClassifier(model, data);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(BatchScoringBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
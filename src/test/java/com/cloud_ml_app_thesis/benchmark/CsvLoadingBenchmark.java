@@ -0,0 +1,141 @@
+package com.cloud_ml_app_thesis.benchmark;
+
+import com.cloud_ml_app_thesis.util.CsvInstancesReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import weka.core.Instances;
+import weka.core.converters.ArffSaver;
+import weka.core.converters.CSVLoader;
+import weka.core.converters.ConverterUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Old CSV -> temp file -> CSVLoader -> ARFF file -> DataSource path vs {@link CsvInstancesReader}
+ * on a generated CSV (500k rows by default): time per load, and peak heap during the load in the iteration output.
+ *
+ * The legacy path is the removed DatasetUtil.csvToArff plus the DataSource read of its output, including
+ * reading the ARFF back as a String for the content log line.
+ *
+ * Run: mvn test-compile, then
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        com.cloud_ml_app_thesis.benchmark.CsvLoadingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class CsvLoadingBenchmark {
+
+    @Param({"500000"})
+    private int rows;
+
+    private Path csv;
+
+    /**
+     * Peak heap used over one load, printed after each iteration (single-shot, so one load per iteration).
+     */
+    @State(Scope.Thread)
+    public static class Heap {
+        private List<MemoryPoolMXBean> pools;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .toList();
+            System.gc();
+            pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        @TearDown(Level.Iteration)
+        public void record() {
+            double peakHeapMb = pools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() / (1024.0 * 1024.0);
+            System.out.printf("peak heap: %.1f MB%n", peakHeapMb);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        csv = Files.createTempFile("loading-bench", ".csv");
+        Random random = new Random(7);
+        String[] colours = {"red", "green", "blue", "yellow"};
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("f1,f2,f3,f4,colour,label\n");
+            for (int i = 0; i < rows; i++) {
+                double f1 = random.nextDouble() * 10;
+                double f2 = random.nextDouble() * 10;
+                writer.write(f1 + "," + f2 + "," + random.nextGaussian() + "," + random.nextInt(100) + ","
+                        + colours[random.nextInt(colours.length)] + "," + (f1 > f2 ? "yes" : "no") + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public Instances legacyArffRoundTrip(Heap heap) throws Exception {
+        File input = File.createTempFile("input", ".csv");
+        File output = File.createTempFile("output", ".arff");
+        try (InputStream in = Files.newInputStream(csv)) {
+            Files.copy(in, input.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            CSVLoader csvLoader = new CSVLoader();
+            csvLoader.setSource(input);
+            Instances data = csvLoader.getDataSet();
+
+            ArffSaver saver = new ArffSaver();
+            saver.setInstances(data);
+            saver.setFile(output);
+            saver.writeBatch();
+            if (Files.readString(output.toPath()).isEmpty()) {
+                throw new IllegalStateException("empty ARFF");
+            }
+            return new ConverterUtils.DataSource(output.getAbsolutePath()).getDataSet();
+        } finally {
+            input.delete();
+            output.delete();
+        }
+    }
+
+    @Benchmark
+    public Instances streamingReader(Heap heap) throws Exception {
+        try (InputStream in = Files.newInputStream(csv)) {
+            return CsvInstancesReader.read(in, "bench");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CsvLoadingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,163 @@
+package com.cloud_ml_app_thesis.benchmark;
+
+import com.cloud_ml_app_thesis.config.JwtCacheProperties;
+import com.cloud_ml_app_thesis.config.security.AccountDetails;
+import com.cloud_ml_app_thesis.config.security.JwtAuthenticationFilter;
+import com.cloud_ml_app_thesis.config.security.JwtTokenFilter;
+import com.cloud_ml_app_thesis.config.security.JwtTokenProvider;
+import com.cloud_ml_app_thesis.config.security.RsaKeyProperties;
+import com.cloud_ml_app_thesis.entity.JwtToken;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.repository.JwtTokenRepository;
+import com.cloud_ml_app_thesis.service.security.AccountDetailsService;
+import com.cloud_ml_app_thesis.service.security.JwtValidationService;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-request cost of the JWT filters for an already logged-in user polling an endpoint: the old filters vs
+ * JwtAuthenticationFilter + JwtTokenFilter backed by JwtValidationService.
+ *
+ * The legacy path is the removed filter code: two filters each verifying the RSA signature twice, one loading
+ * the stored token and one loading the user (two database round trips, simulated with {@code dbLatencyMicros}).
+ *
+ * Run: mvn test-compile, then
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        com.cloud_ml_app_thesis.benchmark.JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    // Simulated database round trip of findByToken / loadUserByUsername
+    @Param({"0", "500"})
+    private long dbLatencyMicros;
+
+    private String token;
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenRepository tokenRepository;
+    private AccountDetailsService accountDetailsService;
+    private JwtAuthenticationFilter authenticationFilter;
+    private JwtTokenFilter tokenFilter;
+    private final HttpServlet endpoint = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) {
+        }
+    };
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+        RsaKeyProperties rsaKeyProperties = Mockito.mock(RsaKeyProperties.class);
+        Mockito.when(rsaKeyProperties.getPublicKey()).thenReturn((RSAPublicKey) keys.getPublic());
+        Mockito.when(rsaKeyProperties.getPrivateKey()).thenReturn((RSAPrivateKey) keys.getPrivate());
+
+        jwtTokenProvider = new JwtTokenProvider(rsaKeyProperties, null);
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationMs", 3_600_000);
+        jwtTokenProvider.init();
+        token = Jwts.builder()
+                .subject("alice")
+                .claim("roles", List.of("ROLE_USER"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(keys.getPrivate())
+                .compact();
+
+        JwtToken stored = new JwtToken();
+        stored.setToken(token);
+        User user = new User();
+        user.setUsername("alice");
+        user.setRoles(Set.of());
+
+        tokenRepository = Mockito.mock(JwtTokenRepository.class);
+        Mockito.when(tokenRepository.findByToken(token)).thenAnswer(inv -> {
+            databaseRoundTrip();
+            return Optional.of(stored);
+        });
+        accountDetailsService = Mockito.mock(AccountDetailsService.class);
+        Mockito.when(accountDetailsService.loadUserByUsername("alice")).thenAnswer(inv -> {
+            databaseRoundTrip();
+            return new AccountDetails(user);
+        });
+
+        JwtValidationService jwtValidationService =
+                new JwtValidationService(jwtTokenProvider, tokenRepository, accountDetailsService, new JwtCacheProperties());
+        authenticationFilter = new JwtAuthenticationFilter(jwtValidationService);
+        tokenFilter = new JwtTokenFilter(jwtValidationService);
+    }
+
+    @Benchmark
+    public Object legacyFilters() {
+        // JwtAuthenticationFilter
+        String username = jwtTokenProvider.extractUsername(token);
+        jwtTokenProvider.validateToken(token);
+        AccountDetails accountDetails = (AccountDetails) accountDetailsService.loadUserByUsername(username);
+        // JwtTokenFilter
+        jwtTokenProvider.extractUsername(token);
+        Optional<JwtToken> storedToken = tokenRepository.findByToken(token);
+        jwtTokenProvider.validateToken(token);
+        return storedToken.isPresent() ? accountDetails : null;
+    }
+
+    @Benchmark
+    public Object cachedFilters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/42");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            new MockFilterChain(endpoint, authenticationFilter, tokenFilter).doFilter(request, response);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void databaseRoundTrip() {
+        if (dbLatencyMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
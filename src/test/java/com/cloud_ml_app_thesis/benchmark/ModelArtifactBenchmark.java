@@ -0,0 +1,111 @@
+package com.cloud_ml_app_thesis.benchmark;
+
+import com.cloud_ml_app_thesis.util.ModelArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import weka.classifiers.trees.RandomForest;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.SerializationHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plain Java serialization (the format models were stored in before) vs {@link ModelArtifact} for a RandomForest
+ * trained on generated data: load time of both, and the metadata-only read of the artifact.
+ * Stored sizes are printed once per trial.
+ *
+ * Run: mvn test-compile, then
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        com.cloud_ml_app_thesis.benchmark.ModelArtifactBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ModelArtifactBenchmark {
+
+    @Param({"20000"})
+    private int rows;
+
+    @Param({"100"})
+    private int trees;
+
+    private byte[] legacy;
+    private byte[] artifact;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            attributes.add(new Attribute("f" + i));
+        }
+        attributes.add(new Attribute("label", List.of("low", "mid", "high")));
+        Instances data = new Instances("artifact-bench", attributes, rows);
+        data.setClassIndex(data.numAttributes() - 1);
+
+        Random random = new Random(7);
+        for (int i = 0; i < rows; i++) {
+            double[] values = new double[data.numAttributes()];
+            for (int f = 0; f < 8; f++) {
+                values[f] = random.nextGaussian() * (f + 1);
+            }
+            double score = values[0] + values[1] - values[2] + random.nextGaussian();
+            values[8] = score < -2 ? 0 : (score < 2 ? 1 : 2);
+            data.add(new DenseInstance(1.0, values));
+        }
+
+        RandomForest model = new RandomForest();
+        model.setNumIterations(trees);
+        model.buildClassifier(data);
+
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        SerializationHelper.write(plain, model);
+        legacy = plain.toByteArray();
+        artifact = ModelArtifact.write(model, data);
+
+        System.out.printf("%nStored size: legacy %,d bytes, artifact %,d bytes (%.1f%%)%n",
+                legacy.length, artifact.length, 100.0 * artifact.length / legacy.length);
+    }
+
+    @Benchmark
+    public Object legacyLoad() throws Exception {
+        return SerializationHelper.read(new ByteArrayInputStream(legacy));
+    }
+
+    @Benchmark
+    public Object artifactLoad() throws Exception {
+        return ModelArtifact.readModel(new ByteArrayInputStream(artifact));
+    }
+
+    @Benchmark
+    public ModelArtifact.Metadata artifactMetadata() throws Exception {
+        return ModelArtifact.readMetadata(new ByteArrayInputStream(artifact));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ModelArtifactBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,158 @@
+package com.cloud_ml_app_thesis.intergration.isolated;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cloud_ml_app_thesis.dto.custom_algorithm.CustomAlgorithmDTO;
+import com.cloud_ml_app_thesis.dto.request.custom_algorithm.CustomAlgorithmSearchRequest;
+import com.cloud_ml_app_thesis.entity.CustomAlgorithm;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.enumeration.accessibility.AlgorithmAccessibiltyEnum;
+import com.cloud_ml_app_thesis.repository.CustomAlgorithmRepository;
+import com.cloud_ml_app_thesis.repository.UserRepository;
+import com.cloud_ml_app_thesis.repository.accessibility.AlgorithmAccessibilityRepository;
+import com.cloud_ml_app_thesis.service.CustomAlgorithmService;
+
+/**
+ * Runs the custom algorithm search (CustomAlgorithmSpecification) against real rows: name match, AND/OR mode,
+ * date range and the access rule that hides admins' private algorithms from other users.
+ *
+ * Every row carries a random tag in its name and description, so rows already in the database never match.
+ * Each test runs in a transaction that is rolled back.
+ *
+ * Prerequisites:
+ * - Database must be running and migrated (users bigspy = ADMIN and nickriz = USER from V2)
+ *
+ * Run from HOST machine:
+ *   docker exec thesis_backend ./mvnw test -Dtest=CustomAlgorithmSearchIT
+ */
+@SpringBootTest
+@ActiveProfiles("docker")
+@Transactional
+public class CustomAlgorithmSearchIT {
+
+    private static final String ADMIN_USERNAME = "bigspy";
+    private static final String USER_USERNAME = "nickriz";
+
+    @Autowired
+    private CustomAlgorithmService customAlgorithmService;
+
+    @Autowired
+    private CustomAlgorithmRepository customAlgorithmRepository;
+
+    @Autowired
+    private AlgorithmAccessibilityRepository accessibilityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String tag;
+    private User admin;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tag = "search-it-" + UUID.randomUUID().toString().substring(0, 8);
+        admin = userRepository.findByUsername(ADMIN_USERNAME)
+                .orElseThrow(() -> new RuntimeException("User not found: " + ADMIN_USERNAME));
+        user = userRepository.findByUsername(USER_USERNAME)
+                .orElseThrow(() -> new RuntimeException("User not found: " + USER_USERNAME));
+
+        save("SVM Text Classifier", "support vectors", user, AlgorithmAccessibiltyEnum.PUBLIC, "2025-10-15T10:00:00");
+        save("Linear Regression Model", "least squares", user, AlgorithmAccessibiltyEnum.PRIVATE, "2025-10-20T10:00:00");
+        save("Neural Net", "support for deep layers", admin, AlgorithmAccessibiltyEnum.PRIVATE, "2025-10-25T10:00:00");
+        save("Admin Forest", "random trees", admin, AlgorithmAccessibiltyEnum.PUBLIC, "2025-10-28T10:00:00");
+        customAlgorithmRepository.flush();
+    }
+
+    @Test
+    void nameMatch_isCaseInsensitiveAndPartial() {
+        CustomAlgorithmSearchRequest request = new CustomAlgorithmSearchRequest();
+        request.setName(tag.toUpperCase() + " svm");
+
+        assertEquals(List.of("SVM Text Classifier"), search(request, user));
+    }
+
+    @Test
+    void andMode_requiresEveryCriterion() {
+        CustomAlgorithmSearchRequest request = new CustomAlgorithmSearchRequest();
+        request.setName(tag);
+        request.setDescription("support");
+        request.setSearchMode(CustomAlgorithmSearchRequest.SearchMode.AND);
+
+        assertEquals(List.of("SVM Text Classifier"), search(request, user));
+        assertEquals(List.of("Neural Net", "SVM Text Classifier"), search(request, admin));
+    }
+
+    @Test
+    void orMode_acceptsAnyCriterion() {
+        CustomAlgorithmSearchRequest request = new CustomAlgorithmSearchRequest();
+        request.setName(tag + " SVM");
+        request.setDescription(tag + " least");
+        request.setSearchMode(CustomAlgorithmSearchRequest.SearchMode.OR);
+
+        assertEquals(List.of("Linear Regression Model", "SVM Text Classifier"), search(request, user));
+
+        request.setSearchMode(CustomAlgorithmSearchRequest.SearchMode.AND);
+        assertEquals(List.of(), search(request, user));
+    }
+
+    @Test
+    void dateRange_coversWholeDaysAndSkipsAdminsPrivateRows() {
+        CustomAlgorithmSearchRequest request = new CustomAlgorithmSearchRequest();
+        request.setName(tag);
+        request.setCreatedAtFrom("2025-10-18");
+        request.setCreatedAtTo("2025-10-25");
+        request.setSearchMode(CustomAlgorithmSearchRequest.SearchMode.AND);
+
+        // Neural Net (admin, PRIVATE) falls in the range but only admins see it
+        assertEquals(List.of("Linear Regression Model"), search(request, user));
+        assertEquals(List.of("Linear Regression Model", "Neural Net"), search(request, admin));
+    }
+
+    @Test
+    void accessRules_hideOtherUsersPrivateAlgorithms() {
+        CustomAlgorithmSearchRequest request = new CustomAlgorithmSearchRequest();
+        request.setName(tag);
+
+        assertEquals(List.of("Admin Forest", "Linear Regression Model", "SVM Text Classifier"), search(request, user));
+        assertEquals(List.of("Admin Forest", "Linear Regression Model", "Neural Net", "SVM Text Classifier"),
+                search(request, admin));
+    }
+
+    private void save(String name, String description, User owner, AlgorithmAccessibiltyEnum accessibility, String createdAt) {
+        customAlgorithmRepository.save(CustomAlgorithm.builder()
+                .name(tag + " " + name)
+                .description(tag + " " + description)
+                .keywords(new ArrayList<>())
+                .images(new ArrayList<>())
+                .parameters(new ArrayList<>())
+                .accessibility(accessibilityRepository.findByName(accessibility).orElseThrow())
+                .createdAt(LocalDateTime.parse(createdAt))
+                .owner(owner)
+                .build());
+    }
+
+    /**
+     * Names of the matching algorithms without the tag, sorted so assertions don't depend on relevance order.
+     */
+    private List<String> search(CustomAlgorithmSearchRequest request, User requester) {
+        return customAlgorithmService.searchCustomAlgorithms(request, requester, 0, 50, "createdAt", "DESC")
+                .stream()
+                .map(CustomAlgorithmDTO::getName)
+                .map(name -> name.substring(tag.length() + 1))
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,430 @@
+package com.cloud_ml_app_thesis.intergration.isolated;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cloud_ml_app_thesis.dto.request.custom_algorithm.CustomAlgorithmSearchRequest;
+import com.cloud_ml_app_thesis.dto.request.model.ModelSearchRequest;
+import com.cloud_ml_app_thesis.entity.CustomAlgorithm;
+import com.cloud_ml_app_thesis.entity.Training;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.dataset.Dataset;
+import com.cloud_ml_app_thesis.enumeration.status.TrainingStatusEnum;
+import com.cloud_ml_app_thesis.repository.AlgorithmImageRepository;
+import com.cloud_ml_app_thesis.repository.CategoryRepository;
+import com.cloud_ml_app_thesis.repository.CustomAlgorithmConfigurationRepository;
+import com.cloud_ml_app_thesis.repository.CustomAlgorithmRepository;
+import com.cloud_ml_app_thesis.repository.PasswordResetTokenRepository;
+import com.cloud_ml_app_thesis.repository.TrainingRepository;
+import com.cloud_ml_app_thesis.repository.UserRepository;
+import com.cloud_ml_app_thesis.repository.dataset.DatasetRepository;
+import com.cloud_ml_app_thesis.repository.dataset.DatasetShareRepository;
+import com.cloud_ml_app_thesis.repository.model.ModelExecutionRepository;
+import com.cloud_ml_app_thesis.repository.model.ModelRepository;
+import com.cloud_ml_app_thesis.specification.CustomAlgorithmSpecification;
+import com.cloud_ml_app_thesis.specification.ModelSpecification;
+import com.cloud_ml_app_thesis.util.DateUtil;
+
+/**
+ * Calls the main repository lookups and checks that PostgreSQL plans each one with its index (V1, V5, V6, V7).
+ *
+ * Each test first seeds a few thousand users and tens of thousands of trainings, models and executions and runs
+ * ANALYZE, so the planner chooses as it would on a production-sized database; the transaction is rolled back.
+ * The statement explained is the first SELECT the repository call sent, with the values it bound, recorded by
+ * the {@link CapturedSql} wrapper around the DataSource.
+ *
+ * Prerequisites:
+ * - Database must be running and migrated
+ *
+ * Run from HOST machine:
+ *   docker exec thesis_backend ./mvnw test -Dtest=QueryPlanIT
+ */
+@SpringBootTest
+@ActiveProfiles("docker")
+@Transactional
+public class QueryPlanIT {
+
+    private static final String SEED = """
+            CREATE TEMP VIEW plan_users AS
+                SELECT id, row_number() OVER (ORDER BY id) n FROM users WHERE username LIKE 'plan-%';
+            CREATE TEMP VIEW plan_categories AS
+                SELECT id, row_number() OVER (ORDER BY id) n FROM categories WHERE name LIKE 'plan-%';
+            CREATE TEMP VIEW plan_datasets AS
+                SELECT id, row_number() OVER (ORDER BY id) n FROM datasets WHERE file_name LIKE 'plan-%';
+            CREATE TEMP VIEW plan_configurations AS
+                SELECT dc.id, d.n FROM dataset_configurations dc JOIN plan_datasets d ON d.id = dc.dataset_id;
+            CREATE TEMP VIEW plan_trainings AS
+                SELECT id, user_id, started_date, row_number() OVER (ORDER BY id) n FROM trainings WHERE results LIKE 'plan-%';
+            CREATE TEMP VIEW plan_models AS
+                SELECT id, row_number() OVER (ORDER BY id) n FROM models WHERE model_name LIKE 'plan-%';
+            CREATE TEMP VIEW plan_algorithms AS
+                SELECT id, owner_id, row_number() OVER (ORDER BY id) n FROM custom_algorithms WHERE name LIKE 'plan-%';
+
+            INSERT INTO users (username, email, status_id)
+            SELECT 'plan-' || g, 'plan-' || g || '@example.com', (SELECT min(id) FROM const_user_statuses)
+            FROM generate_series(1, 2000) g;
+
+            INSERT INTO categories (name) SELECT 'plan-' || g FROM generate_series(1, 200) g;
+            INSERT INTO category_hierarchy (child_category_id, parent_category_id)
+            SELECT child.id, parent.id FROM plan_categories child
+            JOIN plan_categories parent ON parent.n = child.n % 10 + 1
+            WHERE child.n > 10;
+
+            INSERT INTO datasets (user_id, original_file_name, file_name, file_path, file_size, content_type,
+                                  upload_date, accessibility_id, category_id)
+            SELECT u.id, md5(g::text) || '.csv', 'plan-' || g || '.csv', 'plan/' || g, 1024, 'text/csv',
+                   now() - g * interval '1 hour', (SELECT min(id) FROM const_dataset_accessibilities), c.id
+            FROM generate_series(1, 5000) g
+            JOIN plan_users u ON u.n = g % 2000 + 1
+            JOIN plan_categories c ON c.n = g % 200 + 1;
+            INSERT INTO dataset_configurations (target_column, dataset_id) SELECT 'label', id FROM plan_datasets;
+
+            INSERT INTO trainings (started_date, status_id, user_id, dataset_id, version, results)
+            SELECT now() - g * interval '10 minutes', s.ids[1 + g % cardinality(s.ids)], u.id, dc.id, 0, 'plan-' || g
+            FROM generate_series(1, 20000) g
+            CROSS JOIN (SELECT array_agg(id ORDER BY id) ids FROM const_training_statuses) s
+            JOIN plan_users u ON u.n = g % 2000 + 1
+            JOIN plan_configurations dc ON dc.n = g % 5000 + 1;
+
+            INSERT INTO models (training_id, model_type_id, version, accessibility_id, model_name, model_description,
+                                created_at, category_id)
+            SELECT t.id, (SELECT min(id) FROM const_model_types), 0, a.ids[1 + t.n % cardinality(a.ids)],
+                   'plan-' || md5(t.id::text), md5('description-' || t.id), t.started_date, c.id
+            FROM plan_trainings t
+            CROSS JOIN (SELECT array_agg(id ORDER BY id) ids FROM const_model_accessibilites) a
+            JOIN plan_categories c ON c.n = t.n % 200 + 1
+            WHERE t.n % 2 = 0;
+            INSERT INTO model_keywords (model_id, keyword)
+            SELECT m.id, md5(m.id || '-' || k) FROM plan_models m CROSS JOIN generate_series(1, 2) k;
+
+            INSERT INTO models_executions (model_id, executed_at, dataset_id, executed_by_user_id, accessibility_id)
+            SELECT m.id, now() - g * interval '5 minutes', d.id, u.id,
+                   (SELECT min(id) FROM const_model_execution_accessibilities)
+            FROM generate_series(1, 20000) g
+            JOIN plan_models m ON m.n = g % 10000 + 1
+            JOIN plan_datasets d ON d.n = g % 5000 + 1
+            JOIN plan_users u ON u.n = g % 2000 + 1;
+
+            INSERT INTO model_shares (model_id, shared_with_user_id, shared_by_user_id, shared_at)
+            SELECT m.id, with_user.id, by_user.id, now()
+            FROM plan_models m
+            JOIN plan_users with_user ON with_user.n = m.n * 7 % 2000 + 1
+            JOIN plan_users by_user ON by_user.n = m.n % 2000 + 1;
+            INSERT INTO dataset_shares (dataset_id, shared_with_user_id, shared_by_user_id, shared_at)
+            SELECT d.id, with_user.id, by_user.id, now()
+            FROM plan_datasets d
+            JOIN plan_users with_user ON with_user.n = d.n * 7 % 2000 + 1
+            JOIN plan_users by_user ON by_user.n = d.n % 2000 + 1;
+
+            INSERT INTO custom_algorithms (name, description, accessibility_id, created_at, owner_id)
+            SELECT 'plan-' || md5(g::text), md5('description-' || g),
+                   (SELECT min(id) FROM const_algorithm_accessibilities), now() - g * interval '1 hour', u.id
+            FROM generate_series(1, 2000) g
+            JOIN plan_users u ON u.n = g;
+            INSERT INTO custom_algorithm_keywords (algorithm_id, keyword)
+            SELECT a.id, md5(a.id || '-' || k) FROM plan_algorithms a CROSS JOIN generate_series(1, 2) k;
+            INSERT INTO custom_algorithm_images (name, custom_algorithm_id, version, is_active)
+            SELECT 'plan', a.id, 'v' || k, k = 2 FROM plan_algorithms a CROSS JOIN generate_series(1, 2) k;
+            INSERT INTO custom_algorithm_configurations (algorithm_id, user_id) SELECT id, owner_id FROM plan_algorithms;
+
+            INSERT INTO tokens (token, user_id, expiry_date)
+            SELECT 'plan-' || md5(u.id::text), u.id, now() + interval '1 day' FROM plan_users u;
+
+            ANALYZE users, categories, category_hierarchy, datasets, dataset_configurations, trainings, models,
+                    model_keywords, models_executions, model_shares, dataset_shares, custom_algorithms,
+                    custom_algorithm_keywords, custom_algorithm_images, custom_algorithm_configurations, tokens;
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private DatasetRepository datasetRepository;
+
+    @Autowired
+    private DatasetShareRepository datasetShareRepository;
+
+    @Autowired
+    private ModelRepository modelRepository;
+
+    @Autowired
+    private ModelExecutionRepository modelExecutionRepository;
+
+    @Autowired
+    private CustomAlgorithmRepository customAlgorithmRepository;
+
+    @Autowired
+    private AlgorithmImageRepository algorithmImageRepository;
+
+    @Autowired
+    private CustomAlgorithmConfigurationRepository customAlgorithmConfigurationRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DateUtil dateUtil;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute(SEED);
+        user = userRepository.findByUsername("plan-1").orElseThrow();
+    }
+
+    @Test
+    void trainingQueriesUseIndexes() {
+        assertUsesIndex(generatedSql(() -> trainingRepository.findAllFromDate(user, ZonedDateTime.now().minusDays(7))),
+                "idx_trainings_user_started_date");
+
+        List<Integer> datasetIds = jdbcTemplate.queryForList("SELECT id FROM plan_datasets WHERE n <= 3", Integer.class);
+        assertUsesIndex(generatedSql(() -> trainingRepository.countByDatasetIdsAndStatuses(datasetIds,
+                        EnumSet.of(TrainingStatusEnum.RUNNING, TrainingStatusEnum.COMPLETED))),
+                "idx_dataset_configurations_dataset");
+    }
+
+    @Test
+    void modelQueriesUseIndexes() {
+        Training training = trainingRepository.findById(planId("plan_trainings", 2)).orElseThrow();
+        assertUsesIndex(generatedSql(() -> modelRepository.findByTraining(training)),
+                "idx_models_training", "models_training_id_key");
+
+        Integer modelId = planId("plan_models", 1);
+        Integer datasetId = planId("plan_datasets", 1);
+        assertUsesIndex(generatedSql(() -> modelExecutionRepository.findByModelIdAndDatasetId(modelId, datasetId)),
+                "idx_model_executions_model", "idx_model_executions_dataset");
+
+        assertUsesIndex(generatedSql(() -> modelExecutionRepository.findByExecutedByUserWithDetails(user)),
+                "idx_model_executions_user_executed_at");
+
+        // A regular user's model search checks the shares of each candidate model
+        var accessible = ModelSpecification.getModelsByCriteria(new ModelSearchRequest(), user, false, dateUtil);
+        assertUsesIndex(generatedSql(() -> modelRepository.findAll(accessible, PageRequest.of(0, 50))),
+                "uk_model_shares", "idx_model_shares_shared_with");
+    }
+
+    @Test
+    void shareAndAlgorithmQueriesUseIndexes() {
+        Dataset dataset = datasetRepository.findById(planId("plan_datasets", 1)).orElseThrow();
+        assertUsesIndex(generatedSql(() -> datasetShareRepository.findByDatasetAndSharedWithUser(dataset, user)),
+                "uk_dataset_shares", "idx_dataset_shares_shared_with");
+
+        CustomAlgorithm algorithm = customAlgorithmRepository.findById(planId("plan_algorithms", 1)).orElseThrow();
+        assertUsesIndex(generatedSql(() -> algorithmImageRepository.findByCustomAlgorithmAndIsActiveTrue(algorithm)),
+                "idx_custom_algorithm_images_algorithm");
+        assertUsesIndex(generatedSql(() -> customAlgorithmConfigurationRepository.findByAlgorithm(algorithm)),
+                "idx_custom_algorithm_configurations_algorithm");
+
+        assertUsesIndex(generatedSql(() -> passwordResetTokenRepository.findByUser(user)), "idx_tokens_user");
+
+        Integer parentId = planId("plan_categories", 1);
+        assertUsesIndex(generatedSql(() -> categoryRepository.findByParentCategoriesId(parentId)),
+                "idx_category_hierarchy_parent");
+    }
+
+    @Test
+    void simpleSearchQueriesUseTrigramIndexes() {
+        User admin = userRepository.findByUsername("bigspy").orElseThrow();
+
+        ModelSearchRequest models = new ModelSearchRequest();
+        models.setSimpleSearchInput("iris");
+        var modelSpec = ModelSpecification.getModelsByCriteria(models, admin, true, dateUtil);
+        for (CapturedSql.Statement statement : List.of(generatedSql(() -> modelRepository.count(modelSpec)),
+                generatedSql(() -> modelRepository.findAll(modelSpec, PageRequest.of(0, 50))))) {
+            assertUsesIndexes(statement, "idx_models_name_trgm", "idx_models_description_trgm",
+                    "idx_model_keywords_keyword_trgm");
+        }
+
+        CustomAlgorithmSearchRequest algorithms = new CustomAlgorithmSearchRequest();
+        algorithms.setSimpleSearchInput("iris");
+        var algorithmSpec = CustomAlgorithmSpecification.getCustomAlgorithmsByCriteria(algorithms, admin, true, dateUtil);
+        for (CapturedSql.Statement statement : List.of(generatedSql(() -> customAlgorithmRepository.count(algorithmSpec)),
+                generatedSql(() -> customAlgorithmRepository.findAll(algorithmSpec, PageRequest.of(0, 50))))) {
+            assertUsesIndexes(statement, "idx_custom_algorithms_name_trgm", "idx_custom_algorithms_description_trgm",
+                    "idx_custom_algorithm_keywords_keyword_trgm");
+        }
+    }
+
+    private Integer planId(String view, int n) {
+        return jdbcTemplate.queryForObject("SELECT id FROM " + view + " WHERE n = ?", Integer.class, n);
+    }
+
+    /**
+     * The first SELECT the repository call sent (the count of a count, the page of a page).
+     */
+    private CapturedSql.Statement generatedSql(Runnable call) {
+        List<CapturedSql.Statement> statements = CapturedSql.during(call);
+        return statements.stream()
+                .filter(statement -> statement.sql().stripLeading().toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No SELECT sent, got: " + statements));
+    }
+
+    /**
+     * Every one of the indexes must appear in the plan, e.g. one per branch of a UNION.
+     */
+    private void assertUsesIndexes(CapturedSql.Statement statement, String... expectedIndexes) {
+        String plan = explain(statement);
+        assertTrue(Arrays.stream(expectedIndexes).allMatch(plan::contains),
+                "Expected all of " + Arrays.toString(expectedIndexes) + " in the plan of: " + statement.sql() + "\n" + plan);
+    }
+
+    private void assertUsesIndex(CapturedSql.Statement statement, String... expectedIndexes) {
+        String plan = explain(statement);
+        assertTrue(Arrays.stream(expectedIndexes).anyMatch(plan::contains),
+                "Expected one of " + Arrays.toString(expectedIndexes) + " in the plan of: " + statement.sql() + "\n" + plan);
+    }
+
+    /**
+     * EXPLAIN with the values the repository bound, so the planner sees the same statement it planned for the call.
+     */
+    private String explain(CapturedSql.Statement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (CapturedSql.Binding binding : statement.bindings()) {
+                    binding.replay(explain);
+                }
+                List<String> lines = new ArrayList<>();
+                try (ResultSet rs = explain.executeQuery()) {
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                }
+                assertFalse(lines.isEmpty(), "Empty plan for: " + statement.sql());
+                return String.join("\n", lines);
+            }
+        });
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CapturedSql(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * DataSource whose connections record, while {@link #during} runs on the thread, each statement prepared and
+     * the parameters set on it.
+     */
+    static class CapturedSql extends DelegatingDataSource {
+
+        record Binding(Method setter, Object[] args) {
+            void replay(PreparedStatement statement) {
+                try {
+                    setter.invoke(statement, args);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Could not bind " + Arrays.toString(args), e);
+                }
+            }
+        }
+
+        record Statement(String sql, List<Binding> bindings) {
+        }
+
+        private static final ThreadLocal<List<Statement>> recording = new ThreadLocal<>();
+
+        CapturedSql(DataSource target) {
+            super(target);
+        }
+
+        static List<Statement> during(Runnable call) {
+            List<Statement> statements = new ArrayList<>();
+            recording.set(statements);
+            try {
+                call.run();
+            } finally {
+                recording.remove();
+            }
+            return statements;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recordingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recordingConnection(super.getConnection(username, password));
+        }
+
+        private static Connection recordingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                List<Statement> statements = recording.get();
+                if (statements == null || !method.getName().equals("prepareStatement")) {
+                    return result;
+                }
+                Statement statement = new Statement((String) args[0], new ArrayList<>());
+                statements.add(statement);
+                return proxy(PreparedStatement.class, (PreparedStatement) result, (setter, setterArgs, ignored) -> {
+                    if (setter.getName().startsWith("set") && setterArgs != null && setterArgs.length >= 2
+                            && setterArgs[0] instanceof Integer) {
+                        statement.bindings().add(new Binding(setter, setterArgs));
+                    }
+                    return ignored;
+                });
+            });
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result);
+        }
+
+        private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return afterCall.apply(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.cloud_ml_app_thesis.unit_tests.config;
+
+import com.cloud_ml_app_thesis.config.AsyncExecutorConfig;
+import com.cloud_ml_app_thesis.config.AsyncExecutorProperties;
+import com.cloud_ml_app_thesis.config.VirtualThreadTaskExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Submits a burst of simulated container jobs (each blocks until "the container finishes") to the container
+ * executor in both modes, under the same concurrency cap and queue, and records how many jobs it supervises at the
+ * same time and how many platform threads that takes.
+ */
+public class ContainerExecutorLoadTest {
+
+    private static final int JOBS = 400;
+    private static final int MAX_CONCURRENT = 200;
+    private static final int QUEUE = 100;
+
+    @Test
+    void sameCap_bothModesSuperviseAndRejectTheSameJobs() throws Exception {
+        LoadResult platform = runBurst(pool(AsyncExecutorProperties.ExecutionMode.PLATFORM));
+        LoadResult virtual = runBurst(pool(AsyncExecutorProperties.ExecutionMode.VIRTUAL));
+
+        assertFalse(platform.executor instanceof VirtualThreadTaskExecutor);
+        assertInstanceOf(VirtualThreadTaskExecutor.class, virtual.executor);
+        for (LoadResult result : List.of(platform, virtual)) {
+            assertEquals(MAX_CONCURRENT, result.peakConcurrent);
+            assertEquals(JOBS - MAX_CONCURRENT - QUEUE, result.rejected);
+            assertEquals(MAX_CONCURRENT + QUEUE, result.completed);
+        }
+    }
+
+    @Test
+    void sameCap_virtualModeHoldsNoPlatformThreadPerJob() throws Exception {
+        LoadResult platform = runBurst(pool(AsyncExecutorProperties.ExecutionMode.PLATFORM));
+        LoadResult virtual = runBurst(pool(AsyncExecutorProperties.ExecutionMode.VIRTUAL));
+
+        // One pool thread per supervised job against none: jobs run on virtual threads over a few carriers
+        assertEquals(MAX_CONCURRENT, platform.platformJobThreads);
+        assertEquals(0, virtual.platformJobThreads);
+        assertTrue(platform.platformThreadGrowth >= MAX_CONCURRENT,
+                "platform threads started: " + platform.platformThreadGrowth);
+        assertTrue(virtual.platformThreadGrowth < platform.platformThreadGrowth / 4,
+                "platform threads started: " + virtual.platformThreadGrowth + " vs " + platform.platformThreadGrowth);
+    }
+
+    private static AsyncExecutorProperties.Pool pool(AsyncExecutorProperties.ExecutionMode mode) {
+        AsyncExecutorProperties.Pool pool = new AsyncExecutorProperties.Pool(8, MAX_CONCURRENT, QUEUE,
+                AsyncExecutorProperties.RejectionPolicy.ABORT);
+        pool.setMode(mode);
+        return pool;
+    }
+
+    private LoadResult runBurst(AsyncExecutorProperties.Pool pool) throws Exception {
+        AsyncExecutorProperties properties = new AsyncExecutorProperties();
+        properties.setContainer(pool);
+        AsyncTaskExecutor executor = new AsyncExecutorConfig().containerExecutor(properties);
+        if (executor instanceof ThreadPoolTaskExecutor threadPool) {
+            threadPool.initialize();
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int platformThreadsBefore = threads.getThreadCount();
+        Set<Thread> platformJobThreads = ConcurrentHashMap.newKeySet();
+        CountDownLatch containersFinished = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        int rejected = 0;
+        int accepted = 0;
+
+        try {
+            for (int i = 0; i < JOBS; i++) {
+                try {
+                    executor.execute(() -> {
+                        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        if (!Thread.currentThread().isVirtual()) {
+                            platformJobThreads.add(Thread.currentThread());
+                        }
+                        try {
+                            containersFinished.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            running.decrementAndGet();
+                            completed.incrementAndGet();
+                        }
+                    });
+                    accepted++;
+                } catch (TaskRejectedException e) {
+                    rejected++;
+                }
+            }
+
+            int expectedConcurrent = Math.min(accepted, pool.getMaxSize());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (running.get() < expectedConcurrent && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            int peakConcurrent = peak.get();
+            int platformThreadGrowth = threads.getThreadCount() - platformThreadsBefore;
+
+            containersFinished.countDown();
+            deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (completed.get() < accepted && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            return new LoadResult(executor, peakConcurrent, rejected, completed.get(), platformJobThreads.size(),
+                    platformThreadGrowth);
+        } finally {
+            containersFinished.countDown();
+            if (executor instanceof ThreadPoolTaskExecutor threadPool) {
+                threadPool.shutdown();
+            } else if (executor instanceof VirtualThreadTaskExecutor virtual) {
+                virtual.destroy();
+            }
+        }
+    }
+
+    /**
+     * @param platformJobThreads   distinct platform threads that ran a job
+     * @param platformThreadGrowth live platform threads (ThreadMXBean does not count virtual ones) at the peak,
+     *                             minus those before the burst
+     */
+    private record LoadResult(AsyncTaskExecutor executor, int peakConcurrent, int rejected, int completed,
+                              int platformJobThreads, int platformThreadGrowth) {
+    }
+}
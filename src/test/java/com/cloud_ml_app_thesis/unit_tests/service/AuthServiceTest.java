@@ -15,6 +15,7 @@ import com.cloud_ml_app_thesis.enumeration.status.UserStatusEnum;
 import com.cloud_ml_app_thesis.repository.*;
 import com.cloud_ml_app_thesis.repository.status.UserStatusRepository;
 import com.cloud_ml_app_thesis.service.security.AuthService;
+import com.cloud_ml_app_thesis.service.security.JwtValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,6 +42,7 @@ public class AuthServiceTest {
     @Mock private AuthenticationManager authenticationManager;
     @Mock private JwtTokenProvider tokenProvider;
     @Mock private JwtTokenRepository jwtTokenRepository;
+    @Mock private JwtValidationService jwtValidationService;
 
     @InjectMocks private AuthService authService;
 
@@ -210,5 +212,6 @@ public class AuthServiceTest {
         assertTrue(storedToken.isExpired());
         assertNotNull(storedToken.getRevokedAt());
         verify(jwtTokenRepository).save(storedToken);
+        verify(jwtValidationService).invalidateToken(jwtToken);
     }
 }
@@ -0,0 +1,77 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.dto.category.CategoryEdge;
+import com.cloud_ml_app_thesis.repository.CategoryRepository;
+import com.cloud_ml_app_thesis.service.CategoryHierarchyCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryHierarchyCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private CategoryHierarchyCache categoryHierarchyCache;
+
+    /**
+     * 1 -> 2 -> 4 -> 5, 1 -> 3 -> 4 (diamond), 6 on its own.
+     */
+    @BeforeEach
+    void setUp() {
+        when(categoryRepository.findAllIds()).thenReturn(List.of(1, 2, 3, 4, 5, 6));
+        when(categoryRepository.findAllEdges()).thenReturn(List.of(
+                new CategoryEdge(2, 1), new CategoryEdge(3, 1),
+                new CategoryEdge(4, 2), new CategoryEdge(4, 3),
+                new CategoryEdge(5, 4)));
+    }
+
+    @Test
+    void snapshot_resolvesDescendantsAndAncestorsWithoutFurtherQueries() {
+        CategoryHierarchyCache.Snapshot hierarchy = categoryHierarchyCache.snapshot();
+
+        assertEquals(Set.of(1, 2, 3, 4, 5), hierarchy.descendantsAndSelf(1));
+        assertEquals(Set.of(6), hierarchy.descendantsAndSelf(6));
+        assertEquals(Set.of(2, 3), hierarchy.childIds(1));
+        assertEquals(Set.of(4, 3, 2, 1), hierarchy.ancestors(5));
+        assertEquals(0, hierarchy.depth(1));
+        assertEquals(2, hierarchy.depth(4));
+        assertEquals(3, hierarchy.depth(5));
+
+        categoryHierarchyCache.snapshot();
+        verify(categoryRepository, times(1)).findAllIds();
+        verify(categoryRepository, times(1)).findAllEdges();
+    }
+
+    @Test
+    void invalidate_reloadsTheHierarchyOnNextLookup() {
+        categoryHierarchyCache.snapshot();
+        when(categoryRepository.findAllEdges()).thenReturn(List.of(new CategoryEdge(6, 5)));
+
+        categoryHierarchyCache.invalidate();
+
+        assertEquals(Set.of(5, 6), categoryHierarchyCache.snapshot().descendantsAndSelf(5));
+        verify(categoryRepository, times(2)).findAllEdges();
+    }
+
+    @Test
+    void snapshot_toleratesCycles() {
+        when(categoryRepository.findAllEdges()).thenReturn(List.of(new CategoryEdge(2, 1), new CategoryEdge(1, 2)));
+
+        CategoryHierarchyCache.Snapshot hierarchy = categoryHierarchyCache.snapshot();
+
+        assertEquals(Set.of(1, 2), hierarchy.descendantsAndSelf(1));
+        assertEquals(Set.of(1, 2), hierarchy.ancestors(1));
+    }
+}
@@ -13,6 +13,7 @@ import com.cloud_ml_app_thesis.repository.dataset.DatasetRepository;
 import com.cloud_ml_app_thesis.repository.model.ModelRepository;
 import com.cloud_ml_app_thesis.repository.status.CategoryRequestStatusRepository;
 import com.cloud_ml_app_thesis.dto.response.GenericResponse;
+import com.cloud_ml_app_thesis.service.CategoryHierarchyCache;
 import com.cloud_ml_app_thesis.service.CategoryService;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
@@ -41,6 +42,7 @@ class CategoryServiceTest {
     @Mock private ModelRepository modelRepository;
     @Mock private DatasetRepository datasetRepository;
     @Mock ModelMapper modelMapper;
+    @Mock private CategoryHierarchyCache categoryHierarchyCache;
 
     @InjectMocks private CategoryService categoryService;
 
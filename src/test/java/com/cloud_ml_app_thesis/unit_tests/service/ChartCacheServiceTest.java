@@ -0,0 +1,80 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.config.ChartCacheProperties;
+import com.cloud_ml_app_thesis.service.ChartCacheService;
+import com.cloud_ml_app_thesis.service.ChartCacheService.ChartType;
+import com.cloud_ml_app_thesis.service.ChartCacheService.Key;
+import com.cloud_ml_app_thesis.service.ChartCacheService.RenderedChart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChartCacheServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private ChartCacheProperties properties;
+    private ChartCacheService cache;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ChartCacheProperties();
+        properties.setDirectory(directory);
+        cache = new ChartCacheService(properties);
+        renders = new AtomicInteger();
+    }
+
+    @Test
+    void get_rendersOnceAndKeepsTheETag() throws Exception {
+        RenderedChart first = cache.get(key(1, "metrics-1"), renderer("png-1"));
+        RenderedChart second = cache.get(key(1, "metrics-1"), renderer("png-1"));
+
+        assertSame(first, second);
+        assertEquals(1, renders.get());
+        assertNotNull(first.etag());
+        assertNotEquals(first.etag(), cache.get(key(1, "metrics-2"), renderer("png-2")).etag());
+    }
+
+    @Test
+    void get_servesChartsEvictedFromMemoryFromDisk() throws Exception {
+        RenderedChart rendered = cache.get(key(1, "metrics-1"), renderer("png-1"));
+
+        // A new instance has an empty memory tier but the same directory
+        ChartCacheService restarted = new ChartCacheService(properties);
+        RenderedChart fromDisk = restarted.get(key(1, "metrics-1"), renderer("png-1"));
+
+        assertEquals(1, renders.get());
+        assertEquals(rendered.etag(), fromDisk.etag());
+    }
+
+    @Test
+    void invalidate_dropsMemoryAndDiskEntriesOfTheModelOnly() throws Exception {
+        cache.get(key(1, "metrics-1"), renderer("png-1"));
+        cache.get(key(2, "metrics-2"), renderer("png-2"));
+
+        cache.invalidate(1);
+
+        assertEquals(1, cache.size());
+        cache.get(key(1, "metrics-1"), renderer("png-1"));
+        cache.get(key(2, "metrics-2"), renderer("png-2"));
+        assertEquals(3, renders.get());
+    }
+
+    private static Key key(int modelId, String metricsUrl) {
+        return new Key(modelId, ChartType.METRICS_BAR, 600, 400, metricsUrl);
+    }
+
+    private ChartCacheService.Renderer renderer(String content) {
+        return () -> {
+            renders.incrementAndGet();
+            return content.getBytes();
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.config.DatasetSnapshotProperties;
+import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
+import com.cloud_ml_app_thesis.entity.dataset.Dataset;
+import com.cloud_ml_app_thesis.repository.DatasetConfigurationRepository;
+import com.cloud_ml_app_thesis.service.ClassSchemaService;
+import com.cloud_ml_app_thesis.service.DatasetSnapshotRegistry;
+import com.cloud_ml_app_thesis.service.MinioService;
+import com.cloud_ml_app_thesis.util.ColumnProjection;
+import com.cloud_ml_app_thesis.util.DatasetUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import weka.core.Instances;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ClassSchemaServiceTest {
+
+    private static final String TRAINING_CSV = "age,city,grade,label\n"
+            + "34,athens,3,yes\n"
+            + "41,patras,1,no\n"
+            + "29,athens,2,yes\n";
+
+    @Mock
+    private DatasetConfigurationRepository datasetConfigurationRepository;
+
+    @Mock
+    private MinioService minioService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ClassSchemaService classSchemaService;
+    private DatasetConfiguration config;
+
+    @BeforeEach
+    void setUp() {
+        classSchemaService = new ClassSchemaService(datasetConfigurationRepository,
+                new DatasetSnapshotRegistry(new DatasetSnapshotProperties(), minioService), objectMapper);
+        config = new DatasetConfiguration("1,2", "4", null, Dataset.builder().filePath("train-bucket/people.csv").build());
+        config.setId(7);
+    }
+
+    @Test
+    void describe_capturesNominalClassAndSelectedColumns() throws Exception {
+        ClassSchemaService.ClassSchema schema = classSchemaService.describe(config, trainingData("1,2", "4"), true);
+
+        assertEquals("label", schema.classAttributeName());
+        assertTrue(schema.isNominal());
+        assertEquals(List.of("yes", "no"), schema.classValues());
+        assertEquals(List.of("age", "city", "label"), schema.selectedColumns());
+    }
+
+    @Test
+    void describe_numericClassGetsNumericToNominalLabels() throws Exception {
+        ClassSchemaService.ClassSchema schema = classSchemaService.describe(config, trainingData("1", "3"), true);
+
+        assertEquals(ClassSchemaService.ClassType.NUMERIC, schema.classType());
+        assertEquals(List.of("1", "2", "3"), schema.classValues());
+    }
+
+    @Test
+    void describe_numericRegressionTargetKeepsNoLabels() throws Exception {
+        ClassSchemaService.ClassSchema schema = classSchemaService.describe(config, trainingData("1", "3"), false);
+
+        assertEquals(ClassSchemaService.ClassType.NUMERIC, schema.classType());
+        assertTrue(schema.classValues().isEmpty());
+    }
+
+    @Test
+    void get_rebuildsRegressionSchemaForClassificationCaller() throws Exception {
+        config.setTargetColumn("3");
+        config.setClassSchema(objectMapper.writeValueAsString(classSchemaService.describe(config, trainingData("1", "3"), false)));
+        when(minioService.objectSize("train-bucket", "people.csv")).thenReturn((long) TRAINING_CSV.length());
+        when(minioService.loadObjectAsInputStream("train-bucket", "people.csv"))
+                .thenReturn(new ByteArrayInputStream(TRAINING_CSV.getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(classSchemaService.get(config, false).classValues().isEmpty());
+        assertEquals(List.of("1", "2", "3"), classSchemaService.get(config, true).classValues());
+    }
+
+    @Test
+    void get_usesStoredSchemaWithoutReadingTrainingFile() throws Exception {
+        config.setClassSchema(objectMapper.writeValueAsString(classSchemaService.describe(config, trainingData("1,2", "4"), true)));
+
+        ClassSchemaService.ClassSchema first = classSchemaService.get(config, true);
+        ClassSchemaService.ClassSchema second = classSchemaService.get(config, true);
+
+        assertEquals(List.of("yes", "no"), first.classValues());
+        assertSame(first, second);
+        verifyNoInteractions(minioService);
+    }
+
+    @Test
+    void get_rebuildsAndSavesSchemaWhenConfigurationChanged() throws Exception {
+        config.setClassSchema(objectMapper.writeValueAsString(classSchemaService.describe(config, trainingData("1,2", "4"), true)));
+        config.setTargetColumn("3");
+        when(minioService.objectSize("train-bucket", "people.csv")).thenReturn((long) TRAINING_CSV.length());
+        when(minioService.loadObjectAsInputStream("train-bucket", "people.csv"))
+                .thenReturn(new ByteArrayInputStream(TRAINING_CSV.getBytes(StandardCharsets.UTF_8)));
+
+        ClassSchemaService.ClassSchema schema = classSchemaService.get(config, true);
+
+        assertEquals("grade", schema.classAttributeName());
+        ArgumentCaptor<String> saved = ArgumentCaptor.forClass(String.class);
+        verify(datasetConfigurationRepository).updateClassSchema(eq(7), saved.capture());
+        assertEquals(schema, objectMapper.readValue(saved.getValue(), ClassSchemaService.ClassSchema.class));
+    }
+
+    private static Instances trainingData(String basicColumns, String targetColumn) {
+        return DatasetUtil.loadInstances(new ByteArrayInputStream(TRAINING_CSV.getBytes(StandardCharsets.UTF_8)),
+                "people.csv", new ColumnProjection(basicColumns, targetColumn));
+    }
+}
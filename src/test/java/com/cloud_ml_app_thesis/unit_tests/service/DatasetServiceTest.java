@@ -0,0 +1,90 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.dto.dataset.DatasetSelectTableDTO;
+import com.cloud_ml_app_thesis.dto.dataset.DatasetTrainingCount;
+import com.cloud_ml_app_thesis.dto.response.GenericResponse;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.dataset.Dataset;
+import com.cloud_ml_app_thesis.enumeration.status.TrainingStatusEnum;
+import com.cloud_ml_app_thesis.repository.TrainingRepository;
+import com.cloud_ml_app_thesis.repository.dataset.DatasetRepository;
+import com.cloud_ml_app_thesis.service.DatasetService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DatasetServiceTest {
+
+    @Mock
+    private DatasetRepository datasetRepository;
+
+    @Mock
+    private TrainingRepository trainingRepository;
+
+    @InjectMocks
+    private DatasetService datasetService;
+
+    @Test
+    void getDatasets_countsTrainingsForTheWholePageInOneQuery() {
+        List<Dataset> datasets = IntStream.rangeClosed(1, 50).mapToObj(DatasetServiceTest::dataset).toList();
+        when(datasetRepository.findAccessibleDatasetsByUsername(eq("alice"), any(Pageable.class)))
+                .thenAnswer(inv -> new PageImpl<>(datasets, inv.getArgument(1), 5_000));
+        when(trainingRepository.countByDatasetIdsAndStatuses(anyCollection(), anyCollection())).thenReturn(List.of(
+                new DatasetTrainingCount(1, TrainingStatusEnum.COMPLETED, 3),
+                new DatasetTrainingCount(1, TrainingStatusEnum.FAILED, 1),
+                new DatasetTrainingCount(2, TrainingStatusEnum.FAILED, 2)));
+
+        GenericResponse<Page<DatasetSelectTableDTO>> response = datasetService.getDatasets("alice", 0, 50, "uploadDate", "DESC");
+
+        Page<DatasetSelectTableDTO> page = response.getDataHeader();
+        assertEquals(50, page.getNumberOfElements());
+        assertEquals(5_000, page.getTotalElements());
+        assertEquals(3, page.getContent().get(0).getCompleteTrainingCount());
+        assertEquals(1, page.getContent().get(0).getFailedTrainingCount());
+        assertEquals(0, page.getContent().get(1).getCompleteTrainingCount());
+        assertEquals(2, page.getContent().get(1).getFailedTrainingCount());
+        assertEquals(0, page.getContent().get(49).getFailedTrainingCount());
+        assertEquals("owner", page.getContent().get(0).getOwnerUsername());
+
+        verify(trainingRepository, times(1)).countByDatasetIdsAndStatuses(anyCollection(), anyCollection());
+        verifyNoMoreInteractions(trainingRepository);
+    }
+
+    @Test
+    void getDatasets_capsThePageSize() {
+        when(datasetRepository.findAllForListing(any(Pageable.class))).thenReturn(Page.empty());
+
+        datasetService.getDatasets(null, 0, 1_000_000, "uploadDate", "ASC");
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(datasetRepository).findAllForListing(pageable.capture());
+        assertTrue(pageable.getValue().getPageSize() <= 500);
+        assertEquals(Sort.Direction.ASC, pageable.getValue().getSort().getOrderFor("uploadDate").getDirection());
+        verifyNoInteractions(trainingRepository);
+    }
+
+    private static Dataset dataset(int id) {
+        User owner = new User();
+        owner.setUsername("owner");
+        Dataset dataset = new Dataset();
+        dataset.setId(id);
+        dataset.setOriginalFileName("data-" + id + ".csv");
+        dataset.setUser(owner);
+        return dataset;
+    }
+}
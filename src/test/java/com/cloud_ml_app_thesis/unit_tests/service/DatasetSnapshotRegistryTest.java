@@ -0,0 +1,179 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.config.DatasetSnapshotProperties;
+import com.cloud_ml_app_thesis.service.DatasetSnapshotRegistry;
+import com.cloud_ml_app_thesis.service.DatasetSnapshotRegistry.Key;
+import com.cloud_ml_app_thesis.service.DatasetSnapshotRegistry.Lease;
+import com.cloud_ml_app_thesis.util.ColumnProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetSnapshotRegistryTest {
+
+    private static final Key KEY = new Key("train", "iris.csv", new ColumnProjection("1,2", "3"));
+    private static final Key OTHER_KEY = new Key("train", "wine.csv", new ColumnProjection(null, null));
+    private static final long FILE_BYTES = 1024;
+
+    private DatasetSnapshotProperties properties;
+    private DatasetSnapshotRegistry registry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DatasetSnapshotProperties();
+        registry = new DatasetSnapshotRegistry(properties, null);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void acquire_concurrentTrainingsShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<Lease> first = pool.submit(() -> registry.acquire(KEY, FILE_BYTES, () -> {
+                loading.countDown();
+                proceed.await();
+                return dataset(100);
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            List<Future<Lease>> others = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                others.add(pool.submit(() -> registry.acquire(KEY, FILE_BYTES, loader(100))));
+            }
+            proceed.countDown();
+
+            Lease lease = first.get(5, TimeUnit.SECONDS);
+            for (Future<Lease> other : others) {
+                assertSame(lease.instances(), other.get(5, TimeUnit.SECONDS).instances());
+            }
+            assertEquals(0, loads.get(), "waiting trainings must not load the dataset themselves");
+            assertEquals(1, registry.size());
+            assertTrue(registry.weightBytes() > 0);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void close_dropsTheSnapshotWithItsLastLease() throws Exception {
+        Lease first = registry.acquire(KEY, FILE_BYTES, loader(10));
+        Lease second = registry.acquire(KEY, FILE_BYTES, loader(10));
+
+        first.close();
+        first.close();
+        assertEquals(1, registry.size());
+
+        second.close();
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.weightBytes());
+
+        registry.acquire(KEY, FILE_BYTES, loader(10)).close();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void acquire_reservesTheEstimateBeforeLoading() throws Exception {
+        Lease lease = registry.acquire(KEY, FILE_BYTES, () -> {
+            assertEquals(FILE_BYTES, registry.weightBytes(), "the file size must be reserved while parsing");
+            return dataset(10);
+        });
+
+        assertEquals(10 * (48 + 16), registry.weightBytes(), "the reservation becomes the parsed size");
+        lease.close();
+        assertEquals(0, registry.weightBytes());
+    }
+
+    @Test
+    void acquire_waitsForBudgetOverTheLimit() throws Exception {
+        properties.setMaxSize(DataSize.ofBytes(FILE_BYTES));
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            // Alone, a dataset over the budget is still loaded; meanwhile every other load waits
+            Lease first = registry.acquire(KEY, 10 * FILE_BYTES, loader(100));
+            Future<Lease> second = pool.submit(() -> registry.acquire(OTHER_KEY, FILE_BYTES, loader(10)));
+            assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+            assertEquals(1, loads.get());
+
+            // Another training on the same dataset shares it without waiting
+            registry.acquire(KEY, 10 * FILE_BYTES, loader(100)).close();
+            assertEquals(1, loads.get());
+
+            first.close();
+            try (Lease lease = second.get(5, TimeUnit.SECONDS)) {
+                assertEquals(10, lease.instances().numInstances());
+            }
+            assertEquals(2, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void acquire_loadsUnsharedOnceTheBudgetWaitTimesOut() throws Exception {
+        properties.setMaxSize(DataSize.ofBytes(FILE_BYTES));
+        properties.setMaxWait(Duration.ofMillis(100));
+        try (Lease first = registry.acquire(KEY, 10 * FILE_BYTES, loader(100))) {
+            long weight = registry.weightBytes();
+
+            try (Lease unshared = registry.acquire(OTHER_KEY, FILE_BYTES, loader(10))) {
+                assertEquals(10, unshared.instances().numInstances());
+                assertEquals(1, registry.size(), "a timed out load must not be offered to other trainings");
+                assertEquals(weight, registry.weightBytes(), "a timed out load is not counted against the budget");
+            }
+            assertEquals(weight, registry.weightBytes());
+            assertEquals(2, loads.get());
+        }
+        assertEquals(0, registry.weightBytes());
+    }
+
+    @Test
+    void acquire_doesNotKeepFailedLoads() throws Exception {
+        Exception ex = assertThrows(Exception.class, () -> registry.acquire(KEY, FILE_BYTES, () -> {
+            throw new IllegalStateException("unreadable");
+        }));
+        assertEquals("unreadable", ex.getMessage());
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.weightBytes(), "a failed load must give its reservation back");
+
+        try (Lease lease = registry.acquire(KEY, FILE_BYTES, loader(10))) {
+            assertEquals(10, lease.instances().numInstances());
+        }
+    }
+
+    private DatasetSnapshotRegistry.Loader loader(int rows) {
+        return () -> {
+            loads.incrementAndGet();
+            return dataset(rows);
+        };
+    }
+
+    private static Instances dataset(int rows) {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("x"));
+        attributes.add(new Attribute("label", List.of("a", "b")));
+        Instances instances = new Instances("synthetic", attributes, rows);
+        instances.setClassIndex(1);
+        for (int i = 0; i < rows; i++) {
+            instances.add(new DenseInstance(1.0, new double[]{i, i % 2}));
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,220 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.config.JwtCacheProperties;
+import com.cloud_ml_app_thesis.config.security.AccountDetails;
+import com.cloud_ml_app_thesis.config.security.JwtTokenProvider;
+import com.cloud_ml_app_thesis.entity.JwtToken;
+import com.cloud_ml_app_thesis.entity.Role;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.status.UserStatus;
+import com.cloud_ml_app_thesis.enumeration.UserRoleEnum;
+import com.cloud_ml_app_thesis.enumeration.status.UserStatusEnum;
+import com.cloud_ml_app_thesis.repository.JwtTokenRepository;
+import com.cloud_ml_app_thesis.service.security.AccountDetailsService;
+import com.cloud_ml_app_thesis.service.security.JwtValidationService;
+import com.cloud_ml_app_thesis.service.security.UserChangeListener;
+import io.jsonwebtoken.Jwts;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtValidationServiceTest {
+
+    @Mock private JwtTokenProvider jwtTokenProvider;
+    @Mock private JwtTokenRepository tokenRepository;
+    @Mock private AccountDetailsService accountDetailsService;
+
+    private final JwtCacheProperties properties = new JwtCacheProperties();
+    private JwtValidationService jwtValidationService;
+
+    @BeforeEach
+    void setUp() {
+        jwtValidationService = new JwtValidationService(jwtTokenProvider, tokenRepository, accountDetailsService, properties);
+    }
+
+    @Test
+    void validate_repeatedTokenIsServedFromCache() {
+        givenValidToken("token-a", "alice");
+
+        AccountDetails first = jwtValidationService.validate("token-a").orElseThrow();
+        AccountDetails second = jwtValidationService.validate("token-a").orElseThrow();
+
+        assertEquals("alice", second.getUsername());
+        verify(jwtTokenProvider, times(1)).parseClaims("token-a");
+        verify(tokenRepository, times(1)).findByToken("token-a");
+        verify(accountDetailsService, times(1)).loadUserByUsername("alice");
+        assertEquals(1, jwtValidationService.hitCount());
+    }
+
+    @Test
+    void validate_revokedTokenIsRejectedAndNotCached() {
+        JwtToken stored = storedToken("token-a");
+        stored.setRevoked(true);
+        when(jwtTokenProvider.parseClaims("token-a")).thenReturn(claims("alice"));
+        when(tokenRepository.findByToken("token-a")).thenReturn(Optional.of(stored));
+
+        assertTrue(jwtValidationService.validate("token-a").isEmpty());
+        assertTrue(jwtValidationService.validate("token-a").isEmpty());
+
+        verify(tokenRepository, times(2)).findByToken("token-a");
+        verifyNoInteractions(accountDetailsService);
+    }
+
+    @Test
+    void validate_everyRequestGetsItsOwnCopyOfTheCachedAccount() {
+        givenValidToken("token-a", "alice");
+        jwtValidationService.validate("token-a");
+
+        AccountDetails hit = jwtValidationService.validate("token-a").orElseThrow();
+        hit.getUser().setEmail("changed@example.com");
+        hit.getUser().getRoles().clear();
+
+        AccountDetails next = jwtValidationService.validate("token-a").orElseThrow();
+        assertNotSame(hit.getUser(), next.getUser());
+        assertEquals("alice@example.com", next.getUser().getEmail());
+        assertEquals(1, next.getAuthorities().size());
+    }
+
+    @Test
+    void unknownToken_isRejectedByValidateButAuthenticatedBySignature() {
+        when(jwtTokenProvider.parseClaims("token-a")).thenReturn(claims("alice"));
+        when(tokenRepository.findByToken("token-a")).thenReturn(Optional.empty());
+        when(accountDetailsService.loadUserByUsername("alice")).thenAnswer(inv -> account("alice"));
+
+        assertTrue(jwtValidationService.validate("token-a").isEmpty());
+        assertEquals("alice", jwtValidationService.authenticate("token-a").orElseThrow().getUsername());
+        assertEquals("alice", jwtValidationService.authenticate("token-a").orElseThrow().getUsername());
+
+        // Never cached: the database is asked every time
+        verify(tokenRepository, times(3)).findByToken("token-a");
+        assertEquals(0, jwtValidationService.size());
+    }
+
+    @Test
+    void authenticate_rejectsRevokedTokens() {
+        JwtToken stored = storedToken("token-a");
+        stored.setRevoked(true);
+        when(jwtTokenProvider.parseClaims("token-a")).thenReturn(claims("alice"));
+        when(tokenRepository.findByToken("token-a")).thenReturn(Optional.of(stored));
+
+        assertTrue(jwtValidationService.authenticate("token-a").isEmpty());
+        verifyNoInteractions(accountDetailsService);
+    }
+
+    @Test
+    void userChangeListener_dropsTheChangedUsersTokens() {
+        givenValidToken("token-a", "alice");
+        givenValidToken("token-b", "bob");
+        jwtValidationService.validate("token-a");
+        jwtValidationService.validate("token-b");
+        UserChangeListener listener = new UserChangeListener(null, jwtValidationService);
+
+        PostUpdateEvent update = mock(PostUpdateEvent.class);
+        when(update.getEntity()).thenReturn(account("alice").getUser());
+        listener.onPostUpdate(update);
+
+        assertEquals(1, jwtValidationService.size());
+        jwtValidationService.validate("token-a");
+        verify(tokenRepository, times(2)).findByToken("token-a");
+    }
+
+    @Test
+    void invalidateToken_forcesDatabaseCheckOnNextRequest() {
+        givenValidToken("token-a", "alice");
+        jwtValidationService.validate("token-a");
+
+        jwtValidationService.invalidateToken("token-a");
+        jwtValidationService.validate("token-a");
+
+        verify(tokenRepository, times(2)).findByToken("token-a");
+    }
+
+    @Test
+    void invalidateUser_dropsOnlyThatUsersTokens() {
+        givenValidToken("token-a", "alice");
+        givenValidToken("token-b", "alice");
+        givenValidToken("token-c", "bob");
+        jwtValidationService.validate("token-a");
+        jwtValidationService.validate("token-b");
+        jwtValidationService.validate("token-c");
+
+        jwtValidationService.invalidateUser("alice");
+
+        assertEquals(1, jwtValidationService.size());
+        jwtValidationService.validate("token-c");
+        verify(tokenRepository, times(1)).findByToken("token-c");
+    }
+
+    @Test
+    void validate_withCacheDisabledChecksEveryRequest() {
+        properties.setEnabled(false);
+        givenValidToken("token-a", "alice");
+
+        jwtValidationService.validate("token-a");
+        jwtValidationService.validate("token-a");
+
+        verify(tokenRepository, times(2)).findByToken("token-a");
+        assertEquals(0, jwtValidationService.size());
+    }
+
+    @Test
+    void validate_evictsLeastRecentlyUsedBeyondMaxEntries() {
+        properties.setMaxEntries(2);
+        givenValidToken("token-a", "alice");
+        givenValidToken("token-b", "bob");
+        givenValidToken("token-c", "carol");
+
+        jwtValidationService.validate("token-a");
+        jwtValidationService.validate("token-b");
+        jwtValidationService.validate("token-a");
+        jwtValidationService.validate("token-c");
+        jwtValidationService.validate("token-a");
+
+        assertEquals(2, jwtValidationService.size());
+        verify(tokenRepository, times(1)).findByToken("token-a");
+    }
+
+    private void givenValidToken(String token, String username) {
+        when(jwtTokenProvider.parseClaims(token)).thenReturn(claims(username));
+        when(tokenRepository.findByToken(token)).thenReturn(Optional.of(storedToken(token)));
+        lenient().when(accountDetailsService.loadUserByUsername(username)).thenAnswer(inv -> account(username));
+    }
+
+    private static AccountDetails account(String username) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setRoles(new HashSet<>(Set.of(new Role(1, UserRoleEnum.USER, "desc", Set.of()))));
+        user.setStatus(new UserStatus(1, UserStatusEnum.ACTIVE, "active"));
+        return new AccountDetails(user);
+    }
+
+    private static io.jsonwebtoken.Claims claims(String username) {
+        return Jwts.claims()
+                .subject(username)
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .build();
+    }
+
+    private static JwtToken storedToken(String token) {
+        JwtToken stored = new JwtToken();
+        stored.setToken(token);
+        stored.setRevoked(false);
+        stored.setExpired(false);
+        return stored;
+    }
+}
@@ -0,0 +1,139 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.config.ModelCacheProperties;
+import com.cloud_ml_app_thesis.service.ModelCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelCacheServiceTest {
+
+    private ModelCacheProperties properties;
+    private ModelCacheService cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ModelCacheProperties();
+        properties.setMaxEntries(2);
+        properties.setMaxSize(DataSize.ofBytes(1000));
+        cache = new ModelCacheService(properties);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_secondLookupIsServedFromCache() throws Exception {
+        Object first = cache.get(1, "url-1", loader("model-1", 100));
+        Object second = cache.get(1, "url-1", loader("model-1", 100));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void get_differentUrlForSameModelIsADifferentEntry() throws Exception {
+        cache.get(1, "url-1", loader("v1", 100));
+        Object reloaded = cache.get(1, "url-2", loader("v2", 100));
+
+        assertEquals("v2", reloaded);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedWhenEntryLimitReached() throws Exception {
+        cache.get(1, "url-1", loader("m1", 100));
+        cache.get(2, "url-2", loader("m2", 100));
+        cache.get(1, "url-1", loader("m1", 100)); // 1 is now most recently used
+        cache.get(3, "url-3", loader("m3", 100));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+
+        cache.get(1, "url-1", loader("m1", 100));
+        assertEquals(3, loads.get(), "model 1 should still be cached");
+        cache.get(2, "url-2", loader("m2", 100));
+        assertEquals(4, loads.get(), "model 2 should have been evicted");
+    }
+
+    @Test
+    void get_evictsToRespectMemoryBudget() throws Exception {
+        cache.get(1, "url-1", loader("m1", 600));
+        cache.get(2, "url-2", loader("m2", 600));
+
+        assertEquals(1, cache.size());
+        assertEquals(600, cache.weightBytes());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void get_doesNotCacheModelLargerThanBudget() throws Exception {
+        cache.get(1, "url-1", loader("huge", 5000));
+
+        assertEquals(0, cache.size());
+        cache.get(1, "url-1", loader("huge", 5000));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_dropsAllVersionsOfModel() throws Exception {
+        cache.get(1, "url-1", loader("m1", 100));
+        cache.get(2, "url-2", loader("m2", 100));
+
+        cache.invalidate(1);
+
+        assertEquals(1, cache.size());
+        assertEquals(100, cache.weightBytes());
+        cache.get(1, "url-1", loader("m1", 100));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_loadRacingWithInvalidationIsNotCached() throws Exception {
+        cache.get(1, "url-1", () -> {
+            cache.invalidate(1);
+            return new ModelCacheService.LoadedModel("stale", 100);
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_disabledCacheAlwaysLoads() throws Exception {
+        properties.setEnabled(false);
+
+        cache.get(1, "url-1", loader("m1", 100));
+        cache.get(1, "url-1", loader("m1", 100));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void bindTo_exposesHitMissAndEvictionMetrics() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(1, "url-1", loader("m1", 100));
+        cache.get(1, "url-1", loader("m1", 100));
+
+        assertEquals(1.0, registry.get("model.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("model.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(0.0, registry.get("model.cache.evictions").functionCounter().count());
+        assertEquals(1.0, registry.get("model.cache.entries").gauge().value());
+        assertEquals(100.0, registry.get("model.cache.weight.bytes").gauge().value());
+    }
+
+    private ModelCacheService.Loader loader(Object model, long size) {
+        return () -> {
+            loads.incrementAndGet();
+            return new ModelCacheService.LoadedModel(model, size);
+        };
+    }
+}
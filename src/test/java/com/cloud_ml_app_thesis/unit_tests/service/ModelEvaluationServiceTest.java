@@ -0,0 +1,144 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.dto.train.EvaluationResult;
+import com.cloud_ml_app_thesis.dto.train.RegressionEvaluationResult;
+import com.cloud_ml_app_thesis.enumeration.EvaluationStrategyEnum;
+import com.cloud_ml_app_thesis.service.ModelEvaluationService;
+import com.cloud_ml_app_thesis.service.TaskCancellationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import weka.classifiers.AbstractClassifier;
+import weka.classifiers.functions.LinearRegression;
+import weka.classifiers.trees.J48;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instance;
+import weka.core.Instances;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelEvaluationServiceTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private ModelEvaluationService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        service = new ModelEvaluationService(executor, new TaskCancellationRegistry(Duration.ofSeconds(5)),
+                EvaluationStrategyEnum.HOLDOUT, 5, 3, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void evaluateClassifier_mergesEveryFoldAndBuildsTheModelOnAllData() throws Exception {
+        Instances data = classificationData(300);
+        J48 tree = new J48();
+
+        ModelEvaluationService.Outcome<EvaluationResult> outcome =
+                service.evaluateClassifier("task", EvaluationStrategyEnum.STRATIFIED_K_FOLD, tree, data);
+
+        // Every instance is tested exactly once across the folds
+        int tested = outcome.result().getConfusionMatrix().stream()
+                .flatMap(List::stream).mapToInt(Integer::intValue).sum();
+        assertEquals(data.numInstances(), tested);
+        assertEquals(List.of("a", "b", "c"), outcome.result().getClassLabels());
+        assertTrue(outcome.result().getSummary().contains("Stratified 5-fold cross-validation"));
+        assertSame(tree, outcome.model());
+        assertTrue(tree.measureTreeSize() > 1, "final model must be built");
+    }
+
+    @Test
+    void evaluateRegressor_collectsThePredictionsOfEveryRepeat() throws Exception {
+        Instances data = regressionData(100);
+
+        RegressionEvaluationResult result = service.evaluateRegressor(
+                "task", EvaluationStrategyEnum.REPEATED_HOLDOUT, new LinearRegression(), data).result();
+
+        // 3 repeats of a 70/30 split
+        assertEquals(3 * 30, result.getActualValues().size());
+        assertEquals(result.getActualValues().size(), result.getPredictedValues().size());
+        assertTrue(result.getRSquared() > 0.9);
+    }
+
+    @Test
+    void evaluateClassifier_propagatesFoldFailure() {
+        Instances data = classificationData(50);
+
+        Exception ex = assertThrows(Exception.class, () -> service.evaluateClassifier(
+                "task", EvaluationStrategyEnum.K_FOLD, new FailingClassifier(), data));
+        assertEquals("boom", ex.getMessage());
+    }
+
+    @Test
+    void containerSettings_resolveTheDefaultStrategy() {
+        Map<String, Object> settings = service.containerSettings(null);
+
+        assertEquals("HOLDOUT", settings.get("strategy"));
+        assertEquals(5, settings.get("folds"));
+        assertEquals(3, settings.get("repeats"));
+        assertEquals("K_FOLD", service.containerSettings(EvaluationStrategyEnum.K_FOLD).get("strategy"));
+    }
+
+    private static Instances classificationData(int rows) {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("x"));
+        attributes.add(new Attribute("y"));
+        attributes.add(new Attribute("label", List.of("a", "b", "c")));
+        Instances instances = new Instances("synthetic", attributes, rows);
+        instances.setClassIndex(2);
+
+        Random random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            double x = random.nextDouble() * 10;
+            double y = random.nextDouble() * 10;
+            int label = x + y < 7 ? 0 : (x > y ? 1 : 2);
+            instances.add(new DenseInstance(1.0, new double[]{x, y, label}));
+        }
+        return instances;
+    }
+
+    private static Instances regressionData(int rows) {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("x"));
+        attributes.add(new Attribute("target"));
+        Instances instances = new Instances("synthetic", attributes, rows);
+        instances.setClassIndex(1);
+
+        Random random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            double x = random.nextDouble() * 10;
+            instances.add(new DenseInstance(1.0, new double[]{x, 3 * x + random.nextGaussian()}));
+        }
+        return instances;
+    }
+
+    static class FailingClassifier extends AbstractClassifier {
+        @Override
+        public void buildClassifier(Instances data) throws Exception {
+            if (data.numInstances() < 50) {
+                throw new Exception("boom");
+            }
+        }
+
+        @Override
+        public double classifyInstance(Instance instance) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.dto.request.custom_algorithm.CustomAlgorithmSearchRequest;
+import com.cloud_ml_app_thesis.dto.request.execution.ModelExecutionSearchRequest;
+import com.cloud_ml_app_thesis.dto.request.model.ModelSearchRequest;
+import com.cloud_ml_app_thesis.entity.CustomAlgorithm;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.model.Model;
+import com.cloud_ml_app_thesis.entity.model.ModelExecution;
+import com.cloud_ml_app_thesis.enumeration.accessibility.AlgorithmAccessibiltyEnum;
+import com.cloud_ml_app_thesis.specification.CustomAlgorithmSpecification;
+import com.cloud_ml_app_thesis.specification.ModelExecutionSpecification;
+import com.cloud_ml_app_thesis.specification.ModelSpecification;
+import com.cloud_ml_app_thesis.specification.SearchSort;
+import com.cloud_ml_app_thesis.util.DateUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the search specifications against the real entity mappings (no database connection) so a wrong
+ * attribute path or type fails here instead of at the first search request.
+ */
+public class SearchSpecificationTest {
+
+    private static SessionFactory sessionFactory;
+
+    private final DateUtil dateUtil = new DateUtil();
+
+    @BeforeAll
+    static void buildSessionFactory() {
+        sessionFactory = SpecificationSql.sessionFactory();
+    }
+
+    @Test
+    void modelSpecification_buildsForEveryCriterion() {
+        ModelSearchRequest request = new ModelSearchRequest();
+        request.setSimpleSearchInput("public");
+        request.setName("iris");
+        request.setDescription("flowers");
+        request.setKeywords(List.of("Botany", "string"));
+        request.setCategory("science");
+        request.setAccessibility("PRIVATE");
+        request.setModelType("CLASSIFICATION");
+        request.setCreatedAtFrom("2025-01-01");
+        request.setCreatedAtTo("2025-12-31T23:00:00");
+
+        assertBuilds(Model.class, ModelSpecification.getModelsByCriteria(request, user(), false, dateUtil));
+        request.setSearchMode(ModelSearchRequest.SearchMode.AND);
+        assertBuilds(Model.class, ModelSpecification.getModelsByCriteria(request, user(), true, dateUtil));
+        assertBuilds(Model.class, ModelSpecification.getModelsByCriteria(new ModelSearchRequest(), user(), false, dateUtil));
+    }
+
+    @Test
+    void customAlgorithmSpecification_buildsForEveryCriterion() {
+        CustomAlgorithmSearchRequest request = new CustomAlgorithmSearchRequest();
+        request.setSimpleSearchInput("svm");
+        request.setName("SVM");
+        request.setDescription("Support");
+        request.setKeywords(List.of("text"));
+        request.setAccessibility(AlgorithmAccessibiltyEnum.PUBLIC);
+        request.setCreatedAtFrom("not-a-date");
+        request.setCreatedAtTo("2025-10-26");
+
+        assertBuilds(CustomAlgorithm.class, CustomAlgorithmSpecification.getCustomAlgorithmsByCriteria(request, user(), false, dateUtil));
+        assertBuilds(CustomAlgorithm.class, CustomAlgorithmSpecification.getCustomAlgorithmsByCriteria(request, user(), true, dateUtil));
+    }
+
+    @Test
+    void executionSpecification_buildsForEveryCriterion() {
+        ModelExecutionSearchRequest request = new ModelExecutionSearchRequest();
+        request.setExecutedAtFrom("2025-01-01");
+        request.setExecutedAtTo("2025-01-31");
+
+        assertBuilds(ModelExecution.class, ModelExecutionSpecification.getExecutionsByCriteria(request, user(), false, dateUtil));
+        assertBuilds(ModelExecution.class, ModelExecutionSpecification.getExecutionsByCriteria(request, user(), true, dateUtil));
+    }
+
+    @Test
+    void modelSpecification_ranksThePageQueryOnly() {
+        ModelSearchRequest request = new ModelSearchRequest();
+        request.setSimpleSearchInput("Iris");
+        Specification<Model> spec = ModelSpecification.getModelsByCriteria(request, user(), false, dateUtil);
+
+        try (var session = sessionFactory.openSession()) {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+
+            CriteriaQuery<Model> select = cb.createQuery(Model.class);
+            Root<Model> root = select.from(Model.class);
+            select.select(root).where(spec.toPredicate(root, select, cb));
+            // exact / prefix match, similarity, newest first
+            assertEquals(3, select.getOrderList().size());
+            assertDoesNotThrow(() -> session.createQuery(select));
+
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Model> countRoot = count.from(Model.class);
+            count.select(cb.count(countRoot)).where(spec.toPredicate(countRoot, count, cb));
+            assertTrue(count.getOrderList().isEmpty());
+        }
+
+        assertTrue(SearchSort.of("relevance", "DESC").isUnsorted());
+        assertEquals(Sort.Direction.ASC, SearchSort.of("name", "ASC").getOrderFor("name").getDirection());
+    }
+
+    @Test
+    void simpleSearch_unionsOneIndexedBranchPerColumn() {
+        ModelSearchRequest models = new ModelSearchRequest();
+        models.setSimpleSearchInput("public");
+        String modelSql = SpecificationSql.sql(Model.class, ModelSpecification.getModelsByCriteria(models, user(), true, dateUtil));
+        // name, description, keyword, category and accessibility each select ids on their own
+        assertEquals(4, count(modelSql, " union "), modelSql);
+        assertFalse(modelSql.contains(" or "), modelSql);
+
+        CustomAlgorithmSearchRequest algorithms = new CustomAlgorithmSearchRequest();
+        algorithms.setSimpleSearchInput("svm");
+        String algorithmSql = SpecificationSql.sql(CustomAlgorithm.class,
+                CustomAlgorithmSpecification.getCustomAlgorithmsByCriteria(algorithms, user(), true, dateUtil));
+        assertEquals(2, count(algorithmSql, " union "), algorithmSql);
+        assertFalse(algorithmSql.contains(" or "), algorithmSql);
+    }
+
+    private static int count(String text, String part) {
+        return text.split(part, -1).length - 1;
+    }
+
+    /**
+     * Builds the page query and its count query the way Spring Data does and lets Hibernate resolve them.
+     */
+    private static <T> void assertBuilds(Class<T> entity, Specification<T> spec) {
+        try (var session = sessionFactory.openSession()) {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+
+            CriteriaQuery<T> select = cb.createQuery(entity);
+            Root<T> root = select.from(entity);
+            select.select(root).where(spec.toPredicate(root, select, cb));
+            assertDoesNotThrow(() -> session.createQuery(select));
+
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<T> countRoot = count.from(entity);
+            count.select(cb.count(countRoot)).where(spec.toPredicate(countRoot, count, cb));
+            assertDoesNotThrow(() -> session.createQuery(count));
+        }
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("alice");
+        return user;
+    }
+}
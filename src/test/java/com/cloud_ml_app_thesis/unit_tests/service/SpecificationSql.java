@@ -0,0 +1,77 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A Hibernate SessionFactory over the real entity mappings, without a database connection, shared by the tests
+ * that check what SQL a search Specification turns into.
+ */
+final class SpecificationSql {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+    private static SessionFactory sessionFactory;
+
+    private SpecificationSql() {
+    }
+
+    static synchronized SessionFactory sessionFactory() {
+        if (sessionFactory == null) {
+            var registry = new StandardServiceRegistryBuilder()
+                    .applySetting("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                    .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false")
+                    .applySetting("hibernate.connection.provider_class",
+                            "org.hibernate.engine.jdbc.connections.internal.UserSuppliedConnectionProviderImpl")
+                    .applySetting("hibernate.session_factory.statement_inspector", (StatementInspector) sql -> {
+                        statements.add(sql);
+                        return sql;
+                    })
+                    .build();
+            MetadataSources sources = new MetadataSources(registry);
+
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+            try {
+                for (BeanDefinition entity : scanner.findCandidateComponents("com.cloud_ml_app_thesis.entity")) {
+                    sources.addAnnotatedClass(Class.forName(entity.getBeanClassName()));
+                }
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            sessionFactory = sources.buildMetadata().buildSessionFactory();
+        }
+        return sessionFactory;
+    }
+
+    /**
+     * The SQL Hibernate sends for the page query; executing it fails afterwards since there is no connection.
+     */
+    static synchronized <T> String sql(Class<T> entity, Specification<T> spec) {
+        SessionFactory factory = sessionFactory();
+        statements.clear();
+        try (var session = factory.openSession()) {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<T> select = cb.createQuery(entity);
+            Root<T> root = select.from(entity);
+            select.select(root).where(spec.toPredicate(root, select, cb));
+            assertThrows(RuntimeException.class, () -> session.createQuery(select).getResultList());
+        }
+        assertEquals(1, statements.size(), statements::toString);
+        return statements.get(0).toLowerCase();
+    }
+}
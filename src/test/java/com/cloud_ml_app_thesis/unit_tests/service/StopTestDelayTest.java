@@ -0,0 +1,195 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.config.BucketResolver;
+import com.cloud_ml_app_thesis.config.PathResolver;
+import com.cloud_ml_app_thesis.dto.train.CustomTrainMetadata;
+import com.cloud_ml_app_thesis.entity.AsyncTaskStatus;
+import com.cloud_ml_app_thesis.entity.CustomAlgorithm;
+import com.cloud_ml_app_thesis.entity.CustomAlgorithmImage;
+import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
+import com.cloud_ml_app_thesis.entity.ModelType;
+import com.cloud_ml_app_thesis.entity.Training;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.accessibility.CustomAlgorithmAccessibility;
+import com.cloud_ml_app_thesis.entity.status.TrainingStatus;
+import com.cloud_ml_app_thesis.enumeration.ModelTypeEnum;
+import com.cloud_ml_app_thesis.enumeration.accessibility.AlgorithmAccessibiltyEnum;
+import com.cloud_ml_app_thesis.enumeration.status.TaskStatusEnum;
+import com.cloud_ml_app_thesis.enumeration.status.TrainingStatusEnum;
+import com.cloud_ml_app_thesis.repository.AlgorithmConfigurationRepository;
+import com.cloud_ml_app_thesis.repository.AlgorithmImageRepository;
+import com.cloud_ml_app_thesis.repository.CustomAlgorithmConfigurationRepository;
+import com.cloud_ml_app_thesis.repository.CustomAlgorithmRepository;
+import com.cloud_ml_app_thesis.repository.DatasetConfigurationRepository;
+import com.cloud_ml_app_thesis.repository.ModelTypeRepository;
+import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
+import com.cloud_ml_app_thesis.repository.TrainingRepository;
+import com.cloud_ml_app_thesis.repository.model.ModelRepository;
+import com.cloud_ml_app_thesis.repository.status.TrainingStatusRepository;
+import com.cloud_ml_app_thesis.service.CustomTrainingService;
+import com.cloud_ml_app_thesis.service.MinioService;
+import com.cloud_ml_app_thesis.service.ModelService;
+import com.cloud_ml_app_thesis.service.StopTestDelay;
+import com.cloud_ml_app_thesis.service.TaskCancellationRegistry;
+import com.cloud_ml_app_thesis.service.TaskStatusService;
+import com.cloud_ml_app_thesis.util.ContainerRunner;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * StopTestDelay is off unless tasks.stop-test-delay is set, and CustomTrainingService pauses at both of its stop
+ * checkpoints (before training, after the model upload), each followed by a stop check.
+ */
+@ExtendWith(MockitoExtension.class)
+public class StopTestDelayTest {
+
+    private static final String TASK_ID = "task";
+
+    @Mock private CustomAlgorithmRepository customAlgorithmRepository;
+    @Mock private BucketResolver bucketResolver;
+    @Mock private MinioService minioService;
+    @Mock private TrainingRepository trainingRepository;
+    @Mock private ModelService modelService;
+    @Mock private ContainerRunner containerRunner;
+    @Mock private TrainingStatusRepository trainingStatusRepository;
+    @Mock private TaskStatusRepository taskStatusRepository;
+    @Mock private ModelTypeRepository modelTypeRepository;
+    @Mock private DatasetConfigurationRepository datasetConfigurationRepository;
+    @Mock private ModelRepository modelRepository;
+    @Mock private AlgorithmConfigurationRepository algorithmConfigurationRepository;
+    @Mock private CustomAlgorithmConfigurationRepository customAlgorithmConfigurationRepository;
+    @Mock private AlgorithmImageRepository algorithmImageRepository;
+    @Mock private TaskStatusService taskStatusService;
+    @Mock private PathResolver pathResolver;
+    @Mock private EntityManager entityManager;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private TaskCancellationRegistry cancellationRegistry;
+
+    // The value the service gets when tasks.stop-test-delay is not set
+    @Spy
+    private StopTestDelay stopTestDelay = new StopTestDelay(null, DurationStyle.detectAndParse("0s"));
+
+    @InjectMocks
+    private CustomTrainingService customTrainingService;
+
+    @TempDir
+    Path tempDir;
+
+    private final UUID userId = UUID.randomUUID();
+    private final CustomTrainMetadata metadata = new CustomTrainMetadata("data.csv", "datasets", 3, 5, null, null);
+
+    private void stubTrainingStart() {
+        AsyncTaskStatus task = new AsyncTaskStatus();
+        task.setTaskId(TASK_ID);
+        task.setStatus(TaskStatusEnum.RUNNING);
+
+        User owner = new User();
+        owner.setId(userId);
+        CustomAlgorithmImage image = new CustomAlgorithmImage();
+        image.setActive(true);
+        image.setDockerHubUrl("owner/algorithm:1");
+        CustomAlgorithm algorithm = CustomAlgorithm.builder()
+                .id(5)
+                .name("algorithm")
+                .owner(owner)
+                .accessibility(new CustomAlgorithmAccessibility(1, AlgorithmAccessibiltyEnum.PRIVATE, null))
+                .images(new ArrayList<>(List.of(image)))
+                .parameters(new ArrayList<>())
+                .keywords(new ArrayList<>())
+                .build();
+
+        DatasetConfiguration datasetConfig = new DatasetConfiguration();
+        datasetConfig.setId(3);
+        datasetConfig.setTargetColumn("label");
+
+        when(taskStatusRepository.findById(TASK_ID)).thenReturn(Optional.of(task));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(customAlgorithmRepository.findWithOwnerById(5)).thenReturn(Optional.of(algorithm));
+        when(trainingStatusRepository.findByName(TrainingStatusEnum.RUNNING)).thenReturn(Optional.of(new TrainingStatus()));
+        when(datasetConfigurationRepository.findById(3)).thenReturn(Optional.of(datasetConfig));
+        when(trainingRepository.save(any())).thenAnswer(invocation -> {
+            Training training = invocation.getArgument(0);
+            training.setId(7);
+            return training;
+        });
+    }
+
+    @Test
+    void pause_returnsImmediatelyByDefault() throws Exception {
+        StopTestDelay delay = new StopTestDelay(cancellationRegistry, DurationStyle.detectAndParse("0s"));
+
+        long start = System.nanoTime();
+        delay.pause(TASK_ID, "before training");
+
+        assertFalse(delay.isEnabled());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 50);
+        verifyNoInteractions(cancellationRegistry);
+    }
+
+    @Test
+    void trainCustom_pausesBeforeTrainingThenHonoursAStop() throws Exception {
+        stubTrainingStart();
+        when(taskStatusService.stopRequested(TASK_ID)).thenReturn(true);
+
+        customTrainingService.trainCustom(TASK_ID, userId, "owner", metadata);
+
+        verify(stopTestDelay).pause(TASK_ID, "before training");
+        verify(stopTestDelay, never()).pause(TASK_ID, "after the model upload");
+        verifyNoInteractions(containerRunner);
+        verify(taskStatusService).taskStoppedTraining(TASK_ID, 7, null);
+    }
+
+    @Test
+    void trainCustom_pausesAfterTheModelUploadThenHonoursAStop() throws Exception {
+        stubTrainingStart();
+        Path dataset = Files.writeString(tempDir.resolve("data.csv"), "x,label\n1,a\n");
+        Path shared = Files.createDirectories(tempDir.resolve("shared"));
+        when(minioService.downloadObjectToTempFile("datasets", "data.csv")).thenReturn(dataset);
+        when(pathResolver.getSharedPathRoot()).thenReturn(shared);
+        when(customAlgorithmConfigurationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        doAnswer(invocation -> {
+            Path outputDir = invocation.getArgument(2);
+            Files.writeString(outputDir.resolve("model.pkl"), "model");
+            Files.writeString(outputDir.resolve("metrics.json"), "{}");
+            return null;
+        }).when(containerRunner).runTrainingContainer(eq("owner/algorithm:1"), any(), any(), any());
+        when(bucketResolver.resolve(any())).thenReturn("bucket");
+        when(modelService.generateMinioUrl(anyString(), anyString())).thenReturn("http://minio/bucket/object");
+        when(modelTypeRepository.findByName(ModelTypeEnum.CUSTOM)).thenReturn(Optional.of(new ModelType(ModelTypeEnum.CUSTOM)));
+        // Not stopped before training nor before the container, stopped at the last checkpoint
+        when(taskStatusService.stopRequested(TASK_ID)).thenReturn(false, false, true);
+
+        customTrainingService.trainCustom(TASK_ID, userId, "owner", metadata);
+
+        var order = inOrder(stopTestDelay, containerRunner, modelService, taskStatusService);
+        order.verify(stopTestDelay).pause(TASK_ID, "before training");
+        order.verify(containerRunner).runTrainingContainer(eq("owner/algorithm:1"), any(), any(), any());
+        order.verify(modelService).saveModel(any(), anyString(), anyString(), isNull(), isNull(), any());
+        order.verify(stopTestDelay).pause(TASK_ID, "after the model upload");
+        order.verify(taskStatusService).taskStoppedTraining(TASK_ID, 7, null);
+        verify(minioService, times(2)).deleteObject(eq("bucket"), anyString());
+        verify(modelRepository, never()).findByTraining(any());
+    }
+}
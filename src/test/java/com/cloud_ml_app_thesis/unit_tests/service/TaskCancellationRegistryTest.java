@@ -0,0 +1,198 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.entity.AsyncTaskStatus;
+import com.cloud_ml_app_thesis.exception.UserInitiatedStopException;
+import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
+import com.cloud_ml_app_thesis.service.TaskCancellationRegistry;
+import com.cloud_ml_app_thesis.service.TaskEventHub;
+import com.cloud_ml_app_thesis.service.TaskStatusService;
+import com.cloud_ml_app_thesis.util.ContainerRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import weka.classifiers.functions.MultilayerPerceptron;
+import weka.classifiers.meta.AdaBoostM1;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskCancellationRegistryTest {
+
+    private static final String TASK_ID = "task-1";
+
+    @Mock private TaskStatusRepository taskStatusRepository;
+    @Mock private ContainerRunner containerRunner;
+    @Mock private TaskEventHub taskEventHub;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private TaskCancellationRegistry registry;
+    private TaskStatusService taskStatusService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TaskCancellationRegistry(Duration.ofMinutes(1));
+        taskStatusService = new TaskStatusService(taskStatusRepository, new ModelMapper(), containerRunner,
+                taskEventHub, registry, eventPublisher);
+    }
+
+    @Test
+    void stopTask_interruptsBlockedWorker() throws Exception {
+        givenStoppableTask();
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Long> stoppedAt = runWorker(() -> registry.runInterruptibly(TASK_ID, () -> {
+            started.countDown();
+            Thread.sleep(60_000);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        long requestedAt = System.nanoTime();
+        taskStatusService.stopTask(TASK_ID, "alice");
+
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(stoppedAt.get(5, TimeUnit.SECONDS) - requestedAt);
+        System.out.printf("Stop latency (blocked worker): %d ms%n", latencyMillis);
+        assertTrue(latencyMillis < 1_000, "worker stopped after " + latencyMillis + " ms");
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void stopTask_abortsIterativeWekaBuild() throws Exception {
+        givenStoppableTask();
+        Instances data = dataset(2_000, 10);
+        MultilayerPerceptron mlp = new MultilayerPerceptron();
+        // Far more epochs than the test waits for
+        mlp.setTrainingTime(1_000_000);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Long> stoppedAt = runWorker(() -> {
+            started.countDown();
+            registry.buildClassifier(TASK_ID, mlp, data);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+
+        long requestedAt = System.nanoTime();
+        taskStatusService.stopTask(TASK_ID, "alice");
+
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(stoppedAt.get(10, TimeUnit.SECONDS) - requestedAt);
+        System.out.printf("Stop latency (MultilayerPerceptron build): %d ms%n", latencyMillis);
+        assertTrue(latencyMillis < 2_000, "build stopped after " + latencyMillis + " ms");
+    }
+
+    @Test
+    void stopRequested_readsDatabaseOnlyOncePerIntervalForLocalTasks() {
+        when(taskStatusRepository.findStopRequested(TASK_ID)).thenReturn(false);
+        TaskCancellationRegistry.CancellationToken token = registry.register(TASK_ID);
+        try {
+            for (int i = 0; i < 100; i++) {
+                assertFalse(taskStatusService.stopRequested(TASK_ID));
+            }
+            registry.cancel(TASK_ID);
+            assertTrue(taskStatusService.stopRequested(TASK_ID));
+        } finally {
+            registry.unregister(token);
+        }
+
+        verify(taskStatusRepository, times(1)).findStopRequested(TASK_ID);
+    }
+
+    @Test
+    void stopRequested_picksUpStopFromAnotherNode() {
+        when(taskStatusRepository.findStopRequested(TASK_ID)).thenReturn(true);
+        TaskCancellationRegistry.CancellationToken token = registry.register(TASK_ID);
+        try {
+            assertTrue(taskStatusService.stopRequested(TASK_ID));
+            assertTrue(registry.isCancelled(TASK_ID));
+            assertThrows(UserInitiatedStopException.class, () -> registry.checkpoint(TASK_ID));
+        } finally {
+            registry.unregister(token);
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void buildClassifier_iterativeBuildMatchesBuildClassifier() throws Exception {
+        Instances data = dataset(300, 5);
+        AdaBoostM1 reference = new AdaBoostM1();
+        reference.buildClassifier(data);
+
+        AdaBoostM1 stepwise = new AdaBoostM1();
+        TaskCancellationRegistry.CancellationToken token = registry.register(TASK_ID);
+        try {
+            registry.buildClassifier(TASK_ID, stepwise, data);
+        } finally {
+            registry.unregister(token);
+        }
+
+        assertEquals(reference.toString(), stepwise.toString());
+    }
+
+    private void givenStoppableTask() {
+        AsyncTaskStatus task = AsyncTaskStatus.builder().taskId(TASK_ID).username("alice").build();
+        when(taskStatusRepository.findById(TASK_ID)).thenReturn(Optional.of(task));
+        when(taskStatusRepository.updateStopRequested(TASK_ID, true)).thenReturn(1);
+    }
+
+    /**
+     * Runs the work as a registered worker; completes with System.nanoTime() when it stopped on a stop request.
+     */
+    private CompletableFuture<Long> runWorker(TaskCancellationRegistry.InterruptibleWork work) {
+        CompletableFuture<Long> stoppedAt = new CompletableFuture<>();
+        Thread worker = new Thread(() -> {
+            TaskCancellationRegistry.CancellationToken token = registry.register(TASK_ID);
+            try {
+                work.run();
+                stoppedAt.completeExceptionally(new AssertionError("worker finished without being stopped"));
+            } catch (UserInitiatedStopException e) {
+                stoppedAt.complete(System.nanoTime());
+            } catch (Throwable e) {
+                stoppedAt.completeExceptionally(e);
+            } finally {
+                registry.unregister(token);
+            }
+        }, "weka-test-worker");
+        worker.setDaemon(true);
+        worker.start();
+        return stoppedAt;
+    }
+
+    private static Instances dataset(int rows, int attributes) {
+        ArrayList<Attribute> attrs = new ArrayList<>();
+        for (int a = 0; a < attributes; a++) {
+            attrs.add(new Attribute("x" + a));
+        }
+        attrs.add(new Attribute("class", List.of("yes", "no")));
+        Instances data = new Instances("synthetic", attrs, rows);
+        data.setClassIndex(attributes);
+
+        Random random = new Random(7);
+        for (int r = 0; r < rows; r++) {
+            double[] values = new double[attributes + 1];
+            double sum = 0;
+            for (int a = 0; a < attributes; a++) {
+                values[a] = random.nextGaussian();
+                sum += values[a];
+            }
+            values[attributes] = sum + random.nextGaussian() * 0.5 > 0 ? 0 : 1;
+            data.add(new DenseInstance(1.0, values));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,136 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.config.AsyncExecutorConfig;
+import com.cloud_ml_app_thesis.config.security.AccountDetails;
+import com.cloud_ml_app_thesis.controller.AsyncTaskStatusController;
+import com.cloud_ml_app_thesis.dto.task.TaskStatusChangedEvent;
+import com.cloud_ml_app_thesis.entity.AsyncTaskStatus;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.enumeration.status.TaskStatusEnum;
+import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
+import com.cloud_ml_app_thesis.service.TaskEventHub;
+import com.cloud_ml_app_thesis.service.TaskStatusService;
+import com.cloud_ml_app_thesis.service.TrainService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskEventHubTest {
+
+    private static final String TASK_ID = "task-1";
+
+    @Mock private TaskStatusRepository taskStatusRepository;
+    @Mock private TaskStatusService taskStatusService;
+    @Mock private TrainService trainService;
+
+    private TaskEventHub taskEventHub;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        taskEventHub = new TaskEventHub(taskStatusRepository, new ModelMapper(), Duration.ofMinutes(1));
+        AsyncTaskStatusController controller = new AsyncTaskStatusController(taskStatusService, taskEventHub, taskStatusRepository, trainService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+
+        User user = new User();
+        user.setUsername("alice");
+        user.setRoles(Set.of());
+        AccountDetails principal = new AccountDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void events_pushOnlyNewVersionsAndEndWithFinalStatus() throws Exception {
+        givenTask(1, TaskStatusEnum.RUNNING);
+        MockHttpServletResponse response = mockMvc.perform(get("/api/tasks/{id}/events", TASK_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        assertEquals(1, countStatusEvents(response));
+        assertTrue(response.getContentAsString().contains("\"status\":\"RUNNING\""));
+
+        // Same version again (e.g. a save that changed nothing visible): nothing is pushed
+        taskEventHub.onTaskStatusChanged(new TaskStatusChangedEvent(TASK_ID));
+        assertEquals(1, countStatusEvents(response));
+
+        givenTask(2, TaskStatusEnum.COMPLETED);
+        taskEventHub.onTaskStatusChanged(new TaskStatusChangedEvent(TASK_ID));
+
+        assertEquals(2, countStatusEvents(response));
+        assertTrue(response.getContentAsString().contains("id:2"));
+        assertTrue(response.getContentAsString().contains("\"status\":\"COMPLETED\""));
+        assertEquals(0, taskEventHub.subscriberCount(TASK_ID));
+    }
+
+    @Test
+    void stopRequested_isPushedToSubscribers() throws Exception {
+        givenTask(1, TaskStatusEnum.RUNNING);
+        MockHttpServletResponse response = mockMvc.perform(get("/api/tasks/{id}/events", TASK_ID))
+                .andReturn().getResponse();
+
+        taskEventHub.stopRequested(TASK_ID);
+
+        assertTrue(response.getContentAsString().contains("event:" + TaskEventHub.STOP_REQUESTED_EVENT));
+        assertEquals(1, taskEventHub.subscriberCount(TASK_ID));
+    }
+
+    @Test
+    void changeWithoutSubscribers_doesNotReadTheTask() {
+        taskEventHub.onTaskStatusChanged(new TaskStatusChangedEvent(TASK_ID));
+
+        verifyNoInteractions(taskStatusRepository);
+    }
+
+    @Test
+    void onTaskStatusChanged_fansOutOnTheStoragePoolNotTheCommittingWorker() throws Exception {
+        Async async = TaskEventHub.class.getMethod("onTaskStatusChanged", TaskStatusChangedEvent.class)
+                .getAnnotation(Async.class);
+
+        assertNotNull(async, "the SSE fan-out must not run on the worker thread that committed the status");
+        assertEquals(AsyncExecutorConfig.STORAGE_EXECUTOR, async.value());
+    }
+
+    private void givenTask(int version, TaskStatusEnum status) {
+        AsyncTaskStatus task = AsyncTaskStatus.builder()
+                .taskId(TASK_ID)
+                .status(status)
+                .username("alice")
+                .version(version)
+                .build();
+        when(taskStatusRepository.findById(TASK_ID)).thenReturn(Optional.of(task));
+    }
+
+    private static int countStatusEvents(MockHttpServletResponse response) throws Exception {
+        String content = response.getContentAsString();
+        return content.split("event:" + TaskEventHub.STATUS_EVENT + "\n", -1).length - 1;
+    }
+}
@@ -0,0 +1,175 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.config.BucketResolver;
+import com.cloud_ml_app_thesis.config.DatasetSnapshotProperties;
+import com.cloud_ml_app_thesis.dto.train.PredefinedTrainMetadata;
+import com.cloud_ml_app_thesis.entity.Algorithm;
+import com.cloud_ml_app_thesis.entity.AlgorithmConfiguration;
+import com.cloud_ml_app_thesis.entity.AlgorithmType;
+import com.cloud_ml_app_thesis.entity.AsyncTaskStatus;
+import com.cloud_ml_app_thesis.entity.DatasetConfiguration;
+import com.cloud_ml_app_thesis.entity.ModelType;
+import com.cloud_ml_app_thesis.entity.Training;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.entity.model.Model;
+import com.cloud_ml_app_thesis.entity.status.TrainingStatus;
+import com.cloud_ml_app_thesis.enumeration.AlgorithmTypeEnum;
+import com.cloud_ml_app_thesis.enumeration.EvaluationStrategyEnum;
+import com.cloud_ml_app_thesis.enumeration.ModelTypeEnum;
+import com.cloud_ml_app_thesis.enumeration.status.TaskStatusEnum;
+import com.cloud_ml_app_thesis.enumeration.status.TrainingStatusEnum;
+import com.cloud_ml_app_thesis.repository.AlgorithmConfigurationRepository;
+import com.cloud_ml_app_thesis.repository.AlgorithmTypeRepository;
+import com.cloud_ml_app_thesis.repository.DatasetConfigurationRepository;
+import com.cloud_ml_app_thesis.repository.ModelTypeRepository;
+import com.cloud_ml_app_thesis.repository.TaskStatusRepository;
+import com.cloud_ml_app_thesis.repository.TrainingRepository;
+import com.cloud_ml_app_thesis.repository.model.ModelRepository;
+import com.cloud_ml_app_thesis.repository.status.TrainingStatusRepository;
+import com.cloud_ml_app_thesis.service.ClassSchemaService;
+import com.cloud_ml_app_thesis.service.DatasetService;
+import com.cloud_ml_app_thesis.service.DatasetSnapshotRegistry;
+import com.cloud_ml_app_thesis.service.MinioService;
+import com.cloud_ml_app_thesis.service.ModelEvaluationService;
+import com.cloud_ml_app_thesis.service.ModelService;
+import com.cloud_ml_app_thesis.service.PredefinedModelStore;
+import com.cloud_ml_app_thesis.service.StopTestDelay;
+import com.cloud_ml_app_thesis.service.TaskCancellationRegistry;
+import com.cloud_ml_app_thesis.service.TaskStatusService;
+import com.cloud_ml_app_thesis.service.TrainService;
+import com.cloud_ml_app_thesis.util.ColumnProjection;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guards against fixed delays creeping back into the predefined training path: with tasks.stop-test-delay off,
+ * a small dataset trains end to end (load, build, evaluate, upload, persist) well within a second or two.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TrainServiceLatencyTest {
+
+    private static final long MAX_MILLIS = 3000;
+
+    @Mock private TrainingRepository trainingRepository;
+    @Mock private AlgorithmConfigurationRepository algorithmConfigurationRepository;
+    @Mock private DatasetConfigurationRepository datasetConfigurationRepository;
+    @Mock private TrainingStatusRepository trainingStatusRepository;
+    @Mock private TaskStatusRepository taskStatusRepository;
+    @Mock private MinioService minioService;
+    @Mock private BucketResolver bucketResolver;
+    @Mock private ModelService modelService;
+    @Mock private ModelRepository modelRepository;
+    @Mock private ModelTypeRepository modelTypeRepository;
+    @Mock private TaskStatusService taskStatusService;
+    @Mock private ClassSchemaService classSchemaService;
+    @Mock private DatasetService datasetService;
+    @Mock private ModelEvaluationService modelEvaluationService;
+    @Mock private AlgorithmTypeRepository algorithmTypeRepository;
+    @Mock private EntityManager entityManager;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private TaskCancellationRegistry cancellationRegistry = new TaskCancellationRegistry(Duration.ofSeconds(5));
+    @Spy
+    private StopTestDelay stopTestDelay = new StopTestDelay(cancellationRegistry, Duration.ZERO);
+
+    @InjectMocks
+    private TrainService trainService;
+
+    private final DatasetSnapshotRegistry snapshots = new DatasetSnapshotRegistry(new DatasetSnapshotProperties(), null);
+    private Training training;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // The real store, so the uploads and persistence it does on TrainService's behalf are timed too
+        ReflectionTestUtils.setField(trainService, "predefinedModelStore", new PredefinedModelStore(minioService,
+                bucketResolver, modelService, modelRepository, modelTypeRepository, trainingRepository,
+                trainingStatusRepository, taskStatusRepository, taskStatusService, transactionTemplate));
+
+        training = new Training();
+        training.setId(7);
+
+        Algorithm algorithm = new Algorithm();
+        algorithm.setClassName("weka.classifiers.trees.J48");
+        algorithm.setType(new AlgorithmType(AlgorithmTypeEnum.CLASSIFICATION));
+        AlgorithmConfiguration config = new AlgorithmConfiguration(algorithm);
+        config.setOptions("-C 0.25 -M 2");
+        DatasetConfiguration datasetConfig = new DatasetConfiguration();
+        datasetConfig.setId(3);
+
+        AsyncTaskStatus task = new AsyncTaskStatus();
+        task.setTaskId("task");
+        task.setStatus(TaskStatusEnum.PENDING);
+
+        when(taskStatusRepository.findById("task")).thenReturn(Optional.of(task));
+        when(trainingRepository.findById(7)).thenReturn(Optional.of(training));
+        when(trainingRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(algorithmConfigurationRepository.findById(5)).thenReturn(Optional.of(config));
+        when(datasetConfigurationRepository.findById(3)).thenReturn(Optional.of(datasetConfig));
+        when(trainingStatusRepository.findByName(TrainingStatusEnum.RUNNING)).thenReturn(Optional.of(new TrainingStatus()));
+        when(datasetService.acquireTrainingInstances(datasetConfig)).thenAnswer(invocation -> snapshots.acquire(
+                new DatasetSnapshotRegistry.Key("train", "small.csv", new ColumnProjection(null, null)), 0, () -> dataset(300)));
+        when(modelEvaluationService.resolve(null)).thenReturn(EvaluationStrategyEnum.HOLDOUT);
+        when(modelService.evaluateClassifier(any(), any(), any())).thenCallRealMethod();
+        when(modelService.serializeModel(any(), any())).thenCallRealMethod();
+        when(algorithmTypeRepository.findByName(AlgorithmTypeEnum.CLASSIFICATION))
+                .thenReturn(Optional.of(new AlgorithmType(AlgorithmTypeEnum.CLASSIFICATION)));
+        when(bucketResolver.resolve(any())).thenReturn("bucket");
+        when(modelService.generateMinioUrl(anyString(), anyString())).thenReturn("http://minio/bucket/object");
+        when(modelTypeRepository.findByName(ModelTypeEnum.PREDEFINED)).thenReturn(Optional.of(new ModelType(ModelTypeEnum.PREDEFINED)));
+        when(modelRepository.findByTraining(training)).thenReturn(Optional.of(new Model()));
+    }
+
+    @Test
+    void train_smallDatasetCompletesWithoutFixedDelays() throws Exception {
+        User user = new User();
+        user.setUsername("latency");
+
+        long start = System.nanoTime();
+        trainService.train("task", user, new PredefinedTrainMetadata(7, 3, 5, null));
+        long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        verify(minioService, times(2)).uploadToMinio(any(), eq("bucket"), anyString(), anyLong(), anyString());
+        verify(taskStatusService, never()).taskFailed(anyString(), any());
+        assertEquals(0, snapshots.size(), "the dataset snapshot must be released");
+        assertTrue(millis < MAX_MILLIS, "training took " + millis + " ms");
+    }
+
+    private static Instances dataset(int rows) {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("x"));
+        attributes.add(new Attribute("y"));
+        attributes.add(new Attribute("label", List.of("a", "b")));
+        Instances instances = new Instances("small", attributes, rows);
+        instances.setClassIndex(2);
+
+        Random random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            double x = random.nextDouble();
+            double y = random.nextDouble();
+            instances.add(new DenseInstance(1.0, new double[]{x, y, x > y ? 0 : 1}));
+        }
+        return instances;
+    }
+}
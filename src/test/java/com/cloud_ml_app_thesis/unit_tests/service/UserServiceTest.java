@@ -39,6 +39,7 @@ import com.cloud_ml_app_thesis.repository.PasswordResetTokenRepository;
 import com.cloud_ml_app_thesis.repository.UserRepository;
 import com.cloud_ml_app_thesis.service.UserService;
 import com.cloud_ml_app_thesis.service.security.AuthService;
+import com.cloud_ml_app_thesis.service.security.JwtValidationService;
 
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
@@ -50,6 +51,7 @@ class UserServiceTest {
     @Mock private Argon2PasswordEncoder passwordEncoder;
     @Mock private PasswordResetTokenRepository tokenRepository;
     @Mock private JwtTokenRepository jwtTokenRepository;
+    @Mock private JwtValidationService jwtValidationService;
 
     @Spy
     @InjectMocks
@@ -86,6 +88,7 @@ class UserServiceTest {
         request.setEmail("new@email.com");
         request.setFirstName("New");
 
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         UserDTO userDTO = new UserDTO();
@@ -156,6 +159,7 @@ class UserServiceTest {
 
     @Test
     void deleteUser_shouldRemoveUser() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(jwtTokenRepository.findValidTokensByUser(testUser.getId())).thenReturn(new java.util.ArrayList<>());
 
         userService.deleteUser(testUser, "No longer needed");
@@ -0,0 +1,71 @@
+package com.cloud_ml_app_thesis.unit_tests.service;
+
+import com.cloud_ml_app_thesis.dto.weka_algorithm.WekaAlgorithmDTO;
+import com.cloud_ml_app_thesis.entity.Algorithm;
+import com.cloud_ml_app_thesis.enumeration.AlgorithmTypeEnum;
+import com.cloud_ml_app_thesis.repository.AlgorithmRepository;
+import com.cloud_ml_app_thesis.service.AlgorithmService;
+import com.cloud_ml_app_thesis.service.WekaAlgorithmCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WekaAlgorithmCatalogTest {
+
+    private final WekaAlgorithmCatalog catalog = new WekaAlgorithmCatalog();
+
+    @Test
+    void entries_coverClassifiersRegressorsAndClusterersAndAreBuiltOnce() {
+        List<WekaAlgorithmCatalog.Entry> entries = catalog.entries();
+
+        WekaAlgorithmCatalog.Entry j48 = catalog.findByClassName("weka.classifiers.trees.J48").orElseThrow();
+        assertEquals("J48", j48.name());
+        assertEquals(AlgorithmTypeEnum.CLASSIFICATION, j48.type());
+        assertFalse(j48.description().isBlank());
+        assertTrue(j48.parsedOptions().stream().anyMatch(option -> option.getFlag().equals("C")));
+
+        assertEquals(AlgorithmTypeEnum.REGRESSION,
+                catalog.findByClassName("weka.classifiers.functions.LinearRegression").orElseThrow().type());
+        assertEquals(AlgorithmTypeEnum.CLUSTERING,
+                catalog.findByClassName("weka.clusterers.SimpleKMeans").orElseThrow().type());
+
+        assertSame(entries, catalog.entries());
+        assertThrows(UnsupportedOperationException.class, () -> entries.remove(0));
+    }
+
+    @Test
+    void algorithmWithOptions_servesTheCataloguesParsedOptionsUnlessTheRowWasEdited() {
+        WekaAlgorithmCatalog.Entry j48 = catalog.findByClassName("weka.classifiers.trees.J48").orElseThrow();
+        Algorithm seeded = Algorithm.builder()
+                .id(1)
+                .name(j48.name())
+                .className(j48.className())
+                .options(j48.options())
+                .optionsDescription(j48.optionsDescription())
+                .defaultOptions(j48.defaultOptions())
+                .build();
+        Algorithm edited = Algorithm.builder()
+                .id(2)
+                .name(j48.name())
+                .className(j48.className())
+                .options("C")
+                .optionsDescription("Confidence")
+                .defaultOptions("-C 0.5")
+                .build();
+        AlgorithmRepository repository = mock(AlgorithmRepository.class);
+        when(repository.findById(1)).thenReturn(Optional.of(seeded));
+        when(repository.findById(2)).thenReturn(Optional.of(edited));
+        AlgorithmService service = new AlgorithmService(repository, null, catalog);
+
+        assertSame(j48.parsedOptions(), service.getAlgorithmWithOptions(1).getOptions());
+
+        WekaAlgorithmDTO editedDto = service.getAlgorithmWithOptions(2);
+        assertEquals(1, editedDto.getOptions().size());
+        assertEquals("C", editedDto.getOptions().get(0).getFlag());
+    }
+}
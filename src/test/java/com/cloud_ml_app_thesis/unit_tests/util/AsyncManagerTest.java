@@ -0,0 +1,78 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.dto.train.DeferredWekaTrainInput;
+import com.cloud_ml_app_thesis.dto.train.WekaContainerTrainMetadata;
+import com.cloud_ml_app_thesis.entity.User;
+import com.cloud_ml_app_thesis.repository.model.ModelRepository;
+import com.cloud_ml_app_thesis.service.AsyncTrainingSetupService;
+import com.cloud_ml_app_thesis.service.CustomModelExecutionService;
+import com.cloud_ml_app_thesis.service.CustomTrainingService;
+import com.cloud_ml_app_thesis.service.HyperparameterSearchService;
+import com.cloud_ml_app_thesis.service.ModelExecutionService;
+import com.cloud_ml_app_thesis.service.TaskCancellationRegistry;
+import com.cloud_ml_app_thesis.service.TaskStatusService;
+import com.cloud_ml_app_thesis.service.TrainService;
+import com.cloud_ml_app_thesis.service.WekaContainerPredictionService;
+import com.cloud_ml_app_thesis.service.WekaContainerTrainingService;
+import com.cloud_ml_app_thesis.util.AsyncManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncManagerTest {
+
+    @Mock private CustomTrainingService customTrainingService;
+    @Mock private CustomModelExecutionService customModelExecutionService;
+    @Mock private TrainService trainService;
+    @Mock private ModelExecutionService modelExecutionService;
+    @Mock private WekaContainerTrainingService wekaContainerTrainingService;
+    @Mock private WekaContainerPredictionService wekaContainerPredictionService;
+    @Mock private HyperparameterSearchService hyperparameterSearchService;
+    @Mock private AsyncTrainingSetupService setupService;
+    @Mock private TaskStatusService taskStatusService;
+    @Mock private ModelRepository modelRepository;
+
+    private final TaskCancellationRegistry registry = new TaskCancellationRegistry(Duration.ofMinutes(1));
+    private AsyncManager asyncManager;
+
+    @BeforeEach
+    void setUp() {
+        // Container and weka pools run the job on the calling thread
+        asyncManager = new AsyncManager(customTrainingService, customModelExecutionService, trainService,
+                modelExecutionService, wekaContainerTrainingService, wekaContainerPredictionService,
+                hyperparameterSearchService, setupService, taskStatusService, registry, modelRepository,
+                Runnable::run, Runnable::run);
+    }
+
+    @Test
+    void setupAndTrainWeka_registersTheSupervisingThreadWhileTheJobRuns() throws Exception {
+        WekaContainerTrainMetadata metadata = new WekaContainerTrainMetadata(1, 2, 3, "train", "iris.csv", null, null, null);
+        DeferredWekaTrainInput input = new DeferredWekaTrainInput(null, null, null, 0, "1", null, null, null,
+                null, null, null, null, null, null);
+        when(setupService.prepareWekaTraining(any(), eq(input))).thenReturn(metadata);
+        AtomicReference<TaskCancellationRegistry.CancellationToken> during = new AtomicReference<>();
+        doAnswer(invocation -> {
+            during.set(registry.find("task"));
+            registry.cancel("task");
+            return null;
+        }).when(wekaContainerTrainingService).trainWeka(eq("task"), any(), eq("alice"), eq(metadata));
+
+        asyncManager.setupAndTrainWeka("task", UUID.randomUUID(), "alice", new User(), input).join();
+
+        assertNotNull(during.get(), "container training must run with a cancellation token");
+        assertTrue(during.get().isCancelled());
+        assertEquals(0, registry.size(), "the token must be dropped when the job ends");
+        assertFalse(Thread.interrupted(), "no interrupt may leak into the pool thread");
+    }
+}
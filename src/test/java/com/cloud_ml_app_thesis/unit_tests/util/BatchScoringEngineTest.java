@@ -0,0 +1,178 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.util.BatchScoringEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import weka.classifiers.AbstractClassifier;
+import weka.classifiers.trees.J48;
+import weka.clusterers.SimpleKMeans;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instance;
+import weka.core.Instances;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchScoringEngineTest {
+
+    private BatchScoringEngine engine;
+    private Instances data;
+
+    @BeforeEach
+    void setUp() {
+        // Small chunks so even a test-sized batch is split across several workers
+        engine = new BatchScoringEngine(4, 37);
+        data = syntheticData(1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.destroy();
+    }
+
+    @Test
+    void scoreClassifier_matchesSequentialLoopInOrder() throws Exception {
+        J48 tree = new J48();
+        tree.buildClassifier(data);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < data.numInstances(); i++) {
+            expected.add(data.classAttribute().value((int) tree.classifyInstance(data.instance(i))));
+        }
+
+        assertEquals(expected, engine.scoreClassifier(tree, data));
+    }
+
+    @Test
+    void scoreClusterer_matchesSequentialLoopInOrder() throws Exception {
+        Instances unlabelled = new Instances(data);
+        unlabelled.setClassIndex(-1);
+        unlabelled.deleteAttributeAt(unlabelled.numAttributes() - 1);
+        SimpleKMeans kMeans = new SimpleKMeans();
+        kMeans.setNumClusters(3);
+        kMeans.buildClusterer(unlabelled);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < unlabelled.numInstances(); i++) {
+            expected.add(String.valueOf(kMeans.clusterInstance(unlabelled.instance(i))));
+        }
+
+        assertEquals(expected, engine.scoreClusterer(kMeans, unlabelled));
+    }
+
+    @Test
+    void scoreClassifier_givesEachWorkerItsOwnCopyOfNonThreadSafeModel() throws Exception {
+        ExclusiveClassifier model = new ExclusiveClassifier();
+
+        List<String> predictions = engine.scoreClassifier(model, data);
+
+        assertEquals(data.numInstances(), predictions.size());
+        assertFalse(model.used.get(), "original model must not be used by workers");
+    }
+
+    @Test
+    void scoreClassifier_reusesWorkerCopiesAcrossBatches() throws Exception {
+        CountingClassifier model = new CountingClassifier();
+        int before = CountingClassifier.COPIES.get();
+
+        engine.scoreClassifier(model, data);
+        engine.scoreClassifier(model, data);
+
+        // One copy per worker for the first batch, none for the second
+        assertEquals(4, CountingClassifier.COPIES.get() - before);
+        assertFalse(model.used.get());
+    }
+
+    @Test
+    void scoreClassifier_smallBatchRunsOnCallingThreadWithOriginalModel() throws Exception {
+        ExclusiveClassifier model = new ExclusiveClassifier();
+        Instances small = new Instances(data, 0, 10);
+
+        engine.scoreClassifier(model, small);
+
+        assertTrue(model.used.get());
+    }
+
+    @Test
+    void scoreClassifier_propagatesModelFailure() {
+        FailingClassifier model = new FailingClassifier();
+
+        Exception ex = assertThrows(Exception.class, () -> engine.scoreClassifier(model, data));
+        assertEquals("boom", ex.getMessage());
+    }
+
+    private static Instances syntheticData(int rows) {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("x"));
+        attributes.add(new Attribute("y"));
+        attributes.add(new Attribute("label", List.of("a", "b", "c")));
+        Instances instances = new Instances("synthetic", attributes, rows);
+        instances.setClassIndex(2);
+
+        Random random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            double x = random.nextDouble() * 10;
+            double y = random.nextDouble() * 10;
+            int label = x + y < 7 ? 0 : (x > y ? 1 : 2);
+            Instance instance = new DenseInstance(1.0, new double[]{x, y, label});
+            instances.add(instance);
+        }
+        return instances;
+    }
+
+    /**
+     * Fails if two threads ever score with the same instance at the same time.
+     */
+    static class ExclusiveClassifier extends AbstractClassifier {
+        final AtomicBoolean used = new AtomicBoolean();
+        private final AtomicBoolean busy = new AtomicBoolean();
+
+        @Override
+        public void buildClassifier(Instances data) {
+        }
+
+        @Override
+        public double classifyInstance(Instance instance) {
+            if (!busy.compareAndSet(false, true)) {
+                throw new IllegalStateException("model used concurrently");
+            }
+            used.set(true);
+            busy.set(false);
+            return 0;
+        }
+    }
+
+    /**
+     * Counts the copies made of it (makeCopy serializes the model).
+     */
+    static class CountingClassifier extends ExclusiveClassifier {
+        static final AtomicInteger COPIES = new AtomicInteger();
+
+        @Serial
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            COPIES.incrementAndGet();
+        }
+    }
+
+    static class FailingClassifier extends AbstractClassifier {
+        @Override
+        public void buildClassifier(Instances data) {
+        }
+
+        @Override
+        public double classifyInstance(Instance instance) throws Exception {
+            throw new Exception("boom");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.exception.FileProcessingException;
+import com.cloud_ml_app_thesis.util.CsvInstancesReader;
+import org.junit.jupiter.api.Test;
+import weka.core.Instances;
+import weka.core.converters.CSVLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvInstancesReaderTest {
+
+    private static final String MIXED_CSV = "num,cat,mixed,quoted,label\n"
+            + "1,b,1,\"x, y\",yes\n"
+            + "2.5,a,2,?,no\n"
+            + "3,c,zz,\"z\",yes\n"
+            + ",b,3,' w ',no\n"
+            + "-4e2,a,4,plain,?\n";
+
+    @Test
+    void read_producesSameStructureAndValuesAsCsvLoader() throws Exception {
+        Instances expected = loadWithCsvLoader(MIXED_CSV);
+
+        Instances actual = read(MIXED_CSV, CsvInstancesReader.DEFAULT_SAMPLE_ROWS);
+
+        assertNull(expected.equalHeadersMsg(actual), () -> expected.equalHeadersMsg(actual));
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void read_keepsCsvLoaderNominalOrderAndTypes() {
+        Instances data = read(MIXED_CSV, CsvInstancesReader.DEFAULT_SAMPLE_ROWS);
+
+        assertTrue(data.attribute("num").isNumeric());
+        assertTrue(data.attribute("cat").isNominal());
+        assertEquals("b", data.attribute("cat").value(0));
+        assertEquals("a", data.attribute("cat").value(1));
+        assertTrue(data.attribute("mixed").isString());
+        assertTrue(data.instance(3).isMissing(0));
+        assertTrue(data.instance(1).isMissing(3));
+    }
+
+    @Test
+    void read_promotesNumericColumnToStringWhenConflictAppearsAfterSample() throws Exception {
+        Instances expected = loadWithCsvLoader(MIXED_CSV);
+
+        // The "zz" in column "mixed" is on row 3, past a two-row sample
+        Instances actual = read(MIXED_CSV, 2);
+
+        assertTrue(actual.attribute("mixed").isString());
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void read_handlesCrLfQuotedLineBreaksAndEscapedQuotes() {
+        String csv = "a,b\r\n1,\"multi\nline\"\r\n2,\"say \"\"hi\"\"\"\r\n";
+
+        Instances data = read(csv, CsvInstancesReader.DEFAULT_SAMPLE_ROWS);
+
+        assertEquals(2, data.numInstances());
+        assertEquals("multi\nline", data.instance(0).stringValue(1));
+        assertEquals("say \"hi\"", data.instance(1).stringValue(1));
+        assertEquals(2.0, data.instance(1).value(0));
+    }
+
+    @Test
+    void read_rejectsRowWithWrongNumberOfValues() {
+        FileProcessingException ex = assertThrows(FileProcessingException.class,
+                () -> read("a,b\n1,2\n3\n", CsvInstancesReader.DEFAULT_SAMPLE_ROWS));
+        assertTrue(ex.getMessage().contains("line 3"));
+    }
+
+    private static Instances read(String csv, int sampleRows) {
+        return CsvInstancesReader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "test", sampleRows);
+    }
+
+    private static Instances loadWithCsvLoader(String csv) throws Exception {
+        File file = File.createTempFile("test", ".csv");
+        try {
+            Files.writeString(file.toPath(), csv);
+            CSVLoader loader = new CSVLoader();
+            loader.setSource(file);
+            Instances data = loader.getDataSet();
+            data.setRelationName("test");
+            return data;
+        } finally {
+            file.delete();
+        }
+    }
+}
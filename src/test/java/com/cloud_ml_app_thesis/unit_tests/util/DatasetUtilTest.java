@@ -0,0 +1,74 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.util.ColumnProjection;
+import com.cloud_ml_app_thesis.util.DatasetUtil;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import weka.core.Instances;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetUtilTest {
+
+    private static final String CSV = "id,age,city,score,note,label\n"
+            + "1,34,athens,2.5,first,yes\n"
+            + "2,41,patras,?,second,no\n"
+            + "3,,athens,7.25,third,yes\n"
+            + "4,29,volos,1,,no\n";
+
+    private static final String ARFF = "@relation people\n"
+            + "@attribute id numeric\n"
+            + "@attribute age numeric\n"
+            + "@attribute city {athens,patras,volos}\n"
+            + "@attribute score numeric\n"
+            + "@attribute note string\n"
+            + "@attribute label {yes,no}\n"
+            + "@data\n"
+            + "1,34,athens,2.5,first,yes\n"
+            + "2,41,patras,?,second,no\n"
+            + "3,?,athens,7.25,third,yes\n"
+            + "4,29,volos,1,?,no\n";
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "2,3 ; 6",      // projection plus target
+            "2,3,6 ; 6",    // target already among the basic columns
+            "5,1 ; 3",      // target in the middle, basic columns out of order
+            "'' ; 4",       // all columns
+            "2,99 ; 42",    // invalid basic index, target out of range -> last column
+            "2,3 ; ''",     // no target -> last kept column
+    }, delimiter = ';')
+    void loadInstances_projectedCsvMatchesSelectColumns(String basic, String target) throws Exception {
+        assertSameAsSelectColumns(CSV, "people.csv", basic, target);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "2,5 ; 6",
+            "5,1 ; 3",
+            "'' ; ''",
+    }, delimiter = ';')
+    void loadInstances_projectedArffMatchesSelectColumns(String basic, String target) throws Exception {
+        assertSameAsSelectColumns(ARFF, "people.arff", basic, target);
+    }
+
+    private static void assertSameAsSelectColumns(String content, String fileName, String basic, String target) throws Exception {
+        Instances expected = DatasetUtil.selectColumns(load(content, fileName, null), basic, target, 0);
+
+        Instances actual = load(content, fileName, new ColumnProjection(basic, target));
+
+        assertNull(expected.equalHeadersMsg(actual), () -> expected.equalHeadersMsg(actual));
+        assertEquals(expected.classIndex(), actual.classIndex());
+        assertEquals(expected.numInstances(), actual.numInstances());
+        for (int i = 0; i < expected.numInstances(); i++) {
+            assertEquals(expected.instance(i).toString(), actual.instance(i).toString());
+        }
+    }
+
+    private static Instances load(String content, String fileName, ColumnProjection projection) {
+        return DatasetUtil.loadInstances(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), fileName, projection);
+    }
+}
@@ -0,0 +1,66 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.enumeration.SearchStrategyEnum;
+import com.cloud_ml_app_thesis.exception.BadRequestException;
+import com.cloud_ml_app_thesis.util.HyperparameterSearchSpace;
+import com.cloud_ml_app_thesis.util.HyperparameterSearchSpace.Candidate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HyperparameterSearchSpaceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void grid_overridesTheBaseOptionsWithEveryCombination() throws Exception {
+        HyperparameterSearchSpace space = HyperparameterSearchSpace.parse(
+                "{\"-C\": [\"0.1\", \"0.25\"], \"M\": [\"2\", \"5\", \"10\"]}", objectMapper);
+
+        List<Candidate> candidates = space.candidates("-C 0.25 -M 2 -U", SearchStrategyEnum.GRID, 50, 1);
+
+        assertEquals(6, space.gridSize());
+        assertEquals(6, candidates.size());
+        assertEquals("-U -C 0.1 -M 2", candidates.get(0).options());
+        assertEquals("-U -C 0.25 -M 10", candidates.get(5).options());
+    }
+
+    @Test
+    void switches_areSetByAnEmptyValueAndDroppedByNull() throws Exception {
+        HyperparameterSearchSpace space = HyperparameterSearchSpace.parse("{\"U\": [\"\", null]}", objectMapper);
+
+        List<Candidate> candidates = space.candidates("-C 0.25 -U", SearchStrategyEnum.GRID, 50, 1);
+
+        assertEquals("-C 0.25 -U", candidates.get(0).options());
+        assertEquals("-C 0.25", candidates.get(1).options());
+    }
+
+    @Test
+    void random_drawsDistinctCombinationsReproducibly() throws Exception {
+        HyperparameterSearchSpace space = HyperparameterSearchSpace.parse(
+                "{\"A\": [\"1\", \"2\", \"3\", \"4\"], \"B\": [\"1\", \"2\", \"3\", \"4\"], \"C\": [\"1\", \"2\", \"3\", \"4\"]}",
+                objectMapper);
+
+        List<Candidate> first = space.candidates("", SearchStrategyEnum.RANDOM, 10, 7);
+        List<Candidate> second = space.candidates("", SearchStrategyEnum.RANDOM, 10, 7);
+
+        assertEquals(10, first.size());
+        assertEquals(10, new HashSet<>(first).size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void grid_largerThanMaxTrialsAndMalformedSpacesAreRejected() {
+        HyperparameterSearchSpace space = HyperparameterSearchSpace.parse(
+                "{\"C\": [\"0.1\", \"0.2\", \"0.3\"], \"M\": [\"1\", \"2\"]}", objectMapper);
+
+        assertThrows(BadRequestException.class, () -> space.candidates("", SearchStrategyEnum.GRID, 5, 1));
+        assertThrows(BadRequestException.class, () -> HyperparameterSearchSpace.parse("{\"C\": []}", objectMapper));
+        assertThrows(BadRequestException.class, () -> HyperparameterSearchSpace.parse("[\"C\"]", objectMapper));
+        assertThrows(BadRequestException.class, () -> HyperparameterSearchSpace.parse("{\"C; rm\": [\"1\"]}", objectMapper));
+    }
+}
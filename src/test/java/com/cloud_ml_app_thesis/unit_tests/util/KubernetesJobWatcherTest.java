@@ -0,0 +1,203 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.util.KubernetesJobWatcher;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.JobStatusBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnableKubernetesMockClient(crud = true)
+public class KubernetesJobWatcherTest {
+
+    private static final String NAMESPACE = "thesisapp";
+
+    KubernetesClient client;
+
+    private KubernetesJobWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        watcher = new KubernetesJobWatcher(client, NAMESPACE, 2, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.close();
+    }
+
+    @Test
+    void register_completesWhenJobSucceeds() throws Exception {
+        CompletableFuture<Job> completion = watcher.register("training-1");
+        createJob("training-1");
+
+        assertFalse(completion.isDone());
+
+        setStatus("training-1", 1, null);
+
+        Job finished = completion.get(10, TimeUnit.SECONDS);
+        assertTrue(KubernetesJobWatcher.isSucceeded(finished));
+        assertFalse(KubernetesJobWatcher.isFailed(finished));
+    }
+
+    @Test
+    void register_completesWhenJobFails() throws Exception {
+        CompletableFuture<Job> completion = watcher.register("training-2");
+        createJob("training-2");
+
+        setStatus("training-2", null, 1);
+
+        Job finished = completion.get(10, TimeUnit.SECONDS);
+        assertTrue(KubernetesJobWatcher.isFailed(finished));
+    }
+
+    @Test
+    void register_failsWhenJobIsDeletedBeforeFinishing() throws Exception {
+        CompletableFuture<Job> completion = watcher.register("training-3");
+        createJob("training-3");
+
+        client.batch().v1().jobs().inNamespace(NAMESPACE).withName("training-3").delete();
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> completion.get(10, TimeUnit.SECONDS));
+        assertTrue(ex.getCause().getMessage().contains("training-3"));
+    }
+
+    @Test
+    void register_completesImmediatelyForAlreadyFinishedJob() throws Exception {
+        watcher.register("warmup");
+        createJob("training-4");
+        setStatus("training-4", 1, null);
+        watcher.unregister("warmup");
+
+        // Give the informer a moment to cache the finished job, then register late
+        Thread.sleep(500);
+        CompletableFuture<Job> completion = watcher.register("training-4");
+
+        assertTrue(KubernetesJobWatcher.isSucceeded(completion.get(10, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void register_refusesWhenTooManyJobsInFlight() {
+        watcher.register("training-5");
+        watcher.register("training-6");
+
+        assertThrows(IllegalStateException.class, () -> watcher.register("training-7"));
+
+        watcher.unregister("training-5");
+        assertDoesNotThrow(() -> watcher.register("training-7"));
+    }
+
+    @Test
+    void register_capHoldsUnderConcurrentRegistrations() throws Exception {
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String name = "concurrent-" + i;
+            results.add(pool.submit(() -> {
+                go.await();
+                try {
+                    watcher.register(name);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+        go.countDown();
+
+        int accepted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(10, TimeUnit.SECONDS)) {
+                accepted++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(2, accepted);
+        assertEquals(2, watcher.getPendingCount());
+    }
+
+    @Test
+    void register_sameJobTwiceTakesOneSlot() {
+        CompletableFuture<Job> first = watcher.register("training-8");
+        CompletableFuture<Job> second = watcher.register("training-8");
+
+        assertSame(first, second);
+        assertDoesNotThrow(() -> watcher.register("training-9"));
+    }
+
+    @Test
+    void started_completesWhenJobHasAnActivePod() throws Exception {
+        CompletableFuture<Job> completion = watcher.register("training-10");
+        CompletableFuture<Job> started = watcher.started("training-10");
+        createJob("training-10");
+
+        assertFalse(started.isDone());
+
+        Job job = client.batch().v1().jobs().inNamespace(NAMESPACE).withName("training-10").get();
+        job.setStatus(new JobStatusBuilder().withActive(1).build());
+        client.batch().v1().jobs().inNamespace(NAMESPACE).resource(job).updateStatus();
+
+        started.get(10, TimeUnit.SECONDS);
+        assertFalse(completion.isDone());
+    }
+
+    @Test
+    void started_failsWhenJobIsDeletedBeforeItsPodStarts() {
+        watcher.register("training-11");
+        CompletableFuture<Job> started = watcher.started("training-11");
+        createJob("training-11");
+
+        client.batch().v1().jobs().inNamespace(NAMESPACE).withName("training-11").delete();
+
+        assertThrows(ExecutionException.class, () -> started.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void unlabelledJobs_areIgnored() throws Exception {
+        CompletableFuture<Job> completion = watcher.register("foreign-job");
+        client.batch().v1().jobs().inNamespace(NAMESPACE).resource(new JobBuilder()
+                .withNewMetadata().withName("foreign-job").withNamespace(NAMESPACE).endMetadata()
+                .withNewSpec().endSpec()
+                .withStatus(new JobStatusBuilder().withSucceeded(1).build())
+                .build()).create();
+
+        Thread.sleep(500);
+        assertFalse(completion.isDone());
+    }
+
+    private void createJob(String name) {
+        client.batch().v1().jobs().inNamespace(NAMESPACE).resource(new JobBuilder()
+                .withNewMetadata()
+                    .withName(name)
+                    .withNamespace(NAMESPACE)
+                    .withLabels(Map.of(KubernetesJobWatcher.MANAGED_BY_LABEL, KubernetesJobWatcher.MANAGED_BY_VALUE))
+                .endMetadata()
+                .withNewSpec().endSpec()
+                .build()).create();
+    }
+
+    private void setStatus(String name, Integer succeeded, Integer failed) {
+        Job job = client.batch().v1().jobs().inNamespace(NAMESPACE).withName(name).get();
+        job.setStatus(new JobStatusBuilder().withSucceeded(succeeded).withFailed(failed).build());
+        client.batch().v1().jobs().inNamespace(NAMESPACE).resource(job).updateStatus();
+    }
+}
@@ -0,0 +1,60 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.util.LruCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LruCacheTest {
+
+    @Test
+    void put_evictsLeastRecentlyUsedUntilCountAndWeightHold() {
+        List<String> evicted = new ArrayList<>();
+        LruCache<String, byte[]> cache = new LruCache<>(value -> value.length, (key, value) -> evicted.add(key));
+
+        cache.put("a", new byte[10], cache.generation(), 3, 30);
+        cache.put("b", new byte[10], cache.generation(), 3, 30);
+        cache.put("c", new byte[10], cache.generation(), 3, 30);
+        cache.get("a");
+        cache.put("d", new byte[5], cache.generation(), 3, 30);
+
+        assertEquals(List.of("b"), evicted);
+        assertEquals(25, cache.weight());
+
+        // Heavier than the rest together: everything else goes, the new entry stays
+        cache.put("e", new byte[40], cache.generation(), 3, 30);
+        assertEquals(List.of("b", "c", "a", "d"), evicted);
+        assertEquals(1, cache.size());
+        assertEquals(40, cache.weight());
+    }
+
+    @Test
+    void put_dropsValuesLoadedBeforeAnInvalidation() {
+        LruCache<String, byte[]> cache = new LruCache<>(value -> value.length);
+        long loadGeneration = cache.generation();
+        cache.put("a", new byte[1], loadGeneration, 10, 100);
+
+        cache.invalidateIf((key, value) -> key.equals("a"));
+
+        assertFalse(cache.put("b", new byte[1], loadGeneration, 10, 100));
+        assertNull(cache.get("a"));
+        assertTrue(cache.put("b", new byte[1], cache.generation(), 10, 100));
+        assertEquals(1, cache.weight());
+    }
+
+    @Test
+    void remove_keepsLoadsInFlightValid() {
+        LruCache<String, byte[]> cache = new LruCache<>(value -> value.length);
+        long loadGeneration = cache.generation();
+        byte[] value = new byte[3];
+        cache.put("a", value, loadGeneration, 10, 100);
+
+        cache.remove("a", value);
+
+        assertEquals(0, cache.weight());
+        assertTrue(cache.put("b", new byte[1], loadGeneration, 10, 100));
+    }
+}
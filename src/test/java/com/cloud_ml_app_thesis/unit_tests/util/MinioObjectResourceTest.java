@@ -0,0 +1,96 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.service.MinioService;
+import com.cloud_ml_app_thesis.util.MinioObjectResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MinioObjectResourceTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private MinioService minioService;
+
+    private MinioObjectResource resource;
+
+    @BeforeEach
+    void setUp() {
+        resource = new MinioObjectResource(minioService, "results", "runs/prediction.csv", CONTENT.length,
+                "abc123", Instant.parse("2026-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void rangeRequest_fetchesOnlyFromRangeStart() throws Exception {
+        stubMinio();
+        ResourceRegion region = HttpRange.toResourceRegions(HttpRange.parseRanges("bytes=4-9"), resource).get(0);
+
+        MockHttpOutputMessage response = new MockHttpOutputMessage();
+        new ResourceRegionHttpMessageConverter().write(region, MediaType.APPLICATION_OCTET_STREAM, response);
+
+        assertEquals("456789", response.getBodyAsString());
+        assertEquals("bytes 4-9/20", response.getHeaders().getFirst("Content-Range"));
+        verify(minioService).loadObjectAsInputStream("results", "runs/prediction.csv", 4);
+    }
+
+    @Test
+    void fullDownload_streamsWholeObjectWithKnownLength() throws Exception {
+        stubMinio();
+
+        MockHttpOutputMessage response = new MockHttpOutputMessage();
+        new ResourceHttpMessageConverter().write(resource, MediaType.APPLICATION_OCTET_STREAM, response);
+
+        assertArrayEquals(CONTENT, response.getBodyAsBytes());
+        assertEquals(CONTENT.length, response.getHeaders().getContentLength());
+        verify(minioService).loadObjectAsInputStream("results", "runs/prediction.csv", 0);
+    }
+
+    @Test
+    void unreadStream_neverOpensObject() throws Exception {
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(5, in.skip(5));
+        }
+
+        assertEquals(CONTENT.length, resource.contentLength());
+        assertEquals("prediction.csv", resource.getFilename());
+        verifyNoInteractions(minioService);
+    }
+
+    @Test
+    void skipPastEnd_isClampedAndReadsNothing() throws Exception {
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(CONTENT.length, in.skip(1000));
+            assertEquals(-1, in.read());
+        }
+        verifyNoInteractions(minioService);
+    }
+
+    private void stubMinio() {
+        when(minioService.loadObjectAsInputStream(eq("results"), eq("runs/prediction.csv"), anyLong()))
+                .thenAnswer(inv -> {
+                    int offset = Math.toIntExact(inv.getArgument(2, Long.class));
+                    return new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, offset, CONTENT.length));
+                });
+    }
+}
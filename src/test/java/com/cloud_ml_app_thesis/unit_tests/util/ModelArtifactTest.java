@@ -0,0 +1,139 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.util.ModelArtifact;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import weka.classifiers.trees.J48;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.SerializationHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelArtifactTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void write_roundTripsModelAndMetadata() throws Exception {
+        Instances data = dataset(200);
+        J48 model = new J48();
+        model.setOptions(new String[]{"-C", "0.3", "-M", "3"});
+        model.buildClassifier(data);
+
+        byte[] artifact = ModelArtifact.write(model, data);
+
+        ModelArtifact.Metadata metadata = ModelArtifact.readMetadata(new ByteArrayInputStream(artifact));
+        assertNotNull(metadata);
+        assertEquals(ModelArtifact.VERSION, metadata.version());
+        assertEquals(J48.class.getName(), metadata.modelClass());
+        assertTrue(metadata.options().contains("-C 0.3"), metadata.options());
+        assertEquals("label", metadata.classAttribute());
+        assertEquals(0, metadata.header().numInstances());
+        assertTrue(metadata.header().equalHeaders(data));
+
+        J48 loaded = (J48) ModelArtifact.readModel(new ByteArrayInputStream(artifact));
+        assertEquals(model.classifyInstance(data.instance(0)), loaded.classifyInstance(data.instance(0)));
+        assertEquals(model.toString(), loaded.toString());
+    }
+
+    @Test
+    void readModel_acceptsPlainSerializedModels() throws Exception {
+        J48 model = new J48();
+        model.buildClassifier(dataset(50));
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        SerializationHelper.write(plain, model);
+
+        assertNull(ModelArtifact.readMetadata(new ByteArrayInputStream(plain.toByteArray())));
+        Object loaded = ModelArtifact.readModel(new ByteArrayInputStream(plain.toByteArray()));
+        assertEquals(model.toString(), loaded.toString());
+    }
+
+    @Test
+    void readModel_rejectsCorruptPayload() throws Exception {
+        J48 model = new J48();
+        model.buildClassifier(dataset(50));
+        byte[] artifact = ModelArtifact.write(model, null);
+        // Flip a byte of the stored hash: the payload still decodes but no longer matches
+        artifact[4 + 1 + 1 + 8] ^= 0x01;
+
+        assertNull(ModelArtifact.readMetadata(new ByteArrayInputStream(artifact)).header());
+        assertThrows(IOException.class, () -> ModelArtifact.readModel(new ByteArrayInputStream(artifact)));
+    }
+
+    @Test
+    void wrap_packsContainerOutputAndUnwrapRestoresIt() throws Exception {
+        Instances data = dataset(50);
+        J48 model = new J48();
+        model.buildClassifier(data);
+        Path serialized = tempDir.resolve("model.ser");
+        SerializationHelper.write(serialized.toString(), model);
+        Path artifact = tempDir.resolve("model.ser.artifact");
+
+        ModelArtifact.wrap(serialized, J48.class.getName(), "-C 0.25 -M 2", data, artifact);
+
+        try (InputStream in = Files.newInputStream(artifact)) {
+            ModelArtifact.Metadata metadata = ModelArtifact.readMetadata(in);
+            assertEquals("-C 0.25 -M 2", metadata.options());
+            assertEquals(Files.size(serialized), metadata.serializedBytes());
+            assertEquals("label", metadata.classAttribute());
+        }
+        ByteArrayOutputStream unwrapped = new ByteArrayOutputStream();
+        try (InputStream in = Files.newInputStream(artifact)) {
+            ModelArtifact.unwrap(in, unwrapped);
+        }
+        assertArrayEquals(Files.readAllBytes(serialized), unwrapped.toByteArray());
+
+        Path again = tempDir.resolve("again.artifact");
+        ModelArtifact.wrap(artifact, J48.class.getName(), null, null, again);
+        assertArrayEquals(Files.readAllBytes(artifact), Files.readAllBytes(again));
+    }
+
+    @Test
+    void unwrapping_streamsThePlainModelAndChecksTheHashAtTheEnd() throws Exception {
+        J48 model = new J48();
+        model.buildClassifier(dataset(50));
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        SerializationHelper.write(plain, model);
+        byte[] artifact = ModelArtifact.write(model, null);
+
+        try (InputStream in = ModelArtifact.unwrapping(new ByteArrayInputStream(artifact))) {
+            // Skipped bytes count towards the hash like read ones
+            assertEquals(10, in.skip(10));
+            byte[] rest = in.readAllBytes();
+            assertArrayEquals(Arrays.copyOfRange(plain.toByteArray(), 10, plain.size()), rest);
+        }
+
+        artifact[4 + 1 + 1 + 8] ^= 0x01;
+        try (InputStream in = ModelArtifact.unwrapping(new ByteArrayInputStream(artifact))) {
+            assertThrows(IOException.class, in::readAllBytes);
+        }
+    }
+
+    private static Instances dataset(int rows) {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("x"));
+        attributes.add(new Attribute("y"));
+        attributes.add(new Attribute("label", List.of("a", "b")));
+        Instances instances = new Instances("artifact", attributes, rows);
+        instances.setClassIndex(2);
+        for (int i = 0; i < rows; i++) {
+            double x = (i * 37 % 101) / 10.0;
+            double y = (i * 53 % 97) / 10.0;
+            instances.add(new DenseInstance(1.0, new double[]{x, y, x > y ? 0 : 1}));
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,95 @@
+package com.cloud_ml_app_thesis.unit_tests.util;
+
+import com.cloud_ml_app_thesis.util.PredictionCsvInputStream;
+import org.junit.jupiter.api.Test;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.Utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PredictionCsvInputStreamTest {
+
+    @Test
+    void classifierWithMissingClassColumn_fillsClassColumn() throws Exception {
+        Instances data = dataset("class");
+
+        PredictionCsvInputStream csv = new PredictionCsvInputStream(data, List.of("yes", "no"), false);
+
+        assertTrue(csv.replacesClassColumn());
+        assertEquals("x,note,class\n1.5,plain,yes\n?,\"a, \"\"quoted\"\" note\",no\n", readAll(csv, 8192));
+        assertTrue(data.instance(0).isMissing(2), "dataset must not be modified");
+    }
+
+    @Test
+    void clusterer_appendsPredictionColumn() throws Exception {
+        Instances data = dataset("class");
+
+        String csv = readAll(new PredictionCsvInputStream(data, List.of("0", "1"), true), 8192);
+
+        assertEquals("x,note,class,prediction\n1.5,plain,?,0\n?,\"a, \"\"quoted\"\" note\",?,1\n", csv);
+        assertEquals(3, data.numAttributes());
+    }
+
+    @Test
+    void classifierWithOtherClassName_appendsPredictionColumn() throws Exception {
+        String csv = readAll(new PredictionCsvInputStream(dataset("label"), List.of("yes", "no"), false), 8192);
+
+        assertTrue(csv.startsWith("x,note,label,prediction\n"));
+    }
+
+    @Test
+    void read_smallChunksAndSingleBytesGiveSameContent() throws Exception {
+        Instances data = dataset("class");
+        String expected = readAll(new PredictionCsvInputStream(data, List.of("yes", "no"), false), 8192);
+
+        assertEquals(expected, readAll(new PredictionCsvInputStream(data, List.of("yes", "no"), false), 3));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = new PredictionCsvInputStream(data, List.of("yes", "no"), false)) {
+            int b;
+            while ((b = in.read()) != -1) {
+                bytes.write(b);
+            }
+        }
+        assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void constructor_rejectsPredictionCountMismatch() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PredictionCsvInputStream(dataset("class"), List.of("yes"), false));
+    }
+
+    private static String readAll(InputStream in, int chunkSize) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[chunkSize];
+        int n;
+        while ((n = in.read(chunk, 0, chunk.length)) != -1) {
+            out.write(chunk, 0, n);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Instances dataset(String className) {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("x"));
+        attributes.add(new Attribute("note", (List<String>) null));
+        attributes.add(new Attribute(className, List.of("yes", "no")));
+        Instances data = new Instances("predict", attributes, 2);
+        data.setClassIndex(2);
+
+        double[] first = {1.5, data.attribute(1).addStringValue("plain"), Utils.missingValue()};
+        double[] second = {Utils.missingValue(), data.attribute(1).addStringValue("a, \"quoted\" note"), Utils.missingValue()};
+        data.add(new DenseInstance(1.0, first));
+        data.add(new DenseInstance(1.0, second));
+        return data;
+    }
+}